@@ -0,0 +1,53 @@
+package org.apache.maven.shared.release.policy.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+
+import org.apache.maven.shared.release.policy.PolicyException;
+import org.apache.maven.shared.release.versions.VersionParseException;
+
+/**
+ * Optional extension of {@link VersionPolicy} calculating the versions of a whole reactor at once. Policies which
+ * only implement {@link VersionPolicy} are resolved through a {@link BatchVersionPolicyAdapter}.
+ *
+ * @since 3.0.0
+ */
+public interface BatchVersionPolicy
+    extends VersionPolicy
+{
+    /**
+     * Calculation of the release versions from development state.
+     *
+     * @param requests the requests, where callers are expected to pass every distinct request only once
+     * @return the results, in the order of the requests
+     */
+    List<VersionPolicyResult> getReleaseVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException;
+
+    /**
+     * Calculation of the next development versions from release state.
+     *
+     * @param requests the requests, where callers are expected to pass every distinct request only once
+     * @return the results, in the order of the requests
+     */
+    List<VersionPolicyResult> getDevelopmentVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException;
+}
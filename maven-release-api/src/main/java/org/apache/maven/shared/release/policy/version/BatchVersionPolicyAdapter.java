@@ -0,0 +1,94 @@
+package org.apache.maven.shared.release.policy.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.shared.release.policy.PolicyException;
+import org.apache.maven.shared.release.versions.VersionParseException;
+
+/**
+ * Batch view of a {@link VersionPolicy}, which resolves the requests one by one.
+ *
+ * @since 3.0.0
+ */
+public class BatchVersionPolicyAdapter
+    implements BatchVersionPolicy
+{
+    private final VersionPolicy policy;
+
+    public BatchVersionPolicyAdapter( VersionPolicy policy )
+    {
+        this.policy = policy;
+    }
+
+    /**
+     * @param policy the policy
+     * @return the policy itself if it already supports batches, otherwise an adapter for it
+     */
+    public static BatchVersionPolicy adapt( VersionPolicy policy )
+    {
+        if ( policy instanceof BatchVersionPolicy )
+        {
+            return (BatchVersionPolicy) policy;
+        }
+        return new BatchVersionPolicyAdapter( policy );
+    }
+
+    public VersionPolicy getPolicy()
+    {
+        return policy;
+    }
+
+    public VersionPolicyResult getReleaseVersion( VersionPolicyRequest request )
+        throws PolicyException, VersionParseException
+    {
+        return policy.getReleaseVersion( request );
+    }
+
+    public VersionPolicyResult getDevelopmentVersion( VersionPolicyRequest request )
+        throws PolicyException, VersionParseException
+    {
+        return policy.getDevelopmentVersion( request );
+    }
+
+    public List<VersionPolicyResult> getReleaseVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException
+    {
+        List<VersionPolicyResult> results = new ArrayList<VersionPolicyResult>( requests.size() );
+        for ( VersionPolicyRequest request : requests )
+        {
+            results.add( policy.getReleaseVersion( request ) );
+        }
+        return results;
+    }
+
+    public List<VersionPolicyResult> getDevelopmentVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException
+    {
+        List<VersionPolicyResult> results = new ArrayList<VersionPolicyResult>( requests.size() );
+        for ( VersionPolicyRequest request : requests )
+        {
+            results.add( policy.getDevelopmentVersion( request ) );
+        }
+        return results;
+    }
+}
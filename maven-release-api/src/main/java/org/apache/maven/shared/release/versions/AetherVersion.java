@@ -48,6 +48,11 @@ class AetherVersion
 
     public int compareTo( org.eclipse.aether.version.Version other )
     {
+        if ( other instanceof AetherVersion )
+        {
+            // the generic version only compares to its own kind
+            return this.version.compareTo( ( (AetherVersion) other ).version );
+        }
         return this.version.compareTo( other );
     }
 }
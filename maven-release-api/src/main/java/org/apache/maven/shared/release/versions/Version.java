@@ -19,9 +19,10 @@ package org.apache.maven.shared.release.versions;
  * under the License.
  */
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.maven.artifact.ArtifactUtils;
@@ -33,9 +34,27 @@ import org.codehaus.plexus.util.StringUtils;
 public class Version
     implements Comparable<Version>
 {
-    private final AetherVersion aetherVersion;
+    /**
+     * The maximum number of versions kept by {@link #parse(String)}.
+     */
+    static final int CACHE_SIZE = 1024;
+
+    private static final Map<String, Version> CACHE =
+        Collections.synchronizedMap( new LinkedHashMap<String, Version>( CACHE_SIZE, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Version> eldest )
+            {
+                return size() > CACHE_SIZE;
+            }
+        } );
 
-    private final MavenArtifactVersion mavenArtifactVersion;
+    /**
+     * Only needed to compare, so created on the first comparison.
+     */
+    private volatile AetherVersion aetherVersion;
+
+    private volatile MavenArtifactVersion mavenArtifactVersion;
 
     private final String strVersion;
 
@@ -53,24 +72,12 @@ public class Version
 
     private final String buildSeparator;
 
-    private static final int DIGITS_INDEX = 1;
-
-    private static final int ANNOTATION_SEPARATOR_INDEX = 2;
-
-    private static final int ANNOTATION_INDEX = 3;
-
-    private static final int ANNOTATION_REV_SEPARATOR_INDEX = 4;
-
-    private static final int ANNOTATION_REVISION_INDEX = 5;
-
-    private static final int BUILD_SEPARATOR_INDEX = 6;
-
-    private static final int BUILD_SPECIFIER_INDEX = 7;
-
-    private static final String SNAPSHOT_IDENTIFIER = "SNAPSHOT";
-
-    private static final String DIGIT_SEPARATOR_STRING = ".";
+    private static final char DIGIT_SEPARATOR = '.';
 
+    /**
+     * The pattern of the version strings with digits. {@link VersionTokens} parses versions the same way, without
+     * running this pattern or {@link #ALTERNATE_PATTERN}.
+     */
     public static final Pattern STANDARD_PATTERN = Pattern.compile( "^((?:\\d+\\.)*\\d+)" // digit(s) and '.' repeated -
                                                                                           // followed by digit (version
                                                                                           // digits 1.22.0, etc)
@@ -87,61 +94,41 @@ public class Version
     // for SNAPSHOT releases only (possible versions include: trunk-SNAPSHOT or SNAPSHOT)
     public static final Pattern ALTERNATE_PATTERN = Pattern.compile( "^(SNAPSHOT|[a-zA-Z]+[_-]SNAPSHOT)" );
 
-    public Version( String version )
+    /**
+     * Parses a version, sharing the instances of recently parsed versions. As versions are immutable, this is the
+     * same as creating a new instance.
+     *
+     * @param version the version string
+     * @return the version
+     * @throws VersionParseException if the version can't be parsed
+     * @since 3.0.0
+     */
+    public static Version parse( String version )
         throws VersionParseException
     {
-        this.strVersion = version;
-        this.aetherVersion = new AetherVersion( version );
-        this.mavenArtifactVersion = new MavenArtifactVersion( version );
-
-        // FIX for non-digit release numbers, e.g. trunk-SNAPSHOT or just SNAPSHOT
-        Matcher matcher = ALTERNATE_PATTERN.matcher( strVersion );
-        // TODO: hack because it didn't support "SNAPSHOT"
-        if ( matcher.matches() )
+        Version parsed = CACHE.get( version );
+        if ( parsed == null )
         {
-            annotation = null;
-            digits = null;
-            buildSpecifier = version;
-            buildSeparator = null;
-            return;
+            parsed = new Version( version );
+            CACHE.put( version, parsed );
         }
+        return parsed;
+    }
 
-        Matcher m = STANDARD_PATTERN.matcher( strVersion );
-        if ( m.matches() )
-        {
-            digits = parseDigits( m.group( DIGITS_INDEX ) );
-            if ( !SNAPSHOT_IDENTIFIER.equals( m.group( ANNOTATION_INDEX ) ) )
-            {
-                annotationSeparator = m.group( ANNOTATION_SEPARATOR_INDEX );
-                annotation = nullIfEmpty( m.group( ANNOTATION_INDEX ) );
-
-                if ( StringUtils.isNotEmpty( m.group( ANNOTATION_REV_SEPARATOR_INDEX ) )
-                    && StringUtils.isEmpty( m.group( ANNOTATION_REVISION_INDEX ) ) )
-                {
-                    // The build separator was picked up as the annotation revision separator
-                    buildSeparator = m.group( ANNOTATION_REV_SEPARATOR_INDEX );
-                    buildSpecifier = nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) );
-                }
-                else
-                {
-                    annotationRevSeparator = m.group( ANNOTATION_REV_SEPARATOR_INDEX );
-                    annotationRevision = nullIfEmpty( m.group( ANNOTATION_REVISION_INDEX ) );
-
-                    buildSeparator = m.group( BUILD_SEPARATOR_INDEX );
-                    buildSpecifier = nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) );
-                }
-            }
-            else
-            {
-                // Annotation was "SNAPSHOT" so populate the build specifier with that data
-                buildSeparator = m.group( ANNOTATION_SEPARATOR_INDEX );
-                buildSpecifier = nullIfEmpty( m.group( ANNOTATION_INDEX ) );
-            }
-        }
-        else
-        {
-            throw new VersionParseException( "Unable to parse the version string: \"" + version + "\"" );
-        }
+    public Version( String version )
+        throws VersionParseException
+    {
+        this.strVersion = version;
+
+        VersionTokens tokens = VersionTokens.tokenize( version );
+        List<String> tokenDigits = tokens.getDigits();
+        digits = tokenDigits != null ? Collections.unmodifiableList( tokenDigits ) : null;
+        annotationSeparator = tokens.getAnnotationSeparator();
+        annotation = tokens.getAnnotation();
+        annotationRevSeparator = tokens.getAnnotationRevSeparator();
+        annotationRevision = tokens.getAnnotationRevision();
+        buildSeparator = tokens.getBuildSeparator();
+        buildSpecifier = tokens.getBuildSpecifier();
     }
 
     public boolean isSnapshot()
@@ -198,27 +185,37 @@ public class Version
      */
     protected static String joinDigitString( List<String> digits )
     {
-        return digits != null ? StringUtils.join( digits.iterator(), DIGIT_SEPARATOR_STRING ) : null;
-    }
-
-    /**
-     * Splits the string on "." and returns a list containing each digit.
-     * 
-     * @param strDigits
-     */
-    private List<String> parseDigits( String strDigits )
-    {
-        return Arrays.asList( StringUtils.split( strDigits, DIGIT_SEPARATOR_STRING ) );
+        if ( digits == null )
+        {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for ( int i = 0; i < digits.size(); i++ )
+        {
+            if ( i > 0 )
+            {
+                sb.append( DIGIT_SEPARATOR );
+            }
+            if ( digits.get( i ) != null )
+            {
+                sb.append( digits.get( i ) );
+            }
+        }
+        return sb.toString();
     }
 
-    private static String nullIfEmpty( String s )
+    public List<String> getDigits()
     {
-        return StringUtils.isEmpty( s ) ? null : s;
+        return digits;
     }
 
-    public List<String> getDigits()
+    /**
+     * @return the separator before the annotation, or before the annotation revision if there is no annotation
+     * @since 3.0.0
+     */
+    public String getAnnotationSeparator()
     {
-        return digits;
+        return annotationSeparator;
     }
 
     public String getAnnotation()
@@ -253,8 +250,8 @@ public class Version
     public int compareTo( Version other )
         throws VersionComparisonConflictException
     {
-        int aetherComparisonResult = this.aetherVersion.compareTo( other.aetherVersion );
-        int mavenComparisonResult = this.mavenArtifactVersion.compareTo( other.mavenArtifactVersion );
+        int aetherComparisonResult = this.getAetherVersion().compareTo( other.getAetherVersion() );
+        int mavenComparisonResult = this.getMavenArtifactVersion().compareTo( other.getMavenArtifactVersion() );
 
         if ( aetherComparisonResult < 0 && mavenComparisonResult < 0 )
         {
@@ -275,4 +272,36 @@ public class Version
         }
     }
 
+    // both are stateless once created, so creating one twice on concurrent first comparisons does no harm
+
+    private AetherVersion getAetherVersion()
+    {
+        AetherVersion version = aetherVersion;
+        if ( version == null )
+        {
+            try
+            {
+                version = new AetherVersion( strVersion );
+            }
+            catch ( VersionParseException e )
+            {
+                // the generic version scheme accepts any version string
+                throw new IllegalStateException( e.getMessage(), e );
+            }
+            aetherVersion = version;
+        }
+        return version;
+    }
+
+    private MavenArtifactVersion getMavenArtifactVersion()
+    {
+        MavenArtifactVersion version = mavenArtifactVersion;
+        if ( version == null )
+        {
+            version = new MavenArtifactVersion( strVersion );
+            mavenArtifactVersion = version;
+        }
+        return version;
+    }
+
 }
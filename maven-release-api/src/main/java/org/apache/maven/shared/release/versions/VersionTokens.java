@@ -0,0 +1,369 @@
+package org.apache.maven.shared.release.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The parts of a version string, as parsed by {@link Version} and <code>DefaultVersionInfo</code>. The version is
+ * tokenized in a single pass over its characters, with the same result as matching it against
+ * {@link Version#ALTERNATE_PATTERN} and {@link Version#STANDARD_PATTERN}. Only the positions of the parts are kept,
+ * their strings are only created when asked for, and the digits are kept as numbers as well.
+ *
+ * @since 3.0.0
+ */
+public final class VersionTokens
+{
+    private static final String SNAPSHOT_IDENTIFIER = "SNAPSHOT";
+
+    /**
+     * The longest digit which always fits in a <code>long</code>.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final int DECIMAL = 10;
+
+    private final String version;
+
+    /**
+     * The offsets of the digits, followed by the end of the last one.
+     */
+    private final int[] digitOffsets;
+
+    private final long[] digitValues;
+
+    private int annotationSeparator = -1;
+
+    private int annotationStart = -1;
+
+    private int annotationEnd = -1;
+
+    private int annotationRevSeparator = -1;
+
+    private int annotationRevisionStart = -1;
+
+    private int annotationRevisionEnd = -1;
+
+    private int buildSeparator = -1;
+
+    private int buildSpecifierStart = -1;
+
+    private int buildSpecifierEnd = -1;
+
+    private VersionTokens( String version, int[] digitOffsets, long[] digitValues )
+    {
+        this.version = version;
+        this.digitOffsets = digitOffsets;
+        this.digitValues = digitValues;
+    }
+
+    /**
+     * @param version the version string
+     * @return the parts of the version
+     * @throws VersionParseException if the version can't be parsed
+     */
+    public static VersionTokens tokenize( String version )
+        throws VersionParseException
+    {
+        int length = version.length();
+
+        if ( isAlternate( version ) )
+        {
+            VersionTokens tokens = new VersionTokens( version, null, null );
+            tokens.buildSpecifierStart = 0;
+            tokens.buildSpecifierEnd = length;
+            return tokens;
+        }
+
+        // digits, separated by single dots
+        int count = 0;
+        int pos = 0;
+        while ( pos < length && isDigit( version.charAt( pos ) ) )
+        {
+            count++;
+            pos = skipDigits( version, pos );
+            if ( pos + 1 < length && version.charAt( pos ) == '.' && isDigit( version.charAt( pos + 1 ) ) )
+            {
+                pos++;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if ( count == 0 )
+        {
+            throw new VersionParseException( "Unable to parse the version string: \"" + version + "\"" );
+        }
+        for ( int i = pos; i < length; i++ )
+        {
+            if ( isLineTerminator( version.charAt( i ) ) )
+            {
+                throw new VersionParseException( "Unable to parse the version string: \"" + version + "\"" );
+            }
+        }
+
+        int[] offsets = new int[count + 1];
+        long[] values = new long[count];
+        int start = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            offsets[i] = start;
+            int end = skipDigits( version, start );
+            values[i] = parseDigit( version, start, end );
+            start = end + 1;
+        }
+        offsets[count] = pos;
+
+        VersionTokens tokens = new VersionTokens( version, offsets, values );
+
+        // optional annotation separator, annotation, annotation revision separator and annotation revision
+        int annotationSeparator = isSeparator( version, pos ) ? pos++ : -1;
+        int annotationStart = pos;
+        while ( pos < length && isLetter( version.charAt( pos ) ) )
+        {
+            pos++;
+        }
+        int annotationEnd = pos;
+
+        if ( version.startsWith( SNAPSHOT_IDENTIFIER, annotationStart )
+            && annotationEnd - annotationStart == SNAPSHOT_IDENTIFIER.length() )
+        {
+            // the annotation is "SNAPSHOT", so it is the build specifier, whatever follows
+            tokens.buildSeparator = annotationSeparator;
+            tokens.buildSpecifierStart = annotationStart;
+            tokens.buildSpecifierEnd = annotationEnd;
+            return tokens;
+        }
+        tokens.annotationSeparator = annotationSeparator;
+        tokens.annotationStart = annotationStart;
+        tokens.annotationEnd = annotationEnd;
+
+        int revisionSeparator = isSeparator( version, pos ) ? pos++ : -1;
+        int revisionStart = pos;
+        pos = skipDigits( version, pos );
+        int revisionEnd = pos;
+
+        // the build specifier, optionally with its own separator
+        int buildSeparator = isSeparator( version, pos ) ? pos++ : -1;
+
+        if ( revisionSeparator >= 0 && revisionStart == revisionEnd )
+        {
+            // the build separator was picked up as the annotation revision separator
+            tokens.buildSeparator = revisionSeparator;
+        }
+        else
+        {
+            tokens.annotationRevSeparator = revisionSeparator;
+            tokens.annotationRevisionStart = revisionStart;
+            tokens.annotationRevisionEnd = revisionEnd;
+            tokens.buildSeparator = buildSeparator;
+        }
+        tokens.buildSpecifierStart = pos;
+        tokens.buildSpecifierEnd = length;
+        return tokens;
+    }
+
+    /**
+     * @return <code>true</code> for <code>SNAPSHOT</code> and <code>name-SNAPSHOT</code>, which have no digits
+     */
+    private static boolean isAlternate( String version )
+    {
+        int length = version.length();
+        if ( !version.endsWith( SNAPSHOT_IDENTIFIER ) )
+        {
+            return false;
+        }
+        int separator = length - SNAPSHOT_IDENTIFIER.length() - 1;
+        if ( separator < 0 )
+        {
+            return true;
+        }
+        if ( separator == 0 || !isSeparator( version, separator ) )
+        {
+            return false;
+        }
+        for ( int i = 0; i < separator; i++ )
+        {
+            if ( !isLetter( version.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipDigits( String version, int start )
+    {
+        int pos = start;
+        while ( pos < version.length() && isDigit( version.charAt( pos ) ) )
+        {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static long parseDigit( String version, int start, int end )
+    {
+        if ( end - start > MAX_LONG_DIGITS )
+        {
+            return -1;
+        }
+        long value = 0;
+        for ( int i = start; i < end; i++ )
+        {
+            value = value * DECIMAL + version.charAt( i ) - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit( char c )
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter( char c )
+    {
+        return ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' );
+    }
+
+    private static boolean isSeparator( String version, int pos )
+    {
+        if ( pos >= version.length() )
+        {
+            return false;
+        }
+        char c = version.charAt( pos );
+        return c == '-' || c == '_';
+    }
+
+    /**
+     * @return <code>true</code> for the characters the patterns don't match with <code>.</code>
+     */
+    private static boolean isLineTerminator( char c )
+    {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private String substring( int start, int end )
+    {
+        return start < end ? version.substring( start, end ) : null;
+    }
+
+    private static String separator( String version, int pos )
+    {
+        if ( pos < 0 )
+        {
+            return null;
+        }
+        return version.charAt( pos ) == '-' ? "-" : "_";
+    }
+
+    /**
+     * @return the number of digits, <code>0</code> if the version has none
+     */
+    public int getDigitCount()
+    {
+        return digitValues != null ? digitValues.length : 0;
+    }
+
+    /**
+     * @param index the index of the digit
+     * @return the value of the digit, or <code>-1</code> if it is too large for a <code>long</code>, in which case
+     *         {@link #getDigit(int)} is the only way to get it
+     */
+    public long getDigitValue( int index )
+    {
+        return digitValues[index];
+    }
+
+    /**
+     * @param index the index of the digit
+     * @return the digit as written, including leading zeros
+     */
+    public String getDigit( int index )
+    {
+        int end = index + 1 < digitValues.length ? digitOffsets[index + 1] - 1 : digitOffsets[index + 1];
+        return version.substring( digitOffsets[index], end );
+    }
+
+    /**
+     * @return the digits as written, <code>null</code> if the version has none
+     */
+    public List<String> getDigits()
+    {
+        if ( digitValues == null )
+        {
+            return null;
+        }
+        String[] digits = new String[digitValues.length];
+        for ( int i = 0; i < digits.length; i++ )
+        {
+            digits[i] = getDigit( i );
+        }
+        return Arrays.asList( digits );
+    }
+
+    public String getAnnotationSeparator()
+    {
+        return separator( version, annotationSeparator );
+    }
+
+    public String getAnnotation()
+    {
+        return substring( annotationStart, annotationEnd );
+    }
+
+    public String getAnnotationRevSeparator()
+    {
+        return separator( version, annotationRevSeparator );
+    }
+
+    public String getAnnotationRevision()
+    {
+        return substring( annotationRevisionStart, annotationRevisionEnd );
+    }
+
+    public String getBuildSeparator()
+    {
+        return separator( version, buildSeparator );
+    }
+
+    /**
+     * @return the build specifier, <code>null</code> if it is missing or blank
+     */
+    public String getBuildSpecifier()
+    {
+        if ( buildSpecifierStart == 0 && buildSpecifierEnd == version.length() )
+        {
+            return version;
+        }
+        for ( int i = buildSpecifierStart; i < buildSpecifierEnd; i++ )
+        {
+            // a blank build specifier counted as empty, as StringUtils.isEmpty() trims
+            if ( version.charAt( i ) > ' ' )
+            {
+                return version.substring( buildSpecifierStart, buildSpecifierEnd );
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package org.apache.maven.shared.release.policy.version;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.shared.release.policy.PolicyException;
+import org.apache.maven.shared.release.versions.VersionParseException;
+import org.junit.Test;
+
+public class BatchVersionPolicyAdapterTest
+{
+    private final List<String> calls = new ArrayList<String>();
+
+    private final VersionPolicy policy = new VersionPolicy()
+    {
+        public VersionPolicyResult getReleaseVersion( VersionPolicyRequest request )
+            throws PolicyException, VersionParseException
+        {
+            calls.add( "release " + request.getVersion() );
+            if ( "invalid".equals( request.getVersion() ) )
+            {
+                throw new VersionParseException( "invalid" );
+            }
+            return new VersionPolicyResult().setVersion( request.getVersion().replace( "-SNAPSHOT", "" ) );
+        }
+
+        public VersionPolicyResult getDevelopmentVersion( VersionPolicyRequest request )
+        {
+            calls.add( "development " + request.getVersion() );
+            return new VersionPolicyResult().setVersion( request.getVersion() + ".1-SNAPSHOT" );
+        }
+    };
+
+    @Test
+    public void testReleaseVersions()
+        throws Exception
+    {
+        List<VersionPolicyResult> results = BatchVersionPolicyAdapter.adapt( policy ).getReleaseVersions(
+            Arrays.asList( new VersionPolicyRequest().setVersion( "1.0-SNAPSHOT" ),
+                           new VersionPolicyRequest().setVersion( "2.0-SNAPSHOT" ) ) );
+
+        assertEquals( 2, results.size() );
+        assertEquals( "1.0", results.get( 0 ).getVersion() );
+        assertEquals( "2.0", results.get( 1 ).getVersion() );
+        assertEquals( Arrays.asList( "release 1.0-SNAPSHOT", "release 2.0-SNAPSHOT" ), calls );
+    }
+
+    @Test
+    public void testDevelopmentVersions()
+        throws Exception
+    {
+        List<VersionPolicyResult> results = BatchVersionPolicyAdapter.adapt( policy ).getDevelopmentVersions(
+            Collections.singletonList( new VersionPolicyRequest().setVersion( "1.0" ) ) );
+
+        assertEquals( 1, results.size() );
+        assertEquals( "1.0.1-SNAPSHOT", results.get( 0 ).getVersion() );
+        assertEquals( Collections.singletonList( "development 1.0" ), calls );
+    }
+
+    @Test
+    public void testFailure()
+        throws Exception
+    {
+        try
+        {
+            BatchVersionPolicyAdapter.adapt( policy ).getReleaseVersions(
+                Arrays.asList( new VersionPolicyRequest().setVersion( "invalid" ),
+                               new VersionPolicyRequest().setVersion( "2.0-SNAPSHOT" ) ) );
+            fail( "Should have failed on the invalid version" );
+        }
+        catch ( VersionParseException e )
+        {
+            assertEquals( Collections.singletonList( "release invalid" ), calls );
+        }
+    }
+
+    @Test
+    public void testAdaptBatchPolicy()
+    {
+        BatchVersionPolicy batchPolicy = new BatchVersionPolicyAdapter( policy );
+
+        assertSame( batchPolicy, BatchVersionPolicyAdapter.adapt( batchPolicy ) );
+        assertSame( policy, ( (BatchVersionPolicyAdapter) BatchVersionPolicyAdapter.adapt( policy ) ).getPolicy() );
+    }
+}
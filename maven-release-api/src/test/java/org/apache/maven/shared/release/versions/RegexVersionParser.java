@@ -0,0 +1,94 @@
+package org.apache.maven.shared.release.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * The regular expression parsing which {@link VersionTokens} replaced, as reference for its tests.
+ */
+final class RegexVersionParser
+{
+    private static final int DIGITS_INDEX = 1;
+
+    private static final int ANNOTATION_SEPARATOR_INDEX = 2;
+
+    private static final int ANNOTATION_INDEX = 3;
+
+    private static final int ANNOTATION_REV_SEPARATOR_INDEX = 4;
+
+    private static final int ANNOTATION_REVISION_INDEX = 5;
+
+    private static final int BUILD_SEPARATOR_INDEX = 6;
+
+    private static final int BUILD_SPECIFIER_INDEX = 7;
+
+    private RegexVersionParser()
+    {
+        // noop
+    }
+
+    /**
+     * @return the digits, annotation separator, annotation, annotation revision separator, annotation revision, build
+     *         separator and build specifier, or <code>null</code> if the version can't be parsed
+     */
+    static Object[] parse( String version )
+    {
+        Matcher matcher = Version.ALTERNATE_PATTERN.matcher( version );
+        if ( matcher.matches() )
+        {
+            return new Object[] { null, null, null, null, null, null, version };
+        }
+
+        Matcher m = Version.STANDARD_PATTERN.matcher( version );
+        if ( !m.matches() )
+        {
+            return null;
+        }
+
+        List<String> digits = Arrays.asList( StringUtils.split( m.group( DIGITS_INDEX ), "." ) );
+        if ( "SNAPSHOT".equals( m.group( ANNOTATION_INDEX ) ) )
+        {
+            return new Object[] { digits, null, null, null, null, m.group( ANNOTATION_SEPARATOR_INDEX ),
+                nullIfEmpty( m.group( ANNOTATION_INDEX ) ) };
+        }
+
+        String annotationSeparator = m.group( ANNOTATION_SEPARATOR_INDEX );
+        String annotation = nullIfEmpty( m.group( ANNOTATION_INDEX ) );
+        if ( StringUtils.isNotEmpty( m.group( ANNOTATION_REV_SEPARATOR_INDEX ) )
+            && StringUtils.isEmpty( m.group( ANNOTATION_REVISION_INDEX ) ) )
+        {
+            return new Object[] { digits, annotationSeparator, annotation, null, null,
+                m.group( ANNOTATION_REV_SEPARATOR_INDEX ), nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) ) };
+        }
+        return new Object[] { digits, annotationSeparator, annotation, m.group( ANNOTATION_REV_SEPARATOR_INDEX ),
+            nullIfEmpty( m.group( ANNOTATION_REVISION_INDEX ) ), m.group( BUILD_SEPARATOR_INDEX ),
+            nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) ) };
+    }
+
+    private static String nullIfEmpty( String s )
+    {
+        return StringUtils.isEmpty( s ) ? null : s;
+    }
+}
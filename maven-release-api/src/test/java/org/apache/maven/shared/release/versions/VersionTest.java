@@ -0,0 +1,102 @@
+package org.apache.maven.shared.release.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Test the parsing and comparing of versions.
+ */
+public class VersionTest
+    extends TestCase
+{
+    public void testParse()
+        throws Exception
+    {
+        Version version = Version.parse( "1.2.3-beta-4-SNAPSHOT" );
+
+        assertEquals( Arrays.asList( "1", "2", "3" ), version.getDigits() );
+        assertEquals( "beta", version.getAnnotation() );
+        assertEquals( "4", version.getAnnotationRevision() );
+        assertEquals( "SNAPSHOT", version.getBuildSpecifier() );
+        assertTrue( version.isSnapshot() );
+        assertEquals( "1.2.3-beta-4-SNAPSHOT", version.toString() );
+    }
+
+    public void testParseShares()
+        throws Exception
+    {
+        assertSame( Version.parse( "2.0" ), Version.parse( "2.0" ) );
+        assertNotSame( Version.parse( "2.0" ), new Version( "2.0" ) );
+    }
+
+    public void testParseEvicts()
+        throws Exception
+    {
+        Version version = Version.parse( "3.0" );
+        for ( int i = 0; i < Version.CACHE_SIZE; i++ )
+        {
+            Version.parse( "3.0." + i );
+        }
+
+        assertNotSame( version, Version.parse( "3.0" ) );
+    }
+
+    public void testParseInvalid()
+    {
+        for ( int i = 0; i < 2; i++ )
+        {
+            try
+            {
+                Version.parse( "invalid" );
+                fail( "not a version" );
+            }
+            catch ( VersionParseException e )
+            {
+                assertTrue( e.getMessage(), e.getMessage().contains( "invalid" ) );
+            }
+        }
+    }
+
+    public void testDigitsAreShared()
+        throws Exception
+    {
+        try
+        {
+            Version.parse( "4.0" ).getDigits().set( 0, "5" );
+            fail( "digits of a shared version" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            assertEquals( "4.0", Version.parse( "4.0" ).toString() );
+        }
+    }
+
+    public void testCompareTo()
+        throws Exception
+    {
+        assertEquals( -1, Version.parse( "1.0-SNAPSHOT" ).compareTo( Version.parse( "1.0" ) ) );
+        assertEquals( 0, Version.parse( "1.0" ).compareTo( new Version( "1.0" ) ) );
+        assertEquals( 1, Version.parse( "1.10" ).compareTo( Version.parse( "1.9" ) ) );
+        assertEquals( 1, Version.parse( "1.0-beta-2" ).compareTo( Version.parse( "1.0-beta-1" ) ) );
+    }
+}
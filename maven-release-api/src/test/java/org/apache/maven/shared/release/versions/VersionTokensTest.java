@@ -0,0 +1,125 @@
+package org.apache.maven.shared.release.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Test the tokenizing of versions, against the regular expressions it replaced.
+ */
+public class VersionTokensTest
+    extends TestCase
+{
+    private static final String[] FRAGMENTS = {
+        "0", "1", "2", "9", "01", "10", "123", "2004111408", "12345678901234567890123", ".", ".", "..", "-", "-", "_",
+        "--", "alpha", "beta", "RC", "rc", "M", "SNAPSHOT", "SNAPSHOT", "snapshot", "Final", "trunk", "x", "+", " ",
+        "\n", "\r", "\u2028", "\u00e9", "/", "20041114.081234-2"
+    };
+
+    private static final int CORPUS_SIZE = 200000;
+
+    private static final int MAX_FRAGMENTS = 7;
+
+    public void testExamples()
+        throws Exception
+    {
+        String[] versions = {
+            "1", "1.0", "1.0.1", "1.01", "1.0-SNAPSHOT", "1.0SNAPSHOT", "1.0-alpha-1", "1.0_beta_2-SNAPSHOT",
+            "1.0RC3SNAPSHOT", "1.2.9-beta-9-SNAPSHOT", "1.2.9beta9SNAPSHOT", "1.0-alpha--SNAPSHOT", "1.0-20041114.081234-2",
+            "1.0-SNAPSHOT-foo", "1.0.", "1..0", "1.0-", "1.0--", "SNAPSHOT", "trunk-SNAPSHOT", "trunk_SNAPSHOT",
+            "-SNAPSHOT", "trunk-SNAPSHOT-1", "2.0-SNAPSHOT\n", "1.0-beta\r\n", "a1.0", "", "1.0-alpha-1-\u00e9",
+            "12345678901234567890.1"
+        };
+        for ( String version : versions )
+        {
+            assertSameAsRegex( version );
+        }
+    }
+
+    public void testGeneratedCorpus()
+        throws Exception
+    {
+        Random random = new Random( 20140518L );
+        StringBuilder version = new StringBuilder();
+        for ( int i = 0; i < CORPUS_SIZE; i++ )
+        {
+            version.setLength( 0 );
+            // most versions start with digits, as real ones do
+            if ( random.nextInt( 4 ) > 0 )
+            {
+                version.append( random.nextInt( 20 ) );
+            }
+            int fragments = random.nextInt( MAX_FRAGMENTS ) + 1;
+            for ( int j = 0; j < fragments; j++ )
+            {
+                version.append( FRAGMENTS[random.nextInt( FRAGMENTS.length )] );
+            }
+            assertSameAsRegex( version.toString() );
+        }
+    }
+
+    public void testDigitValues()
+        throws Exception
+    {
+        VersionTokens tokens = VersionTokens.tokenize( "01.2.12345678901234567890-SNAPSHOT" );
+
+        assertEquals( 3, tokens.getDigitCount() );
+        assertEquals( 1, tokens.getDigitValue( 0 ) );
+        assertEquals( "01", tokens.getDigit( 0 ) );
+        assertEquals( 2, tokens.getDigitValue( 1 ) );
+        assertEquals( -1, tokens.getDigitValue( 2 ) );
+        assertEquals( "12345678901234567890", tokens.getDigit( 2 ) );
+
+        assertEquals( 0, VersionTokens.tokenize( "SNAPSHOT" ).getDigitCount() );
+    }
+
+    private static void assertSameAsRegex( String version )
+    {
+        Object[] expected = RegexVersionParser.parse( version );
+        VersionTokens tokens;
+        try
+        {
+            tokens = VersionTokens.tokenize( version );
+        }
+        catch ( VersionParseException e )
+        {
+            assertNull( "Tokenizer rejected \"" + version + "\"", expected );
+            return;
+        }
+        assertNotNull( "Tokenizer accepted \"" + version + "\"", expected );
+
+        Object[] actual = { tokens.getDigits(), tokens.getAnnotationSeparator(), tokens.getAnnotation(),
+            tokens.getAnnotationRevSeparator(), tokens.getAnnotationRevision(), tokens.getBuildSeparator(),
+            tokens.getBuildSpecifier() };
+        assertEquals( "\"" + version + "\"", Arrays.asList( expected ), Arrays.asList( actual ) );
+
+        for ( int i = 0; i < tokens.getDigitCount(); i++ )
+        {
+            String digit = tokens.getDigit( i );
+            if ( digit.length() <= 18 )
+            {
+                assertEquals( Long.parseLong( digit ), tokens.getDigitValue( i ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base of the benchmarks which work on a whole {@link SyntheticReactor}, measuring the average time of one pass over
+ * the reactor. The components are looked up from a Plexus container, as the release manager gets them.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+public abstract class AbstractReactorBenchmark
+{
+    @Param( { "10", "100", "1000", "5000" } )
+    private int modules;
+
+    protected SyntheticReactor reactor;
+
+    protected PlexusContainer container;
+
+    @Setup( Level.Trial )
+    public void setUpReactor()
+        throws Exception
+    {
+        File basedir = new File( "target/benchmarks/" + getClass().getSimpleName() + "-" + modules );
+        reactor = new SyntheticReactor( basedir.getAbsoluteFile(), modules );
+
+        DefaultPlexusContainer plexus = new DefaultPlexusContainer();
+        plexus.addContextValue( "plexus.home", basedir.getAbsolutePath() );
+        plexus.initialize();
+        plexus.start();
+        container = plexus;
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDownReactor()
+    {
+        if ( container != null )
+        {
+            container.dispose();
+        }
+    }
+
+    protected static String getProjectId( MavenProject project )
+    {
+        return ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
+    }
+}
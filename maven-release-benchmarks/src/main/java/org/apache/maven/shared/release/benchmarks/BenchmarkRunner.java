@@ -0,0 +1,63 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options, writing the results as JSON to
+ * <code>target/benchmarks.json</code> unless a result file or format is given. The JSON of JMH is the same for every run,
+ * so results can be compared across versions of the release manager.
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner()
+    {
+        // noop
+    }
+
+    public static void main( String[] args )
+        throws Exception
+    {
+        CommandLineOptions commandLine = new CommandLineOptions( args );
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent( commandLine );
+        if ( !commandLine.getResultFormat().hasValue() )
+        {
+            builder.resultFormat( ResultFormatType.JSON );
+        }
+        if ( !commandLine.getResult().hasValue() )
+        {
+            File result = new File( "target/benchmarks.json" ).getAbsoluteFile();
+            result.getParentFile().mkdirs();
+            builder.result( result.getPath() );
+        }
+        Options options = builder.build();
+
+        new Runner( options ).run();
+    }
+}
@@ -0,0 +1,126 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.exec.BufferedStreamPumper;
+import org.apache.maven.shared.release.exec.CaptureBuffer;
+import org.apache.maven.shared.release.exec.TeeOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Capturing the output of a long build, once through a {@link TeeOutputStream}, streaming the captured output back,
+ * and once in a <code>ByteArrayOutputStream</code>, like before. The fork has a small heap, which only the
+ * {@link CaptureBuffer} copes with for the larger outputs. Run it with <code>-prof gc</code> to compare the
+ * allocations.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx256m" )
+public class CaptureBufferBenchmark
+{
+    private static final byte[] LINE =
+        "[INFO] Tests run: 42, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.123 sec\n".getBytes();
+
+    private static final int MB = 1024 * 1024;
+
+    @Param( { "16", "512" } )
+    private int megabytes;
+
+    @Benchmark
+    public long captureBuffer()
+        throws Exception
+    {
+        TeeOutputStream out = new TeeOutputStream( new NullOutputStream() );
+        write( out );
+
+        CaptureBuffer capture = out.getCapture();
+        long read = 0;
+        byte[] buffer = new byte[BufferedStreamPumper.DEFAULT_BUFFER_SIZE];
+        InputStream in = capture.openStream();
+        try
+        {
+            for ( int n = in.read( buffer ); n > 0; n = in.read( buffer ) )
+            {
+                read += n;
+            }
+        }
+        finally
+        {
+            in.close();
+            capture.close();
+        }
+        return read;
+    }
+
+    @Benchmark
+    public long byteArray()
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write( out );
+        return out.size();
+    }
+
+    private void write( OutputStream out )
+        throws Exception
+    {
+        long bytes = (long) megabytes * MB;
+        for ( long written = 0; written < bytes; written += LINE.length )
+        {
+            out.write( LINE );
+        }
+    }
+
+    /**
+     * The console, whose output costs the same either way.
+     */
+    private static class NullOutputStream
+        extends OutputStream
+    {
+        @Override
+        public void write( int b )
+        {
+            // discard
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len )
+        {
+            // discard
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.phase.ReleasePhase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Check of the dependencies, plugins, reports and extensions of the whole reactor for snapshots.
+ */
+@State( Scope.Benchmark )
+public class CheckDependencySnapshotsBenchmark
+    extends AbstractReactorBenchmark
+{
+    private ReleasePhase phase;
+
+    private ReleaseDescriptor releaseDescriptor;
+
+    @Setup( Level.Trial )
+    public void setUpPhase()
+        throws Exception
+    {
+        phase = (ReleasePhase) container.lookup( ReleasePhase.ROLE, "check-dependency-snapshots" );
+
+        releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+    }
+
+    @Benchmark
+    public ReleaseResult check()
+        throws Exception
+    {
+        return phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactor.getProjects() );
+    }
+}
@@ -0,0 +1,83 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.transform.jdom.JDomModelETL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Locating the root element of a POM with many license headers in its prolog and epilog, which the JDOM ETL scans
+ * to keep them as they are. The time per comment should stay about the same when the comments grow a hundredfold.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CommentedPomBenchmark
+{
+    private static final String LICENSE = "<!--\n  ~ Licensed to the Apache Software Foundation (ASF) under one\n"
+        + "  ~ or more contributor license agreements.\n  ~\n  ~   http://www.apache.org/licenses/LICENSE-2.0\n"
+        + "  -->\n";
+
+    @Param( { "10", "100", "1000" } )
+    private int comments;
+
+    private String content;
+
+    @Setup( Level.Trial )
+    public void setUpPom()
+    {
+        StringBuilder prolog = new StringBuilder( "<?xml version=\"1.0\"?>\n" );
+        StringBuilder epilog = new StringBuilder();
+        for ( int i = 0; i < comments; i++ )
+        {
+            prolog.append( LICENSE );
+            epilog.append( LICENSE );
+        }
+        content = prolog + "<project>\n  <modelVersion>4.0.0</modelVersion>\n</project>\n" + epilog;
+    }
+
+    @Benchmark
+    public int rootElementStart()
+    {
+        return JDomModelETL.getRootElementStart( content );
+    }
+
+    @Benchmark
+    public int rootElementEnd()
+    {
+        return JDomModelETL.getRootElementEnd( content );
+    }
+}
@@ -0,0 +1,127 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.util.ExclusionMatcher;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filtering the changed files of a working directory with generated files through the exclusion patterns of the
+ * modification check, once pattern by pattern with {@link SelectorUtils} and once with the compiled
+ * {@link ExclusionMatcher}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ExclusionMatcherBenchmark
+{
+    /**
+     * The default exclusions of the modification check, with a few typical additional ones.
+     */
+    private static final List<String> PATTERNS =
+        Arrays.asList( "**/pom.xml.backup", "**/pom.xml.tag", "**/pom.xml.next", "**/pom.xml.branch",
+                       "**/release.properties", "**/release.properties.journal", "**/pom.xml.releaseBackup",
+                       "**/release-*-metrics.json", "**/generated-sources/**", "**/*.orig", "docs/**/*.html",
+                       "tools/build.log" );
+
+    @Param( { "100000" } )
+    private int changedFiles;
+
+    private List<String> paths;
+
+    private List<String> patterns;
+
+    @Setup( Level.Trial )
+    public void setUpPaths()
+    {
+        patterns = new ArrayList<String>();
+        for ( String pattern : PATTERNS )
+        {
+            patterns.add( pattern.replace( "/", File.separator ) );
+        }
+
+        paths = new ArrayList<String>( changedFiles );
+        for ( int i = 0; paths.size() < changedFiles; i++ )
+        {
+            String module = "module-" + ( i % 50 ) + "/sub-" + ( i % 7 );
+            paths.add( module + "/target/generated-sources/annotations/Generated" + i + ".java" );
+            paths.add( module + "/pom.xml.tag" );
+            paths.add( module + "/src/main/java/Source" + i + ".java" );
+            paths.add( module + "/src/main/resources/messages_" + i + ".properties.orig" );
+        }
+        paths = paths.subList( 0, changedFiles );
+    }
+
+    @Benchmark
+    public int selectorUtils()
+    {
+        int excluded = 0;
+        for ( String path : paths )
+        {
+            String fileName = path.replace( "\\", File.separator ).replace( "/", File.separator );
+            for ( String pattern : patterns )
+            {
+                if ( SelectorUtils.matchPath( pattern, fileName ) )
+                {
+                    excluded++;
+                    break;
+                }
+            }
+        }
+        return excluded;
+    }
+
+    @Benchmark
+    public int exclusionMatcher()
+    {
+        ExclusionMatcher matcher = new ExclusionMatcher( patterns );
+
+        int excluded = 0;
+        for ( String path : paths )
+        {
+            if ( matcher.matches( path ) )
+            {
+                excluded++;
+            }
+        }
+        return excluded;
+    }
+}
@@ -0,0 +1,93 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.transform.ModelETL;
+import org.apache.maven.shared.release.transform.ModelETLFactory;
+import org.apache.maven.shared.release.transform.ModelETLRequest;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading and writing all POMs of the reactor with a {@link ModelETL}, without a POM cache.
+ */
+@State( Scope.Benchmark )
+public class ModelETLBenchmark
+    extends AbstractReactorBenchmark
+{
+    @Param( { "jdom-sax", "stream" } )
+    private String etl;
+
+    private ModelETLFactory factory;
+
+    private final ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+
+    @Setup( Level.Trial )
+    public void setUpFactory()
+        throws Exception
+    {
+        factory = (ModelETLFactory) container.lookup( ModelETLFactory.class.getName(), etl );
+    }
+
+    private ModelETL newModelETL( MavenProject project )
+    {
+        ModelETLRequest request = new ModelETLRequest();
+        request.setLineSeparator( ReleaseUtil.LS );
+        request.setProject( project );
+        request.setReleaseDescriptor( releaseDescriptor );
+        return factory.newInstance( request );
+    }
+
+    @Benchmark
+    public void extract( Blackhole blackhole )
+        throws Exception
+    {
+        for ( MavenProject project : reactor.getProjects() )
+        {
+            ModelETL modelETL = newModelETL( project );
+            modelETL.extract( project.getFile() );
+            blackhole.consume( modelETL );
+        }
+    }
+
+    @Benchmark
+    public void extractAndLoad( Blackhole blackhole )
+        throws Exception
+    {
+        for ( MavenProject project : reactor.getProjects() )
+        {
+            ModelETL modelETL = newModelETL( project );
+            modelETL.extract( project.getFile() );
+            modelETL.transform();
+            modelETL.load( new File( project.getFile().getParentFile(), "pom.xml.bench" ) );
+            blackhole.consume( modelETL );
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.shared.release.util.PomFinder;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Search for the POM of the last module of the reactor, starting from its root, as done to find the POM of a project
+ * in a checkout.
+ */
+@State( Scope.Benchmark )
+public class PomFinderBenchmark
+    extends AbstractReactorBenchmark
+{
+    private PomFinder pomFinder;
+
+    @Setup( Level.Trial )
+    public void setUpPomFinder()
+    {
+        pomFinder = new PomFinder( new ConsoleLogger( Logger.LEVEL_ERROR, "pom-finder" ) );
+        if ( !pomFinder.parsePom( reactor.getLastPom() ) )
+        {
+            throw new IllegalStateException( "Could not parse " + reactor.getLastPom() );
+        }
+    }
+
+    @Benchmark
+    public File findMatchingPom()
+    {
+        return pomFinder.findMatchingPom( reactor.getBasedir() );
+    }
+}
@@ -0,0 +1,108 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.PropertiesReleaseDescriptorStore;
+import org.apache.maven.shared.release.config.ReleaseDescriptorStore;
+import org.apache.maven.shared.release.config.ReleaseUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Writing and reading the <code>release.properties</code> of the reactor, with the versions and the original SCM
+ * information of every module.
+ */
+@State( Scope.Benchmark )
+public class ReleaseDescriptorStoreBenchmark
+    extends AbstractReactorBenchmark
+{
+    private PropertiesReleaseDescriptorStore store;
+
+    private ReleaseDescriptor releaseDescriptor;
+
+    private File file;
+
+    private Properties properties;
+
+    @Setup( Level.Trial )
+    public void setUpStore()
+        throws Exception
+    {
+        store = (PropertiesReleaseDescriptorStore) container.lookup( ReleaseDescriptorStore.ROLE, "properties" );
+
+        releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setWorkingDirectory( reactor.getBasedir().getAbsolutePath() );
+        releaseDescriptor.setScmSourceUrl( SyntheticReactor.SCM_URL );
+        releaseDescriptor.setScmReleaseLabel( "reactor-1.0" );
+        releaseDescriptor.setCompletedPhase( "rewrite-poms-for-release" );
+        for ( MavenProject project : reactor.getProjects() )
+        {
+            String projectId = getProjectId( project );
+            releaseDescriptor.mapReleaseVersion( projectId, "1.0" );
+            releaseDescriptor.mapDevelopmentVersion( projectId, "1.1-SNAPSHOT" );
+            releaseDescriptor.mapOriginalScmInfo( projectId, project.getScm() );
+        }
+
+        file = new File( reactor.getBasedir(), "release.properties" );
+        store.write( releaseDescriptor, file );
+
+        properties = new Properties();
+        InputStream in = new FileInputStream( file );
+        try
+        {
+            properties.load( in );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    @Benchmark
+    public void write()
+        throws Exception
+    {
+        store.write( releaseDescriptor, file );
+    }
+
+    @Benchmark
+    public ReleaseDescriptor read()
+        throws Exception
+    {
+        return store.read( file );
+    }
+
+    @Benchmark
+    public ReleaseDescriptor copyPropertiesToReleaseDescriptor()
+    {
+        return ReleaseUtils.copyPropertiesToReleaseDescriptor( properties );
+    }
+}
@@ -0,0 +1,88 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.phase.ReleasePhase;
+import org.apache.maven.shared.release.phase.RewritePomsForReleasePhase;
+import org.apache.maven.shared.release.transform.PomCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Simulated rewrite of the reactor for the release, i.e. the transformation of all POMs to their release versions and
+ * tag SCM information, written next to the POMs. Every invocation starts with an empty POM cache, as a release goal
+ * does.
+ */
+@State( Scope.Benchmark )
+public class RewritePomsBenchmark
+    extends AbstractReactorBenchmark
+{
+    @Param( { "jdom-sax", "stream" } )
+    private String etl;
+
+    @Param( { "1", "4" } )
+    private int threads;
+
+    private RewritePomsForReleasePhase phase;
+
+    private PomCache pomCache;
+
+    private ReleaseDescriptor releaseDescriptor;
+
+    @Setup( Level.Trial )
+    public void setUpPhase()
+        throws Exception
+    {
+        phase = (RewritePomsForReleasePhase) container.lookup( ReleasePhase.ROLE, "rewrite-poms-for-release" );
+        phase.setModelETL( etl );
+        pomCache = (PomCache) container.lookup( PomCache.class.getName() );
+
+        releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setScmSourceUrl( SyntheticReactor.SCM_URL );
+        releaseDescriptor.setScmReleaseLabel( "reactor-1.0" );
+        releaseDescriptor.setPomTransformThreads( threads );
+        for ( MavenProject project : reactor.getProjects() )
+        {
+            releaseDescriptor.mapReleaseVersion( getProjectId( project ), "1.0" );
+        }
+    }
+
+    @Setup( Level.Invocation )
+    public void clearPomCache()
+    {
+        pomCache.clear();
+    }
+
+    @Benchmark
+    public ReleaseResult rewrite()
+        throws Exception
+    {
+        return phase.simulate( releaseDescriptor, new DefaultReleaseEnvironment(), reactor.getProjects() );
+    }
+}
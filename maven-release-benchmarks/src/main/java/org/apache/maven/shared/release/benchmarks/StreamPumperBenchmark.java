@@ -0,0 +1,143 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.exec.BufferedStreamPumper;
+import org.apache.maven.shared.release.exec.RawStreamPumper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pumping the output of a chatty build with {@link RawStreamPumper} and {@link BufferedStreamPumper}. Every line is
+ * written separately to a pipe, and every flush of the target costs about as much as it does for the console.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@SuppressWarnings( "deprecation" )
+public class StreamPumperBenchmark
+{
+    private static final byte[] LINE =
+        "[INFO] Compiling 42 source files to /home/build/project/target/classes\n".getBytes();
+
+    private static final int MB = 1024 * 1024;
+
+    @Param( { "16" } )
+    private int megabytes;
+
+    @Benchmark
+    public void raw()
+        throws Exception
+    {
+        PipedInputStream in = new PipedInputStream( BufferedStreamPumper.DEFAULT_BUFFER_SIZE );
+        Thread producer = produce( new PipedOutputStream( in ), (long) megabytes * MB );
+        RawStreamPumper pumper = new RawStreamPumper( in, new FlushCostOutputStream() );
+
+        producer.start();
+        pumper.start();
+        pumper.join();
+        producer.join();
+    }
+
+    @Benchmark
+    public void buffered()
+        throws Exception
+    {
+        PipedInputStream in = new PipedInputStream( BufferedStreamPumper.DEFAULT_BUFFER_SIZE );
+        Thread producer = produce( new PipedOutputStream( in ), (long) megabytes * MB );
+        BufferedStreamPumper pumper = BufferedStreamPumper.output( in, new FlushCostOutputStream() );
+
+        producer.start();
+        pumper.start();
+        pumper.awaitDone( 0 );
+        producer.join();
+    }
+
+    private static Thread produce( final OutputStream out, final long bytes )
+    {
+        return new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    for ( long written = 0; written < bytes; written += LINE.length )
+                    {
+                        out.write( LINE );
+                    }
+                    out.close();
+                }
+                catch ( IOException e )
+                {
+                    throw new IllegalStateException( e );
+                }
+            }
+        };
+    }
+
+    /**
+     * Discards the data, while a flush costs about as much as writing to a terminal.
+     */
+    private static class FlushCostOutputStream
+        extends OutputStream
+    {
+        private static final long FLUSH_NANOS = 2000;
+
+        @Override
+        public void write( int b )
+        {
+            // discard
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len )
+        {
+            // discard
+        }
+
+        @Override
+        public void flush()
+        {
+            long until = System.nanoTime() + FLUSH_NANOS;
+            while ( System.nanoTime() < until )
+            {
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Scm;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
+
+/**
+ * Reactor of an aggregating parent with the given number of modules, written to disk and resolved the way Maven
+ * would hand it to the release manager. Every module depends on the modules before it in the reactor, on an
+ * external library managed by the parent and on a test library.
+ */
+public class SyntheticReactor
+{
+    static final String GROUP_ID = "org.example.reactor";
+
+    static final String VERSION = "1.0-SNAPSHOT";
+
+    static final String SCM_URL = "scm:svn:file:///svn/reactor/trunk";
+
+    private static final String EXTERNAL_GROUP_ID = "org.example.external";
+
+    private final File basedir;
+
+    private final List<MavenProject> projects = new ArrayList<MavenProject>();
+
+    /**
+     * @param basedir the directory to write the reactor to, which is emptied first
+     * @param modules the number of modules besides the parent
+     * @throws IOException if the POMs could not be written
+     */
+    public SyntheticReactor( File basedir, int modules )
+        throws IOException
+    {
+        this.basedir = basedir;
+        FileUtils.deleteDirectory( basedir );
+
+        Model rootModel = createRootModel( modules );
+        MavenProject root = createProject( rootModel, createRootModel( modules ), new File( basedir, "pom.xml" ),
+                                           null );
+        projects.add( root );
+
+        for ( int i = 0; i < modules; i++ )
+        {
+            Model model = createModuleModel( i );
+            MavenProject project =
+                createProject( model, createModuleModel( i ), new File( basedir, getModuleName( i ) + "/pom.xml" ),
+                               root );
+
+            // the effective model inherits the SCM information of the parent
+            Scm scm = new Scm();
+            scm.setConnection( SCM_URL + "/" + getModuleName( i ) );
+            scm.setDeveloperConnection( SCM_URL + "/" + getModuleName( i ) );
+            project.setScm( scm );
+
+            // the dependencies of the effective model are interpolated and managed
+            Set<Artifact> artifacts = new LinkedHashSet<Artifact>();
+            for ( Dependency dependency : project.getModel().getDependencies() )
+            {
+                String version = dependency.getVersion();
+                if ( version == null )
+                {
+                    version = getManagedVersion( rootModel, dependency );
+                }
+                else if ( "${project.version}".equals( version ) )
+                {
+                    version = VERSION;
+                }
+                dependency.setVersion( version );
+                artifacts.add( createArtifact( dependency.getGroupId(), dependency.getArtifactId(), version,
+                                               dependency.getScope(), "jar" ) );
+            }
+            project.setArtifacts( artifacts );
+            project.setDependencyArtifacts( artifacts );
+
+            projects.add( project );
+        }
+    }
+
+    /**
+     * @param model the model written to the POM
+     * @param effectiveModel a copy of the model, which gets the coordinates inherited from the parent
+     */
+    private static MavenProject createProject( Model model, Model effectiveModel, File pomFile,
+                                               MavenProject parent )
+        throws IOException
+    {
+        pomFile.getParentFile().mkdirs();
+        Writer writer = WriterFactory.newXmlWriter( pomFile );
+        try
+        {
+            new MavenXpp3Writer().write( writer, model );
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
+
+        MavenProject project = new MavenProject( effectiveModel );
+        project.setOriginalModel( model );
+        project.setFile( pomFile );
+        if ( parent != null )
+        {
+            effectiveModel.setGroupId( parent.getGroupId() );
+            effectiveModel.setVersion( parent.getVersion() );
+            project.setParent( parent );
+            project.setParentArtifact( createArtifact( parent.getGroupId(), parent.getArtifactId(),
+                                                       parent.getVersion(), null, "pom" ) );
+        }
+
+        Set<Artifact> pluginArtifacts = new LinkedHashSet<Artifact>();
+        pluginArtifacts.add( createArtifact( "org.apache.maven.plugins", "maven-compiler-plugin", "3.7.0", null,
+                                             "maven-plugin" ) );
+        project.setPluginArtifacts( pluginArtifacts );
+        project.setReportArtifacts( Collections.emptySet() );
+        project.setExtensionArtifacts( Collections.emptySet() );
+        return project;
+    }
+
+    private static Artifact createArtifact( String groupId, String artifactId, String version, String scope,
+                                            String type )
+    {
+        return new DefaultArtifact( groupId, artifactId, VersionRange.createFromVersion( version ), scope, type, null,
+                                    new DefaultArtifactHandler( type ) );
+    }
+
+    private static Model createRootModel( int modules )
+    {
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setGroupId( GROUP_ID );
+        model.setArtifactId( "reactor" );
+        model.setVersion( VERSION );
+        model.setPackaging( "pom" );
+        model.getProperties().setProperty( "external.version", "2.1" );
+
+        Scm scm = new Scm();
+        scm.setConnection( SCM_URL );
+        scm.setDeveloperConnection( SCM_URL );
+        model.setScm( scm );
+
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.addDependency( createDependency( EXTERNAL_GROUP_ID, "external-lib",
+                                                              "${external.version}", null ) );
+        model.setDependencyManagement( dependencyManagement );
+
+        for ( int i = 0; i < modules; i++ )
+        {
+            model.addModule( getModuleName( i ) );
+        }
+        return model;
+    }
+
+    private static Model createModuleModel( int index )
+    {
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setArtifactId( getModuleName( index ) );
+
+        Parent parent = new Parent();
+        parent.setGroupId( GROUP_ID );
+        parent.setArtifactId( "reactor" );
+        parent.setVersion( VERSION );
+        model.setParent( parent );
+
+        if ( index > 0 )
+        {
+            model.addDependency( createDependency( GROUP_ID, getModuleName( index - 1 ), "${project.version}",
+                                                   null ) );
+        }
+        if ( index > 1 )
+        {
+            model.addDependency( createDependency( GROUP_ID, getModuleName( index / 2 - 1 ), "${project.version}",
+                                                   null ) );
+        }
+        model.addDependency( createDependency( EXTERNAL_GROUP_ID, "external-lib", null, null ) );
+        model.addDependency( createDependency( "junit", "junit", "4.12", "test" ) );
+
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId( "maven-compiler-plugin" );
+        plugin.setVersion( "3.7.0" );
+        model.setBuild( new org.apache.maven.model.Build() );
+        model.getBuild().addPlugin( plugin );
+        return model;
+    }
+
+    private static Dependency createDependency( String groupId, String artifactId, String version, String scope )
+    {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId( groupId );
+        dependency.setArtifactId( artifactId );
+        dependency.setVersion( version );
+        dependency.setScope( scope );
+        return dependency;
+    }
+
+    private static String getManagedVersion( Model rootModel, Dependency dependency )
+    {
+        for ( Dependency managed : rootModel.getDependencyManagement().getDependencies() )
+        {
+            if ( managed.getManagementKey().equals( dependency.getManagementKey() ) )
+            {
+                return rootModel.getProperties().getProperty( "external.version" );
+            }
+        }
+        throw new IllegalStateException( "Unmanaged dependency " + dependency.getManagementKey() );
+    }
+
+    static String getModuleName( int index )
+    {
+        return "module-" + index;
+    }
+
+    public File getBasedir()
+    {
+        return basedir;
+    }
+
+    /**
+     * @return the projects in reactor order, starting with the parent
+     */
+    public List<MavenProject> getProjects()
+    {
+        return projects;
+    }
+
+    /**
+     * @return the POM of the last module of the reactor
+     */
+    public File getLastPom()
+    {
+        return projects.get( projects.size() - 1 ).getFile();
+    }
+}
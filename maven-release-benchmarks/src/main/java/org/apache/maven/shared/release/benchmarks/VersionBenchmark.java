@@ -0,0 +1,80 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.versions.DefaultVersionInfo;
+import org.apache.maven.shared.release.versions.Version;
+import org.apache.maven.shared.release.versions.VersionTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a version, with the tokenizer alone, with the version of the policies and with the version info of the
+ * release manager, which also calculates the next version.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class VersionBenchmark
+{
+    @Param( { "1.0-SNAPSHOT", "3.0.0-beta-2-SNAPSHOT", "1.0-20041114.081234-2", "10.11.12.13-alpha_4" } )
+    private String version;
+
+    @Benchmark
+    public VersionTokens tokenize()
+        throws Exception
+    {
+        return VersionTokens.tokenize( version );
+    }
+
+    @Benchmark
+    public Version newVersion()
+        throws Exception
+    {
+        return new Version( version );
+    }
+
+    @Benchmark
+    public Version parseCached()
+        throws Exception
+    {
+        return Version.parse( version );
+    }
+
+    @Benchmark
+    public String nextVersion()
+        throws Exception
+    {
+        return new DefaultVersionInfo( version ).getNextVersion().getSnapshotVersionString();
+    }
+}
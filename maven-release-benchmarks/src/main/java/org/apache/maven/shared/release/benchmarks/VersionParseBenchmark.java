@@ -0,0 +1,88 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.shared.release.versions.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing the versions of a large reactor over and over, as the phases of a release do, with and without
+ * {@link Version#parse(String)}. Run it with <code>-prof gc</code> to compare the allocations.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class VersionParseBenchmark
+{
+    @Param( { "500" } )
+    private int projects;
+
+    private String[] versions;
+
+    @Setup( Level.Trial )
+    public void setUpVersions()
+    {
+        versions = new String[projects];
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            versions[i] = "1." + ( i % 50 ) + "." + i + ( i % 2 == 0 ? "-SNAPSHOT" : "" );
+        }
+    }
+
+    @Benchmark
+    public int newVersion()
+        throws Exception
+    {
+        int digits = 0;
+        for ( String version : versions )
+        {
+            digits += new Version( version ).getDigits().size();
+        }
+        return digits;
+    }
+
+    @Benchmark
+    public int parseCached()
+        throws Exception
+    {
+        int digits = 0;
+        for ( String version : versions )
+        {
+            digits += Version.parse( version ).getDigits().size();
+        }
+        return digits;
+    }
+}
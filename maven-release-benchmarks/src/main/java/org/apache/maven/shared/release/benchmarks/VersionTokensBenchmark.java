@@ -0,0 +1,92 @@
+package org.apache.maven.shared.release.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+import org.apache.maven.shared.release.versions.Version;
+import org.apache.maven.shared.release.versions.VersionTokens;
+import org.codehaus.plexus.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenizing a mix of versions with {@link VersionTokens} and with the regular expressions of {@link Version} it
+ * replaced. Run it with <code>-prof gc</code> to compare the allocations.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class VersionTokensBenchmark
+{
+    private static final String[] VERSIONS = {
+        "1.0", "1.0-SNAPSHOT", "2.5.1", "3.0.0-beta-2-SNAPSHOT", "1.2.9-RC3", "4.0.0-M1", "1.0-20041114.081234-2",
+        "trunk-SNAPSHOT", "10.11.12.13-alpha_4", "2.0.1-Final"
+    };
+
+    private static final int DIGITS_INDEX = 1;
+
+    private static final int BUILD_SPECIFIER_INDEX = 7;
+
+    @Benchmark
+    public int regex()
+    {
+        int parts = 0;
+        for ( String version : VERSIONS )
+        {
+            if ( Version.ALTERNATE_PATTERN.matcher( version ).matches() )
+            {
+                parts++;
+                continue;
+            }
+            Matcher m = Version.STANDARD_PATTERN.matcher( version );
+            if ( m.matches() )
+            {
+                parts += StringUtils.split( m.group( DIGITS_INDEX ), "." ).length;
+                parts += StringUtils.isEmpty( m.group( BUILD_SPECIFIER_INDEX ) ) ? 0 : 1;
+            }
+        }
+        return parts;
+    }
+
+    @Benchmark
+    public int tokenizer()
+        throws Exception
+    {
+        int parts = 0;
+        for ( String version : VERSIONS )
+        {
+            VersionTokens tokens = VersionTokens.tokenize( version );
+            parts += tokens.getDigitCount() + ( tokens.getBuildSpecifier() != null ? 1 : 0 );
+        }
+        return parts;
+    }
+}
@@ -20,22 +20,37 @@ package org.apache.maven.shared.release;
  */
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Settings;
+import org.apache.maven.shared.release.config.CompactableReleaseDescriptorStore;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.config.ReleaseDescriptorStore;
 import org.apache.maven.shared.release.config.ReleaseDescriptorStoreException;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.metrics.PhaseMetrics;
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
+import org.apache.maven.shared.release.metrics.ReleaseMetricsReport;
 import org.apache.maven.shared.release.phase.ReleasePhase;
+import org.apache.maven.shared.release.transform.PomCache;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -78,11 +93,29 @@ public class DefaultReleaseManager
      */
     private Map<String, ReleasePhase> releasePhases;
 
+    /**
+     * The comma separated phases a prepare phase depends on, by phase. Phases which aren't listed depend on all phases
+     * before them. Phases whose dependencies are completed run concurrently, so they must not change the same parts of
+     * the release descriptor. They are only used when the release descriptor enables concurrent phases, and never for
+     * interactive releases.
+     */
+    private Map<String, String> phaseDependencies;
+
     /**
      * The configuration storage.
      */
     private ReleaseDescriptorStore configStore;
 
+    /**
+     * The POMs shared by the phases of a goal, may be <code>null</code>.
+     */
+    private PomCache pomCache;
+
+    /**
+     * Where the phases of a goal spend their time, may be <code>null</code>.
+     */
+    private ReleaseMetrics releaseMetrics;
+
     private static final int PHASE_SKIP = 0, PHASE_START = 1, PHASE_END = 2, GOAL_START = 11, GOAL_END = 12, ERROR = 99;
 
     /** {@inheritDoc} */
@@ -168,6 +201,24 @@ public class DefaultReleaseManager
     {
         updateListener( prepareRequest.getReleaseManagerListener(), "prepare", GOAL_START );
 
+        clearPomCache();
+        resetMetrics();
+        try
+        {
+            prepare( prepareRequest, result, loadPrepareDescriptor( prepareRequest ) );
+        }
+        finally
+        {
+            reportPomCache( result );
+            reportMetrics( "prepare", prepareRequest.getReleaseDescriptor(), result );
+        }
+
+        updateListener( prepareRequest.getReleaseManagerListener(), "prepare", GOAL_END );
+    }
+
+    private ReleaseDescriptor loadPrepareDescriptor( ReleasePrepareRequest prepareRequest )
+        throws ReleaseExecutionException
+    {
         ReleaseDescriptor config;
         if ( BooleanUtils.isNotFalse( prepareRequest.getResume() ) )
         {
@@ -178,7 +229,12 @@ public class DefaultReleaseManager
         {
             config = prepareRequest.getReleaseDescriptor();
         }
+        return config;
+    }
 
+    private void prepare( ReleasePrepareRequest prepareRequest, ReleaseResult result, ReleaseDescriptor config )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
         // Later, it would be a good idea to introduce a proper workflow tool so that the release can be made up of a
         // more flexible set of steps.
 
@@ -201,44 +257,243 @@ public class DefaultReleaseManager
         }
 
         // start from next phase
-        for ( int i = index + 1; i < preparePhases.size(); i++ )
+        boolean compact = configStore instanceof CompactableReleaseDescriptorStore && index < preparePhases.size() - 1;
+        boolean completed = false;
+        try
         {
-            String name = preparePhases.get( i );
-
-            ReleasePhase phase = releasePhases.get( name );
+            runPreparePhases( prepareRequest, result, config, index );
+            completed = true;
+        }
+        catch ( ReleaseExecutionException e )
+        {
+            // the store failed to write the release properties already
+            compact &= !( e.getCause() instanceof ReleaseDescriptorStoreException );
+            throw e;
+        }
+        finally
+        {
+            // release.properties is read again when resuming or performing the release, also after a failure, and
+            // only gets what the completed phases stored
+            if ( compact )
+            {
+                compactReleaseDescriptor( config, completed );
+            }
+        }
+    }
 
-            if ( phase == null )
+    private void compactReleaseDescriptor( ReleaseDescriptor config, boolean completed )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            ( (CompactableReleaseDescriptorStore) configStore ).compact( config );
+        }
+        catch ( ReleaseDescriptorStoreException e )
+        {
+            if ( completed )
             {
-                throw new ReleaseExecutionException( "Unable to find phase '" + name + "' to execute" );
+                throw new ReleaseExecutionException( "Error writing release properties after completing phase", e );
             }
+            // don't hide why the phases failed
+            getLogger().warn( "Unable to write the release properties: " + e.getMessage() );
+        }
+    }
 
-            updateListener( prepareRequest.getReleaseManagerListener(), name, PHASE_START );
+    /**
+     * Runs the prepare phases after <code>index</code>. Phases whose dependencies are completed run concurrently with
+     * the phases which are still running, otherwise they run one after the other on the calling thread. The completed
+     * phase is only stored while no phase is running, and is the last phase of the uninterrupted sequence of completed
+     * phases, so resuming never skips a phase.
+     */
+    private void runPreparePhases( final ReleasePrepareRequest prepareRequest, ReleaseResult result,
+                                   final ReleaseDescriptor config, int index )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        ReleaseManagerListener listener = prepareRequest.getReleaseManagerListener();
+        // phases may prompt, and a failure is only reported once the phases running with it are done
+        boolean concurrent = config.isConcurrentPhases() && !config.isInteractive();
+        ReleasePhaseGraph graph = new ReleasePhaseGraph( preparePhases, concurrent ? phaseDependencies : null );
+
+        int size = preparePhases.size();
+        final ReleasePhase[] phases = new ReleasePhase[size];
+        for ( int i = index + 1; i < size; i++ )
+        {
+            phases[i] = getPhase( preparePhases.get( i ) );
+        }
 
-            ReleaseResult phaseResult = null;
-            try
+        BitSet started = new BitSet( size );
+        BitSet completed = new BitSet( size );
+        started.set( 0, index + 1 );
+        completed.set( 0, index + 1 );
+        int stored = index;
+
+        Map<Future<ReleaseResult>, Integer> running = new HashMap<Future<ReleaseResult>, Integer>();
+        ExecutorService executor = null;
+        CompletionService<ReleaseResult> completion = null;
+        Throwable failure = null;
+        int failedIndex = size;
+        try
+        {
+            while ( true )
             {
-                if ( BooleanUtils.isTrue( prepareRequest.getDryRun() ) )
+                List<Integer> ready = new ArrayList<Integer>();
+                int next = failure == null ? started.nextClearBit( 0 ) : size;
+                for ( int i = next; i < size; i = started.nextClearBit( i + 1 ) )
                 {
-                    phaseResult = phase.simulate( config,
-                                                  prepareRequest.getReleaseEnvironment(),
-                                                  prepareRequest.getReactorProjects() );
+                    if ( graph.isReady( i, completed ) )
+                    {
+                        ready.add( i );
+                    }
                 }
-                else
+
+                if ( ready.isEmpty() && running.isEmpty() )
                 {
-                    phaseResult = phase.execute( config,
-                                                 prepareRequest.getReleaseEnvironment(),
-                                                 prepareRequest.getReactorProjects() );
+                    break;
                 }
-            }
-            finally
-            {
-                if ( result != null && phaseResult != null )
+
+                if ( ready.size() == 1 && running.isEmpty() )
+                {
+                    // nothing to overlap with
+                    int i = ready.get( 0 );
+                    started.set( i );
+                    updateListener( listener, preparePhases.get( i ), PHASE_START );
+
+                    ReleaseResult phaseResult = null;
+                    try
+                    {
+                        phaseResult = runPhase( preparePhases.get( i ), phases[i], prepareRequest, config );
+                    }
+                    finally
+                    {
+                        appendOutput( result, phaseResult );
+                    }
+
+                    completed.set( i );
+                    stored = storeCompletedPhase( config, completed, stored );
+                    updateListener( listener, preparePhases.get( i ), PHASE_END );
+                    updateMetricsListener( listener, preparePhases.get( i ) );
+                    continue;
+                }
+
+                if ( executor == null )
+                {
+                    executor = Executors.newCachedThreadPool();
+                    completion = new ExecutorCompletionService<ReleaseResult>( executor );
+                }
+                for ( final int i : ready )
+                {
+                    started.set( i );
+                    updateListener( listener, preparePhases.get( i ), PHASE_START );
+                    running.put( completion.submit( new Callable<ReleaseResult>()
+                    {
+                        public ReleaseResult call()
+                            throws ReleaseExecutionException, ReleaseFailureException
+                        {
+                            return runPhase( preparePhases.get( i ), phases[i], prepareRequest, config );
+                        }
+                    } ), i );
+                }
+
+                Future<ReleaseResult> done = take( completion );
+                int i = running.remove( done );
+                try
+                {
+                    appendOutput( result, done.get() );
+                    completed.set( i );
+                    updateListener( listener, preparePhases.get( i ), PHASE_END );
+                    updateMetricsListener( listener, preparePhases.get( i ) );
+                }
+                catch ( ExecutionException e )
+                {
+                    // let the other phases finish, the first failing phase in order is reported
+                    if ( i < failedIndex )
+                    {
+                        failure = e.getCause();
+                        failedIndex = i;
+                    }
+                }
+                catch ( InterruptedException e )
+                {
+                    // can't happen, the future is done
+                    Thread.currentThread().interrupt();
+                }
+
+                if ( running.isEmpty() )
                 {
-                    result.appendOutput(  phaseResult.getOutput() );
+                    stored = storeCompletedPhase( config, completed, stored );
                 }
             }
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        rethrow( failure );
+    }
+
+    private ReleasePhase getPhase( String name )
+        throws ReleaseExecutionException
+    {
+        ReleasePhase phase = releasePhases.get( name );
+
+        if ( phase == null )
+        {
+            throw new ReleaseExecutionException( "Unable to find phase '" + name + "' to execute" );
+        }
+        return phase;
+    }
+
+    private ReleaseResult runPhase( String name, ReleasePhase phase, ReleasePrepareRequest prepareRequest,
+                                    ReleaseDescriptor config )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        PhaseMetrics metrics = releaseMetrics != null ? releaseMetrics.startPhase( name ) : null;
+        try
+        {
+            if ( BooleanUtils.isTrue( prepareRequest.getDryRun() ) )
+            {
+                return phase.simulate( config, prepareRequest.getReleaseEnvironment(),
+                                       prepareRequest.getReactorProjects() );
+            }
+            else
+            {
+                return phase.execute( config, prepareRequest.getReleaseEnvironment(),
+                                      prepareRequest.getReactorProjects() );
+            }
+        }
+        finally
+        {
+            if ( metrics != null )
+            {
+                releaseMetrics.endPhase( metrics );
+            }
+        }
+    }
+
+    private void appendOutput( ReleaseResult result, ReleaseResult phaseResult )
+    {
+        if ( result != null && phaseResult != null )
+        {
+            result.appendOutput( phaseResult.getOutput() );
+            result.addMojoTimings( phaseResult.getMojoTimings() );
+            result.addModuleTimings( phaseResult.getModuleTimings() );
+        }
+    }
 
-            config.setCompletedPhase( name );
+    /**
+     * @return the index of the last phase of the uninterrupted sequence of completed phases
+     */
+    private int storeCompletedPhase( ReleaseDescriptor config, BitSet completed, int stored )
+        throws ReleaseExecutionException
+    {
+        int last = completed.nextClearBit( 0 ) - 1;
+        if ( last > stored )
+        {
+            config.setCompletedPhase( preparePhases.get( last ) );
             try
             {
                 configStore.write( config );
@@ -248,11 +503,48 @@ public class DefaultReleaseManager
                 // TODO: rollback?
                 throw new ReleaseExecutionException( "Error writing release properties after completing phase", e );
             }
+        }
+        return Math.max( last, stored );
+    }
 
-            updateListener( prepareRequest.getReleaseManagerListener(), name, PHASE_END );
+    private static Future<ReleaseResult> take( CompletionService<ReleaseResult> completion )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            return completion.take();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ReleaseExecutionException( "Interrupted while running release phases", e );
         }
+    }
 
-        updateListener( prepareRequest.getReleaseManagerListener(), "prepare", GOAL_END );
+    private static void rethrow( Throwable failure )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        if ( failure == null )
+        {
+            return;
+        }
+        else if ( failure instanceof ReleaseExecutionException )
+        {
+            throw (ReleaseExecutionException) failure;
+        }
+        else if ( failure instanceof ReleaseFailureException )
+        {
+            throw (ReleaseFailureException) failure;
+        }
+        else if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        else if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        throw new ReleaseExecutionException( "Error running release phase: " + failure.getMessage(), failure );
     }
 
     /** {@inheritDoc} */
@@ -395,6 +687,22 @@ public class DefaultReleaseManager
     {
         updateListener( performRequest.getReleaseManagerListener(), "perform", GOAL_START );
 
+        resetMetrics();
+        try
+        {
+            performPhases( performRequest, result );
+        }
+        finally
+        {
+            reportMetrics( "perform", performRequest.getReleaseDescriptor(), result );
+        }
+
+        updateListener( performRequest.getReleaseManagerListener(), "perform", GOAL_END );
+    }
+
+    private void performPhases( ReleasePerformRequest performRequest, ReleaseResult result )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
         ReleaseDescriptor releaseDescriptor = loadReleaseDescriptor( performRequest.getReleaseDescriptor(),
                                                                      performRequest.getReleaseManagerListener() );
 
@@ -410,6 +718,7 @@ public class DefaultReleaseManager
             updateListener( performRequest.getReleaseManagerListener(), name, PHASE_START );
 
             ReleaseResult phaseResult = null;
+            PhaseMetrics metrics = releaseMetrics != null ? releaseMetrics.startPhase( name ) : null;
             try
             {
                 if ( BooleanUtils.isTrue( performRequest.getDryRun() ) )
@@ -427,13 +736,15 @@ public class DefaultReleaseManager
             }
             finally
             {
-                if ( result != null && phaseResult != null )
+                if ( metrics != null )
                 {
-                    result.appendOutput( phaseResult.getOutput() );
+                    releaseMetrics.endPhase( metrics );
                 }
+                appendOutput( result, phaseResult );
             }
 
             updateListener( performRequest.getReleaseManagerListener(), name, PHASE_END );
+            updateMetricsListener( performRequest.getReleaseManagerListener(), name );
         }
 
         if ( BooleanUtils.isNotFalse( performRequest.getClean() ) )
@@ -441,8 +752,6 @@ public class DefaultReleaseManager
             // call release:clean so that resume will not be possible anymore after a perform
             clean( releaseDescriptor, performRequest.getReleaseManagerListener(), performRequest.getReactorProjects() );
         }
-
-        updateListener( performRequest.getReleaseManagerListener(), "perform", GOAL_END );
     }
 
     /** {@inheritDoc} */
@@ -479,6 +788,29 @@ public class DefaultReleaseManager
 
         boolean dryRun = BooleanUtils.isTrue( branchRequest.getDryRun() );
 
+        clearPomCache();
+        try
+        {
+            branch( branchRequest, releaseDescriptor, dryRun );
+        }
+        finally
+        {
+            reportPomCache( null );
+        }
+
+        if ( !dryRun )
+        {
+            clean( releaseDescriptor,
+                   branchRequest.getReleaseManagerListener(),
+                   branchRequest.getReactorProjects() );
+        }
+
+        updateListener( branchRequest.getReleaseManagerListener(), "branch", GOAL_END );
+    }
+
+    private void branch( ReleaseBranchRequest branchRequest, ReleaseDescriptor releaseDescriptor, boolean dryRun )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
         for ( String name : branchPhases )
         {
             ReleasePhase phase = releasePhases.get( name );
@@ -504,15 +836,6 @@ public class DefaultReleaseManager
             }
             updateListener( branchRequest.getReleaseManagerListener(), name, PHASE_END );
         }
-
-        if ( !dryRun )
-        {
-            clean( releaseDescriptor,
-                   branchRequest.getReleaseManagerListener(),
-                   branchRequest.getReactorProjects() );
-        }
-
-        updateListener( branchRequest.getReleaseManagerListener(), "branch", GOAL_END );
     }
 
     public void updateVersions( ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
@@ -536,20 +859,28 @@ public class DefaultReleaseManager
         ReleaseDescriptor releaseDescriptor = loadReleaseDescriptor( updateVersionsRequest.getReleaseDescriptor(), 
                                                                    updateVersionsRequest.getReleaseManagerListener() );
 
-        for ( String name : updateVersionsPhases )
+        clearPomCache();
+        try
         {
-            ReleasePhase phase = releasePhases.get( name );
-
-            if ( phase == null )
+            for ( String name : updateVersionsPhases )
             {
-                throw new ReleaseExecutionException( "Unable to find phase '" + name + "' to execute" );
-            }
+                ReleasePhase phase = releasePhases.get( name );
 
-            updateListener( updateVersionsRequest.getReleaseManagerListener(), name, PHASE_START );
-            phase.execute( releaseDescriptor,
-                           updateVersionsRequest.getReleaseEnvironment(),
-                           updateVersionsRequest.getReactorProjects() );
-            updateListener( updateVersionsRequest.getReleaseManagerListener(), name, PHASE_END );
+                if ( phase == null )
+                {
+                    throw new ReleaseExecutionException( "Unable to find phase '" + name + "' to execute" );
+                }
+
+                updateListener( updateVersionsRequest.getReleaseManagerListener(), name, PHASE_START );
+                phase.execute( releaseDescriptor,
+                               updateVersionsRequest.getReleaseEnvironment(),
+                               updateVersionsRequest.getReactorProjects() );
+                updateListener( updateVersionsRequest.getReleaseManagerListener(), name, PHASE_END );
+            }
+        }
+        finally
+        {
+            reportPomCache( null );
         }
 
         clean( releaseDescriptor, 
@@ -638,6 +969,104 @@ public class DefaultReleaseManager
         this.configStore = configStore;
     }
 
+    void setReleaseMetrics( ReleaseMetrics releaseMetrics )
+    {
+        this.releaseMetrics = releaseMetrics;
+    }
+
+    void setPomCache( PomCache pomCache )
+    {
+        this.pomCache = pomCache;
+    }
+
+    private void clearPomCache()
+    {
+        if ( pomCache != null )
+        {
+            pomCache.clear();
+        }
+    }
+
+    /**
+     * Reports the statistics of the POM cache and releases the POMs, which are only valid for a single goal.
+     */
+    private void reportPomCache( ReleaseResult result )
+    {
+        if ( pomCache == null )
+        {
+            return;
+        }
+
+        String message = "POM cache: " + pomCache.getHits() + " hits, " + pomCache.getMisses() + " misses";
+        if ( result != null )
+        {
+            result.setPomCacheHits( pomCache.getHits() );
+            result.setPomCacheMisses( pomCache.getMisses() );
+            result.appendDebug( message );
+        }
+        getLogger().debug( message );
+
+        pomCache.clear();
+    }
+
+    private void resetMetrics()
+    {
+        if ( releaseMetrics != null )
+        {
+            releaseMetrics.reset();
+        }
+    }
+
+    /**
+     * Hands the metrics of the phases to the result and writes them next to <code>release.properties</code>.
+     */
+    private void reportMetrics( String goal, ReleaseDescriptor releaseDescriptor, ReleaseResult result )
+    {
+        if ( releaseMetrics == null )
+        {
+            return;
+        }
+
+        List<PhaseMetrics> phases = releaseMetrics.getPhases();
+        if ( result != null )
+        {
+            result.setPhaseMetrics( phases );
+        }
+
+        String workingDirectory = releaseDescriptor.getWorkingDirectory();
+        if ( !phases.isEmpty() && workingDirectory != null && new File( workingDirectory ).isDirectory() )
+        {
+            try
+            {
+                File report = ReleaseMetricsReport.write( goal, phases, new File( workingDirectory ) );
+                getLogger().debug( "Release metrics written to " + report );
+            }
+            catch ( IOException e )
+            {
+                // the metrics are informational, they never fail the release
+                getLogger().warn( "Unable to write the release metrics: " + e.getMessage() );
+            }
+        }
+    }
+
+    private void updateMetricsListener( ReleaseManagerListener listener, String name )
+    {
+        if ( releaseMetrics == null || !( listener instanceof ReleaseMetricsListener ) )
+        {
+            return;
+        }
+
+        List<PhaseMetrics> phases = releaseMetrics.getPhases();
+        for ( int i = phases.size() - 1; i >= 0; i-- )
+        {
+            if ( phases.get( i ).getName().equals( name ) )
+            {
+                ( (ReleaseMetricsListener) listener ).phaseMetrics( phases.get( i ) );
+                return;
+            }
+        }
+    }
+
     void updateListener( ReleaseManagerListener listener, String name, int state )
     {
         if ( listener != null )
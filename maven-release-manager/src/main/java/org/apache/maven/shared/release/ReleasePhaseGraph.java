@@ -0,0 +1,89 @@
+package org.apache.maven.shared.release;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * The dependencies between the phases of a goal. By default a phase depends on all phases before it, so they run one
+ * after the other. A phase with declared dependencies only has to wait for those, which must all come before it in the
+ * list of phases; dependencies on phases which aren't part of the goal are ignored.
+ *
+ * @since 3.0.0
+ */
+final class ReleasePhaseGraph
+{
+    private final List<BitSet> dependencies;
+
+    /**
+     * @param phases the phases of the goal, in order
+     * @param declaredDependencies the comma separated dependencies by phase, may be <code>null</code>
+     * @throws ReleaseExecutionException if a phase depends on a phase which comes after it
+     */
+    ReleasePhaseGraph( List<String> phases, Map<String, String> declaredDependencies )
+        throws ReleaseExecutionException
+    {
+        dependencies = new ArrayList<BitSet>( phases.size() );
+        for ( int i = 0; i < phases.size(); i++ )
+        {
+            String name = phases.get( i );
+            BitSet phaseDependencies = new BitSet( i );
+            if ( declaredDependencies != null && declaredDependencies.containsKey( name ) )
+            {
+                for ( String dependency : StringUtils.split( StringUtils.defaultString(
+                    declaredDependencies.get( name ) ), ", " ) )
+                {
+                    int index = phases.indexOf( dependency );
+                    if ( index >= i )
+                    {
+                        throw new ReleaseExecutionException( "Phase '" + name + "' can't depend on phase '"
+                            + dependency + "' which runs after it" );
+                    }
+                    if ( index >= 0 )
+                    {
+                        phaseDependencies.set( index );
+                    }
+                }
+            }
+            else
+            {
+                phaseDependencies.set( 0, i );
+            }
+            dependencies.add( phaseDependencies );
+        }
+    }
+
+    /**
+     * @param index the index of the phase
+     * @param completed the indices of the completed phases
+     * @return <code>true</code> if all dependencies of the phase are completed
+     */
+    boolean isReady( int index, BitSet completed )
+    {
+        BitSet missing = (BitSet) dependencies.get( index ).clone();
+        missing.andNot( completed );
+        return missing.isEmpty();
+    }
+}
@@ -21,6 +21,13 @@ package org.apache.maven.shared.release;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.shared.release.metrics.MojoTiming;
+import org.apache.maven.shared.release.metrics.PhaseMetrics;
+import org.apache.maven.shared.release.metrics.TimedOperation;
 
 /**
  * @author Edwin Punzalan
@@ -37,6 +44,16 @@ public class ReleaseResult
 
     private long endTime;
 
+    private int pomCacheHits;
+
+    private int pomCacheMisses;
+
+    private List<PhaseMetrics> phaseMetrics = Collections.emptyList();
+
+    private final List<MojoTiming> mojoTimings = new ArrayList<MojoTiming>();
+
+    private final List<TimedOperation> moduleTimings = new ArrayList<TimedOperation>();
+
     private static final String LS = System.getProperty( "line.separator" );
 
     public void appendInfo( String message )
@@ -120,6 +137,76 @@ public class ReleaseResult
         this.endTime = endTime;
     }
 
+    /**
+     * @return the number of POM reads served from the POM cache
+     * @since 3.0.0
+     */
+    public int getPomCacheHits()
+    {
+        return pomCacheHits;
+    }
+
+    public void setPomCacheHits( int pomCacheHits )
+    {
+        this.pomCacheHits = pomCacheHits;
+    }
+
+    /**
+     * @return the number of POM reads which had to decode and parse the POM
+     * @since 3.0.0
+     */
+    public int getPomCacheMisses()
+    {
+        return pomCacheMisses;
+    }
+
+    public void setPomCacheMisses( int pomCacheMisses )
+    {
+        this.pomCacheMisses = pomCacheMisses;
+    }
+
+    /**
+     * @return where the executed phases spent their time, in the order they started
+     * @since 3.0.0
+     */
+    public List<PhaseMetrics> getPhaseMetrics()
+    {
+        return phaseMetrics;
+    }
+
+    public void setPhaseMetrics( List<PhaseMetrics> phaseMetrics )
+    {
+        this.phaseMetrics = phaseMetrics;
+    }
+
+    /**
+     * @return the mojo executions of the Maven builds run, in the order they ran
+     * @since 3.0.0
+     */
+    public List<MojoTiming> getMojoTimings()
+    {
+        return Collections.unmodifiableList( mojoTimings );
+    }
+
+    public void addMojoTimings( List<MojoTiming> timings )
+    {
+        mojoTimings.addAll( timings );
+    }
+
+    /**
+     * @return the modules of the Maven builds run, with the times of their reactor summaries
+     * @since 3.0.0
+     */
+    public List<TimedOperation> getModuleTimings()
+    {
+        return Collections.unmodifiableList( moduleTimings );
+    }
+
+    public void addModuleTimings( List<TimedOperation> timings )
+    {
+        moduleTimings.addAll( timings );
+    }
+
     private String getStackTrace( Exception e )
     {
         ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
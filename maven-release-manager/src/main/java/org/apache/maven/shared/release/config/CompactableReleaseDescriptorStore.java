@@ -0,0 +1,40 @@
+package org.apache.maven.shared.release.config;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A release configuration store which keeps some of the changes aside while a goal is running, and can compact them
+ * into a stored configuration which is complete on its own.
+ *
+ * @since 3.0.0
+ */
+public interface CompactableReleaseDescriptorStore
+    extends ReleaseDescriptorStore
+{
+    /**
+     * Compacts the changes which were written into the stored configuration. Only what was written is compacted, so
+     * the changes of a phase which failed before it was stored are never persisted.
+     *
+     * @param config the location of the configuration
+     * @throws ReleaseDescriptorStoreException if the configuration could not be compacted
+     */
+    void compact( ReleaseDescriptor config )
+        throws ReleaseDescriptorStoreException;
+}
@@ -0,0 +1,371 @@
+package org.apache.maven.shared.release.config;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Release configuration store which keeps <code>release.properties</code> as a snapshot, and appends the changes of
+ * every write to a journal next to it, <code>release.properties.journal</code>. Every change is forced to disk before
+ * the write returns. The journal is replayed when reading, and compacted into the snapshot once it outgrows it or when
+ * {@link #compact(ReleaseDescriptor)} is called, so <code>release.properties</code> is complete after the phases of a
+ * goal are done.
+ * <p>
+ * The journal starts with the size and checksum of the snapshot it applies to, so a journal left behind by an
+ * interrupted compaction is ignored. Changes are only applied if their commit marker was written.
+ *
+ * @since 3.0.0
+ */
+@Component( role = ReleaseDescriptorStore.class, hint = "journal" )
+public class JournalReleaseDescriptorStore
+    extends PropertiesReleaseDescriptorStore
+    implements CompactableReleaseDescriptorStore
+{
+    /**
+     * The suffix of the journal, appended to the name of the snapshot.
+     */
+    public static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final Charset ISO_8859_1 = Charset.forName( "ISO-8859-1" );
+
+    private static final String HEADER = "#base ";
+
+    private static final String COMMIT = "#commit";
+
+    private static final String SET = "+";
+
+    private static final String REMOVE = "-";
+
+    /**
+     * The last known state by canonical path of the snapshot.
+     */
+    private final Map<String, Journal> journals = new HashMap<String, Journal>();
+
+    /**
+     * The encrypted secrets by secret, as encrypting them again gives a different result every time.
+     */
+    private final Map<String, String> secrets = new HashMap<String, String>();
+
+    @Override
+    public synchronized ReleaseDescriptor read( ReleaseDescriptor mergeDescriptor, File file )
+        throws ReleaseDescriptorStoreException
+    {
+        Journal journal;
+        try
+        {
+            journal = load( file );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseDescriptorStoreException(
+                "Error reading properties file '" + file.getName() + "': " + e.getMessage(), e );
+        }
+        journals.put( getKey( file ), journal );
+
+        ReleaseDescriptor releaseDescriptor =
+            ReleaseUtils.copyPropertiesToReleaseDescriptor( (Properties) journal.properties.clone() );
+
+        if ( mergeDescriptor != null )
+        {
+            releaseDescriptor = ReleaseUtils.merge( releaseDescriptor, mergeDescriptor );
+        }
+
+        return releaseDescriptor;
+    }
+
+    @Override
+    public synchronized void write( ReleaseDescriptor config, File file )
+        throws ReleaseDescriptorStoreException
+    {
+        Properties properties = toProperties( config );
+        try
+        {
+            Journal journal = journals.get( getKey( file ) );
+            if ( journal == null || !journal.isCurrent( file ) )
+            {
+                journal = writeSnapshot( file, properties );
+            }
+            else
+            {
+                Properties changes = getChanges( journal.properties, properties );
+                if ( changes.isEmpty() )
+                {
+                    return;
+                }
+                if ( journal.length > journal.snapshotLength )
+                {
+                    journal = writeSnapshot( file, properties );
+                }
+                else
+                {
+                    append( file, journal, changes );
+                    journal.properties = properties;
+                }
+            }
+            journals.put( getKey( file ), journal );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseDescriptorStoreException(
+                "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e );
+        }
+    }
+
+    /**
+     * Writes the snapshot with the committed changes of the journal applied, and removes the journal. The given
+     * configuration only locates the snapshot, its changes which weren't written are left out.
+     *
+     * @param config the location of the configuration
+     * @throws ReleaseDescriptorStoreException if the snapshot could not be written
+     */
+    @Override
+    public synchronized void compact( ReleaseDescriptor config )
+        throws ReleaseDescriptorStoreException
+    {
+        File file = getDefaultReleasePropertiesFile( config );
+        try
+        {
+            Journal journal = journals.get( getKey( file ) );
+            if ( journal == null || !journal.isCurrent( file ) )
+            {
+                journal = load( file );
+            }
+            journals.put( getKey( file ), writeSnapshot( file, journal.properties ) );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseDescriptorStoreException(
+                "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e );
+        }
+    }
+
+    @Override
+    public synchronized void delete( ReleaseDescriptor config )
+    {
+        File file = getDefaultReleasePropertiesFile( config );
+        journals.remove( getKey( file ) );
+        getJournalFile( file ).delete();
+        super.delete( config );
+    }
+
+    @Override
+    protected synchronized String encrypt( String secret )
+    {
+        String encrypted = secrets.get( secret );
+        if ( encrypted == null )
+        {
+            encrypted = super.encrypt( secret );
+            secrets.put( secret, encrypted );
+        }
+        return encrypted;
+    }
+
+    private Journal load( File file )
+        throws IOException
+    {
+        Journal journal = new Journal();
+        journal.properties = new Properties();
+
+        byte[] snapshot = file.exists() ? Files.readAllBytes( file.toPath() ) : new byte[0];
+        journal.properties.load( new ByteArrayInputStream( snapshot ) );
+        journal.snapshotLength = snapshot.length;
+        journal.snapshotChecksum = checksum( snapshot );
+
+        File journalFile = getJournalFile( file );
+        if ( !journalFile.exists() )
+        {
+            return journal;
+        }
+
+        byte[] bytes = Files.readAllBytes( journalFile.toPath() );
+        String[] lines = new String( bytes, ISO_8859_1 ).split( "\r?\n" );
+        // the next write replaces the journal unless it can be continued
+        journal.length = -1;
+        if ( !lines[0].equals( getHeader( journal ) ) )
+        {
+            getLogger().debug( journalFile.getName() + " doesn't belong to " + file.getName() + " - ignoring it" );
+            return journal;
+        }
+
+        StringBuilder changes = new StringBuilder();
+        for ( int i = 1; i < lines.length; i++ )
+        {
+            if ( lines[i].equals( COMMIT ) )
+            {
+                Properties properties = new Properties();
+                properties.load( new StringReader( changes.toString() ) );
+                apply( journal.properties, properties );
+                changes.setLength( 0 );
+            }
+            else
+            {
+                changes.append( lines[i] ).append( '\n' );
+            }
+        }
+        if ( changes.length() == 0 )
+        {
+            journal.length = bytes.length;
+        }
+        return journal;
+    }
+
+    private Journal writeSnapshot( File file, Properties properties )
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        properties.store( out, "release configuration" );
+        byte[] snapshot = out.toByteArray();
+
+        ReleaseUtil.writeFile( file, snapshot );
+        // the journal doesn't match the snapshot anymore, so it would be ignored anyway
+        Files.deleteIfExists( getJournalFile( file ).toPath() );
+
+        Journal journal = new Journal();
+        journal.properties = properties;
+        journal.snapshotLength = snapshot.length;
+        journal.snapshotChecksum = checksum( snapshot );
+        return journal;
+    }
+
+    private void append( File file, Journal journal, Properties changes )
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if ( journal.length == 0 )
+        {
+            out.write( ( getHeader( journal ) + "\n" ).getBytes( ISO_8859_1 ) );
+        }
+        changes.store( out, null );
+        out.write( ( COMMIT + "\n" ).getBytes( ISO_8859_1 ) );
+
+        FileChannel channel = FileChannel.open( getJournalFile( file ).toPath(), StandardOpenOption.CREATE,
+                                                StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap( out.toByteArray() );
+            while ( buffer.hasRemaining() )
+            {
+                channel.write( buffer );
+            }
+            channel.force( false );
+        }
+        finally
+        {
+            channel.close();
+        }
+        journal.length += out.size();
+    }
+
+    private static Properties getChanges( Properties from, Properties to )
+    {
+        Properties changes = new Properties();
+        for ( String key : to.stringPropertyNames() )
+        {
+            String value = to.getProperty( key );
+            if ( !value.equals( from.getProperty( key ) ) )
+            {
+                changes.setProperty( SET + key, value );
+            }
+        }
+        for ( String key : from.stringPropertyNames() )
+        {
+            if ( to.getProperty( key ) == null )
+            {
+                changes.setProperty( REMOVE + key, "" );
+            }
+        }
+        return changes;
+    }
+
+    private static void apply( Properties properties, Properties changes )
+    {
+        for ( String key : changes.stringPropertyNames() )
+        {
+            if ( key.startsWith( SET ) )
+            {
+                properties.setProperty( key.substring( SET.length() ), changes.getProperty( key ) );
+            }
+            else if ( key.startsWith( REMOVE ) )
+            {
+                properties.remove( key.substring( REMOVE.length() ) );
+            }
+        }
+    }
+
+    private static String getHeader( Journal journal )
+    {
+        return HEADER + journal.snapshotLength + " " + journal.snapshotChecksum;
+    }
+
+    private static long checksum( byte[] bytes )
+    {
+        CRC32 crc = new CRC32();
+        crc.update( bytes );
+        return crc.getValue();
+    }
+
+    private static File getJournalFile( File file )
+    {
+        return new File( file.getParentFile(), file.getName() + JOURNAL_SUFFIX );
+    }
+
+    private static String getKey( File file )
+    {
+        return file.getAbsoluteFile().toURI().normalize().getPath();
+    }
+
+    /**
+     * The state of the snapshot and journal as last read or written.
+     */
+    private static class Journal
+    {
+        private Properties properties;
+
+        private long snapshotLength;
+
+        private long snapshotChecksum;
+
+        private long length;
+
+        /**
+         * @return <code>true</code> if nobody else changed the snapshot or journal in the meantime
+         */
+        boolean isCurrent( File file )
+        {
+            return file.length() == snapshotLength && getJournalFile( file ).length() == length;
+        }
+    }
+}
@@ -30,7 +30,6 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.Set;
 
 import org.apache.maven.model.Scm;
 import org.apache.maven.shared.release.scm.IdentifiedScm;
@@ -129,6 +128,35 @@ public class PropertiesReleaseDescriptorStore
 
     public void write( ReleaseDescriptor config, File file )
         throws ReleaseDescriptorStoreException
+    {
+        Properties properties = toProperties( config );
+
+        OutputStream outStream = null;
+        //noinspection OverlyBroadCatchBlock
+        try
+        {
+            outStream = new FileOutputStream( file );
+
+            properties.store( outStream, "release configuration" );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseDescriptorStoreException(
+                "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e );
+        }
+        finally
+        {
+            IOUtil.close( outStream );
+        }
+
+    }
+
+    /**
+     * @param config the configuration
+     * @return the properties to store for the configuration
+     * @since 3.0.0
+     */
+    protected Properties toProperties( ReleaseDescriptor config )
     {
         Properties properties = new Properties();
         properties.setProperty( "completedPhase", config.getCompletedPhase() );
@@ -136,6 +164,10 @@ public class PropertiesReleaseDescriptorStore
         {
             properties.setProperty( "commitByProject", "true" );
         }
+        if ( config.isDeferPush() ) //default is false
+        {
+            properties.setProperty( "deferPush", "true" );
+        }
         properties.setProperty( "scm.url", config.getScmSourceUrl() );
         if ( config.getScmId() != null )
         {
@@ -147,24 +179,7 @@ public class PropertiesReleaseDescriptorStore
         }
         if ( config.getScmPassword() != null )
         {
-            String password = config.getScmPassword();
-            try
-            {
-                password = encryptAndDecorate( password );
-            }
-            catch ( IllegalStateException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            catch ( SecDispatcherException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            catch ( PlexusCipherException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            properties.setProperty( "scm.password", password );
+            properties.setProperty( "scm.password", encrypt( config.getScmPassword() ) );
         }
         if ( config.getScmPrivateKey() != null )
         {
@@ -172,24 +187,7 @@ public class PropertiesReleaseDescriptorStore
         }
         if ( config.getScmPrivateKeyPassPhrase() != null )
         {
-            String passPhrase = config.getScmPrivateKeyPassPhrase();
-            try
-            {
-                passPhrase = encryptAndDecorate( passPhrase );
-            }
-            catch ( IllegalStateException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            catch ( SecDispatcherException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            catch ( PlexusCipherException e )
-            {
-                getLogger().debug( e.getMessage() );
-            }
-            properties.setProperty( "scm.passphrase", passPhrase  );
+            properties.setProperty( "scm.passphrase", encrypt( config.getScmPrivateKeyPassPhrase() ) );
         }
         if ( config.getScmTagBase() != null )
         {
@@ -295,49 +293,44 @@ public class PropertiesReleaseDescriptorStore
         if ( ( config.getResolvedSnapshotDependencies() != null )
             && ( config.getResolvedSnapshotDependencies().size() > 0 ) )
         {
-            processResolvedDependencies( properties, config.getResolvedSnapshotDependencies() );
+            SnapshotResolutionFile.setResolvedDependencies( properties, config.getResolvedSnapshotDependencies() );
         }
 
-        OutputStream outStream = null;
-        //noinspection OverlyBroadCatchBlock
+        return properties;
+    }
+
+    /**
+     * @param secret the password or passphrase to store
+     * @return the encrypted secret, or the secret itself if there is no master password
+     * @since 3.0.0
+     */
+    protected String encrypt( String secret )
+    {
         try
         {
-            outStream = new FileOutputStream( file );
-
-            properties.store( outStream, "release configuration" );
+            return encryptAndDecorate( secret );
         }
-        catch ( IOException e )
+        catch ( IllegalStateException e )
         {
-            throw new ReleaseDescriptorStoreException(
-                "Error writing properties file '" + file.getName() + "': " + e.getMessage(), e );
+            getLogger().debug( e.getMessage() );
         }
-        finally
+        catch ( SecDispatcherException e )
         {
-            IOUtil.close( outStream );
+            getLogger().debug( e.getMessage() );
         }
-
-    }
-
-    private void processResolvedDependencies( Properties prop, Map<?, ?> resolvedDependencies )
-    {
-        Set<?> entries = resolvedDependencies.entrySet();
-        Iterator<?> iterator = entries.iterator();
-        Entry<?, ?> currentEntry;
-
-        while ( iterator.hasNext() )
+        catch ( PlexusCipherException e )
         {
-            currentEntry = (Entry<?, ?>) iterator.next();
-
-            Map<?, ?> versionMap = (Map<?, ?>) currentEntry.getValue();
-
-            prop.setProperty( "dependency." + currentEntry.getKey() + ".release",
-                              (String) versionMap.get( ReleaseDescriptor.RELEASE_KEY ) );
-            prop.setProperty( "dependency." + currentEntry.getKey() + ".development",
-                              (String) versionMap.get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+            getLogger().debug( e.getMessage() );
         }
+        return secret;
     }
 
-    private static File getDefaultReleasePropertiesFile( ReleaseDescriptor mergeDescriptor )
+    /**
+     * @param mergeDescriptor the configuration
+     * @return the <code>release.properties</code> file in the working directory
+     * @since 3.0.0
+     */
+    protected static File getDefaultReleasePropertiesFile( ReleaseDescriptor mergeDescriptor )
     {
         return new File( mergeDescriptor.getWorkingDirectory(), "release.properties" );
     }
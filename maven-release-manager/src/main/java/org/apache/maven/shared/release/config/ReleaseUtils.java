@@ -19,12 +19,8 @@ package org.apache.maven.shared.release.config;
  * under the License.
  */
 
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.Set;
 
 import org.apache.maven.shared.release.scm.IdentifiedScm;
 
@@ -85,6 +81,7 @@ public class ReleaseUtils
         mergeInto.setUpdateDependencies( toBeMerged.isUpdateDependencies() );
         mergeInto.setCommitByProject( mergeOverride( mergeInto.isCommitByProject(), toBeMerged.isCommitByProject(),
                                                      false ) );
+        mergeInto.setDeferPush( mergeOverride( mergeInto.isDeferPush(), toBeMerged.isDeferPush(), false ) );
         mergeInto.setUseReleaseProfile( toBeMerged.isUseReleaseProfile() );
         mergeInto.setBranchCreation( toBeMerged.isBranchCreation() );
         mergeInto.setUpdateBranchVersions( toBeMerged.isUpdateBranchVersions() );
@@ -102,6 +99,11 @@ public class ReleaseUtils
         mergeInto.setLocalCheckout( toBeMerged.isLocalCheckout() );
         mergeInto.setPushChanges( toBeMerged.isPushChanges() );
         mergeInto.setWaitBeforeTagging( toBeMerged.getWaitBeforeTagging() );
+        mergeInto.setPomTransformThreads( toBeMerged.getPomTransformThreads() );
+        mergeInto.setCheckDeclaredSnapshots( toBeMerged.isCheckDeclaredSnapshots() );
+        mergeInto.setConcurrentPhases( toBeMerged.isConcurrentPhases() );
+        mergeInto.setSnapshotResolutionFile(
+            mergeOverride( mergeInto.getSnapshotResolutionFile(), toBeMerged.getSnapshotResolutionFile() ) );
 
         // If the user specifies versions, these should be override the existing versions
         if ( toBeMerged.getReleaseVersions() != null )
@@ -149,6 +151,7 @@ public class ReleaseUtils
         ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
         releaseDescriptor.setCompletedPhase( properties.getProperty( "completedPhase" ) );
         releaseDescriptor.setCommitByProject( Boolean.parseBoolean( properties.getProperty( "commitByProject" ) ) );
+        releaseDescriptor.setDeferPush( Boolean.parseBoolean( properties.getProperty( "deferPush" ) ) );
         releaseDescriptor.setScmId( properties.getProperty( "scm.id" ) );
         releaseDescriptor.setScmSourceUrl( properties.getProperty( "scm.url" ) );
         releaseDescriptor.setScmUsername( properties.getProperty( "scm.username" ) );
@@ -228,61 +231,7 @@ public class ReleaseUtils
 
     private static void loadResolvedDependencies( Properties prop, ReleaseDescriptor descriptor )
     {
-        Map<String, Map<String, String>> resolvedDependencies = new HashMap<String, Map<String, String>>();
-
-        Set entries = prop.entrySet();
-        Iterator<Entry<String, String>> iterator = entries.iterator();
-        String propertyName;
-        Entry<String, String> currentEntry;
-
-        while ( iterator.hasNext() )
-        {
-            currentEntry = iterator.next();
-            propertyName = currentEntry.getKey();
-
-            if ( propertyName.startsWith( "dependency." ) )
-            {
-                Map<String, String> versionMap;
-                String artifactVersionlessKey;
-                int startIndex = "dependency.".length();
-                int endIndex;
-                String versionType;
-
-                versionMap = new HashMap<String, String>();
-
-                if ( propertyName.indexOf( ".development" ) != -1 )
-                {
-                    endIndex = propertyName.lastIndexOf( ".development" );
-                    versionType = ReleaseDescriptor.DEVELOPMENT_KEY;
-                }
-                else if ( propertyName.indexOf( ".release" ) != -1 )
-                {
-                    endIndex = propertyName.lastIndexOf( ".release" );
-                    versionType = ReleaseDescriptor.RELEASE_KEY;
-                }
-                else
-                {
-                    // MRELEASE-834, probably a maven-dependency-plugin property
-                    continue;
-                }
-
-                artifactVersionlessKey = propertyName.substring( startIndex, endIndex );
-
-                if ( resolvedDependencies.containsKey( artifactVersionlessKey ) )
-                {
-                    versionMap = resolvedDependencies.get( artifactVersionlessKey );
-                }
-                else
-                {
-                    versionMap = new HashMap<String, String>();
-                    resolvedDependencies.put( artifactVersionlessKey, versionMap );
-                }
-
-                versionMap.put( versionType, currentEntry.getValue() );
-            }
-        }
-
-        descriptor.setResolvedSnapshotDependencies( resolvedDependencies );
+        descriptor.setResolvedSnapshotDependencies( SnapshotResolutionFile.getResolvedDependencies( prop ) );
     }
 
 }
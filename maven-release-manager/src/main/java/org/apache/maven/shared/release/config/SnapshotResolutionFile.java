@@ -0,0 +1,179 @@
+package org.apache.maven.shared.release.config;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Reads and writes the release and development versions of resolved snapshot dependencies. The file uses the
+ * <code>dependency.<i>groupId:artifactId</i>.release</code> and <code>.development</code> properties of
+ * <code>release.properties</code>, so the <code>release.properties</code> of a previous release can serve as the
+ * file, and writing to it keeps any other properties.
+ *
+ * @since 3.0.0
+ */
+public final class SnapshotResolutionFile
+{
+    private static final String PREFIX = "dependency.";
+
+    private static final String RELEASE_SUFFIX = ".release";
+
+    private static final String DEVELOPMENT_SUFFIX = ".development";
+
+    private SnapshotResolutionFile()
+    {
+        // noop
+    }
+
+    /**
+     * @param file the file to read
+     * @return the versions by the versionless key of the dependencies, empty if the file doesn't exist
+     * @throws IOException if the file can't be read
+     */
+    public static Map<String, Map<String, String>> read( File file )
+        throws IOException
+    {
+        if ( !file.exists() )
+        {
+            return new HashMap<String, Map<String, String>>();
+        }
+        return getResolvedDependencies( load( file ) );
+    }
+
+    /**
+     * Adds the versions to the file, replacing the versions the file has for the same dependencies.
+     *
+     * @param file the file to write
+     * @param resolvedDependencies the versions by the versionless key of the dependencies
+     * @throws IOException if the file can't be written
+     */
+    public static void write( File file, Map<String, Map<String, String>> resolvedDependencies )
+        throws IOException
+    {
+        Properties properties = file.exists() ? load( file ) : new Properties();
+        setResolvedDependencies( properties, resolvedDependencies );
+
+        OutputStream outStream = null;
+        try
+        {
+            outStream = new FileOutputStream( file );
+
+            properties.store( outStream, "resolved snapshot dependencies" );
+        }
+        finally
+        {
+            IOUtil.close( outStream );
+        }
+    }
+
+    private static Properties load( File file )
+        throws IOException
+    {
+        Properties properties = new Properties();
+
+        InputStream inStream = null;
+        try
+        {
+            inStream = new FileInputStream( file );
+
+            properties.load( inStream );
+        }
+        finally
+        {
+            IOUtil.close( inStream );
+        }
+        return properties;
+    }
+
+    /**
+     * @param properties the properties of <code>release.properties</code>
+     * @return the versions by the versionless key of the dependencies
+     */
+    static Map<String, Map<String, String>> getResolvedDependencies( Properties properties )
+    {
+        Map<String, Map<String, String>> resolvedDependencies = new HashMap<String, Map<String, String>>();
+
+        for ( String propertyName : properties.stringPropertyNames() )
+        {
+            if ( !propertyName.startsWith( PREFIX ) )
+            {
+                continue;
+            }
+
+            String versionType;
+            int endIndex;
+            if ( propertyName.indexOf( DEVELOPMENT_SUFFIX ) != -1 )
+            {
+                endIndex = propertyName.lastIndexOf( DEVELOPMENT_SUFFIX );
+                versionType = ReleaseDescriptor.DEVELOPMENT_KEY;
+            }
+            else if ( propertyName.indexOf( RELEASE_SUFFIX ) != -1 )
+            {
+                endIndex = propertyName.lastIndexOf( RELEASE_SUFFIX );
+                versionType = ReleaseDescriptor.RELEASE_KEY;
+            }
+            else
+            {
+                // MRELEASE-834, probably a maven-dependency-plugin property
+                continue;
+            }
+
+            String artifactVersionlessKey = propertyName.substring( PREFIX.length(), endIndex );
+
+            Map<String, String> versionMap = resolvedDependencies.get( artifactVersionlessKey );
+            if ( versionMap == null )
+            {
+                versionMap = new HashMap<String, String>();
+                resolvedDependencies.put( artifactVersionlessKey, versionMap );
+            }
+
+            versionMap.put( versionType, properties.getProperty( propertyName ) );
+        }
+
+        return resolvedDependencies;
+    }
+
+    /**
+     * @param properties the properties of <code>release.properties</code>
+     * @param resolvedDependencies the versions by the versionless key of the dependencies
+     */
+    static void setResolvedDependencies( Properties properties, Map<?, ?> resolvedDependencies )
+    {
+        for ( Map.Entry<?, ?> entry : resolvedDependencies.entrySet() )
+        {
+            Map<?, ?> versionMap = (Map<?, ?>) entry.getValue();
+
+            properties.setProperty( PREFIX + entry.getKey() + RELEASE_SUFFIX,
+                                    (String) versionMap.get( ReleaseDescriptor.RELEASE_KEY ) );
+            properties.setProperty( PREFIX + entry.getKey() + DEVELOPMENT_SUFFIX,
+                                    (String) versionMap.get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+        }
+    }
+}
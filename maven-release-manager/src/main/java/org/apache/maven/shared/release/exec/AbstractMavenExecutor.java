@@ -122,6 +122,32 @@ public abstract class AbstractMavenExecutor
                                           String additionalArguments, String pomFileName, ReleaseResult result )
         throws MavenExecutorException;
 
+    /**
+     * @param releaseEnvironment the release environment
+     * @return the Maven home of the release environment, otherwise the one of the running Maven, or
+     *         <code>null</code> if it can't be determined
+     * @since 3.0.0
+     */
+    protected File getMavenHome( ReleaseEnvironment releaseEnvironment )
+    {
+        // if null we use the current one
+        if ( releaseEnvironment.getMavenHome() != null )
+        {
+            return releaseEnvironment.getMavenHome();
+        }
+
+        String mavenHome = System.getProperty( "maven.home" );
+        if ( mavenHome == null )
+        {
+            mavenHome = System.getenv( "MAVEN_HOME" );
+        }
+        if ( mavenHome == null )
+        {
+            mavenHome = System.getenv( "M2_HOME" );
+        }
+        return mavenHome == null ? null : new File( mavenHome );
+    }
+
     protected final Logger getLogger()
     {
         return logger;
@@ -0,0 +1,219 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Copies a stream on its own thread. Output of a process is read with blocking reads into a large buffer which is
+ * reused for the lifetime of the pumper, and only flushed once the process has nothing more to say for the moment.
+ * Input for a process, typically <code>System.in</code>, is only read once data is available, so the pumper never
+ * takes input away from whoever reads it after the process ended; while the input is idle the pumper backs off instead
+ * of spinning.
+ *
+ * @since 3.0.0
+ */
+public class BufferedStreamPumper
+    extends Thread
+{
+    /**
+     * The default size of the buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final long MAX_IDLE_MILLIS = 50;
+
+    private final InputStream in;
+
+    private final OutputStream out;
+
+    private final boolean feeder;
+
+    private final byte[] buffer;
+
+    private volatile boolean done;
+
+    private volatile IOException exception;
+
+    private BufferedStreamPumper( InputStream in, OutputStream out, boolean feeder, int bufferSize )
+    {
+        super( feeder ? "release-stdin-feeder" : "release-stream-pumper" );
+        setDaemon( true );
+        this.in = in;
+        this.out = out;
+        this.feeder = feeder;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * @param in the output of a process
+     * @param out the stream to copy it to
+     * @return a pumper which copies until the end of <code>in</code>
+     */
+    public static BufferedStreamPumper output( InputStream in, OutputStream out )
+    {
+        return output( in, out, DEFAULT_BUFFER_SIZE );
+    }
+
+    /**
+     * @param in the output of a process
+     * @param out the stream to copy it to
+     * @param bufferSize the size of the copy buffer
+     * @return a pumper which copies until the end of <code>in</code>
+     */
+    public static BufferedStreamPumper output( InputStream in, OutputStream out, int bufferSize )
+    {
+        return new BufferedStreamPumper( in, out, false, bufferSize );
+    }
+
+    /**
+     * @param in the input for a process, shared with the rest of the JVM
+     * @param out the input of the process
+     * @return a pumper which copies until it is {@link #setDone() done}
+     */
+    public static BufferedStreamPumper feeder( InputStream in, OutputStream out )
+    {
+        return new BufferedStreamPumper( in, out, true, DEFAULT_BUFFER_SIZE );
+    }
+
+    /**
+     * Stops copying as soon as possible.
+     */
+    public void setDone()
+    {
+        done = true;
+        if ( feeder )
+        {
+            interrupt();
+        }
+    }
+
+    public boolean isDone()
+    {
+        return done;
+    }
+
+    /**
+     * @return the first error reading or writing, or <code>null</code>
+     */
+    public IOException getException()
+    {
+        return exception;
+    }
+
+    public void closeInput()
+        throws IOException
+    {
+        in.close();
+    }
+
+    public void closeOutput()
+        throws IOException
+    {
+        out.close();
+    }
+
+    /**
+     * Waits until the whole stream has been copied.
+     *
+     * @param millis the time to wait at most, <code>0</code> waits forever
+     * @return <code>true</code> if the stream has been copied
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitDone( long millis )
+        throws InterruptedException
+    {
+        join( millis );
+        return !isAlive();
+    }
+
+    @Override
+    public void run()
+    {
+        try
+        {
+            if ( feeder )
+            {
+                feed();
+            }
+            else
+            {
+                pump();
+            }
+        }
+        catch ( IOException e )
+        {
+            exception = e;
+        }
+        catch ( InterruptedException e )
+        {
+            // done
+        }
+        finally
+        {
+            done = true;
+        }
+    }
+
+    private void pump()
+        throws IOException
+    {
+        int n = in.read( buffer );
+        while ( n > 0 && !done )
+        {
+            out.write( buffer, 0, n );
+            if ( in.available() <= 0 )
+            {
+                // the process is quiet, show what it said so far
+                out.flush();
+            }
+            n = in.read( buffer );
+        }
+        out.flush();
+    }
+
+    private void feed()
+        throws IOException, InterruptedException
+    {
+        long idle = 1;
+        while ( !done )
+        {
+            int available = in.available();
+            if ( available > 0 )
+            {
+                int n = in.read( buffer, 0, Math.min( available, buffer.length ) );
+                if ( n < 0 )
+                {
+                    break;
+                }
+                out.write( buffer, 0, n );
+                out.flush();
+                idle = 1;
+            }
+            else
+            {
+                Thread.sleep( idle );
+                idle = Math.min( idle * 2, MAX_IDLE_MILLIS );
+            }
+        }
+    }
+}
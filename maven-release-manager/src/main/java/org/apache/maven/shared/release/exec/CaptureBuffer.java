@@ -0,0 +1,224 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Captures the output of a build with bounded memory. The last bytes are kept in memory, everything before them is
+ * spilled to a temporary file once the output outgrows the memory, so the complete output can still be streamed.
+ * Failing to spill never fails the build, only the complete output is lost then.
+ *
+ * @since 3.0.0
+ */
+public class CaptureBuffer
+    extends OutputStream
+{
+    /**
+     * The default number of bytes kept in memory.
+     */
+    public static final int DEFAULT_TAIL_SIZE = 1024 * 1024;
+
+    private static final int SPILL_BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] tail;
+
+    private long size;
+
+    private File spillFile;
+
+    private OutputStream spill;
+
+    private IOException spillFailure;
+
+    private boolean closed;
+
+    public CaptureBuffer()
+    {
+        this( DEFAULT_TAIL_SIZE );
+    }
+
+    /**
+     * @param tailSize the number of bytes kept in memory
+     */
+    public CaptureBuffer( int tailSize )
+    {
+        if ( tailSize <= 0 )
+        {
+            throw new IllegalArgumentException( "tailSize must be positive" );
+        }
+        this.tail = new byte[tailSize];
+    }
+
+    @Override
+    public synchronized void write( int b )
+    {
+        write( new byte[] { (byte) b }, 0, 1 );
+    }
+
+    @Override
+    public synchronized void write( byte[] b, int off, int len )
+    {
+        if ( closed )
+        {
+            return;
+        }
+        if ( size + len > tail.length )
+        {
+            spill( b, off, len );
+        }
+
+        int capacity = tail.length;
+        if ( len > capacity )
+        {
+            // only the end of the data is kept, at the position it ends up at anyway
+            size += len - capacity;
+            off += len - capacity;
+            len = capacity;
+        }
+        int pos = (int) ( size % capacity );
+        size += len;
+
+        int first = Math.min( len, capacity - pos );
+        System.arraycopy( b, off, tail, pos, first );
+        System.arraycopy( b, off + first, tail, 0, len - first );
+    }
+
+    private void spill( byte[] b, int off, int len )
+    {
+        if ( spillFailure != null )
+        {
+            return;
+        }
+        try
+        {
+            if ( spill == null )
+            {
+                // everything so far is still in memory, in order
+                spillFile = File.createTempFile( "release-build", ".log" );
+                spillFile.deleteOnExit();
+                spill = new BufferedOutputStream( new FileOutputStream( spillFile ), SPILL_BUFFER_SIZE );
+                spill.write( tail, 0, (int) size );
+            }
+            spill.write( b, off, len );
+        }
+        catch ( IOException e )
+        {
+            spillFailure = e;
+        }
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public synchronized long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if only the last bytes of the output are kept in memory
+     */
+    public synchronized boolean isTruncated()
+    {
+        return size > tail.length;
+    }
+
+    /**
+     * @return the last bytes of the output; when the output is truncated it starts at the first complete line
+     */
+    public synchronized String getTail()
+    {
+        int capacity = tail.length;
+        if ( size <= capacity )
+        {
+            return new String( tail, 0, (int) size );
+        }
+
+        byte[] ordered = new byte[capacity];
+        int pos = (int) ( size % capacity );
+        System.arraycopy( tail, pos, ordered, 0, capacity - pos );
+        System.arraycopy( tail, 0, ordered, capacity - pos, pos );
+
+        int start = 0;
+        while ( start < capacity && ordered[start] != '\n' )
+        {
+            start++;
+        }
+        // rather a partial line than nothing
+        start = start < capacity - 1 ? start + 1 : 0;
+        return new String( ordered, start, capacity - start );
+    }
+
+    /**
+     * @return the complete output
+     * @throws IOException if the output which didn't fit in memory couldn't be kept
+     */
+    public synchronized InputStream openStream()
+        throws IOException
+    {
+        if ( !isTruncated() )
+        {
+            return new ByteArrayInputStream( tail, 0, (int) size );
+        }
+        if ( spillFailure != null )
+        {
+            throw new IOException( "The complete output was lost: " + spillFailure.getMessage(), spillFailure );
+        }
+        if ( closed )
+        {
+            throw new IOException( "The output has been discarded" );
+        }
+        spill.flush();
+        return new FileInputStream( spillFile );
+    }
+
+    /**
+     * Discards the output, including the temporary file.
+     */
+    @Override
+    public synchronized void close()
+    {
+        closed = true;
+        if ( spill != null )
+        {
+            try
+            {
+                spill.close();
+            }
+            catch ( IOException e )
+            {
+                // the file is deleted anyway
+            }
+            spill = null;
+        }
+        if ( spillFile != null && !spillFile.delete() )
+        {
+            spillFile.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
+
+/**
+ * Runs Maven in long-lived build JVMs, {@link MavenDaemon}s, which are kept warm across the builds of a release. A
+ * daemon has the Maven core loaded and compiled, so a build only pays for the build itself, while still running
+ * outside the release JVM. After each build a spare daemon is started in the background, so there is one at hand when
+ * the next build can't reuse the last daemon.
+ * <p>
+ * A daemon is recycled when the POMs of the directory it last built have been rewritten since, as prepare does between
+ * its builds, so nothing a daemon may have picked up from the previous POMs leaks into the next build. Interactive
+ * builds need the console, so they are run embedded.
+ *
+ * @since 3.0.0
+ */
+@Component( role = MavenExecutor.class, hint = "daemon" )
+public class DaemonMavenExecutor
+    extends EmbeddedMavenExecutor
+    implements Disposable
+{
+    /**
+     * The maximum number of idle daemons kept per Maven home.
+     */
+    static final int MAX_IDLE = 2;
+
+    private static final int PRIME = 31;
+
+    /**
+     * Build output and sources, which hold no POMs of the reactor.
+     */
+    private static final List<String> SKIPPED_DIRECTORIES = Arrays.asList( "target", "src" );
+
+    private final Map<File, List<MavenDaemonClient>> idle = new HashMap<File, List<MavenDaemonClient>>();
+
+    private final List<MavenDaemonClient> busy = new ArrayList<MavenDaemonClient>();
+
+    private boolean disposed;
+
+    @Override
+    protected int execute( File mavenHome, File workingDirectory, String[] args, boolean interactive,
+                           PrintStream stdOut, PrintStream stdErr )
+        throws MavenExecutorException
+    {
+        if ( interactive )
+        {
+            return super.execute( mavenHome, workingDirectory, args, true, stdOut, stdErr );
+        }
+
+        File home = getCanonicalHome( mavenHome );
+        File directory = workingDirectory.getAbsoluteFile();
+        long fingerprint = getPomFingerprint( directory );
+
+        MavenDaemonClient daemon = acquire( home, directory, fingerprint );
+        boolean reusable = false;
+        try
+        {
+            int result = daemon.execute( directory, args, stdOut, stdErr );
+            daemon.setBuilt( directory, fingerprint );
+            reusable = true;
+            return result;
+        }
+        catch ( IOException e )
+        {
+            throw new MavenExecutorException( "Lost the connection to the Maven daemon: " + e.getMessage(), e );
+        }
+        finally
+        {
+            release( home, daemon, reusable );
+        }
+    }
+
+    private MavenDaemonClient acquire( File home, File directory, long fingerprint )
+        throws MavenExecutorException
+    {
+        MavenDaemonClient daemon = null;
+        synchronized ( this )
+        {
+            List<MavenDaemonClient> daemons = getIdle( home );
+            for ( Iterator<MavenDaemonClient> i = daemons.iterator(); i.hasNext(); )
+            {
+                MavenDaemonClient candidate = i.next();
+                if ( !candidate.isAlive() || candidate.isStale( directory, fingerprint ) )
+                {
+                    getLogger().debug( "Recycling the Maven daemon for " + home );
+                    i.remove();
+                    candidate.close();
+                }
+                else if ( daemon == null || candidate.hasBuilt( directory ) )
+                {
+                    daemon = candidate;
+                }
+            }
+            if ( daemon != null )
+            {
+                daemons.remove( daemon );
+                busy.add( daemon );
+                return daemon;
+            }
+        }
+
+        getLogger().debug( "Starting a Maven daemon for " + home );
+        daemon = startDaemon( home );
+        synchronized ( this )
+        {
+            busy.add( daemon );
+        }
+        return daemon;
+    }
+
+    private void release( final File home, MavenDaemonClient daemon, boolean reusable )
+    {
+        boolean spare;
+        synchronized ( this )
+        {
+            busy.remove( daemon );
+            List<MavenDaemonClient> daemons = getIdle( home );
+            if ( disposed || !reusable || daemons.size() >= MAX_IDLE )
+            {
+                daemon.close();
+            }
+            else
+            {
+                daemons.add( daemon );
+            }
+            spare = !disposed && daemons.size() < MAX_IDLE;
+        }
+
+        if ( spare )
+        {
+            Thread starter = new Thread( "maven-daemon-starter" )
+            {
+                @Override
+                public void run()
+                {
+                    startSpare( home );
+                }
+            };
+            starter.setDaemon( true );
+            starter.start();
+        }
+    }
+
+    private void startSpare( File home )
+    {
+        MavenDaemonClient daemon;
+        try
+        {
+            daemon = startDaemon( home );
+        }
+        catch ( MavenExecutorException e )
+        {
+            getLogger().debug( "Failed to start a spare Maven daemon: " + e.getMessage(), e );
+            return;
+        }
+
+        synchronized ( this )
+        {
+            List<MavenDaemonClient> daemons = getIdle( home );
+            if ( disposed || daemons.size() >= MAX_IDLE )
+            {
+                daemon.close();
+            }
+            else
+            {
+                daemons.add( daemon );
+            }
+        }
+    }
+
+    private MavenDaemonClient startDaemon( File home )
+        throws MavenExecutorException
+    {
+        try
+        {
+            return MavenDaemonClient.start( home, System.getenv( "MAVEN_OPTS" ) );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenExecutorException( "Cannot start a Maven daemon for " + home + ": " + e.getMessage(), e );
+        }
+    }
+
+    private List<MavenDaemonClient> getIdle( File home )
+    {
+        List<MavenDaemonClient> daemons = idle.get( home );
+        if ( daemons == null )
+        {
+            daemons = new ArrayList<MavenDaemonClient>();
+            idle.put( home, daemons );
+        }
+        return daemons;
+    }
+
+    /**
+     * Stops all daemons.
+     */
+    public synchronized void dispose()
+    {
+        disposed = true;
+        for ( List<MavenDaemonClient> daemons : idle.values() )
+        {
+            for ( MavenDaemonClient daemon : daemons )
+            {
+                daemon.close();
+            }
+        }
+        idle.clear();
+        for ( MavenDaemonClient daemon : busy )
+        {
+            daemon.close();
+        }
+        busy.clear();
+    }
+
+    /**
+     * Computes a fingerprint of the POMs below a directory, from their names, sizes and modification times. Build
+     * output, sources and hidden directories are skipped, except for <code>.mvn</code>.
+     *
+     * @param directory the directory to compute the fingerprint of
+     * @return the fingerprint
+     */
+    static long getPomFingerprint( File directory )
+    {
+        long fingerprint = 1;
+        File[] files = directory.listFiles();
+        if ( files == null )
+        {
+            return fingerprint;
+        }
+        Arrays.sort( files );
+        for ( File file : files )
+        {
+            String name = file.getName();
+            if ( file.isDirectory() )
+            {
+                if ( !SKIPPED_DIRECTORIES.contains( name ) && ( !name.startsWith( "." ) || ".mvn".equals( name ) ) )
+                {
+                    fingerprint = fingerprint * PRIME + getPomFingerprint( file );
+                }
+            }
+            else if ( name.endsWith( "pom.xml" )
+                || ( name.endsWith( ".xml" ) && ".mvn".equals( directory.getName() ) ) )
+            {
+                fingerprint = fingerprint * PRIME + name.hashCode();
+                fingerprint = fingerprint * PRIME + file.length();
+                fingerprint = fingerprint * PRIME + file.lastModified();
+            }
+        }
+        return fingerprint;
+    }
+}
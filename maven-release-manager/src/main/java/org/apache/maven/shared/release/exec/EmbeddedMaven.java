@@ -0,0 +1,212 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A Maven 3 distribution loaded into the running JVM. The distribution gets a class realm of its own, set up the way
+ * <code>bin/m2.conf</code> does, which only shares the JDK with the rest of the JVM. Only depends on the JDK, so it can
+ * run in a {@link MavenDaemon} as well.
+ *
+ * @since 3.0.0
+ */
+final class EmbeddedMaven
+{
+    private static final String CLI_CLASS = "org.apache.maven.cli.MavenCli";
+
+    private static final String CLASS_WORLD_CLASS = "org.codehaus.plexus.classworlds.ClassWorld";
+
+    private static final String CORE_REALM = "plexus.core";
+
+    /**
+     * The system properties set by the <code>mvn</code> launcher.
+     */
+    private static final List<String> LAUNCHER_PROPERTIES =
+        Arrays.asList( "maven.home", "maven.conf", "maven.multiModuleProjectDirectory" );
+
+    /**
+     * The directories of the core realm, in the order of <code>bin/m2.conf</code>.
+     */
+    private static final List<String> LIBRARY_DIRECTORIES =
+        Arrays.asList( "lib/ext/redisson", "lib/ext/hazelcast", "lib/ext", "lib" );
+
+    /**
+     * The console and the system properties are shared by the whole JVM, so only one build runs at a time.
+     */
+    private static final Object LOCK = new Object();
+
+    private final File home;
+
+    private final Object classWorld;
+
+    private final ClassLoader realm;
+
+    private final Constructor<?> cliConstructor;
+
+    private final Method doMain;
+
+    private EmbeddedMaven( File home, Object classWorld, ClassLoader realm, Class<?> classWorldClass )
+        throws ReflectiveOperationException
+    {
+        this.home = home;
+        this.classWorld = classWorld;
+        this.realm = realm;
+
+        Class<?> cliClass = realm.loadClass( CLI_CLASS );
+        this.cliConstructor = cliClass.getConstructor( classWorldClass );
+        this.doMain = cliClass.getMethod( "doMain", String[].class, String.class, PrintStream.class,
+                                          PrintStream.class );
+    }
+
+    /**
+     * @param home the Maven home
+     * @return the loaded distribution
+     * @throws IOException if <code>home</code> is not a Maven 3 home
+     * @throws ReflectiveOperationException if the distribution can't be loaded
+     */
+    static EmbeddedMaven load( File home )
+        throws IOException, ReflectiveOperationException
+    {
+        URL[] boot = getJars( new File( home, "boot" ) );
+        if ( boot.length == 0 )
+        {
+            throw new IOException( home + " is not a Maven 3 home" );
+        }
+
+        ClassLoader bootLoader = new URLClassLoader( boot, ClassLoader.getSystemClassLoader().getParent() );
+        Class<?> classWorldClass = bootLoader.loadClass( CLASS_WORLD_CLASS );
+        Object classWorld =
+            classWorldClass.getConstructor( String.class, ClassLoader.class ).newInstance( CORE_REALM, bootLoader );
+        ClassLoader realm =
+            (ClassLoader) classWorldClass.getMethod( "getRealm", String.class ).invoke( classWorld, CORE_REALM );
+
+        Method addURL = realm.getClass().getMethod( "addURL", URL.class );
+        File logging = new File( home, "conf/logging" );
+        if ( logging.isDirectory() )
+        {
+            addURL.invoke( realm, logging.toURI().toURL() );
+        }
+        for ( String directory : LIBRARY_DIRECTORIES )
+        {
+            for ( URL jar : getJars( new File( home, directory ) ) )
+            {
+                addURL.invoke( realm, jar );
+            }
+        }
+
+        return new EmbeddedMaven( home, classWorld, realm, classWorldClass );
+    }
+
+    File getHome()
+    {
+        return home;
+    }
+
+    /**
+     * Runs a build, with the console redirected and the system properties of the <code>mvn</code> launcher set.
+     *
+     * @return the exit code of the build
+     * @throws ReflectiveOperationException if Maven can't be started, or an
+     *             {@link java.lang.reflect.InvocationTargetException} if the build fails unexpectedly
+     */
+    int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+        throws ReflectiveOperationException
+    {
+        synchronized ( LOCK )
+        {
+            Properties properties = System.getProperties();
+            Map<String, String> previous = new HashMap<String, String>();
+            for ( String name : LAUNCHER_PROPERTIES )
+            {
+                previous.put( name, properties.getProperty( name ) );
+            }
+            PrintStream out = System.out;
+            PrintStream err = System.err;
+            Thread thread = Thread.currentThread();
+            ClassLoader contextClassLoader = thread.getContextClassLoader();
+            try
+            {
+                System.setProperty( "maven.home", home.getAbsolutePath() );
+                System.setProperty( "maven.conf", new File( home, "conf" ).getAbsolutePath() );
+                System.setProperty( "maven.multiModuleProjectDirectory", workingDirectory.getAbsolutePath() );
+                System.setOut( stdOut );
+                System.setErr( stdErr );
+                thread.setContextClassLoader( realm );
+
+                Object cli = cliConstructor.newInstance( classWorld );
+                return (Integer) doMain.invoke( cli, args, workingDirectory.getAbsolutePath(), stdOut, stdErr );
+            }
+            finally
+            {
+                thread.setContextClassLoader( contextClassLoader );
+                System.setOut( out );
+                System.setErr( err );
+                for ( Map.Entry<String, String> property : previous.entrySet() )
+                {
+                    if ( property.getValue() != null )
+                    {
+                        properties.setProperty( property.getKey(), property.getValue() );
+                    }
+                    else
+                    {
+                        properties.remove( property.getKey() );
+                    }
+                }
+            }
+        }
+    }
+
+    private static URL[] getJars( File directory )
+        throws IOException
+    {
+        File[] files = directory.listFiles( new FileFilter()
+        {
+            public boolean accept( File file )
+            {
+                return file.isFile() && file.getName().endsWith( ".jar" );
+            }
+        } );
+        if ( files == null )
+        {
+            return new URL[0];
+        }
+
+        Arrays.sort( files );
+        URL[] urls = new URL[files.length];
+        for ( int i = 0; i < files.length; i++ )
+        {
+            urls[i] = files[i].toURI().toURL();
+        }
+        return urls;
+    }
+}
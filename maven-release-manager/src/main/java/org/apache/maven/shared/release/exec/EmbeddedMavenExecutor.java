@@ -0,0 +1,240 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+
+/**
+ * Runs Maven inside the running JVM, saving the start of a new JVM for every build. The Maven distribution is loaded
+ * into a class realm of its own, isolated from the classes of the release, like the <code>mvn</code> launcher does.
+ * The realm is kept for later builds with the same Maven home, so the core classes are loaded and compiled only once.
+ * The builds are run one at a time, as the console and the system properties are shared by the whole JVM.
+ *
+ * @since 3.0.0
+ */
+@Component( role = MavenExecutor.class, hint = "embedded" )
+public class EmbeddedMavenExecutor
+    extends AbstractMavenExecutor
+{
+    private final Map<File, EmbeddedMaven> distributions = new HashMap<File, EmbeddedMaven>();
+
+    @Override
+    public void executeGoals( File workingDirectory, List<String> goals, ReleaseEnvironment releaseEnvironment,
+                              boolean interactive, String additionalArguments, String pomFileName,
+                              ReleaseResult relResult )
+        throws MavenExecutorException
+    {
+        File mavenHome = getMavenHome( releaseEnvironment );
+        if ( mavenHome == null )
+        {
+            throw new MavenExecutorException( "Cannot find the Maven home to run Maven embedded", null );
+        }
+
+        File settingsFile = null;
+        if ( releaseEnvironment.getSettings() != null )
+        {
+            // Have to serialize to a file as if Maven is embedded, there may not actually be a settings.xml on disk
+            try
+            {
+                settingsFile = File.createTempFile( "release-settings", ".xml" );
+                SettingsXpp3Writer writer = getSettingsWriter();
+                FileWriter fileWriter = null;
+                try
+                {
+                    fileWriter = new FileWriter( settingsFile );
+                    writer.write( fileWriter, encryptSettings( releaseEnvironment.getSettings() ) );
+                }
+                finally
+                {
+                    IOUtil.close( fileWriter );
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new MavenExecutorException( "Could not create temporary file for release settings.xml", e );
+            }
+        }
+
+        TeeOutputStream stdOut = new TeeOutputStream( System.out );
+        TeeOutputStream stdErr = new TeeOutputStream( System.err );
+        MojoTimingParser timings = new MojoTimingParser( stdOut );
+        try
+        {
+            String[] args = getArguments( goals, interactive, additionalArguments, pomFileName, settingsFile );
+
+            relResult.appendInfo( "Executing embedded: mvn " + StringUtils.join( args, " " ) );
+            getLogger().info( "Executing embedded: mvn " + StringUtils.join( args, " " ) );
+
+            int result = execute( mavenHome, workingDirectory, args, interactive, new PrintStream( timings, true ),
+                                  new PrintStream( stdErr, true ) );
+
+            if ( result != 0 )
+            {
+                throw new MavenExecutorException( "Maven execution failed, exit code: \'" + result + "\'", result,
+                                                  stdOut.toString(), stdErr.toString() );
+            }
+        }
+        finally
+        {
+            timings.finish( relResult );
+            relResult.appendOutput( stdOut.toString() );
+
+            stdOut.getCapture().close();
+            stdErr.getCapture().close();
+
+            if ( settingsFile != null && settingsFile.exists() && !settingsFile.delete() )
+            {
+                settingsFile.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * @return the command line arguments, the same as {@link ForkedMavenExecutor} passes
+     */
+    String[] getArguments( List<String> goals, boolean interactive, String additionalArguments, String pomFileName,
+                           File settingsFile )
+        throws MavenExecutorException
+    {
+        List<String> args = new ArrayList<String>();
+        if ( settingsFile != null )
+        {
+            args.add( "-s" );
+            args.add( settingsFile.getAbsolutePath() );
+        }
+        if ( pomFileName != null )
+        {
+            args.add( "-f" );
+            args.add( pomFileName );
+        }
+        args.addAll( goals );
+        args.add( "--no-plugin-updates" );
+        if ( !interactive )
+        {
+            args.add( "--batch-mode" );
+        }
+        if ( !StringUtils.isEmpty( additionalArguments ) )
+        {
+            try
+            {
+                args.addAll( Arrays.asList( CommandLineUtils.translateCommandline( additionalArguments ) ) );
+            }
+            catch ( Exception e )
+            {
+                throw new MavenExecutorException( "Failed to parse additional arguments for Maven invocation.", e );
+            }
+        }
+        return args.toArray( new String[args.size()] );
+    }
+
+    /**
+     * Runs a build with the console redirected.
+     *
+     * @param mavenHome the Maven home
+     * @param workingDirectory the directory to run the build in
+     * @param args the command line arguments
+     * @param interactive whether the build may prompt
+     * @param stdOut the stream to redirect the output to
+     * @param stdErr the stream to redirect the error output to
+     * @return the exit code of the build
+     * @throws MavenExecutorException if Maven can't be run
+     */
+    protected int execute( File mavenHome, File workingDirectory, String[] args, boolean interactive,
+                           PrintStream stdOut, PrintStream stdErr )
+        throws MavenExecutorException
+    {
+        EmbeddedMaven maven = getDistribution( mavenHome );
+        try
+        {
+            return maven.run( workingDirectory, args, stdOut, stdErr );
+        }
+        catch ( InvocationTargetException e )
+        {
+            throw new MavenExecutorException( "Error executing Maven: " + e.getCause(), e.getCause() );
+        }
+        catch ( ReflectiveOperationException e )
+        {
+            throw new MavenExecutorException( "Cannot run Maven from " + mavenHome + " embedded", e );
+        }
+    }
+
+    private synchronized EmbeddedMaven getDistribution( File mavenHome )
+        throws MavenExecutorException
+    {
+        File home = getCanonicalHome( mavenHome );
+        EmbeddedMaven maven = distributions.get( home );
+        if ( maven == null )
+        {
+            try
+            {
+                maven = EmbeddedMaven.load( home );
+            }
+            catch ( IOException e )
+            {
+                throw new MavenExecutorException( "Cannot run Maven embedded, " + e.getMessage(), e );
+            }
+            catch ( InvocationTargetException e )
+            {
+                throw new MavenExecutorException( "Cannot load Maven from " + home + ": " + e.getCause(),
+                                                  e.getCause() );
+            }
+            catch ( ReflectiveOperationException e )
+            {
+                throw new MavenExecutorException( "Cannot run Maven embedded, " + home + " is not a Maven 3 home",
+                                                  e );
+            }
+            distributions.put( home, maven );
+        }
+        return maven;
+    }
+
+    /**
+     * @return the canonical form of the Maven home, which identifies the distribution
+     */
+    protected File getCanonicalHome( File mavenHome )
+        throws MavenExecutorException
+    {
+        try
+        {
+            return mavenHome.getCanonicalFile();
+        }
+        catch ( IOException e )
+        {
+            throw new MavenExecutorException( "Cannot access the Maven home " + mavenHome, e );
+        }
+    }
+}
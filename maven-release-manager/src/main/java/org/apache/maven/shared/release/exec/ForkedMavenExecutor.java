@@ -19,6 +19,7 @@ package org.apache.maven.shared.release.exec;
  * under the License.
  */
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -31,6 +32,8 @@ import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
@@ -51,6 +54,11 @@ public class ForkedMavenExecutor
     @Requirement
     private CommandLineFactory commandLineFactory;
 
+    /**
+     * How long to wait for the output of a finished process, in milliseconds.
+     */
+    private static final long PUMPER_DRAIN_TIMEOUT = 10000;
+
     /**
      * @noinspection UseOfSystemOutOrSystemErr
      */
@@ -136,16 +144,22 @@ public class ForkedMavenExecutor
                 cl.createArg().setLine( additionalArguments );
             }
 
-            TeeOutputStream stdOut = new TeeOutputStream( System.out );
+            // the console streams flush on every write, the pumpers flush whenever the process pauses
+            TeeOutputStream stdOut =
+                new TeeOutputStream( new BufferedOutputStream( System.out, BufferedStreamPumper.DEFAULT_BUFFER_SIZE ) );
+
+            TeeOutputStream stdErr =
+                new TeeOutputStream( new BufferedOutputStream( System.err, BufferedStreamPumper.DEFAULT_BUFFER_SIZE ) );
 
-            TeeOutputStream stdErr = new TeeOutputStream( System.err );
+            MojoTimingParser timings = new MojoTimingParser( stdOut );
 
             try
             {
                 relResult.appendInfo( "Executing: " + cl.toString() );
                 getLogger().info( "Executing: " + cl.toString() );
 
-                int result = executeCommandLine( cl, System.in, stdOut, stdErr );
+                // a build in batch mode never prompts, so it doesn't get the input of the release
+                int result = executeCommandLine( cl, interactive ? System.in : null, timings, stdErr, getLogger() );
 
                 if ( result != 0 )
                 {
@@ -159,7 +173,18 @@ public class ForkedMavenExecutor
             }
             finally
             {
+                timings.finish( relResult );
+
+                CaptureBuffer capture = stdOut.getCapture();
+                if ( capture.isTruncated() )
+                {
+                    relResult.appendInfo( "Build output was " + capture.getSize()
+                        + " bytes long, only its last lines are kept." );
+                }
                 relResult.appendOutput( stdOut.toString() );
+
+                capture.close();
+                stdErr.getCapture().close();
             }
         }
         finally
@@ -180,6 +205,18 @@ public class ForkedMavenExecutor
     public static int executeCommandLine( Commandline cl, InputStream systemIn, OutputStream systemOut,
                                           OutputStream systemErr )
         throws CommandLineException
+    {
+        return executeCommandLine( cl, systemIn, systemOut, systemErr,
+                                   new ConsoleLogger( Logger.LEVEL_WARN, ForkedMavenExecutor.class.getName() ) );
+    }
+
+    /**
+     * @param logger the logger to warn when the output of the process could not be read completely
+     * @since 3.0.0
+     */
+    public static int executeCommandLine( Commandline cl, InputStream systemIn, OutputStream systemOut,
+                                          OutputStream systemErr, Logger logger )
+        throws CommandLineException
     {
         if ( cl == null )
         {
@@ -188,17 +225,22 @@ public class ForkedMavenExecutor
 
         Process p = cl.execute();
 
-        //processes.put( new Long( cl.getPid() ), p );
+        OutputStream processIn = p.getOutputStream();
 
-        RawStreamPumper inputFeeder = null;
+        BufferedStreamPumper inputFeeder = null;
 
         if ( systemIn != null )
         {
-            inputFeeder = new RawStreamPumper( systemIn, p.getOutputStream(), true );
+            inputFeeder = BufferedStreamPumper.feeder( systemIn, processIn );
+        }
+        else
+        {
+            // nothing to forward, so anything reading the input gets its end instead of waiting forever
+            closeQuietly( processIn );
         }
 
-        RawStreamPumper outputPumper = new RawStreamPumper( p.getInputStream(), systemOut );
-        RawStreamPumper errorPumper = new RawStreamPumper( p.getErrorStream(), systemErr );
+        BufferedStreamPumper outputPumper = BufferedStreamPumper.output( p.getInputStream(), systemOut );
+        BufferedStreamPumper errorPumper = BufferedStreamPumper.output( p.getErrorStream(), systemErr );
 
         if ( inputFeeder != null )
         {
@@ -217,49 +259,60 @@ public class ForkedMavenExecutor
             {
                 inputFeeder.setDone();
             }
-            outputPumper.setDone();
-            errorPumper.setDone();
 
-            //processes.remove( new Long( cl.getPid() ) );
+            // the output is complete once the pipes are drained, unless a child of the process still holds them
+            if ( !outputPumper.awaitDone( PUMPER_DRAIN_TIMEOUT ) )
+            {
+                logger.warn( "The output of the process was not read completely within " + PUMPER_DRAIN_TIMEOUT
+                    + " ms, a process it started may still be running" );
+            }
+            if ( !errorPumper.awaitDone( PUMPER_DRAIN_TIMEOUT ) )
+            {
+                logger.warn( "The error output of the process was not read completely within " + PUMPER_DRAIN_TIMEOUT
+                    + " ms, a process it started may still be running" );
+            }
 
             return returnValue;
         }
         catch ( InterruptedException ex )
         {
-            //killProcess( cl.getPid() );
             throw new CommandLineException( "Error while executing external command, process killed.", ex );
         }
         finally
         {
-            try
-            {
-                errorPumper.closeInput();
-            }
-            catch ( IOException e )
-            {
-                //ignore
-            }
-            try
-            {
-                outputPumper.closeInput();
-            }
-            catch ( IOException e )
-            {
-                //ignore
-            }
+            outputPumper.setDone();
+            errorPumper.setDone();
+            closeInputQuietly( errorPumper );
+            closeInputQuietly( outputPumper );
             if ( inputFeeder != null )
             {
-                try
-                {
-                    inputFeeder.closeOutput();
-                }
-                catch ( IOException e )
-                {
-                    //ignore
-                }
+                inputFeeder.setDone();
+                closeQuietly( processIn );
             }
         }
     }
 
+    private static void closeInputQuietly( BufferedStreamPumper pumper )
+    {
+        try
+        {
+            pumper.closeInput();
+        }
+        catch ( IOException e )
+        {
+            //ignore
+        }
+    }
 
+    private static void closeQuietly( OutputStream stream )
+    {
+        try
+        {
+            stream.close();
+        }
+        catch ( IOException e )
+        {
+            //ignore
+        }
+    }
 }
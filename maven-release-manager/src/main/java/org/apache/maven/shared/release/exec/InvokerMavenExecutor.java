@@ -349,29 +349,12 @@ public class InvokerMavenExecutor
     {
         InvocationOutputHandler handler = getOutputHandler();
         InvokerLogger bridge = getInvokerLogger();
+        MojoTimingParser timings = new MojoTimingParser( null );
 
-        File mavenPath = null;
-        // if null we use the current one
-        if ( releaseEnvironment.getMavenHome() != null )
-        {
-            mavenPath = releaseEnvironment.getMavenHome();
-        }
-        else
-        {
-            String mavenHome = System.getProperty( "maven.home" );
-            if ( mavenHome == null )
-            {
-                mavenHome = System.getenv( "MAVEN_HOME" );
-            }
-            if ( mavenHome == null )
-            {
-                mavenHome = System.getenv( "M2_HOME" );
-            }
-            mavenPath = mavenHome == null ? null : new File( mavenHome );
-        }
+        File mavenPath = getMavenHome( releaseEnvironment );
         Invoker invoker =
             new DefaultInvoker().setMavenHome( mavenPath ).setLogger( bridge )
-                .setOutputHandler( handler ).setErrorHandler( handler );
+                .setOutputHandler( new TimingHandler( handler, timings ) ).setErrorHandler( handler );
 
         InvocationRequest req =
             new DefaultInvocationRequest().setDebug( getLogger().isDebugEnabled() )
@@ -442,6 +425,8 @@ public class InvokerMavenExecutor
         }
         finally
         {
+            timings.finish( result );
+
             if ( settingsFile != null && settingsFile.exists() && !settingsFile.delete() )
             {
                 settingsFile.deleteOnExit();
@@ -475,6 +460,29 @@ public class InvokerMavenExecutor
         }
     }
 
+    /**
+     * Times the mojos from the lines of the build output, before handing them on.
+     */
+    private static final class TimingHandler
+        implements InvocationOutputHandler
+    {
+        private final InvocationOutputHandler handler;
+
+        private final MojoTimingParser timings;
+
+        TimingHandler( InvocationOutputHandler handler, MojoTimingParser timings )
+        {
+            this.handler = handler;
+            this.timings = timings;
+        }
+
+        public void consumeLine( String line )
+        {
+            timings.consumeLine( line );
+            handler.consumeLine( line );
+        }
+    }
+
     private static final class LoggerBridge
         implements InvokerLogger
     {
@@ -0,0 +1,312 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.SecureRandom;
+
+/**
+ * Long-lived build JVM, which keeps a Maven distribution loaded so later builds skip the start of the JVM and the
+ * loading and compiling of the Maven core. Started by {@link DaemonMavenExecutor} with the Maven home as argument, it
+ * prints <code>PORT &lt;port&gt; &lt;token&gt;</code> and then runs the builds requested on that loopback port, one
+ * connection at a time. The daemon exits as soon as its standard input is closed, which happens when the release JVM
+ * ends in whatever way.
+ * <p>
+ * A request is the token, the working directory, the number of arguments and the arguments, all written with
+ * {@link DataOutputStream#writeUTF(String)}. The reply is a sequence of frames, each starting with its type: output
+ * and error output chunks, as length and bytes, and finally either the exit code or the failure message.
+ * <p>
+ * Only depends on the JDK, as it is run with nothing but the release manager itself on the class path.
+ *
+ * @since 3.0.0
+ */
+public final class MavenDaemon
+{
+    static final String PORT_PREFIX = "PORT ";
+
+    static final int OUT = 1;
+
+    static final int ERR = 2;
+
+    static final int EXIT = 3;
+
+    static final int FAILURE = 4;
+
+    private static final int TOKEN_BITS = 130;
+
+    private static final int TOKEN_RADIX = 32;
+
+    private static final int REQUEST_TIMEOUT = 10000;
+
+    /**
+     * A build run by the daemon.
+     */
+    interface Build
+    {
+        int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+            throws Exception;
+    }
+
+    private final Build build;
+
+    private final ServerSocket server;
+
+    private final String token;
+
+    MavenDaemon( Build build )
+        throws IOException
+    {
+        this.build = build;
+        this.server = new ServerSocket( 0, 1, InetAddress.getLoopbackAddress() );
+        this.token = new BigInteger( TOKEN_BITS, new SecureRandom() ).toString( TOKEN_RADIX );
+    }
+
+    int getPort()
+    {
+        return server.getLocalPort();
+    }
+
+    String getToken()
+    {
+        return token;
+    }
+
+    /**
+     * Runs the requested builds until the daemon is closed.
+     */
+    void serve()
+    {
+        while ( !server.isClosed() )
+        {
+            try
+            {
+                Socket socket = server.accept();
+                try
+                {
+                    handle( socket );
+                }
+                finally
+                {
+                    socket.close();
+                }
+            }
+            catch ( IOException e )
+            {
+                // the client went away, or the daemon was closed
+            }
+        }
+    }
+
+    void close()
+    {
+        try
+        {
+            server.close();
+        }
+        catch ( IOException e )
+        {
+            // ignore
+        }
+    }
+
+    private void handle( Socket socket )
+        throws IOException
+    {
+        socket.setSoTimeout( REQUEST_TIMEOUT );
+        DataInputStream in = new DataInputStream( new BufferedInputStream( socket.getInputStream() ) );
+        if ( !token.equals( in.readUTF() ) )
+        {
+            return;
+        }
+        File workingDirectory = new File( in.readUTF() );
+        String[] args = new String[in.readInt()];
+        for ( int i = 0; i < args.length; i++ )
+        {
+            args[i] = in.readUTF();
+        }
+        socket.setSoTimeout( 0 );
+
+        DataOutputStream out = new DataOutputStream( new BufferedOutputStream( socket.getOutputStream() ) );
+        PrintStream stdOut = new PrintStream( new FrameOutputStream( out, OUT ), true );
+        PrintStream stdErr = new PrintStream( new FrameOutputStream( out, ERR ), true );
+        int exitCode;
+        String failure = null;
+        try
+        {
+            exitCode = build.run( workingDirectory, args, stdOut, stdErr );
+        }
+        catch ( InvocationTargetException e )
+        {
+            exitCode = -1;
+            failure = String.valueOf( e.getCause() );
+        }
+        catch ( Exception e )
+        {
+            exitCode = -1;
+            failure = String.valueOf( e );
+        }
+        stdOut.flush();
+        stdErr.flush();
+
+        synchronized ( out )
+        {
+            if ( failure == null )
+            {
+                out.writeByte( EXIT );
+                out.writeInt( exitCode );
+            }
+            else
+            {
+                byte[] message = failure.getBytes( "UTF-8" );
+                out.writeByte( FAILURE );
+                out.writeInt( message.length );
+                out.write( message );
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes everything as frames of one type.
+     */
+    private static class FrameOutputStream
+        extends OutputStream
+    {
+        private final DataOutputStream out;
+
+        private final int type;
+
+        FrameOutputStream( DataOutputStream out, int type )
+        {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write( int b )
+            throws IOException
+        {
+            write( new byte[] { (byte) b }, 0, 1 );
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len )
+            throws IOException
+        {
+            if ( len > 0 )
+            {
+                synchronized ( out )
+                {
+                    out.writeByte( type );
+                    out.writeInt( len );
+                    out.write( b, off, len );
+                }
+            }
+        }
+
+        @Override
+        public void flush()
+            throws IOException
+        {
+            synchronized ( out )
+            {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * @param args the Maven home
+     * @throws Exception if the Maven home can't be loaded
+     */
+    public static void main( String[] args )
+        throws Exception
+    {
+        final EmbeddedMaven maven = EmbeddedMaven.load( new File( args[0] ) );
+        final MavenDaemon daemon = new MavenDaemon( new Build()
+        {
+            public int run( File workingDirectory, String[] arguments, PrintStream stdOut, PrintStream stdErr )
+                throws Exception
+            {
+                return maven.run( workingDirectory, arguments, stdOut, stdErr );
+            }
+        } );
+
+        final InputStream parent = System.in;
+        Thread watchdog = new Thread( "maven-daemon-watchdog" )
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    while ( parent.read() >= 0 )
+                    {
+                        // only waiting for the end of the stream
+                    }
+                }
+                catch ( IOException e )
+                {
+                    // the parent is gone as well
+                }
+                daemon.close();
+                System.exit( 0 );
+            }
+        };
+        watchdog.setDaemon( true );
+        watchdog.start();
+
+        System.out.println( PORT_PREFIX + daemon.getPort() + " " + daemon.getToken() );
+        System.out.flush();
+
+        // have the command line classes loaded before the first build is requested
+        PrintStream discard = new PrintStream( new OutputStream()
+        {
+            @Override
+            public void write( int b )
+            {
+                // discard
+            }
+        } );
+        try
+        {
+            maven.run( new File( "." ).getAbsoluteFile(), new String[] { "--version" }, discard, discard );
+        }
+        catch ( ReflectiveOperationException e )
+        {
+            // the build reports it again
+        }
+
+        daemon.serve();
+    }
+}
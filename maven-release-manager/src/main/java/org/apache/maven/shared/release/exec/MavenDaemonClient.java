@@ -0,0 +1,317 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+
+/**
+ * Connection to a {@link MavenDaemon} process.
+ *
+ * @since 3.0.0
+ */
+final class MavenDaemonClient
+{
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final Process process;
+
+    private final int port;
+
+    private final String token;
+
+    private File workingDirectory;
+
+    private long fingerprint;
+
+    /**
+     * @param process the daemon process, <code>null</code> if the daemon doesn't run in a process of its own
+     * @param port the port the daemon listens on
+     * @param token the token the daemon expects
+     */
+    MavenDaemonClient( Process process, int port, String token )
+    {
+        this.process = process;
+        this.port = port;
+        this.token = token;
+    }
+
+    /**
+     * Starts a daemon with the same Java runtime as the running JVM.
+     *
+     * @param mavenHome the Maven home for the daemon to load
+     * @param javaOptions the options for the daemon JVM, may be <code>null</code>
+     * @return the connection to the started daemon
+     * @throws IOException if the daemon can't be started
+     */
+    static MavenDaemonClient start( File mavenHome, String javaOptions )
+        throws IOException
+    {
+        List<String> command = new ArrayList<String>();
+        command.add( new File( new File( System.getProperty( "java.home" ), "bin" ), "java" ).getPath() );
+        if ( !StringUtils.isEmpty( javaOptions ) )
+        {
+            try
+            {
+                command.addAll( Arrays.asList( CommandLineUtils.translateCommandline( javaOptions ) ) );
+            }
+            catch ( Exception e )
+            {
+                throw new IOException( "Failed to parse the options for the Maven daemon: " + javaOptions, e );
+            }
+        }
+        command.add( "-cp" );
+        command.add( getClassPath() );
+        command.add( MavenDaemon.class.getName() );
+        command.add( mavenHome.getAbsolutePath() );
+
+        Process process = new ProcessBuilder( command ).redirectErrorStream( true ).start();
+        InputStream in = process.getInputStream();
+        StringBuilder output = new StringBuilder();
+        String line = readLine( in );
+        while ( line != null && !line.startsWith( MavenDaemon.PORT_PREFIX ) )
+        {
+            output.append( line ).append( '\n' );
+            line = readLine( in );
+        }
+        if ( line == null )
+        {
+            process.destroy();
+            throw new IOException( "The Maven daemon failed to start: " + output.toString().trim() );
+        }
+
+        // nothing else is expected, but a full pipe would block the daemon
+        BufferedStreamPumper.output( in, new OutputStream()
+        {
+            @Override
+            public void write( int b )
+            {
+                // discard
+            }
+
+            @Override
+            public void write( byte[] b, int off, int len )
+            {
+                // discard
+            }
+        } ).start();
+
+        String[] address = line.substring( MavenDaemon.PORT_PREFIX.length() ).split( " " );
+        return new MavenDaemonClient( process, Integer.parseInt( address[0] ), address[1] );
+    }
+
+    /**
+     * Runs a build in the daemon, copying its output as it arrives.
+     *
+     * @param directory the directory to run the build in
+     * @param args the command line arguments
+     * @param stdOut the stream to copy the output to
+     * @param stdErr the stream to copy the error output to
+     * @return the exit code of the build
+     * @throws IOException if the connection to the daemon fails
+     * @throws MavenExecutorException if the build failed unexpectedly in the daemon
+     */
+    int execute( File directory, String[] args, OutputStream stdOut, OutputStream stdErr )
+        throws IOException, MavenExecutorException
+    {
+        Socket socket = new Socket( InetAddress.getLoopbackAddress(), port );
+        try
+        {
+            DataOutputStream out = new DataOutputStream( new BufferedOutputStream( socket.getOutputStream() ) );
+            out.writeUTF( token );
+            out.writeUTF( directory.getAbsolutePath() );
+            out.writeInt( args.length );
+            for ( String arg : args )
+            {
+                out.writeUTF( arg );
+            }
+            out.flush();
+
+            DataInputStream in = new DataInputStream( new BufferedInputStream( socket.getInputStream() ) );
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            while ( true )
+            {
+                int type = in.read();
+                switch ( type )
+                {
+                    case MavenDaemon.OUT:
+                        copy( in, in.readInt(), stdOut, buffer );
+                        break;
+                    case MavenDaemon.ERR:
+                        copy( in, in.readInt(), stdErr, buffer );
+                        break;
+                    case MavenDaemon.EXIT:
+                        stdOut.flush();
+                        stdErr.flush();
+                        return in.readInt();
+                    case MavenDaemon.FAILURE:
+                        byte[] message = new byte[in.readInt()];
+                        in.readFully( message );
+                        throw new MavenExecutorException( "Error executing Maven: " + new String( message, "UTF-8" ),
+                                                          null );
+                    case -1:
+                        throw new EOFException( "The Maven daemon closed the connection" );
+                    default:
+                        throw new IOException( "Unexpected frame from the Maven daemon: " + type );
+                }
+            }
+        }
+        finally
+        {
+            socket.close();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the daemon process is still running
+     */
+    boolean isAlive()
+    {
+        if ( process == null )
+        {
+            return true;
+        }
+        try
+        {
+            process.exitValue();
+            return false;
+        }
+        catch ( IllegalThreadStateException e )
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Remembers the POMs of the last build.
+     *
+     * @param directory the directory the build ran in
+     * @param pomFingerprint the fingerprint of the POMs the build read
+     */
+    void setBuilt( File directory, long pomFingerprint )
+    {
+        this.workingDirectory = directory;
+        this.fingerprint = pomFingerprint;
+    }
+
+    /**
+     * @param directory the directory of the next build
+     * @param pomFingerprint the current fingerprint of the POMs in that directory
+     * @return <code>true</code> if the daemon last built that directory and its POMs have been rewritten since
+     */
+    boolean isStale( File directory, long pomFingerprint )
+    {
+        return directory.equals( workingDirectory ) && pomFingerprint != fingerprint;
+    }
+
+    /**
+     * @param directory a directory to build
+     * @return <code>true</code> if the daemon last built that directory
+     */
+    boolean hasBuilt( File directory )
+    {
+        return directory.equals( workingDirectory );
+    }
+
+    /**
+     * Stops the daemon, by closing its standard input.
+     */
+    void close()
+    {
+        if ( process != null )
+        {
+            try
+            {
+                process.getOutputStream().close();
+            }
+            catch ( IOException e )
+            {
+                // ignore
+            }
+            process.destroy();
+        }
+    }
+
+    private static void copy( InputStream in, int length, OutputStream out, byte[] buffer )
+        throws IOException
+    {
+        int remaining = length;
+        while ( remaining > 0 )
+        {
+            int n = in.read( buffer, 0, Math.min( remaining, buffer.length ) );
+            if ( n < 0 )
+            {
+                throw new EOFException( "The Maven daemon closed the connection" );
+            }
+            out.write( buffer, 0, n );
+            remaining -= n;
+        }
+    }
+
+    private static String readLine( InputStream in )
+        throws IOException
+    {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b = in.read();
+        if ( b < 0 )
+        {
+            return null;
+        }
+        while ( b >= 0 && b != '\n' )
+        {
+            if ( b != '\r' )
+            {
+                line.write( b );
+            }
+            b = in.read();
+        }
+        return line.toString();
+    }
+
+    private static String getClassPath()
+        throws IOException
+    {
+        try
+        {
+            return new File( MavenDaemon.class.getProtectionDomain().getCodeSource().getLocation().toURI() ).getPath();
+        }
+        catch ( URISyntaxException e )
+        {
+            throw new IOException( "Cannot locate the classes of the Maven daemon", e );
+        }
+    }
+}
@@ -20,7 +20,7 @@ package org.apache.maven.shared.release.exec;
  */
 
 /**
- * Exception executing Maven.
+ * Exception executing Maven. Only the last lines of the output of a long build are kept.
  *
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
@@ -0,0 +1,361 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.metrics.MojoTiming;
+import org.apache.maven.shared.release.metrics.TimedOperation;
+
+/**
+ * Times the mojo executions of a build from its output, as the output passes through. A mojo runs from its
+ * <code>--- plugin:version:goal (id) @ module ---</code> line until the next mojo, module or the end of the build, as
+ * observed when the lines arrive. The times of the modules are taken from the reactor summary. Only the current line
+ * is kept, and only up to {@link #MAX_LINE_LENGTH} bytes, as the lines of interest are short.
+ * <p>
+ * The modules of a parallel build interleave their lines, so there a mojo only ends with the next mojo of its own
+ * module. The end of the last mojo of a module isn't logged then, so it is left out rather than timed until the next
+ * line of another module.
+ *
+ * @since 3.0.0
+ */
+public class MojoTimingParser
+    extends FilterOutputStream
+{
+    /**
+     * The longest line which is looked at, longer lines are passed through only.
+     */
+    static final int MAX_LINE_LENGTH = 1024;
+
+    private static final String INFO = "[INFO] ";
+
+    private static final String MULTI_THREADED = "Using the MultiThreadedBuilder";
+
+    private static final Pattern MOJO = Pattern.compile( "--- (\\S+:\\S+:\\S+)(?: \\(([^)]*)\\))? @ (\\S+) ---" );
+
+    private static final Pattern MODULE = Pattern.compile( "-+< \\S+ >-+" );
+
+    private static final Pattern SUMMARY =
+        Pattern.compile( "(.+?) \\.+ ?(SUCCESS|FAILURE|SKIPPED)(?: \\[ *([0-9.,:]+) *(s|min|h)? *\\])?" );
+
+    private static final Pattern ANSI = Pattern.compile( "\u001B\\[[0-9;]*[A-Za-z]" );
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+
+    private int length;
+
+    private boolean overflow;
+
+    private boolean separator;
+
+    private boolean summary;
+
+    private boolean parallel;
+
+    /**
+     * The mojos which are running by module, in the order they started.
+     */
+    private final Map<String, RunningMojo> mojos = new LinkedHashMap<String, RunningMojo>();
+
+    /**
+     * When a <code>Building</code> line which may start a module was seen, <code>-1</code> otherwise.
+     */
+    private long moduleStart = -1;
+
+    private final List<MojoTiming> mojoTimings = new ArrayList<MojoTiming>();
+
+    private final List<TimedOperation> moduleTimings = new ArrayList<TimedOperation>();
+
+    /**
+     * @param out the stream to pass the output on to, or <code>null</code> if the lines are handed to
+     *            {@link #consumeLine(String)} instead
+     */
+    public MojoTimingParser( OutputStream out )
+    {
+        super( out );
+    }
+
+    @Override
+    public synchronized void write( int b )
+        throws IOException
+    {
+        out.write( b );
+        scan( b );
+    }
+
+    @Override
+    public synchronized void write( byte[] b, int off, int len )
+        throws IOException
+    {
+        out.write( b, off, len );
+        for ( int i = off; i < off + len; i++ )
+        {
+            scan( b[i] );
+        }
+    }
+
+    private void scan( int b )
+    {
+        if ( b == '\n' || b == '\r' )
+        {
+            if ( length > 0 && !overflow )
+            {
+                consumeLine( new String( line, 0, length ) );
+            }
+            length = 0;
+            overflow = false;
+        }
+        else if ( length < line.length )
+        {
+            line[length++] = (byte) b;
+        }
+        else
+        {
+            overflow = true;
+        }
+    }
+
+    /**
+     * Looks at a line of the output.
+     *
+     * @param text the line, without line separator
+     */
+    public synchronized void consumeLine( String text )
+    {
+        consumeLine( text, System.nanoTime() );
+    }
+
+    synchronized void consumeLine( String text, long nanos )
+    {
+        String message = text.indexOf( '\u001B' ) >= 0 ? ANSI.matcher( text ).replaceAll( "" ) : text;
+        int index = message.indexOf( INFO );
+        if ( index < 0 )
+        {
+            return;
+        }
+        message = message.substring( index + INFO.length() ).trim();
+
+        boolean wasSeparator = separator;
+        separator = message.length() > 0 && message.replace( "-", "" ).isEmpty();
+
+        // before Maven 3.5 a module starts with its name between separators, which plugins may log as well
+        if ( moduleStart >= 0 && ( separator || message.startsWith( "task-segment" ) ) )
+        {
+            endModule( moduleStart );
+        }
+        moduleStart = -1;
+
+        Matcher matcher = MOJO.matcher( message );
+        if ( message.startsWith( "--- " ) && matcher.matches() )
+        {
+            String module = matcher.group( 3 );
+            if ( !mojos.isEmpty() && !mojos.containsKey( module ) )
+            {
+                // another module is running without a module line in between
+                parallel = true;
+            }
+            endMojo( mojos.remove( module ), nanos );
+            mojos.put( module, new RunningMojo( module, matcher.group( 1 ), matcher.group( 2 ), nanos ) );
+        }
+        else if ( message.startsWith( MULTI_THREADED ) )
+        {
+            parallel = true;
+        }
+        else if ( wasSeparator && message.startsWith( "Building " ) )
+        {
+            moduleStart = nanos;
+        }
+        else if ( MODULE.matcher( message ).matches() )
+        {
+            endModule( nanos );
+            summary = false;
+        }
+        else if ( message.startsWith( "BUILD " ) )
+        {
+            endBuild( nanos );
+            summary = false;
+        }
+        else if ( message.startsWith( "Reactor Summary" ) )
+        {
+            endBuild( nanos );
+            summary = true;
+        }
+        else if ( summary )
+        {
+            addModule( message );
+        }
+    }
+
+    private void addModule( String message )
+    {
+        Matcher matcher = SUMMARY.matcher( message );
+        if ( matcher.matches() && matcher.group( 3 ) != null )
+        {
+            long millis = parseDuration( matcher.group( 3 ).replace( ',', '.' ), matcher.group( 4 ) );
+            if ( millis >= 0 )
+            {
+                moduleTimings.add( new TimedOperation( matcher.group( 1 ), millis ) );
+            }
+        }
+    }
+
+    /**
+     * @param value the duration, <code>seconds</code>, <code>minutes:seconds</code> or <code>hours:minutes</code>
+     * @param unit the unit, <code>s</code>, <code>min</code> or <code>h</code>
+     * @return the duration in milliseconds, or <code>-1</code> if it can't be parsed
+     */
+    static long parseDuration( String value, String unit )
+    {
+        try
+        {
+            int colon = value.indexOf( ':' );
+            if ( colon < 0 )
+            {
+                return Math.round( Double.parseDouble( value ) * TimeUnit.SECONDS.toMillis( 1 ) );
+            }
+            long major = Long.parseLong( value.substring( 0, colon ) );
+            long minor = Long.parseLong( value.substring( colon + 1 ) );
+            if ( "h".equals( unit ) )
+            {
+                return TimeUnit.HOURS.toMillis( major ) + TimeUnit.MINUTES.toMillis( minor );
+            }
+            return TimeUnit.SECONDS.toMillis( major * SECONDS_PER_MINUTE + minor );
+        }
+        catch ( NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+
+    private void endMojo( RunningMojo mojo, long nanos )
+    {
+        if ( mojo != null )
+        {
+            mojoTimings.add( new MojoTiming( mojo.module, mojo.mojo, mojo.executionId,
+                                             TimeUnit.NANOSECONDS.toMillis( nanos - mojo.start ) ) );
+        }
+    }
+
+    /**
+     * Ends the running mojo as the next module starts, unless the modules are built in parallel.
+     */
+    private void endModule( long nanos )
+    {
+        if ( !parallel )
+        {
+            endMojos( nanos );
+        }
+    }
+
+    /**
+     * Ends the running mojos as the build is over. In a parallel build it's unknown when they ended.
+     */
+    private void endBuild( long nanos )
+    {
+        if ( !parallel )
+        {
+            endMojos( nanos );
+        }
+        mojos.clear();
+    }
+
+    private void endMojos( long nanos )
+    {
+        for ( RunningMojo mojo : mojos.values() )
+        {
+            endMojo( mojo, nanos );
+        }
+        mojos.clear();
+    }
+
+    /**
+     * Ends the mojo still running, as the build is over.
+     */
+    public synchronized void finish()
+    {
+        if ( length > 0 && !overflow )
+        {
+            consumeLine( new String( line, 0, length ) );
+        }
+        length = 0;
+        endBuild( System.nanoTime() );
+        summary = false;
+    }
+
+    /**
+     * @return the mojo executions, in the order they ended
+     */
+    public synchronized List<MojoTiming> getMojoTimings()
+    {
+        return Collections.unmodifiableList( new ArrayList<MojoTiming>( mojoTimings ) );
+    }
+
+    /**
+     * @return the modules of the reactor summary, with their times
+     */
+    public synchronized List<TimedOperation> getModuleTimings()
+    {
+        return Collections.unmodifiableList( new ArrayList<TimedOperation>( moduleTimings ) );
+    }
+
+    /**
+     * Ends the build and attaches the timings to a result.
+     *
+     * @param result the result to attach the timings to
+     */
+    public void finish( ReleaseResult result )
+    {
+        finish();
+        result.addMojoTimings( getMojoTimings() );
+        result.addModuleTimings( getModuleTimings() );
+    }
+
+    private static final class RunningMojo
+    {
+        private final String module;
+
+        private final String mojo;
+
+        private final String executionId;
+
+        private final long start;
+
+        RunningMojo( String module, String mojo, String executionId, long start )
+        {
+            this.module = module;
+            this.mojo = mojo;
+            this.executionId = executionId;
+            this.start = start;
+        }
+    }
+}
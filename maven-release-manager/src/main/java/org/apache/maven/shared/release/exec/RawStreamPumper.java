@@ -24,8 +24,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 /**
- * 
+ * @deprecated since 3.0.0, use {@link BufferedStreamPumper} instead, which neither spins on the input nor flushes
+ *             after every read: {@link BufferedStreamPumper#output(InputStream, OutputStream)} replaces
+ *             <code>new RawStreamPumper( in, out )</code> and
+ *             {@link BufferedStreamPumper#feeder(InputStream, OutputStream)} replaces
+ *             <code>new RawStreamPumper( in, out, true )</code>.
  */
+@Deprecated
 public class RawStreamPumper
     extends Thread 
 {
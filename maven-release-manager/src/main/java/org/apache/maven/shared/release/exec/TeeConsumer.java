@@ -33,10 +33,7 @@ public class TeeConsumer
 {
     private PrintStream stream;
 
-    /**
-     * @noinspection StringBufferField
-     */
-    private StringBuffer content = new StringBuffer();
+    private CaptureBuffer content;
 
     private static final String LS = System.getProperty( "line.separator" );
 
@@ -48,23 +45,48 @@ public class TeeConsumer
     }
 
     public TeeConsumer( PrintStream stream, String indent )
+    {
+        this( stream, indent, new CaptureBuffer() );
+    }
+
+    /**
+     * @param stream the stream to copy to
+     * @param indent the indentation of every line copied
+     * @param content the buffer keeping the output
+     * @since 3.0.0
+     */
+    public TeeConsumer( PrintStream stream, String indent, CaptureBuffer content )
     {
         this.stream = stream;
 
         this.indent = indent;
+
+        this.content = content;
     }
 
     public void consumeLine( String line )
     {
         stream.println( indent + line );
 
-        content.append( line );
-        content.append( LS );
+        byte[] bytes = ( line + LS ).getBytes();
+        content.write( bytes, 0, bytes.length );
     }
 
+    /**
+     * @return the output, or only its last lines if it was too long to keep in memory
+     */
     public String getContent()
     {
-        return content.toString();
+        return content.getTail();
+    }
+
+    /**
+     * @return the buffer keeping the output, which streams the complete output
+     * @since 3.0.0
+     */
+    public CaptureBuffer getCapture()
+    {
+        return content;
     }
 
     public String toString()
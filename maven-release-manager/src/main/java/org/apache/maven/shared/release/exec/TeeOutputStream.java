@@ -19,7 +19,6 @@ package org.apache.maven.shared.release.exec;
  * under the License.
  */
 
-import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -30,7 +29,7 @@ import java.io.OutputStream;
 public class TeeOutputStream 
     extends FilterOutputStream 
 {
-    private ByteArrayOutputStream bout = new ByteArrayOutputStream( 1024 * 8 );
+    private CaptureBuffer bout;
     private byte indent[];
     private int last = '\n';
 
@@ -40,9 +39,21 @@ public class TeeOutputStream
     }
     
     public TeeOutputStream( OutputStream out, String i )
+    {
+        this( out, i, new CaptureBuffer() );
+    }
+
+    /**
+     * @param out the stream to copy to
+     * @param i the indentation of every line copied
+     * @param capture the buffer keeping the output
+     * @since 3.0.0
+     */
+    public TeeOutputStream( OutputStream out, String i, CaptureBuffer capture )
     {
         super( out );
         indent = i.getBytes();
+        bout = capture;
     }
 
     public void write( byte[] b, int off, int len )
@@ -80,12 +91,24 @@ public class TeeOutputStream
     
     public String toString() 
     {
-        return bout.toString();
+        return bout.getTail();
     }
 
+    /**
+     * @return the output, or only its last lines if it was too long to keep in memory
+     */
     public String getContent()
     {
-        return bout.toString();
+        return bout.getTail();
+    }
+
+    /**
+     * @return the buffer keeping the output, which streams the complete output
+     * @since 3.0.0
+     */
+    public CaptureBuffer getCapture()
+    {
+        return bout;
     }
 
 }
@@ -0,0 +1,133 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Default implementation of the release metrics, which keeps the phase of the current thread in an inheritable thread
+ * local, so work a phase hands off to its own worker threads is attributed to it as well.
+ *
+ * @since 3.0.0
+ */
+@Component( role = ReleaseMetrics.class )
+public class DefaultReleaseMetrics
+    implements ReleaseMetrics
+{
+    private final InheritableThreadLocal<PhaseMetrics> current = new InheritableThreadLocal<PhaseMetrics>();
+
+    private final List<PhaseMetrics> phases = new ArrayList<PhaseMetrics>();
+
+    @Override
+    public void reset()
+    {
+        synchronized ( phases )
+        {
+            phases.clear();
+        }
+    }
+
+    @Override
+    public PhaseMetrics startPhase( String name )
+    {
+        PhaseMetrics phase = new PhaseMetrics( name, System.currentTimeMillis() );
+        synchronized ( phases )
+        {
+            phases.add( phase );
+        }
+        current.set( phase );
+        return phase;
+    }
+
+    @Override
+    public void endPhase( PhaseMetrics phase )
+    {
+        phase.setDurationMillis( System.currentTimeMillis() - phase.getStartTime() );
+        current.remove();
+    }
+
+    @Override
+    public List<PhaseMetrics> getPhases()
+    {
+        synchronized ( phases )
+        {
+            return new ArrayList<PhaseMetrics>( phases );
+        }
+    }
+
+    @Override
+    public boolean isRecording()
+    {
+        return current.get() != null;
+    }
+
+    @Override
+    public void recordModule( String module, long durationMillis )
+    {
+        PhaseMetrics phase = current.get();
+        if ( phase != null )
+        {
+            phase.addModule( module, durationMillis );
+        }
+    }
+
+    @Override
+    public void recordScmCommand( String command, long durationMillis )
+    {
+        PhaseMetrics phase = current.get();
+        if ( phase != null )
+        {
+            phase.addScmCommand( new TimedOperation( command, durationMillis ) );
+        }
+    }
+
+    @Override
+    public void recordMavenInvocation( String goals, long durationMillis )
+    {
+        PhaseMetrics phase = current.get();
+        if ( phase != null )
+        {
+            phase.addMavenInvocation( new TimedOperation( goals, durationMillis ) );
+        }
+    }
+
+    @Override
+    public void recordBytesRead( long bytes )
+    {
+        PhaseMetrics phase = current.get();
+        if ( phase != null )
+        {
+            phase.addBytesRead( bytes );
+        }
+    }
+
+    @Override
+    public void recordBytesWritten( long bytes )
+    {
+        PhaseMetrics phase = current.get();
+        if ( phase != null )
+        {
+            phase.addBytesWritten( bytes );
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A mojo execution of a build and how long it took.
+ *
+ * @since 3.0.0
+ */
+public class MojoTiming
+{
+    private final String module;
+
+    private final String mojo;
+
+    private final String executionId;
+
+    private final long durationMillis;
+
+    /**
+     * @param module the artifact id of the module the mojo ran for
+     * @param mojo the mojo, as <code>plugin:version:goal</code>
+     * @param executionId the id of the execution, may be <code>null</code>
+     * @param durationMillis how long the execution took
+     */
+    public MojoTiming( String module, String mojo, String executionId, long durationMillis )
+    {
+        this.module = module;
+        this.mojo = mojo;
+        this.executionId = executionId;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return the artifact id of the module the mojo ran for
+     */
+    public String getModule()
+    {
+        return module;
+    }
+
+    /**
+     * @return the mojo, as <code>plugin:version:goal</code>
+     */
+    public String getMojo()
+    {
+        return mojo;
+    }
+
+    public String getExecutionId()
+    {
+        return executionId;
+    }
+
+    public long getDurationMillis()
+    {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mojo + ( executionId != null ? " (" + executionId + ")" : "" ) + " @ " + module + ": "
+            + durationMillis + " ms";
+    }
+}
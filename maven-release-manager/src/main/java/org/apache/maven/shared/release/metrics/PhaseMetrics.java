@@ -0,0 +1,161 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What a single release phase spent its time on. The metrics can be recorded from several threads.
+ *
+ * @since 3.0.0
+ */
+public class PhaseMetrics
+{
+    private final String name;
+
+    private final long startTime;
+
+    private volatile long durationMillis = -1;
+
+    private final Map<String, Long> modules = new LinkedHashMap<String, Long>();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    private final List<TimedOperation> scmCommands = new ArrayList<TimedOperation>();
+
+    private final List<TimedOperation> mavenInvocations = new ArrayList<TimedOperation>();
+
+    public PhaseMetrics( String name, long startTime )
+    {
+        this.name = name;
+        this.startTime = startTime;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return the time the phase started, in milliseconds since the epoch
+     */
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * @return the wall time of the phase, or <code>-1</code> while it is running
+     */
+    public long getDurationMillis()
+    {
+        return durationMillis;
+    }
+
+    void setDurationMillis( long durationMillis )
+    {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return the time spent on each module, by project id, in the order the modules were first recorded
+     */
+    public Map<String, Long> getModules()
+    {
+        synchronized ( modules )
+        {
+            return new LinkedHashMap<String, Long>( modules );
+        }
+    }
+
+    void addModule( String module, long durationMillis )
+    {
+        synchronized ( modules )
+        {
+            Long previous = modules.get( module );
+            modules.put( module, previous != null ? previous + durationMillis : durationMillis );
+        }
+    }
+
+    public long getBytesRead()
+    {
+        return bytesRead.get();
+    }
+
+    void addBytesRead( long bytes )
+    {
+        bytesRead.addAndGet( bytes );
+    }
+
+    public long getBytesWritten()
+    {
+        return bytesWritten.get();
+    }
+
+    void addBytesWritten( long bytes )
+    {
+        bytesWritten.addAndGet( bytes );
+    }
+
+    /**
+     * @return the SCM commands issued by the phase
+     */
+    public List<TimedOperation> getScmCommands()
+    {
+        synchronized ( scmCommands )
+        {
+            return Collections.unmodifiableList( new ArrayList<TimedOperation>( scmCommands ) );
+        }
+    }
+
+    void addScmCommand( TimedOperation command )
+    {
+        synchronized ( scmCommands )
+        {
+            scmCommands.add( command );
+        }
+    }
+
+    /**
+     * @return the Maven builds forked by the phase
+     */
+    public List<TimedOperation> getMavenInvocations()
+    {
+        synchronized ( mavenInvocations )
+        {
+            return Collections.unmodifiableList( new ArrayList<TimedOperation>( mavenInvocations ) );
+        }
+    }
+
+    void addMavenInvocation( TimedOperation invocation )
+    {
+        synchronized ( mavenInvocations )
+        {
+            mavenInvocations.add( invocation );
+        }
+    }
+}
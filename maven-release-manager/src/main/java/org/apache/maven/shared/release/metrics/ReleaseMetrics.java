@@ -0,0 +1,90 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+
+/**
+ * Collects where the phases of a release goal spend their time. The release manager starts and ends the phases, while
+ * the phases and the components they use record what they do. Everything recorded is attributed to the phase running
+ * on the current thread, or on the thread which created it; nothing is recorded outside of a phase.
+ *
+ * @since 3.0.0
+ */
+public interface ReleaseMetrics
+{
+    /**
+     * Forgets the phases of the previous goal.
+     */
+    void reset();
+
+    /**
+     * Starts recording a phase on the current thread.
+     *
+     * @param name the name of the phase
+     * @return the metrics of the phase
+     */
+    PhaseMetrics startPhase( String name );
+
+    /**
+     * Stops recording the phase started on the current thread.
+     *
+     * @param phase the metrics of the phase
+     */
+    void endPhase( PhaseMetrics phase );
+
+    /**
+     * @return the phases since the last reset, in the order they started
+     */
+    List<PhaseMetrics> getPhases();
+
+    /**
+     * @return <code>true</code> if a phase is recorded on the current thread
+     */
+    boolean isRecording();
+
+    /**
+     * @param module the project id of the module
+     * @param durationMillis the time the phase spent on the module
+     */
+    void recordModule( String module, long durationMillis );
+
+    /**
+     * @param command the SCM command
+     * @param durationMillis the latency of the command
+     */
+    void recordScmCommand( String command, long durationMillis );
+
+    /**
+     * @param goals the goals of the forked Maven build
+     * @param durationMillis the duration of the build
+     */
+    void recordMavenInvocation( String goals, long durationMillis );
+
+    /**
+     * @param bytes the number of bytes read from the project files
+     */
+    void recordBytesRead( long bytes );
+
+    /**
+     * @param bytes the number of bytes written to the project files
+     */
+    void recordBytesWritten( long bytes );
+}
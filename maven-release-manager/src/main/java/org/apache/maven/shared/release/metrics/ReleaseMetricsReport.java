@@ -0,0 +1,172 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.shared.release.util.ReleaseUtil;
+
+/**
+ * Writes the metrics of a release goal as JSON, so they can be compared between builds.
+ *
+ * @since 3.0.0
+ */
+public final class ReleaseMetricsReport
+{
+    private static final String INDENT = "  ";
+
+    private ReleaseMetricsReport()
+    {
+        // noop
+    }
+
+    /**
+     * @param goal the release goal
+     * @return the name of the report file of the goal
+     */
+    public static String getFileName( String goal )
+    {
+        return "release-" + goal + "-metrics.json";
+    }
+
+    /**
+     * @param goal the release goal
+     * @param phases the phases of the goal
+     * @param directory the directory to write the report to, usually the directory of <code>release.properties</code>
+     * @return the report file
+     * @throws IOException if the report can't be written
+     */
+    public static File write( String goal, List<PhaseMetrics> phases, File directory )
+        throws IOException
+    {
+        File file = new File( directory, getFileName( goal ) );
+        ReleaseUtil.writeFile( file, toJson( goal, phases ).getBytes( StandardCharsets.UTF_8 ) );
+        return file;
+    }
+
+    /**
+     * @param goal the release goal
+     * @param phases the phases of the goal
+     * @return the JSON document
+     */
+    public static String toJson( String goal, List<PhaseMetrics> phases )
+    {
+        StringBuilder json = new StringBuilder();
+        json.append( "{\n" );
+        json.append( INDENT ).append( "\"goal\": " ).append( quote( goal ) ).append( ",\n" );
+        json.append( INDENT ).append( "\"phases\": [" );
+        for ( int i = 0; i < phases.size(); i++ )
+        {
+            json.append( i == 0 ? "\n" : ",\n" );
+            appendPhase( json, phases.get( i ), INDENT + INDENT );
+        }
+        json.append( phases.isEmpty() ? "]\n" : "\n" + INDENT + "]\n" );
+        json.append( "}\n" );
+        return json.toString();
+    }
+
+    private static void appendPhase( StringBuilder json, PhaseMetrics phase, String indent )
+    {
+        String inner = indent + INDENT;
+        json.append( indent ).append( "{\n" );
+        json.append( inner ).append( "\"name\": " ).append( quote( phase.getName() ) ).append( ",\n" );
+        json.append( inner ).append( "\"startTime\": " ).append( phase.getStartTime() ).append( ",\n" );
+        json.append( inner ).append( "\"durationMillis\": " ).append( phase.getDurationMillis() ).append( ",\n" );
+        json.append( inner ).append( "\"bytesRead\": " ).append( phase.getBytesRead() ).append( ",\n" );
+        json.append( inner ).append( "\"bytesWritten\": " ).append( phase.getBytesWritten() ).append( ",\n" );
+
+        json.append( inner ).append( "\"modules\": {" );
+        Map<String, Long> modules = phase.getModules();
+        boolean first = true;
+        for ( Map.Entry<String, Long> module : modules.entrySet() )
+        {
+            json.append( first ? "\n" : ",\n" ).append( inner ).append( INDENT );
+            json.append( quote( module.getKey() ) ).append( ": " ).append( module.getValue() );
+            first = false;
+        }
+        json.append( modules.isEmpty() ? "},\n" : "\n" + inner + "},\n" );
+
+        appendOperations( json, "scmCommands", phase.getScmCommands(), inner );
+        json.append( ",\n" );
+        appendOperations( json, "mavenInvocations", phase.getMavenInvocations(), inner );
+        json.append( "\n" ).append( indent ).append( "}" );
+    }
+
+    private static void appendOperations( StringBuilder json, String name, List<TimedOperation> operations,
+                                          String indent )
+    {
+        json.append( indent ).append( quote( name ) ).append( ": [" );
+        for ( int i = 0; i < operations.size(); i++ )
+        {
+            TimedOperation operation = operations.get( i );
+            json.append( i == 0 ? "\n" : ",\n" ).append( indent ).append( INDENT );
+            json.append( "{ \"name\": " ).append( quote( operation.getName() ) );
+            json.append( ", \"durationMillis\": " ).append( operation.getDurationMillis() ).append( " }" );
+        }
+        json.append( operations.isEmpty() ? "]" : "\n" + indent + "]" );
+    }
+
+    static String quote( String value )
+    {
+        if ( value == null )
+        {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder( value.length() + 2 );
+        quoted.append( '"' );
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            switch ( c )
+            {
+                case '"':
+                    quoted.append( "\\\"" );
+                    break;
+                case '\\':
+                    quoted.append( "\\\\" );
+                    break;
+                case '\n':
+                    quoted.append( "\\n" );
+                    break;
+                case '\r':
+                    quoted.append( "\\r" );
+                    break;
+                case '\t':
+                    quoted.append( "\\t" );
+                    break;
+                default:
+                    if ( c < ' ' )
+                    {
+                        quoted.append( String.format( "\\u%04x", (int) c ) );
+                    }
+                    else
+                    {
+                        quoted.append( c );
+                    }
+            }
+        }
+        return quoted.append( '"' ).toString();
+    }
+}
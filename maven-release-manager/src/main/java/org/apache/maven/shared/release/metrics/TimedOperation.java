@@ -0,0 +1,51 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * An operation and how long it took.
+ *
+ * @since 3.0.0
+ */
+public class TimedOperation
+{
+    private final String name;
+
+    private final long durationMillis;
+
+    public TimedOperation( String name, long durationMillis )
+    {
+        this.name = name;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return the operation, e.g. the SCM command or the Maven goals
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    public long getDurationMillis()
+    {
+        return durationMillis;
+    }
+}
@@ -23,9 +23,16 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -49,6 +56,7 @@ import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
 import org.apache.maven.shared.release.scm.IdentifiedScm;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
@@ -56,8 +64,10 @@ import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ScmTranslator;
 import org.apache.maven.shared.release.transform.ModelETLRequest;
 import org.apache.maven.shared.release.transform.MavenCoordinate;
+import org.apache.maven.shared.release.transform.ChangeAwareModelETL;
 import org.apache.maven.shared.release.transform.ModelETL;
 import org.apache.maven.shared.release.transform.ModelETLFactory;
+import org.apache.maven.shared.release.transform.PomCache;
 import org.apache.maven.shared.release.transform.jdom.JDomModelETLFactory;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -85,6 +95,18 @@ public abstract class AbstractRewritePomsPhase
      */
     private String modelETL = JDomModelETLFactory.ROLE_HINT;
 
+    /**
+     * POMs shared with the other phases of the same release goal.
+     */
+    @Requirement
+    private PomCache pomCache;
+
+    /**
+     * Collects the time spent on each module.
+     */
+    @Requirement
+    private ReleaseMetrics releaseMetrics;
+
     /**
      * SCM URL translators mapped by provider name.
      */
@@ -171,120 +193,377 @@ public abstract class AbstractRewritePomsPhase
                             List<MavenProject> reactorProjects, boolean simulate, ReleaseResult result )
         throws ReleaseExecutionException, ReleaseFailureException
     {
-        for ( MavenProject project : reactorProjects )
+        TransformContext context = newTransformContext( releaseDescriptor, reactorProjects, simulate );
+
+        int unchanged = 0;
+        int threads = Math.min( releaseDescriptor.getPomTransformThreads(), reactorProjects.size() );
+        if ( threads > 1 )
+        {
+            unchanged = transformParallel( releaseDescriptor, releaseEnvironment, reactorProjects, context, simulate,
+                                           result, threads );
+        }
+        else
         {
-            logInfo( result, "Transforming '" + project.getName() + "'..." );
+            for ( MavenProject project : reactorProjects )
+            {
+                logInfo( result, "Transforming '" + project.getName() + "'..." );
 
-            transformProject( project, releaseDescriptor, releaseEnvironment, reactorProjects, simulate, result );
+                long start = System.nanoTime();
+                if ( !transformProject( project, releaseDescriptor, releaseEnvironment, context, simulate, result ) )
+                {
+                    unchanged++;
+                }
+                recordModule( context, project, System.nanoTime() - start );
+            }
+        }
+
+        if ( unchanged > 0 )
+        {
+            logInfo( result, "Skipped writing " + unchanged + " of " + reactorProjects.size()
+                + " POMs, their content was already up to date." );
         }
     }
 
-    private void transformProject( MavenProject project, ReleaseDescriptor releaseDescriptor,
-                                   ReleaseEnvironment releaseEnvironment, List<MavenProject> reactorProjects,
-                                   boolean simulate, ReleaseResult result )
-        throws ReleaseExecutionException, ReleaseFailureException
+    private TransformContext newTransformContext( ReleaseDescriptor releaseDescriptor,
+                                                  List<MavenProject> reactorProjects, boolean simulate )
+        throws ReleaseExecutionException
     {
-        File pomFile = ReleaseUtil.getStandardPom( project );
+        @SuppressWarnings( "unchecked" )
+        Map<String, Map<String, String>> resolvedSnapshotDependencies =
+            releaseDescriptor.getResolvedSnapshotDependencies();
 
-        ModelETLRequest request = new ModelETLRequest();
-        request.setLineSeparator( ls );
-        request.setProject( project );
-        request.setReleaseDescriptor( releaseDescriptor );
-        
-        ModelETL etl = modelETLFactories.get( modelETL ).newInstance( request );
-        
-        etl.extract( pomFile );
+        Map<String, String> resolvedSnapshotVersions = new HashMap<String, String>();
+        Map<String, String> originalResolvedSnapshotVersions = new HashMap<String, String>();
+        if ( resolvedSnapshotDependencies != null )
+        {
+            for ( String key : resolvedSnapshotDependencies.keySet() )
+            {
+                String version = getResolvedSnapshotVersion( key, resolvedSnapshotDependencies );
+                String originalVersion = getOriginalResolvedSnapshotVersion( key, resolvedSnapshotDependencies );
+                resolvedSnapshotVersions.put( key, version );
+                originalResolvedSnapshotVersions.put( key, originalVersion );
+            }
+        }
+
+        return new TransformContext( getNextVersionMap( releaseDescriptor ),
+                                     getOriginalVersionMap( releaseDescriptor, reactorProjects, simulate ),
+                                     resolvedSnapshotVersions, originalResolvedSnapshotVersions, reactorProjects,
+                                     getCommonBasedir( reactorProjects ) );
+    }
 
+    /**
+     * Transforms the reactor on a pool of worker threads. Every module only changes its own model, so the version
+     * rewriting runs concurrently. Whatever touches state shared by the modules, i.e. the logging, the original SCM
+     * information of the release descriptor and the SCM edit mode, is done afterwards per module in reactor order,
+     * giving the same result as the sequential transformation.
+     *
+     * @return the number of POMs which didn't have to be written
+     */
+    private int transformParallel( final ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
+                                    List<MavenProject> reactorProjects, final TransformContext context,
+                                    final boolean simulate, ReleaseResult result, int threads )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
         ScmRepository scmRepository = null;
         ScmProvider provider = null;
-
         if ( isUpdateScm() )
         {
-            try
+            scmRepository = getScmRepository( releaseDescriptor, releaseEnvironment );
+            provider = getScmProvider( scmRepository );
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<ModuleTransformation> transformations = new ArrayList<ModuleTransformation>( reactorProjects.size() );
+            for ( final MavenProject project : reactorProjects )
+            {
+                final ModuleTransformation transformation = new ModuleTransformation( project );
+                transformation.future = executor.submit( new Callable<Void>()
+                {
+                    public Void call()
+                        throws ReleaseExecutionException, ReleaseFailureException
+                    {
+                        long start = System.nanoTime();
+                        logInfo( transformation.log, "Transforming '" + project.getName() + "'..." );
+
+                        transformation.etl = newModelETL( project, releaseDescriptor );
+                        transformation.etl.extract( ReleaseUtil.getStandardPom( project ) );
+
+                        rewriteVersions( project, transformation.etl.getModel(), releaseDescriptor, context,
+                                         transformation.log );
+                        transformation.nanos += System.nanoTime() - start;
+                        return null;
+                    }
+                } );
+                transformations.add( transformation );
+            }
+
+            for ( ModuleTransformation transformation : transformations )
             {
-                scmRepository = scmRepositoryConfigurator.getConfiguredRepository( releaseDescriptor,
-                                                                                   releaseEnvironment.getSettings() );
+                try
+                {
+                    await( transformation.future );
+                }
+                finally
+                {
+                    transformation.log.flush( result, getLogger() );
+                }
+
+                long start = System.nanoTime();
+                MavenProject project = transformation.project;
+                transformScm( project, transformation.etl.getModel(), releaseDescriptor,
+                              context.getProjectId( project ), scmRepository, result, context.getCommonBasedir() );
 
-                provider = scmRepositoryConfigurator.getRepositoryProvider( scmRepository );
+                if ( !simulate )
+                {
+                    prepareScm( ReleaseUtil.getStandardPom( project ), transformation.etl, releaseDescriptor,
+                                scmRepository, provider );
+                }
+                transformation.nanos += System.nanoTime() - start;
             }
-            catch ( ScmRepositoryException e )
+
+            for ( final ModuleTransformation transformation : transformations )
             {
-                throw new ReleaseScmRepositoryException( e.getMessage(), e.getValidationMessages() );
+                transformation.written = executor.submit( new Callable<Boolean>()
+                {
+                    public Boolean call()
+                        throws ReleaseExecutionException
+                    {
+                        long start = System.nanoTime();
+                        try
+                        {
+                            return load( transformation.etl, getOutputFile( transformation.project, simulate ) );
+                        }
+                        finally
+                        {
+                            transformation.nanos += System.nanoTime() - start;
+                        }
+                    }
+                } );
             }
-            catch ( NoSuchScmProviderException e )
+            int unchanged = 0;
+            for ( ModuleTransformation transformation : transformations )
             {
-                throw new ReleaseExecutionException( "Unable to configure SCM repository: " + e.getMessage(), e );
+                if ( !await( transformation.written ) )
+                {
+                    unchanged++;
+                }
+                recordModule( context, transformation.project, transformation.nanos );
             }
+            return unchanged;
+        }
+        finally
+        {
+            executor.shutdownNow();
         }
+    }
+
+    private void recordModule( TransformContext context, MavenProject project, long nanos )
+    {
+        releaseMetrics.recordModule( context.getProjectId( project ), TimeUnit.NANOSECONDS.toMillis( nanos ) );
+    }
 
-        transformDocument( project, etl.getModel(), releaseDescriptor, reactorProjects, scmRepository,
-                           result, simulate );
+    private <T> T await( Future<T> future )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ReleaseExecutionException( "Interrupted while transforming POMs", e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ReleaseExecutionException )
+            {
+                throw (ReleaseExecutionException) cause;
+            }
+            else if ( cause instanceof ReleaseFailureException )
+            {
+                throw (ReleaseFailureException) cause;
+            }
+            else if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            else if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ReleaseExecutionException( "Error transforming POM: " + cause.getMessage(), cause );
+        }
+    }
 
-        File outputFile;
+    /**
+     * @return <code>true</code> if the POM was written, <code>false</code> if its content didn't change
+     */
+    private boolean transformProject( MavenProject project, ReleaseDescriptor releaseDescriptor,
+                                   ReleaseEnvironment releaseEnvironment, TransformContext context,
+                                   boolean simulate, ReleaseResult result )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        File pomFile = ReleaseUtil.getStandardPom( project );
+
+        ModelETL etl = newModelETL( project, releaseDescriptor );
+        
+        etl.extract( pomFile );
+
+        ScmRepository scmRepository = null;
+        ScmProvider provider = null;
+
+        if ( isUpdateScm() )
+        {
+            scmRepository = getScmRepository( releaseDescriptor, releaseEnvironment );
+            provider = getScmProvider( scmRepository );
+        }
+
+        transformDocument( project, etl.getModel(), releaseDescriptor, context, scmRepository, result );
+
+        if ( !simulate )
+        {
+            prepareScm( pomFile, etl, releaseDescriptor, scmRepository, provider );
+        }
+        return load( etl, getOutputFile( project, simulate ) );
+    }
+
+    /**
+     * @return <code>true</code> if the POM was written, <code>false</code> if its content didn't change
+     */
+    private static boolean load( ModelETL etl, File pomFile )
+        throws ReleaseExecutionException
+    {
+        if ( etl instanceof ChangeAwareModelETL )
+        {
+            return ( (ChangeAwareModelETL) etl ).loadChanged( pomFile );
+        }
+        etl.load( pomFile );
+        return true;
+    }
+
+    private ModelETL newModelETL( MavenProject project, ReleaseDescriptor releaseDescriptor )
+    {
+        ModelETLRequest request = new ModelETLRequest();
+        request.setLineSeparator( ls );
+        request.setProject( project );
+        request.setReleaseDescriptor( releaseDescriptor );
+        request.setPomCache( pomCache );
+
+        return modelETLFactories.get( modelETL ).newInstance( request );
+    }
+
+    private ScmRepository getScmRepository( ReleaseDescriptor releaseDescriptor,
+                                            ReleaseEnvironment releaseEnvironment )
+        throws ReleaseScmRepositoryException, ReleaseExecutionException
+    {
+        try
+        {
+            return scmRepositoryConfigurator.getConfiguredRepository( releaseDescriptor,
+                                                                      releaseEnvironment.getSettings() );
+        }
+        catch ( ScmRepositoryException e )
+        {
+            throw new ReleaseScmRepositoryException( e.getMessage(), e.getValidationMessages() );
+        }
+        catch ( NoSuchScmProviderException e )
+        {
+            throw new ReleaseExecutionException( "Unable to configure SCM repository: " + e.getMessage(), e );
+        }
+    }
+
+    private ScmProvider getScmProvider( ScmRepository scmRepository )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            return scmRepositoryConfigurator.getRepositoryProvider( scmRepository );
+        }
+        catch ( NoSuchScmProviderException e )
+        {
+            throw new ReleaseExecutionException( "Unable to configure SCM repository: " + e.getMessage(), e );
+        }
+    }
+
+    private File getOutputFile( MavenProject project, boolean simulate )
+    {
+        File pomFile = ReleaseUtil.getStandardPom( project );
         if ( simulate )
         {
-            outputFile = new File( pomFile.getParentFile(), pomFile.getName() + "." + getPomSuffix() );
+            return new File( pomFile.getParentFile(), pomFile.getName() + "." + getPomSuffix() );
         }
         else
         {
-            outputFile = pomFile;
-            prepareScm( pomFile, releaseDescriptor, scmRepository, provider );
+            return pomFile;
         }
-        etl.load( outputFile );
-    
     }
 
     private void transformDocument( MavenProject project, Model modelTarget, ReleaseDescriptor releaseDescriptor,
-                                    List<MavenProject> reactorProjects, ScmRepository scmRepository,
-                                    ReleaseResult result, boolean simulate )
+                                    TransformContext context, ScmRepository scmRepository, ReleaseResult result )
+        throws ReleaseExecutionException, ReleaseFailureException
+    {
+        rewriteVersions( project, modelTarget, releaseDescriptor, context, result );
+
+        transformScm( project, modelTarget, releaseDescriptor, context.getProjectId( project ), scmRepository, result,
+                      context.getCommonBasedir() );
+    }
+
+    private String getCommonBasedir( List<MavenProject> reactorProjects )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            return ReleaseUtil.getCommonBasedir( reactorProjects );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Exception occurred while calculating common basedir: "
+                + e.getMessage(), e );
+        }
+    }
+
+    private void rewriteVersions( MavenProject project, Model modelTarget, ReleaseDescriptor releaseDescriptor,
+                                  TransformContext context, ReleaseResult result )
         throws ReleaseExecutionException, ReleaseFailureException
     {
-        Map<String, String> mappedVersions = getNextVersionMap( releaseDescriptor );
-        Map<String, String> originalVersions = getOriginalVersionMap( releaseDescriptor, reactorProjects, simulate );
-        @SuppressWarnings( "unchecked" )
-        Map<String, Map<String, String>> resolvedSnapshotDependencies =
-            releaseDescriptor.getResolvedSnapshotDependencies();
         Model model = project.getModel();
         
         Properties properties = modelTarget.getProperties();
 
-        String parentVersion = rewriteParent( project, modelTarget, mappedVersions,
-                                              resolvedSnapshotDependencies, originalVersions );
+        String parentVersion = rewriteParent( project, modelTarget, context );
 
-        String projectId = ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
+        String projectId = context.getProjectId( project );
 
-        rewriteVersion( modelTarget, mappedVersions, projectId, project, parentVersion );
+        rewriteVersion( modelTarget, context.getMappedVersions(), projectId, project, parentVersion );
 
         Build buildTarget = modelTarget.getBuild();
         if ( buildTarget != null )
         {
             // profile.build.extensions doesn't exist, so only rewrite project.build.extensions  
-            rewriteArtifactVersions( toMavenCoordinates( buildTarget.getExtensions() ), mappedVersions,
-                                     resolvedSnapshotDependencies, originalVersions, model, properties, result,
-                                     releaseDescriptor );
+            rewriteArtifactVersions( toMavenCoordinates( buildTarget.getExtensions() ),
+                                     context, projectId, model, properties, result, releaseDescriptor );
             
-            rewriteArtifactVersions( toMavenCoordinates( buildTarget.getPlugins() ), mappedVersions,
-                                     resolvedSnapshotDependencies, originalVersions, model, properties, result,
-                                     releaseDescriptor );
+            rewriteArtifactVersions( toMavenCoordinates( buildTarget.getPlugins() ),
+                                     context, projectId, model, properties, result, releaseDescriptor );
             
             for ( Plugin plugin : buildTarget.getPlugins() )
             {
                 rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ),
-                                         mappedVersions, resolvedSnapshotDependencies, originalVersions, model,
-                                         properties, result, releaseDescriptor );
+                                         context, projectId, model, properties, result, releaseDescriptor );
             }
             
             if ( buildTarget.getPluginManagement() != null )
             {
                 rewriteArtifactVersions( toMavenCoordinates( buildTarget.getPluginManagement().getPlugins() ),
-                                         mappedVersions, resolvedSnapshotDependencies, originalVersions, model,
-                                         properties, result, releaseDescriptor );
+                                         context, projectId, model, properties, result, releaseDescriptor );
                 
                 for ( Plugin plugin : buildTarget.getPluginManagement().getPlugins() )
                 {
-                    rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ), mappedVersions,
-                                             resolvedSnapshotDependencies, originalVersions, model, properties,
-                                             result, releaseDescriptor );
+                    rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ),
+                                             context, projectId, model, properties, result, releaseDescriptor );
                 }
             }
         }
@@ -294,28 +573,24 @@ public abstract class AbstractRewritePomsPhase
             BuildBase profileBuild = profile.getBuild();
             if ( profileBuild != null )
             {
-                rewriteArtifactVersions( toMavenCoordinates( profileBuild.getPlugins() ), mappedVersions,
-                                         resolvedSnapshotDependencies, originalVersions, model, properties, result,
-                                         releaseDescriptor );
+                rewriteArtifactVersions( toMavenCoordinates( profileBuild.getPlugins() ),
+                                         context, projectId, model, properties, result, releaseDescriptor );
                 
                 for ( Plugin plugin : profileBuild.getPlugins() )
                 {
                     rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ),
-                                             mappedVersions, resolvedSnapshotDependencies, originalVersions, model,
-                                             properties, result, releaseDescriptor );
+                                             context, projectId, model, properties, result, releaseDescriptor );
                 }
                 
                 if ( profileBuild.getPluginManagement() != null )
                 {
                     rewriteArtifactVersions( toMavenCoordinates( profileBuild.getPluginManagement().getPlugins() ),
-                                             mappedVersions, resolvedSnapshotDependencies, originalVersions, model,
-                                             properties, result, releaseDescriptor );
+                                             context, projectId, model, properties, result, releaseDescriptor );
                     
                     for ( Plugin plugin : profileBuild.getPluginManagement().getPlugins() )
                     {
-                        rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ), mappedVersions,
-                                                 resolvedSnapshotDependencies, originalVersions, model, properties,
-                                                 result, releaseDescriptor );
+                        rewriteArtifactVersions( toMavenCoordinates( plugin.getDependencies() ),
+                                                 context, projectId, model, properties, result, releaseDescriptor );
                     }
                 }
             }
@@ -327,38 +602,21 @@ public abstract class AbstractRewritePomsPhase
         
         for ( ModelBase modelBase : modelBases )
         {
-            rewriteArtifactVersions( toMavenCoordinates( modelBase.getDependencies() ), mappedVersions,
-                                     resolvedSnapshotDependencies, originalVersions, model, properties, result,
-                                     releaseDescriptor );
+            rewriteArtifactVersions( toMavenCoordinates( modelBase.getDependencies() ),
+                                     context, projectId, model, properties, result, releaseDescriptor );
             
             if ( modelBase.getDependencyManagement() != null )
             {
                 rewriteArtifactVersions( toMavenCoordinates( modelBase.getDependencyManagement().getDependencies() ),
-                                         mappedVersions, resolvedSnapshotDependencies, originalVersions, model,
-                                         properties, result, releaseDescriptor );
+                                         context, projectId, model, properties, result, releaseDescriptor );
             }
             
             if ( modelBase.getReporting() != null )
             {
-                rewriteArtifactVersions( toMavenCoordinates( modelBase.getReporting().getPlugins() ), mappedVersions,
-                                         resolvedSnapshotDependencies, originalVersions, model, properties, result,
-                                         releaseDescriptor );
+                rewriteArtifactVersions( toMavenCoordinates( modelBase.getReporting().getPlugins() ),
+                                         context, projectId, model, properties, result, releaseDescriptor );
             }
         }
-        
-        String commonBasedir;
-        try
-        {
-            commonBasedir = ReleaseUtil.getCommonBasedir( reactorProjects );
-        }
-        catch ( IOException e )
-        {
-            throw new ReleaseExecutionException( "Exception occurred while calculating common basedir: "
-                + e.getMessage(), e );
-        }
-        
-        transformScm( project, modelTarget, releaseDescriptor, projectId, scmRepository, result,
-                      commonBasedir );
     }
 
     private void rewriteVersion( Model modelTarget, Map<String, String> mappedVersions, String projectId,
@@ -374,25 +632,23 @@ public abstract class AbstractRewritePomsPhase
         modelTarget.setVersion( version );
     }
 
-    private String rewriteParent( MavenProject project, Model targetModel, Map<String, String> mappedVersions,
-                                  Map<String, Map<String, String>> resolvedSnapshotDependencies,
-                                  Map<String, String> originalVersions )
+    private String rewriteParent( MavenProject project, Model targetModel, TransformContext context )
         throws ReleaseFailureException
     {
         String parentVersion = null;
         if ( project.hasParent() )
         {
             MavenProject parent = project.getParent();
-            String key = ArtifactUtils.versionlessKey( parent.getGroupId(), parent.getArtifactId() );
-            parentVersion = mappedVersions.get( key );
+            String key = context.getProjectId( parent );
+            parentVersion = context.getMappedVersions().get( key );
             if ( parentVersion == null )
             {
                 //MRELEASE-317
-                parentVersion = getResolvedSnapshotVersion( key, resolvedSnapshotDependencies );
+                parentVersion = context.getResolvedSnapshotVersion( key );
             }
             if ( parentVersion == null )
             {
-                if ( parent.getVersion().equals( originalVersions.get( key ) ) )
+                if ( parent.getVersion().equals( context.getOriginalVersions().get( key ) ) )
                 {
                     throw new ReleaseFailureException( "Version for parent '" + parent.getName() + "' was not mapped" );
                 }
@@ -405,18 +661,16 @@ public abstract class AbstractRewritePomsPhase
         return parentVersion;
     }
 
-    private void rewriteArtifactVersions( Collection<MavenCoordinate> elements, Map<String, String> mappedVersions,
-                                          Map<String, Map<String, String>> resolvedSnapshotDependencies,
-                                          Map<String, String> originalVersions, Model projectModel,
-                                          Properties properties, ReleaseResult result,
-                                          ReleaseDescriptor releaseDescriptor )
+    private void rewriteArtifactVersions( Collection<MavenCoordinate> elements, TransformContext context,
+                                          String projectId, Model projectModel, Properties properties,
+                                          ReleaseResult result, ReleaseDescriptor releaseDescriptor )
         throws ReleaseExecutionException, ReleaseFailureException
     {
         if ( elements == null )
         {
             return;
         }
-        String projectId = ArtifactUtils.versionlessKey( projectModel.getGroupId(), projectModel.getArtifactId() );
+        Map<String, String> mappedVersions = context.getMappedVersions();
         for ( MavenCoordinate coordinate : elements )
         {
             String rawVersion = coordinate.getVersion();
@@ -450,12 +704,12 @@ public abstract class AbstractRewritePomsPhase
             String artifactId = ReleaseUtil.interpolate( rawArtifactId, projectModel );
 
             String key = ArtifactUtils.versionlessKey( groupId, artifactId );
-            String resolvedSnapshotVersion = getResolvedSnapshotVersion( key, resolvedSnapshotDependencies );
+            String resolvedSnapshotVersion = context.getResolvedSnapshotVersion( key );
             String mappedVersion = mappedVersions.get( key );
-            String originalVersion = originalVersions.get( key );
+            String originalVersion = context.getOriginalVersions().get( key );
             if ( originalVersion == null )
             {
-                originalVersion = getOriginalResolvedSnapshotVersion( key, resolvedSnapshotDependencies );
+                originalVersion = context.getOriginalResolvedSnapshotVersion( key );
             }
 
             // MRELEASE-220
@@ -555,13 +809,29 @@ public abstract class AbstractRewritePomsPhase
         }
     }
 
-    private void prepareScm( File pomFile, ReleaseDescriptor releaseDescriptor, ScmRepository repository,
-                           ScmProvider provider )
+    @Override
+    protected void logInfo( ReleaseResult result, String message )
+    {
+        if ( result instanceof DeferredReleaseResult )
+        {
+            // written to the logger once the module is flushed
+            result.appendInfo( message );
+        }
+        else
+        {
+            super.logInfo( result, message );
+        }
+    }
+
+    private void prepareScm( File pomFile, ModelETL etl, ReleaseDescriptor releaseDescriptor,
+                             ScmRepository repository, ScmProvider provider )
         throws ReleaseExecutionException, ReleaseScmCommandException
     {
         try
         {
-            if ( isUpdateScm() && ( releaseDescriptor.isScmUseEditMode() || provider.requiresEditMode() ) )
+            // only the POMs which are going to be written have to be opened for editing
+            if ( isUpdateScm() && ( releaseDescriptor.isScmUseEditMode() || provider.requiresEditMode() )
+                && ( !( etl instanceof ChangeAwareModelETL ) || ( (ChangeAwareModelETL) etl ).isChanged( pomFile ) ) )
             {
                 EditScmResult result = provider.edit( repository, new ScmFileSet(
                     new File( releaseDescriptor.getWorkingDirectory() ), pomFile ) );
@@ -696,5 +966,29 @@ public abstract class AbstractRewritePomsPhase
         return coordinates;
     }
 
+    /**
+     * The state of a single module while the reactor is transformed in parallel.
+     */
+    private static class ModuleTransformation
+    {
+        private final MavenProject project;
+
+        private final DeferredReleaseResult log = new DeferredReleaseResult();
+
+        private ModelETL etl;
 
+        private Future<Void> future;
+
+        private Future<Boolean> written;
+
+        /**
+         * The time spent on the module, only handed between threads through the futures.
+         */
+        private long nanos;
+
+        ModuleTransformation( MavenProject project )
+        {
+            this.project = project;
+        }
+    }
 }
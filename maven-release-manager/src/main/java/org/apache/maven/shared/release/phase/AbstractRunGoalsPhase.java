@@ -29,6 +29,7 @@ import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.exec.MavenExecutor;
 import org.apache.maven.shared.release.exec.MavenExecutorException;
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -46,6 +47,12 @@ public abstract class AbstractRunGoalsPhase
     @Requirement( role = MavenExecutor.class )
     private Map<String, MavenExecutor> mavenExecutors;
 
+    /**
+     * Collects the duration of the forked builds.
+     */
+    @Requirement
+    private ReleaseMetrics releaseMetrics;
+
     /**
      * @deprecated Use {@link AbstractRunGoalsPhase#execute(ReleaseDescriptor, ReleaseEnvironment, File, String)}
      * instead.
@@ -81,8 +88,16 @@ public abstract class AbstractRunGoalsPhase
                 File wd =
                     determineWorkingDirectory( workingDirectory,
                                                releaseDescriptor.getScmRelativePathProjectDirectory() );
-                mavenExecutor.executeGoals( wd, goals, releaseEnvironment, releaseDescriptor.isInteractive(),
-                                            additionalArguments, releaseDescriptor.getPomFileName(), result );
+                long start = System.currentTimeMillis();
+                try
+                {
+                    mavenExecutor.executeGoals( wd, goals, releaseEnvironment, releaseDescriptor.isInteractive(),
+                                                additionalArguments, releaseDescriptor.getPomFileName(), result );
+                }
+                finally
+                {
+                    releaseMetrics.recordMavenInvocation( goals, System.currentTimeMillis() - start );
+                }
             }
         }
         catch ( MavenExecutorException e )
@@ -24,6 +24,7 @@ import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
@@ -129,12 +130,45 @@ public abstract class AbstractScmCommitPhase
 
         if ( releaseDescriptor.isCommitByProject() )
         {
-            for ( MavenProject project : reactorProjects )
+            // a push pushes the commits before it too, so a deferred push is the push of the last commit
+            boolean deferPush = releaseDescriptor.isDeferPush() && releaseDescriptor.isPushChanges();
+            int pushing = deferPush ? getLastChangedProject( provider, repository, releaseDescriptor,
+                                                             reactorProjects ) : -1;
+            boolean unpushed = false;
+            CheckInScmResult result = null;
+            try
             {
-                List<File> pomFiles = createPomFiles( releaseDescriptor, project );
-                ScmFileSet fileSet = new ScmFileSet( project.getFile().getParentFile(), pomFiles );
+                for ( int i = 0; i < reactorProjects.size(); i++ )
+                {
+                    ScmFileSet fileSet = createFileSet( releaseDescriptor, reactorProjects.get( i ) );
+
+                    if ( deferPush )
+                    {
+                        repository.getProviderRepository().setPushChanges( i == pushing );
+                    }
+
+                    result = checkin( provider, repository, fileSet, releaseDescriptor, message );
+
+                    if ( deferPush )
+                    {
+                        boolean committed = result.getCheckedInFiles() != null
+                            && !result.getCheckedInFiles().isEmpty();
+                        unpushed = i == pushing ? unpushed && !committed : unpushed || committed;
+                    }
+                }
+            }
+            finally
+            {
+                repository.getProviderRepository().setPushChanges( releaseDescriptor.isPushChanges() );
+            }
 
-                checkin( provider, repository, fileSet, releaseDescriptor, message );
+            if ( unpushed )
+            {
+                // providers don't push when there is nothing to commit, so checking in again wouldn't help either
+                throw new ReleaseScmCommandException( "Unable to push the commits of the projects, the project "
+                    + "pushing them had no changes to commit. Push the commits yourself from "
+                    + releaseDescriptor.getWorkingDirectory() + " (for Git: git push) and run release:prepare "
+                    + "again to resume the release", result );
             }
         }
         else
@@ -146,8 +180,45 @@ public abstract class AbstractScmCommitPhase
         }
     }
 
-    private void checkin( ScmProvider provider, ScmRepository repository, ScmFileSet fileSet,
-                          ReleaseDescriptor releaseDescriptor, String message )
+    /**
+     * Gets the index of the last project with changes to commit, which is the one to push the commits of all the
+     * projects. Falls back to the last project when the provider can't tell.
+     */
+    private int getLastChangedProject( ScmProvider provider, ScmRepository repository,
+                                       ReleaseDescriptor releaseDescriptor, List<MavenProject> reactorProjects )
+    {
+        for ( int i = reactorProjects.size() - 1; i >= 0; i-- )
+        {
+            StatusScmResult status;
+            try
+            {
+                status = provider.status( repository, createFileSet( releaseDescriptor, reactorProjects.get( i ) ) );
+            }
+            catch ( ScmException e )
+            {
+                getLogger().debug( "Unable to get the status of the projects, pushing with the last one", e );
+                break;
+            }
+
+            if ( status == null || !status.isSuccess() )
+            {
+                break;
+            }
+            if ( status.getChangedFiles() != null && !status.getChangedFiles().isEmpty() )
+            {
+                return i;
+            }
+        }
+        return reactorProjects.size() - 1;
+    }
+
+    private static ScmFileSet createFileSet( ReleaseDescriptor releaseDescriptor, MavenProject project )
+    {
+        return new ScmFileSet( project.getFile().getParentFile(), createPomFiles( releaseDescriptor, project ) );
+    }
+
+    private CheckInScmResult checkin( ScmProvider provider, ScmRepository repository, ScmFileSet fileSet,
+                                      ReleaseDescriptor releaseDescriptor, String message )
         throws ReleaseExecutionException, ReleaseScmCommandException
     {
         CheckInScmResult result;
@@ -168,6 +239,7 @@ public abstract class AbstractScmCommitPhase
         {
             releaseDescriptor.setScmReleasedPomRevision( result.getScmRevision() );
         }
+        return result;
     }
 
     protected void simulateCheckins( ReleaseDescriptor releaseDescriptor, List<MavenProject> reactorProjects,
@@ -19,27 +19,40 @@ package org.apache.maven.shared.release.phase;
  * under the License.
  */
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.artifact.InvalidDependencyVersionException;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
 import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.SnapshotResolutionFile;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.phase.DeclaredCoordinateIndex.DeclaredCoordinate;
 import org.apache.maven.shared.release.versions.DefaultVersionInfo;
 import org.apache.maven.shared.release.versions.VersionInfo;
 import org.apache.maven.shared.release.versions.VersionParseException;
@@ -47,6 +60,7 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.components.interactivity.Prompter;
 import org.codehaus.plexus.components.interactivity.PrompterException;
+import org.codehaus.plexus.util.StringUtils;
 
 /**
  * Check the dependencies of all projects being released to see if there are any unreleased snapshots.
@@ -68,6 +82,11 @@ public class CheckDependencySnapshotsPhase
     public static final String RESOLVE_SNAPSHOT_TYPE_PROMPT =
         "specify the selection number ( 0:All 1:Project Dependencies 2:Plugins 3:Reports 4:Extensions ):";
 
+    /**
+     * The number of modules listed for a snapshot in the failure message.
+     */
+    private static final int MAX_REPORTED_MODULES = 10;
+
     /**
      * Component used to prompt for input.
      */
@@ -80,16 +99,10 @@ public class CheckDependencySnapshotsPhase
     @Requirement
     private ArtifactFactory artifactFactory;
 
-    // Be aware of the difference between usedSnapshots and specifiedSnapshots:
-    // UsedSnapshots end up on the classpath.
-    // SpecifiedSnapshots are defined anywhere in the pom.
-    // We'll probably need to introduce specifiedSnapshots as well.
-    // @TODO MRELEASE-378: verify custom dependencies in plugins. Be aware of deprecated/removed Components in M3, such as PluginCollector
-    // @TODO MRELEASE-763: verify all dependencies in inactive profiles
-    private Set<Artifact> usedSnapshotDependencies = new HashSet<Artifact>();
-    private Set<Artifact> usedSnapshotReports = new HashSet<Artifact>();
-    private Set<Artifact> usedSnapshotExtensions = new HashSet<Artifact>();
-    private Set<Artifact> usedSnapshotPlugins = new HashSet<Artifact>();
+    // Be aware of the difference between used snapshots and declared snapshots:
+    // Used snapshots end up on the classpath, including the dependencies of plugins (MRELEASE-378).
+    // Declared snapshots are defined anywhere in the pom, e.g. in inactive profiles (MRELEASE-763). They only fail the
+    // release with checkDeclaredSnapshots.
 
     public ReleaseResult execute( ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
                                   List<MavenProject> reactorProjects )
@@ -103,10 +116,7 @@ public class CheckDependencySnapshotsPhase
 
             Map<String, String> originalVersions = releaseDescriptor.getOriginalVersions( reactorProjects );
 
-            for ( MavenProject project : reactorProjects )
-            {
-                checkProject( project, originalVersions, releaseDescriptor );
-            }
+            checkReactor( reactorProjects, originalVersions, releaseDescriptor, result );
         }
         else
         {
@@ -117,10 +127,143 @@ public class CheckDependencySnapshotsPhase
         return result;
     }
 
-    private void checkProject( MavenProject project, Map<String, String> originalVersions,
-                               ReleaseDescriptor releaseDescriptor )
+    /**
+     * Collects the snapshots used by the modules and the coordinates they declare, on several threads for larger
+     * reactors, and checks them together. A snapshot shared by several modules is resolved or reported only once.
+     */
+    private void checkReactor( List<MavenProject> reactorProjects, final Map<String, String> originalVersions,
+                               final ReleaseDescriptor releaseDescriptor, ReleaseResult result )
         throws ReleaseFailureException, ReleaseExecutionException
     {
+        SnapshotUsages snapshots = new SnapshotUsages();
+
+        int threads = Math.min( Runtime.getRuntime().availableProcessors(), reactorProjects.size() );
+        if ( threads > 1 )
+        {
+            ExecutorService executor = Executors.newFixedThreadPool( threads );
+            try
+            {
+                List<Future<SnapshotUsages>> projectSnapshots =
+                    new ArrayList<Future<SnapshotUsages>>( reactorProjects.size() );
+                for ( final MavenProject project : reactorProjects )
+                {
+                    projectSnapshots.add( executor.submit( new Callable<SnapshotUsages>()
+                    {
+                        public SnapshotUsages call()
+                            throws ReleaseExecutionException
+                        {
+                            return collectSnapshots( project, originalVersions, releaseDescriptor );
+                        }
+                    } ) );
+                }
+
+                // merged in reactor order, so the outcome doesn't depend on the scheduling
+                for ( Future<SnapshotUsages> future : projectSnapshots )
+                {
+                    snapshots.addAll( await( future ) );
+                }
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+        else
+        {
+            for ( MavenProject project : reactorProjects )
+            {
+                snapshots.addAll( collectSnapshots( project, originalVersions, releaseDescriptor ) );
+            }
+        }
+
+        checkDeclaredSnapshots( snapshots, originalVersions, releaseDescriptor, result );
+
+        File resolutionFile = getSnapshotResolutionFile( releaseDescriptor );
+        if ( resolutionFile != null && !snapshots.isEmpty() )
+        {
+            applySnapshotResolutions( snapshots, resolutionFile, releaseDescriptor, result );
+        }
+
+        checkReleasePlugins( snapshots.plugins.keySet(), releaseDescriptor );
+
+        if ( !snapshots.isEmpty() )
+        {
+            if ( releaseDescriptor.isInteractive() )
+            {
+                Map<String, Map<String, String>> resolvedSnapshots =
+                    resolveSnapshots( snapshots.dependencies.keySet(), snapshots.reports.keySet(),
+                                      snapshots.extensions.keySet(), snapshots.plugins.keySet(), releaseDescriptor );
+
+                if ( resolutionFile != null && !resolvedSnapshots.isEmpty() )
+                {
+                    try
+                    {
+                        SnapshotResolutionFile.write( resolutionFile, resolvedSnapshots );
+                    }
+                    catch ( IOException e )
+                    {
+                        throw new ReleaseExecutionException( "Unable to write the snapshot resolutions to '"
+                            + resolutionFile + "': " + e.getMessage(), e );
+                    }
+                }
+            }
+
+            if ( !snapshots.isEmpty() )
+            {
+                StringBuilder message = new StringBuilder();
+
+                printSnapshotDependencies( snapshots.dependencies, message );
+                printSnapshotDependencies( snapshots.reports, message );
+                printSnapshotDependencies( snapshots.extensions, message );
+                printSnapshotDependencies( snapshots.plugins, message );
+
+                throw new ReleaseFailureException(
+                    "Can't release project due to non released dependencies :\n" + message );
+            }
+        }
+    }
+
+    private SnapshotUsages await( Future<SnapshotUsages> future )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ReleaseExecutionException( "Interrupted while checking for snapshots", e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof ReleaseExecutionException )
+            {
+                throw (ReleaseExecutionException) cause;
+            }
+            else if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            else if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new ReleaseExecutionException( "Error checking for snapshots: " + cause.getMessage(), cause );
+        }
+    }
+
+    /**
+     * Collects the snapshots used by a single module. This only reads the project, so it is safe to run for several
+     * modules at once.
+     */
+    private SnapshotUsages collectSnapshots( MavenProject project, Map<String, String> originalVersions,
+                                             ReleaseDescriptor releaseDescriptor )
+        throws ReleaseExecutionException
+    {
+        SnapshotUsages snapshots = new SnapshotUsages();
+
         @SuppressWarnings( "unchecked" )
         Map<String, Artifact> artifactMap = ArtifactUtils.artifactMapByVersionlessId( project.getArtifacts() );
 
@@ -128,165 +271,255 @@ public class CheckDependencySnapshotsPhase
         {
             if ( checkArtifact( project.getParentArtifact(), originalVersions, artifactMap, releaseDescriptor ) )
             {
-                usedSnapshotDependencies.add( project.getParentArtifact() );
+                SnapshotUsages.add( snapshots.dependencies, project.getParentArtifact(), project );
             }
         }
-        
+
         try
         {
             @SuppressWarnings( "unchecked" )
             Set<Artifact> dependencyArtifacts = project.createArtifacts( artifactFactory, null, null );
-            checkDependencies( originalVersions, releaseDescriptor, artifactMap, dependencyArtifacts );
+            for ( Artifact artifact : dependencyArtifacts )
+            {
+                if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
+                {
+                    SnapshotUsages.add( snapshots.dependencies, getArtifactFromMap( artifact, artifactMap ), project );
+                }
+            }
         }
         catch ( InvalidDependencyVersionException e )
         {
             throw new ReleaseExecutionException( "Failed to create dependency artifacts", e );
         }
-        //@todo check dependencyManagement
 
         @SuppressWarnings( "unchecked" )
         Set<Artifact> pluginArtifacts = project.getPluginArtifacts();
-        checkPlugins( originalVersions, releaseDescriptor, artifactMap, pluginArtifacts );
-        //@todo check pluginManagement
+        collectSnapshots( pluginArtifacts, snapshots.plugins, project, originalVersions, artifactMap,
+                          releaseDescriptor );
+
+        // the dependencies of the plugins end up on the classpath of the build as well
+        @SuppressWarnings( "unchecked" )
+        List<Plugin> buildPlugins = project.getBuildPlugins();
+        for ( Plugin plugin : buildPlugins )
+        {
+            for ( Dependency dependency : plugin.getDependencies() )
+            {
+                String version = dependency.getVersion();
+                if ( version != null && !isVersionRange( version ) )
+                {
+                    Artifact artifact = artifactFactory.createArtifact( dependency.getGroupId(),
+                                                                        dependency.getArtifactId(), version,
+                                                                        null, dependency.getType() );
+                    if ( checkArtifact( artifact, originalVersions, releaseDescriptor ) )
+                    {
+                        SnapshotUsages.add( snapshots.plugins, artifact, project );
+                    }
+                }
+            }
+        }
 
         @SuppressWarnings( "unchecked" )
         Set<Artifact> reportArtifacts = project.getReportArtifacts();
-        checkReports( originalVersions, releaseDescriptor, artifactMap, reportArtifacts );
+        collectSnapshots( reportArtifacts, snapshots.reports, project, originalVersions, artifactMap,
+                          releaseDescriptor );
 
         @SuppressWarnings( "unchecked" )
         Set<Artifact> extensionArtifacts = project.getExtensionArtifacts();
-        checkExtensions( originalVersions, releaseDescriptor, artifactMap, extensionArtifacts );
-        
-        //@todo check profiles
+        collectSnapshots( extensionArtifacts, snapshots.extensions, project, originalVersions, artifactMap,
+                          releaseDescriptor );
 
-        if ( !usedSnapshotDependencies.isEmpty() || !usedSnapshotReports.isEmpty()
-                        || !usedSnapshotExtensions.isEmpty() || !usedSnapshotPlugins.isEmpty() )
-        {
-            if ( releaseDescriptor.isInteractive() )
-            {
-                resolveSnapshots( usedSnapshotDependencies, usedSnapshotReports, usedSnapshotExtensions,
-                                  usedSnapshotPlugins, releaseDescriptor );
-            }
+        snapshots.declared.addProject( project );
 
-            if ( !usedSnapshotDependencies.isEmpty() || !usedSnapshotReports.isEmpty()
-                            || !usedSnapshotExtensions.isEmpty() || !usedSnapshotPlugins.isEmpty() )
-            {
-                StringBuilder message = new StringBuilder();
-
-                printSnapshotDependencies( usedSnapshotDependencies, message );
-                printSnapshotDependencies( usedSnapshotReports, message );
-                printSnapshotDependencies( usedSnapshotExtensions, message );
-                printSnapshotDependencies( usedSnapshotPlugins, message );
-                message.append( "in project '" + project.getName() + "' (" + project.getId() + ")" );
+        return snapshots;
+    }
 
-                throw new ReleaseFailureException(
-                    "Can't release project due to non released dependencies :\n" + message );
+    private static void collectSnapshots( Set<Artifact> artifacts, Map<Artifact, List<MavenProject>> snapshots,
+                                          MavenProject project, Map<String, String> originalVersions,
+                                          Map<String, Artifact> artifactMap, ReleaseDescriptor releaseDescriptor )
+    {
+        for ( Artifact artifact : artifacts )
+        {
+            if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
+            {
+                SnapshotUsages.add( snapshots, artifact, project );
             }
         }
     }
 
-    private void checkPlugins( Map<String, String> originalVersions, ReleaseDescriptor releaseDescriptor,
-                               Map<String, Artifact> artifactMap, Set<Artifact> pluginArtifacts )
-        throws ReleaseExecutionException
+    /**
+     * Checks the index of the declared coordinates in a single pass. The snapshots among them which the build doesn't
+     * use already are either added to the used ones, so they can be resolved or fail the release, or reported.
+     */
+    private void checkDeclaredSnapshots( SnapshotUsages snapshots, Map<String, String> originalVersions,
+                                         ReleaseDescriptor releaseDescriptor, ReleaseResult result )
     {
-        for ( Artifact artifact : pluginArtifacts )
+        Set<String> usedSnapshots = snapshots.getKeys();
+
+        StringBuilder message = new StringBuilder();
+        for ( DeclaredCoordinate coordinate : snapshots.declared.getCoordinates() )
         {
-            if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
+            String version = coordinate.getVersion();
+            if ( isVersionRange( version ) || !ArtifactUtils.isSnapshot( version ) )
+            {
+                continue;
+            }
+
+            String versionlessKey = ArtifactUtils.versionlessKey( coordinate.getGroupId(), coordinate.getArtifactId() );
+            if ( version.equals( originalVersions.get( versionlessKey ) )
+                || usedSnapshots.contains( versionlessKey + ":" + version ) )
             {
-                boolean addToFailures;
+                continue;
+            }
 
-                if ( "org.apache.maven.plugins".equals( artifact.getGroupId() ) && "maven-release-plugin".equals(
-                    artifact.getArtifactId() ) )
+            if ( releaseDescriptor.isCheckDeclaredSnapshots() )
+            {
+                if ( coordinate.isPlugin() )
                 {
-                    // It's a snapshot of the release plugin. Maybe just testing - ask
-                    // By default, we fail as for any other plugin
-                    if ( releaseDescriptor.isSnapshotReleasePluginAllowed() )
-                    {
-                        addToFailures = false;
-                    }
-                    else if ( releaseDescriptor.isInteractive() )
-                    {
-                        try
-                        {
-                            String result;
-                            if ( !releaseDescriptor.isSnapshotReleasePluginAllowed() )
-                            {
-                                prompter.showMessage( "This project relies on a SNAPSHOT of the release plugin. "
-                                                          + "This may be necessary during testing.\n" );
-                                result = prompter.prompt( "Do you want to continue with the release?",
-                                                          Arrays.asList( "yes", "no" ), "no" );
-                            }
-                            else
-                            {
-                                result = "yes";
-                            }
-
-                            if ( result.toLowerCase( Locale.ENGLISH ).startsWith( "y" ) )
-                            {
-                                addToFailures = false;
-                                releaseDescriptor.setSnapshotReleasePluginAllowed( true );
-                            }
-                            else
-                            {
-                                addToFailures = true;
-                            }
-                        }
-                        catch ( PrompterException e )
-                        {
-                            throw new ReleaseExecutionException( e.getMessage(), e );
-                        }
-                    }
-                    else
-                    {
-                        addToFailures = true;
-                    }
+                    Artifact artifact =
+                        artifactFactory.createPluginArtifact( coordinate.getGroupId(), coordinate.getArtifactId(),
+                                                              VersionRange.createFromVersion( version ) );
+                    SnapshotUsages.addAll( snapshots.plugins, artifact, coordinate.getProjects() );
                 }
                 else
                 {
-                    addToFailures = true;
+                    Artifact artifact = artifactFactory.createArtifact( coordinate.getGroupId(),
+                                                                        coordinate.getArtifactId(), version, null,
+                                                                        coordinate.getType() );
+                    SnapshotUsages.addAll( snapshots.dependencies, artifact, coordinate.getProjects() );
                 }
-
-                if ( addToFailures )
+            }
+            else
+            {
+                List<MavenProject> projects = coordinate.getProjects();
+                message.append( "    " ).append( versionlessKey ).append( ':' ).append( version );
+                message.append( " in the " ).append( StringUtils.join( coordinate.getSections().iterator(), ", " ) );
+                message.append( " of '" ).append( projects.get( 0 ).getName() ).append( "'" );
+                if ( projects.size() > 1 )
                 {
-                    usedSnapshotPlugins.add( artifact );
+                    message.append( " and " ).append( projects.size() - 1 ).append( " more projects" );
                 }
+                message.append( "\n" );
             }
         }
+
+        if ( message.length() > 0 )
+        {
+            logWarn( result, "The following snapshots are declared, but not used by the build:\n" + message );
+        }
     }
 
-    private void checkDependencies( Map<String, String> originalVersions, ReleaseDescriptor releaseDescriptor,
-                                    Map<String, Artifact> artifactMap, Set<Artifact> dependencyArtifacts )
+    private static File getSnapshotResolutionFile( ReleaseDescriptor releaseDescriptor )
     {
-        for ( Artifact artifact : dependencyArtifacts )
+        String path = releaseDescriptor.getSnapshotResolutionFile();
+        if ( StringUtils.isEmpty( path ) )
         {
-            if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
-            {
-                usedSnapshotDependencies.add( getArtifactFromMap( artifact, artifactMap ) );
-            }
+            return null;
         }
+
+        File file = new File( path );
+        if ( !file.isAbsolute() && releaseDescriptor.getWorkingDirectory() != null )
+        {
+            file = new File( releaseDescriptor.getWorkingDirectory(), path );
+        }
+        return file;
     }
 
-    private void checkReports( Map<String, String> originalVersions, ReleaseDescriptor releaseDescriptor,
-                               Map<String, Artifact> artifactMap, Set<Artifact> reportArtifacts )
+    /**
+     * Resolves the snapshots which the file has versions for, in a single pass over the snapshots of the reactor.
+     */
+    private void applySnapshotResolutions( SnapshotUsages snapshots, File resolutionFile,
+                                           ReleaseDescriptor releaseDescriptor, ReleaseResult result )
+        throws ReleaseExecutionException
     {
-        for ( Artifact artifact : reportArtifacts )
+        Map<String, Map<String, String>> resolutions;
+        try
         {
-            if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
+            resolutions = SnapshotResolutionFile.read( resolutionFile );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Unable to read the snapshot resolutions from '" + resolutionFile
+                + "': " + e.getMessage(), e );
+        }
+
+        @SuppressWarnings( "unchecked" )
+        Map<String, Map<String, String>> resolvedSnapshots = releaseDescriptor.getResolvedSnapshotDependencies();
+        int resolved = 0;
+        for ( Map<Artifact, List<MavenProject>> snapshotsOfKind : snapshots.getAll() )
+        {
+            for ( Iterator<Artifact> i = snapshotsOfKind.keySet().iterator(); i.hasNext(); )
             {
-                //snapshotDependencies.add( artifact );
-                usedSnapshotReports.add( artifact );
+                Artifact artifact = i.next();
+                String versionlessKey = ArtifactUtils.versionlessKey( artifact );
+                Map<String, String> resolution = resolutions.get( versionlessKey );
+                if ( resolution == null || resolution.get( ReleaseDescriptor.RELEASE_KEY ) == null )
+                {
+                    continue;
+                }
+
+                Map<String, String> versionMap = new HashMap<String, String>( resolution );
+                versionMap.put( ReleaseDescriptor.ORIGINAL_VERSION, artifact.getVersion() );
+                if ( versionMap.get( ReleaseDescriptor.DEVELOPMENT_KEY ) == null )
+                {
+                    // like the default when asked, keep the snapshot for development
+                    versionMap.put( ReleaseDescriptor.DEVELOPMENT_KEY, artifact.getVersion() );
+                }
+                resolvedSnapshots.put( versionlessKey, versionMap );
+                i.remove();
+                resolved++;
             }
         }
+
+        if ( resolved > 0 )
+        {
+            logInfo( result, "Resolved " + resolved + " snapshot dependencies with the versions from '"
+                + resolutionFile + "'." );
+        }
     }
 
-    private void checkExtensions( Map<String, String> originalVersions, ReleaseDescriptor releaseDescriptor,
-                                  Map<String, Artifact> artifactMap, Set<Artifact> extensionArtifacts )
+    private static boolean isVersionRange( String version )
     {
-        for ( Artifact artifact : extensionArtifacts )
+        return version.startsWith( "[" ) || version.startsWith( "(" );
+    }
+
+    /**
+     * Removes the snapshots of the release plugin which may be used, asking at most once per version.
+     */
+    private void checkReleasePlugins( Set<Artifact> pluginSnapshots, ReleaseDescriptor releaseDescriptor )
+        throws ReleaseExecutionException
+    {
+        for ( Iterator<Artifact> i = pluginSnapshots.iterator(); i.hasNext(); )
         {
-            if ( checkArtifact( artifact, originalVersions, artifactMap, releaseDescriptor ) )
+            Artifact artifact = i.next();
+            if ( "org.apache.maven.plugins".equals( artifact.getGroupId() ) && "maven-release-plugin".equals(
+                artifact.getArtifactId() ) )
             {
-                usedSnapshotExtensions.add( artifact );
+                // It's a snapshot of the release plugin. Maybe just testing - ask
+                // By default, we fail as for any other plugin
+                if ( releaseDescriptor.isSnapshotReleasePluginAllowed() )
+                {
+                    i.remove();
+                }
+                else if ( releaseDescriptor.isInteractive() )
+                {
+                    try
+                    {
+                        prompter.showMessage( "This project relies on a SNAPSHOT of the release plugin. "
+                                                  + "This may be necessary during testing.\n" );
+                        String result = prompter.prompt( "Do you want to continue with the release?",
+                                                         Arrays.asList( "yes", "no" ), "no" );
+
+                        if ( result.toLowerCase( Locale.ENGLISH ).startsWith( "y" ) )
+                        {
+                            i.remove();
+                            releaseDescriptor.setSnapshotReleasePluginAllowed( true );
+                        }
+                    }
+                    catch ( PrompterException e )
+                    {
+                        throw new ReleaseExecutionException( e.getMessage(), e );
+                    }
+                }
             }
         }
     }
@@ -346,9 +579,10 @@ public class CheckDependencySnapshotsPhase
         this.prompter = prompter;
     }
 
-    private StringBuilder printSnapshotDependencies( Set<Artifact> snapshotsSet, StringBuilder message )
+    private StringBuilder printSnapshotDependencies( Map<Artifact, List<MavenProject>> snapshots,
+                                                     StringBuilder message )
     {
-        List<Artifact> snapshotsList = new ArrayList<Artifact>( snapshotsSet );
+        List<Artifact> snapshotsList = new ArrayList<Artifact>( snapshots.keySet() );
 
         Collections.sort( snapshotsList );
 
@@ -359,16 +593,32 @@ public class CheckDependencySnapshotsPhase
             message.append( artifact );
 
             message.append( "\n" );
+
+            List<MavenProject> projects = snapshots.get( artifact );
+            for ( MavenProject project : projects.subList( 0, Math.min( projects.size(), MAX_REPORTED_MODULES ) ) )
+            {
+                message.append( "        in project '" + project.getName() + "' (" + project.getId() + ")\n" );
+            }
+            if ( projects.size() > MAX_REPORTED_MODULES )
+            {
+                message.append( "        and " + ( projects.size() - MAX_REPORTED_MODULES ) + " more projects\n" );
+            }
         }
 
         return message;
     }
 
-    private void resolveSnapshots( Set<Artifact> projectDependencies, Set<Artifact> reportDependencies,
-                                   Set<Artifact> extensionDependencies, Set<Artifact> pluginDependencies,
-                                   ReleaseDescriptor releaseDescriptor )
+    /**
+     * @return the versions which were entered, by the versionless key of the dependencies
+     */
+    private Map<String, Map<String, String>> resolveSnapshots( Set<Artifact> projectDependencies,
+                                                               Set<Artifact> reportDependencies,
+                                                               Set<Artifact> extensionDependencies,
+                                                               Set<Artifact> pluginDependencies,
+                                                               ReleaseDescriptor releaseDescriptor )
         throws ReleaseExecutionException
     {
+        Map<String, Map<String, String>> resolvedSnapshots = new HashMap<String, Map<String, String>>();
         try
         {
             prompter.showMessage( RESOLVE_SNAPSHOT_MESSAGE );
@@ -377,7 +627,6 @@ public class CheckDependencySnapshotsPhase
 
             if ( result.toLowerCase( Locale.ENGLISH ).startsWith( "y" ) )
             {
-                Map<String, Map<String, String>> resolvedSnapshots = null;
                 prompter.showMessage( RESOLVE_SNAPSHOT_TYPE_MESSAGE );
                 result = prompter.prompt( RESOLVE_SNAPSHOT_TYPE_PROMPT,
                                           Arrays.asList( "0", "1", "2", "3" ), "1" );
@@ -386,7 +635,7 @@ public class CheckDependencySnapshotsPhase
                 {
                     // all
                     case 0:
-                        resolvedSnapshots = processSnapshot( projectDependencies );
+                        resolvedSnapshots.putAll( processSnapshot( projectDependencies ) );
                         resolvedSnapshots.putAll( processSnapshot( pluginDependencies ) );
                         resolvedSnapshots.putAll( processSnapshot( reportDependencies ) );
                         resolvedSnapshots.putAll( processSnapshot( extensionDependencies ) );
@@ -394,22 +643,22 @@ public class CheckDependencySnapshotsPhase
 
                         // project dependencies
                     case 1:
-                        resolvedSnapshots = processSnapshot( projectDependencies );
+                        resolvedSnapshots.putAll( processSnapshot( projectDependencies ) );
                         break;
 
                         // plugins
                     case 2:
-                        resolvedSnapshots = processSnapshot( pluginDependencies );
+                        resolvedSnapshots.putAll( processSnapshot( pluginDependencies ) );
                         break;
 
                         // reports
                     case 3:
-                        resolvedSnapshots = processSnapshot( reportDependencies );
+                        resolvedSnapshots.putAll( processSnapshot( reportDependencies ) );
                         break;
 
                         // extensions
                     case 4:
-                        resolvedSnapshots = processSnapshot( extensionDependencies );
+                        resolvedSnapshots.putAll( processSnapshot( extensionDependencies ) );
                         break;
 
                     default:
@@ -426,6 +675,7 @@ public class CheckDependencySnapshotsPhase
         {
             throw new ReleaseExecutionException( e.getMessage(), e );
         }
+        return resolvedSnapshots;
     }
 
     private Map<String, Map<String, String>> processSnapshot( Set<Artifact> snapshotSet )
@@ -473,4 +723,92 @@ public class CheckDependencySnapshotsPhase
 
         return resolvedSnapshots;
     }
-}
\ No newline at end of file
+
+    /**
+     * The snapshots used in the reactor, with the modules using them, by kind.
+     */
+    private static class SnapshotUsages
+    {
+        private final Map<Artifact, List<MavenProject>> dependencies =
+            new LinkedHashMap<Artifact, List<MavenProject>>();
+
+        private final Map<Artifact, List<MavenProject>> plugins = new LinkedHashMap<Artifact, List<MavenProject>>();
+
+        private final Map<Artifact, List<MavenProject>> reports = new LinkedHashMap<Artifact, List<MavenProject>>();
+
+        private final Map<Artifact, List<MavenProject>> extensions =
+            new LinkedHashMap<Artifact, List<MavenProject>>();
+
+        private final DeclaredCoordinateIndex declared = new DeclaredCoordinateIndex();
+
+        static void add( Map<Artifact, List<MavenProject>> snapshots, Artifact artifact, MavenProject project )
+        {
+            addAll( snapshots, artifact, Collections.singletonList( project ) );
+        }
+
+        static void addAll( Map<Artifact, List<MavenProject>> snapshots, Artifact artifact,
+                                    List<MavenProject> projects )
+        {
+            List<MavenProject> users = snapshots.get( artifact );
+            if ( users == null )
+            {
+                users = new ArrayList<MavenProject>();
+                snapshots.put( artifact, users );
+            }
+            for ( MavenProject project : projects )
+            {
+                if ( !users.contains( project ) )
+                {
+                    users.add( project );
+                }
+            }
+        }
+
+        void addAll( SnapshotUsages other )
+        {
+            addAll( dependencies, other.dependencies );
+            addAll( plugins, other.plugins );
+            addAll( reports, other.reports );
+            addAll( extensions, other.extensions );
+            declared.addAll( other.declared );
+        }
+
+        /**
+         * @return the snapshots of all kinds
+         */
+        List<Map<Artifact, List<MavenProject>>> getAll()
+        {
+            return Arrays.asList( dependencies, plugins, reports, extensions );
+        }
+
+        /**
+         * @return the versionless keys of the used snapshots, followed by their base version
+         */
+        Set<String> getKeys()
+        {
+            Set<String> keys = new HashSet<String>();
+            for ( Map<Artifact, List<MavenProject>> snapshots : getAll() )
+            {
+                for ( Artifact artifact : snapshots.keySet() )
+                {
+                    keys.add( ArtifactUtils.versionlessKey( artifact ) + ":" + artifact.getBaseVersion() );
+                }
+            }
+            return keys;
+        }
+
+        private static void addAll( Map<Artifact, List<MavenProject>> snapshots,
+                                    Map<Artifact, List<MavenProject>> others )
+        {
+            for ( Map.Entry<Artifact, List<MavenProject>> entry : others.entrySet() )
+            {
+                addAll( snapshots, entry.getKey(), entry.getValue() );
+            }
+        }
+
+        boolean isEmpty()
+        {
+            return dependencies.isEmpty() && plugins.isEmpty() && reports.isEmpty() && extensions.isEmpty();
+        }
+    }
+}
@@ -87,6 +87,7 @@ public class CreateBackupPomsPhase
 
         try
         {
+            // a byte copy, the POM cache only has the content with normalized line separators
             FileUtils.copyFile( ReleaseUtil.getStandardPom( project ), getPomBackup( project ) );
         }
         catch ( IOException e )
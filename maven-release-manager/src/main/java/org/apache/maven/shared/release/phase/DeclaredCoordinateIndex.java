@@ -0,0 +1,319 @@
+package org.apache.maven.shared.release.phase;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Index of the coordinates which the modules of a reactor declare without the build necessarily using them: the
+ * dependency and plugin management, the dependencies of managed plugins and the sections of all profiles, active or
+ * not. Every distinct coordinate is held once, with the sections and the modules declaring it.
+ *
+ * @since 3.0.0
+ */
+class DeclaredCoordinateIndex
+{
+    private final Map<String, DeclaredCoordinate> coordinates = new LinkedHashMap<String, DeclaredCoordinate>();
+
+    /**
+     * Adds the coordinates declared by a single module. The managed sections are taken from the effective model, so
+     * inherited and interpolated values are covered, the profiles from the original model, as the profiles which
+     * aren't active don't make it into the effective one.
+     *
+     * @param project the module
+     */
+    void addProject( MavenProject project )
+    {
+        Model model = project.getModel();
+        addDependencyManagement( project, model.getDependencyManagement(), "dependency management" );
+        if ( model.getBuild() != null )
+        {
+            addPluginManagement( project, model.getBuild().getPluginManagement(), "plugin management" );
+        }
+
+        Model originalModel = project.getOriginalModel();
+        if ( originalModel == null )
+        {
+            return;
+        }
+        for ( Profile profile : originalModel.getProfiles() )
+        {
+            String section = "profile '" + profile.getId() + "'";
+            addDependencies( project, profile.getDependencies(), section );
+            addDependencyManagement( project, profile.getDependencyManagement(), section );
+
+            BuildBase build = profile.getBuild();
+            if ( build != null )
+            {
+                addPlugins( project, build.getPlugins(), section );
+                addPluginManagement( project, build.getPluginManagement(), section );
+            }
+
+            Reporting reporting = profile.getReporting();
+            if ( reporting != null )
+            {
+                for ( ReportPlugin plugin : reporting.getPlugins() )
+                {
+                    add( project, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), null, true,
+                         section );
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the coordinates of another index, keeping the order in which they were first declared.
+     *
+     * @param other the index to add
+     */
+    void addAll( DeclaredCoordinateIndex other )
+    {
+        for ( Map.Entry<String, DeclaredCoordinate> entry : other.coordinates.entrySet() )
+        {
+            DeclaredCoordinate coordinate = coordinates.get( entry.getKey() );
+            if ( coordinate == null )
+            {
+                coordinate = entry.getValue().copy();
+                coordinates.put( entry.getKey(), coordinate );
+            }
+            else
+            {
+                coordinate.addAll( entry.getValue() );
+            }
+        }
+    }
+
+    /**
+     * @return the distinct coordinates, in the order they were first declared
+     */
+    Collection<DeclaredCoordinate> getCoordinates()
+    {
+        return Collections.unmodifiableCollection( coordinates.values() );
+    }
+
+    private void addDependencyManagement( MavenProject project, DependencyManagement dependencyManagement,
+                                          String section )
+    {
+        if ( dependencyManagement != null )
+        {
+            addDependencies( project, dependencyManagement.getDependencies(), section );
+        }
+    }
+
+    private void addPluginManagement( MavenProject project, PluginManagement pluginManagement, String section )
+    {
+        if ( pluginManagement != null )
+        {
+            addPlugins( project, pluginManagement.getPlugins(), section );
+        }
+    }
+
+    private void addDependencies( MavenProject project, List<Dependency> dependencies, String section )
+    {
+        for ( Dependency dependency : dependencies )
+        {
+            add( project, dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(),
+                 dependency.getType(), false, section );
+        }
+    }
+
+    private void addPlugins( MavenProject project, List<Plugin> plugins, String section )
+    {
+        for ( Plugin plugin : plugins )
+        {
+            add( project, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), null, true, section );
+            addDependencies( project, plugin.getDependencies(), section );
+        }
+    }
+
+    private void add( MavenProject project, String groupId, String artifactId, String version, String type,
+                      boolean plugin, String section )
+    {
+        String resolvedVersion = resolveVersion( project, version );
+        if ( resolvedVersion == null )
+        {
+            // without a version it is managed elsewhere, and unknown properties leave nothing to check
+            return;
+        }
+
+        String key = ( plugin ? "plugin:" : "" ) + groupId + ":" + artifactId + ":" + resolvedVersion;
+        DeclaredCoordinate coordinate = coordinates.get( key );
+        if ( coordinate == null )
+        {
+            coordinate = new DeclaredCoordinate( groupId, artifactId, resolvedVersion, type, plugin );
+            coordinates.put( key, coordinate );
+        }
+        coordinate.sections.add( section );
+        if ( !coordinate.projects.contains( project ) )
+        {
+            coordinate.projects.add( project );
+        }
+    }
+
+    /**
+     * Resolves the properties in a version declared by a profile, with the properties of the effective model.
+     *
+     * @return the version, or <code>null</code> if there is none or it can't be resolved
+     */
+    private static String resolveVersion( MavenProject project, String version )
+    {
+        if ( version == null || version.indexOf( "${" ) < 0 )
+        {
+            return version;
+        }
+
+        StringBuilder resolved = new StringBuilder();
+        int pos = 0;
+        int start = version.indexOf( "${" );
+        while ( start >= 0 )
+        {
+            int end = version.indexOf( '}', start );
+            if ( end < 0 )
+            {
+                return null;
+            }
+
+            String expression = version.substring( start + 2, end );
+            String value;
+            if ( "project.version".equals( expression ) || "pom.version".equals( expression )
+                || "version".equals( expression ) )
+            {
+                value = project.getVersion();
+            }
+            else
+            {
+                value = project.getProperties().getProperty( expression );
+            }
+            if ( value == null )
+            {
+                return null;
+            }
+
+            resolved.append( version, pos, start ).append( value );
+            pos = end + 1;
+            start = version.indexOf( "${", pos );
+        }
+        return resolved.append( version.substring( pos ) ).toString();
+    }
+
+    /**
+     * A distinct coordinate, with the sections and the modules declaring it.
+     */
+    static class DeclaredCoordinate
+    {
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final String type;
+
+        private final boolean plugin;
+
+        private final Set<String> sections = new LinkedHashSet<String>();
+
+        private final List<MavenProject> projects = new ArrayList<MavenProject>();
+
+        DeclaredCoordinate( String groupId, String artifactId, String version, String type, boolean plugin )
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.type = type;
+            this.plugin = plugin;
+        }
+
+        private DeclaredCoordinate copy()
+        {
+            DeclaredCoordinate copy = new DeclaredCoordinate( groupId, artifactId, version, type, plugin );
+            copy.addAll( this );
+            return copy;
+        }
+
+        private void addAll( DeclaredCoordinate other )
+        {
+            sections.addAll( other.sections );
+            for ( MavenProject project : other.projects )
+            {
+                if ( !projects.contains( project ) )
+                {
+                    projects.add( project );
+                }
+            }
+        }
+
+        String getGroupId()
+        {
+            return groupId;
+        }
+
+        String getArtifactId()
+        {
+            return artifactId;
+        }
+
+        String getVersion()
+        {
+            return version;
+        }
+
+        /**
+         * @return the type of a dependency, <code>null</code> for a plugin
+         */
+        String getType()
+        {
+            return type;
+        }
+
+        boolean isPlugin()
+        {
+            return plugin;
+        }
+
+        Set<String> getSections()
+        {
+            return Collections.unmodifiableSet( sections );
+        }
+
+        List<MavenProject> getProjects()
+        {
+            return Collections.unmodifiableList( projects );
+        }
+    }
+}
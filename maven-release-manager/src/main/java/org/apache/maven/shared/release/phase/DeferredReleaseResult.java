@@ -0,0 +1,96 @@
+package org.apache.maven.shared.release.phase;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * Release result which holds back the messages of a single module, so work done concurrently for several modules can
+ * be reported in reactor order.
+ *
+ * @since 3.0.0
+ */
+class DeferredReleaseResult
+    extends ReleaseResult
+{
+    private static final int INFO = 0, WARN = 1, DEBUG = 2;
+
+    private final List<Integer> levels = new ArrayList<Integer>();
+
+    private final List<String> messages = new ArrayList<String>();
+
+    @Override
+    public void appendInfo( String message )
+    {
+        defer( INFO, message );
+    }
+
+    @Override
+    public void appendWarn( String message )
+    {
+        defer( WARN, message );
+    }
+
+    @Override
+    public void appendDebug( String message )
+    {
+        defer( DEBUG, message );
+    }
+
+    private void defer( int level, String message )
+    {
+        levels.add( level );
+        messages.add( message );
+    }
+
+    /**
+     * Replays the collected messages, in the order they were logged.
+     *
+     * @param result the result to append the messages to
+     * @param logger the logger to write the messages to
+     */
+    void flush( ReleaseResult result, Logger logger )
+    {
+        for ( int i = 0; i < messages.size(); i++ )
+        {
+            String message = messages.get( i );
+            switch ( levels.get( i ) )
+            {
+                case WARN:
+                    result.appendWarn( message );
+                    logger.warn( message );
+                    break;
+                case DEBUG:
+                    result.appendDebug( message );
+                    logger.debug( message );
+                    break;
+                default:
+                    result.appendInfo( message );
+                    logger.info( message );
+            }
+        }
+        levels.clear();
+        messages.clear();
+    }
+}
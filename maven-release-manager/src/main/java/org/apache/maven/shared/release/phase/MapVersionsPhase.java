@@ -20,8 +20,12 @@ package org.apache.maven.shared.release.phase;
  */
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.ResourceBundle;
 
 import org.apache.maven.artifact.ArtifactUtils;
@@ -31,8 +35,11 @@ import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
 import org.apache.maven.shared.release.policy.PolicyException;
+import org.apache.maven.shared.release.policy.version.BatchVersionPolicy;
+import org.apache.maven.shared.release.policy.version.BatchVersionPolicyAdapter;
 import org.apache.maven.shared.release.policy.version.VersionPolicy;
 import org.apache.maven.shared.release.policy.version.VersionPolicyRequest;
+import org.apache.maven.shared.release.policy.version.VersionPolicyResult;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.apache.maven.shared.release.versions.VersionParseException;
 import org.codehaus.plexus.components.interactivity.Prompter;
@@ -107,6 +114,9 @@ public class MapVersionsPhase
 
         MavenProject rootProject = ReleaseUtil.getRootProject( reactorProjects );
 
+        // suggestions by base version, as most modules of a reactor share their version
+        Map<String, String> suggestedVersions = new HashMap<String, String>();
+
         if ( releaseDescriptor.isAutoVersionSubmodules() && ArtifactUtils.isSnapshot( rootProject.getVersion() ) )
         {
             // get the root project
@@ -114,7 +124,7 @@ public class MapVersionsPhase
 
             String projectId = ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
 
-            String nextVersion = resolveNextVersion( project, projectId, releaseDescriptor, result );
+            String nextVersion = resolveNextVersion( project, projectId, releaseDescriptor, suggestedVersions );
 
             if ( convertToSnapshot )
             {
@@ -166,11 +176,13 @@ public class MapVersionsPhase
         }
         else
         {
+            resolveSuggestedVersions( reactorProjects, releaseDescriptor, suggestedVersions );
+
             for ( MavenProject project : reactorProjects )
             {
                 String projectId = ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
 
-                String nextVersion = resolveNextVersion( project, projectId, releaseDescriptor, result );
+                String nextVersion = resolveNextVersion( project, projectId, releaseDescriptor, suggestedVersions );
 
                 if ( convertToSnapshot )
                 {
@@ -195,50 +207,82 @@ public class MapVersionsPhase
         return result;
     }
 
-    private String resolveNextVersion( MavenProject project,
-                                   String projectId,
-                                   ReleaseDescriptor releaseDescriptor,
-                                   ReleaseResult result )
-        throws ReleaseExecutionException
+    /**
+     * @return <code>true</code> if the version of the project is left as it is
+     */
+    private boolean isKeepVersion( MavenProject project, ReleaseDescriptor releaseDescriptor )
     {
-        String defaultVersion;
         if ( convertToBranch )
         {
             // no branch modification
-            if ( !( releaseDescriptor.isUpdateBranchVersions()
+            return !( releaseDescriptor.isUpdateBranchVersions()
                             && ( ArtifactUtils.isSnapshot( project.getVersion() )
-                                            || releaseDescriptor.isUpdateVersionsToSnapshot() ) ) )
-            {
-                return project.getVersion();
-            }
-
-            defaultVersion = getReleaseVersion( projectId, releaseDescriptor );
+                                            || releaseDescriptor.isUpdateVersionsToSnapshot() ) );
         }
         else if ( !convertToSnapshot ) // map-release-version
         {
-            defaultVersion = getReleaseVersion( projectId, releaseDescriptor );
+            return false;
         }
         else if ( releaseDescriptor.isBranchCreation() )
         {
             // no working copy modification
-            if ( !( ArtifactUtils.isSnapshot( project.getVersion() )
-                          && releaseDescriptor.isUpdateWorkingCopyVersions() ) )
-            {
-                return project.getVersion();
-            }
-
-            defaultVersion = getDevelopmentVersion( projectId, releaseDescriptor );
+            return !( ArtifactUtils.isSnapshot( project.getVersion() )
+                          && releaseDescriptor.isUpdateWorkingCopyVersions() );
         }
         else
         {
             // no working copy modification
-            if ( !( releaseDescriptor.isUpdateWorkingCopyVersions() ) )
-            {
-                return project.getVersion();
-            }
+            return !( releaseDescriptor.isUpdateWorkingCopyVersions() );
+        }
+    }
 
-            defaultVersion = getDevelopmentVersion( projectId, releaseDescriptor );
+    private String getDefaultVersion( String projectId, ReleaseDescriptor releaseDescriptor )
+    {
+        if ( convertToBranch || !convertToSnapshot )
+        {
+            return getReleaseVersion( projectId, releaseDescriptor );
+        }
+        else
+        {
+            return getDevelopmentVersion( projectId, releaseDescriptor );
+        }
+    }
+
+    private boolean isValidVersion( String version )
+    {
+        return version != null && ArtifactUtils.isSnapshot( version ) == convertToSnapshot;
+    }
+
+    /**
+     * @return the version the policy calculates the suggested version from
+     */
+    private String getBaseVersion( MavenProject project, String projectId, ReleaseDescriptor releaseDescriptor )
+    {
+        String baseVersion = null;
+        if ( convertToSnapshot )
+        {
+            baseVersion = getReleaseVersion( projectId, releaseDescriptor );
+        }
+        // unspecified and unmapped version, so use project version
+        if ( baseVersion == null )
+        {
+            baseVersion = project.getVersion();
+        }
+        return baseVersion;
+    }
+
+    private String resolveNextVersion( MavenProject project,
+                                   String projectId,
+                                   ReleaseDescriptor releaseDescriptor,
+                                   Map<String, String> suggestedVersions )
+        throws ReleaseExecutionException
+    {
+        if ( isKeepVersion( project, releaseDescriptor ) )
+        {
+            return project.getVersion();
         }
+
+        String defaultVersion = getDefaultVersion( projectId, releaseDescriptor );
         //@todo validate default version, maybe with DefaultArtifactVersion
 
         String suggestedVersion = null;
@@ -246,34 +290,24 @@ public class MapVersionsPhase
         String messageKey = null;
         try
         {
-            while ( nextVersion == null || ArtifactUtils.isSnapshot( nextVersion ) != convertToSnapshot )
+            while ( !isValidVersion( nextVersion ) )
             {
                 if ( suggestedVersion == null )
                 {
-                    String baseVersion = null;
-                    if ( convertToSnapshot )
-                    {
-                        baseVersion = getReleaseVersion( projectId, releaseDescriptor );
-                    }
-                    // unspecified and unmapped version, so use project version
-                    if ( baseVersion == null )
-                    {
-                        baseVersion = project.getVersion();
-                    }
+                    String baseVersion = getBaseVersion( project, projectId, releaseDescriptor );
+                    String policyId = releaseDescriptor.getProjectVersionPolicyId();
 
                     try
                     {
                         try
                         {
-                            suggestedVersion =
-                                resolveSuggestedVersion( baseVersion, releaseDescriptor.getProjectVersionPolicyId() );
+                            suggestedVersion = resolveSuggestedVersion( baseVersion, policyId, suggestedVersions );
                         }
                         catch ( VersionParseException e )
                         {
                             if ( releaseDescriptor.isInteractive() )
                             {
-                                suggestedVersion =
-                                    resolveSuggestedVersion( "1.0", releaseDescriptor.getProjectVersionPolicyId() );
+                                suggestedVersion = resolveSuggestedVersion( "1.0", policyId, suggestedVersions );
                             }
                             else
                             {
@@ -317,9 +351,72 @@ public class MapVersionsPhase
         return nextVersion;
     }
 
-    private String resolveSuggestedVersion( String baseVersion, String policyId )
+    /**
+     * Resolves the suggested versions of all projects which have no valid default version with a single call of the
+     * policy, passing every distinct base version only once. A failure is not reported here, but left to surface
+     * for the project it applies to when its suggestion is resolved on its own.
+     */
+    private void resolveSuggestedVersions( List<MavenProject> reactorProjects, ReleaseDescriptor releaseDescriptor,
+                                           Map<String, String> suggestedVersions )
+    {
+        VersionPolicy policy = versionPolicies.get( releaseDescriptor.getProjectVersionPolicyId() );
+        if ( policy == null )
+        {
+            return;
+        }
+
+        Set<String> baseVersions = new LinkedHashSet<String>();
+        for ( MavenProject project : reactorProjects )
+        {
+            String projectId = ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
+            if ( !isKeepVersion( project, releaseDescriptor )
+                && !isValidVersion( getDefaultVersion( projectId, releaseDescriptor ) ) )
+            {
+                baseVersions.add( getBaseVersion( project, projectId, releaseDescriptor ) );
+            }
+        }
+        if ( baseVersions.isEmpty() )
+        {
+            return;
+        }
+
+        List<VersionPolicyRequest> requests = new ArrayList<VersionPolicyRequest>( baseVersions.size() );
+        for ( String baseVersion : baseVersions )
+        {
+            requests.add( new VersionPolicyRequest().setVersion( baseVersion ) );
+        }
+
+        try
+        {
+            BatchVersionPolicy batchPolicy = BatchVersionPolicyAdapter.adapt( policy );
+            List<VersionPolicyResult> results = convertToSnapshot ? batchPolicy.getDevelopmentVersions( requests )
+                            : batchPolicy.getReleaseVersions( requests );
+
+            int i = 0;
+            for ( String baseVersion : baseVersions )
+            {
+                suggestedVersions.put( baseVersion, results.get( i++ ).getVersion() );
+            }
+        }
+        catch ( PolicyException e )
+        {
+            getLogger().debug( "Resolving the suggested versions at once failed: " + e.getMessage() );
+        }
+        catch ( VersionParseException e )
+        {
+            getLogger().debug( "Resolving the suggested versions at once failed: " + e.getMessage() );
+        }
+    }
+
+    private String resolveSuggestedVersion( String baseVersion, String policyId, Map<String, String> suggestedVersions )
         throws PolicyException, VersionParseException
     {
+        String suggestedVersion = suggestedVersions.get( baseVersion );
+        if ( suggestedVersion != null )
+        {
+            return suggestedVersion;
+        }
+
         VersionPolicy policy = versionPolicies.get( policyId );
         if ( policy == null )
         {
@@ -327,8 +424,10 @@ public class MapVersionsPhase
         }
 
         VersionPolicyRequest request = new VersionPolicyRequest().setVersion( baseVersion );
-        return convertToSnapshot ? policy.getDevelopmentVersion( request ).getVersion()
+        suggestedVersion = convertToSnapshot ? policy.getDevelopmentVersion( request ).getVersion()
                         : policy.getReleaseVersion( request ).getVersion();
+        suggestedVersions.put( baseVersion, suggestedVersion );
+        return suggestedVersion;
     }
 
     private String getDevelopmentVersion( String projectId, ReleaseDescriptor releaseDescriptor )
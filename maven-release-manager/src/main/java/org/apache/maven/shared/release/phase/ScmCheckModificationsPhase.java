@@ -37,15 +37,18 @@ import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.scm.ScmTranslator;
+import org.apache.maven.shared.release.util.ExclusionMatcher;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
-import org.codehaus.plexus.util.SelectorUtils;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -79,7 +82,8 @@ public class ScmCheckModificationsPhase
     private Set<String> exclusionPatterns = new HashSet<String>( Arrays.asList(
         "**" + File.separator + "pom.xml.backup", "**" + File.separator + "pom.xml.tag",
         "**" + File.separator + "pom.xml.next", "**" + File.separator + "pom.xml.branch",
-        "**" + File.separator + "release.properties", "**" + File.separator + "pom.xml.releaseBackup" ) );
+        "**" + File.separator + "release.properties", "**" + File.separator + "release.properties.journal",
+        "**" + File.separator + "pom.xml.releaseBackup", "**" + File.separator + "release-*-metrics.json" ) );
 
     public ReleaseResult execute( ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
                                   List<MavenProject> reactorProjects )
@@ -87,6 +91,7 @@ public class ScmCheckModificationsPhase
     {
         ReleaseResult relResult = new ReleaseResult();
 
+        Set<String> patterns = new LinkedHashSet<String>( exclusionPatterns );
         List<String> additionalExcludes = releaseDescriptor.getCheckModificationExcludes();
 
         if ( additionalExcludes != null )
@@ -94,13 +99,12 @@ public class ScmCheckModificationsPhase
             // SelectorUtils expects OS-specific paths and patterns
             for ( String additionalExclude : additionalExcludes )
             {
-                exclusionPatterns.add( additionalExclude.replace( "\\", File.separator )
-                                       .replace( "/", File.separator ) );
+                patterns.add( additionalExclude.replace( "\\", File.separator ).replace( "/", File.separator ) );
             }
         }
 
         logInfo( relResult, "Verifying that there are no local modifications..." );
-        logInfo( relResult, "  ignoring changes on: " + StringUtils.join( exclusionPatterns.toArray(), ", " ) );
+        logInfo( relResult, "  ignoring changes on: " + StringUtils.join( patterns.toArray(), ", " ) );
 
         ScmRepository repository;
         ScmProvider provider;
@@ -125,8 +129,9 @@ public class ScmCheckModificationsPhase
         StatusScmResult result;
         try
         {
-            result =
-                provider.status( repository, new ScmFileSet( new File( releaseDescriptor.getWorkingDirectory() ) ) );
+            result = provider.status( repository,
+                                      getStatusFileSet( new File( releaseDescriptor.getWorkingDirectory() ),
+                                                        reactorProjects ) );
         }
         catch ( ScmException e )
         {
@@ -144,7 +149,8 @@ public class ScmCheckModificationsPhase
         if ( !changedFiles.isEmpty() )
         {
             ScmTranslator scmTranslator = scmTranslators.get( repository.getProvider() );
-            
+            ExclusionMatcher exclusionMatcher = new ExclusionMatcher( patterns );
+
             // TODO: would be nice for SCM status command to do this for me.
             for ( Iterator<ScmFile> i = changedFiles.iterator(); i.hasNext(); )
             {
@@ -160,17 +166,11 @@ public class ScmCheckModificationsPhase
                     path = f.getPath();
                 }
 
-                // SelectorUtils expects File.separator, don't standardize!
-                String fileName = path.replace( "\\", File.separator ).replace( "/", File.separator );
-
-                for ( String exclusionPattern : exclusionPatterns )
+                if ( exclusionMatcher.matches( path ) )
                 {
-                    if ( SelectorUtils.matchPath( exclusionPattern, fileName ) )
-                    {
-                        logDebug( relResult, "Ignoring changed file: " + fileName );
-                        i.remove();
-                        break;
-                    }
+                    logDebug( relResult, "Ignoring changed file: "
+                        + path.replace( "\\", File.separator ).replace( "/", File.separator ) );
+                    i.remove();
                 }
             }
         }
@@ -194,6 +194,52 @@ public class ScmCheckModificationsPhase
         return relResult;
     }
 
+    /**
+     * The status is narrowed to the directories of the reactor, unless one of them is the working directory itself.
+     * Providers which ignore the files of the file set check the whole working directory, as before.
+     *
+     * @return the file set to check for modifications
+     */
+    private static ScmFileSet getStatusFileSet( File workingDirectory, List<MavenProject> reactorProjects )
+    {
+        if ( reactorProjects == null || reactorProjects.isEmpty() )
+        {
+            return new ScmFileSet( workingDirectory );
+        }
+
+        String root = workingDirectory.getAbsolutePath() + File.separator;
+        List<String> directories = new ArrayList<String>();
+        for ( MavenProject project : reactorProjects )
+        {
+            File basedir = project.getBasedir();
+            if ( basedir == null )
+            {
+                return new ScmFileSet( workingDirectory );
+            }
+
+            String directory = basedir.getAbsolutePath() + File.separator;
+            if ( directory.equals( root ) || !directory.startsWith( root ) )
+            {
+                return new ScmFileSet( workingDirectory );
+            }
+            directories.add( directory.substring( root.length() ) );
+        }
+
+        // nested modules are covered by their parent directory
+        Collections.sort( directories );
+        List<File> files = new ArrayList<File>();
+        String previous = null;
+        for ( String directory : directories )
+        {
+            if ( previous == null || !directory.startsWith( previous ) )
+            {
+                files.add( new File( directory ) );
+                previous = directory;
+            }
+        }
+        return new ScmFileSet( workingDirectory, files );
+    }
+
     public ReleaseResult simulate( ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
                                    List<MavenProject> reactorProjects )
         throws ReleaseExecutionException, ReleaseFailureException
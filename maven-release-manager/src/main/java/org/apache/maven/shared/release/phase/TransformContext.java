@@ -0,0 +1,113 @@
+package org.apache.maven.shared.release.phase;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Reactor wide data needed to rewrite the POMs, computed once per execution of a rewrite phase and shared by the
+ * transformation of all modules.
+ *
+ * @since 3.0.0
+ */
+final class TransformContext
+{
+    private final Map<String, String> mappedVersions;
+
+    private final Map<String, String> originalVersions;
+
+    private final Map<String, String> resolvedSnapshotVersions;
+
+    private final Map<String, String> originalResolvedSnapshotVersions;
+
+    private final Map<MavenProject, String> projectIds;
+
+    private final String commonBasedir;
+
+    /**
+     * @param mappedVersions the versions to rewrite to, keyed by versionless key
+     * @param originalVersions the versions to rewrite from, keyed by versionless key
+     * @param resolvedSnapshotVersions the versions to rewrite resolved snapshot dependencies to
+     * @param originalResolvedSnapshotVersions the original versions of resolved snapshot dependencies
+     * @param reactorProjects the reactor projects
+     * @param commonBasedir the common basedir of the reactor projects
+     */
+    TransformContext( Map<String, String> mappedVersions, Map<String, String> originalVersions,
+                      Map<String, String> resolvedSnapshotVersions,
+                      Map<String, String> originalResolvedSnapshotVersions, List<MavenProject> reactorProjects,
+                      String commonBasedir )
+    {
+        this.mappedVersions = mappedVersions;
+        this.originalVersions = originalVersions;
+        this.resolvedSnapshotVersions = resolvedSnapshotVersions;
+        this.originalResolvedSnapshotVersions = originalResolvedSnapshotVersions;
+        this.commonBasedir = commonBasedir;
+
+        projectIds = new IdentityHashMap<MavenProject, String>( reactorProjects.size() );
+        for ( MavenProject project : reactorProjects )
+        {
+            projectIds.put( project, ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() ) );
+        }
+    }
+
+    public Map<String, String> getMappedVersions()
+    {
+        return mappedVersions;
+    }
+
+    public Map<String, String> getOriginalVersions()
+    {
+        return originalVersions;
+    }
+
+    public String getResolvedSnapshotVersion( String key )
+    {
+        return resolvedSnapshotVersions.get( key );
+    }
+
+    public String getOriginalResolvedSnapshotVersion( String key )
+    {
+        return originalResolvedSnapshotVersions.get( key );
+    }
+
+    /**
+     * @param project a project, not necessarily part of the reactor
+     * @return the versionless key of the project
+     */
+    public String getProjectId( MavenProject project )
+    {
+        String projectId = projectIds.get( project );
+        if ( projectId == null )
+        {
+            projectId = ArtifactUtils.versionlessKey( project.getGroupId(), project.getArtifactId() );
+        }
+        return projectId;
+    }
+
+    public String getCommonBasedir()
+    {
+        return commonBasedir;
+    }
+}
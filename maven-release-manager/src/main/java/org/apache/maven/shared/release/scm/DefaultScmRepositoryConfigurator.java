@@ -19,6 +19,14 @@ package org.apache.maven.shared.release.scm;
  * under the License.
  */
 
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.manager.ScmManager;
 import org.apache.maven.scm.provider.ScmProvider;
@@ -30,6 +38,7 @@ import org.apache.maven.scm.repository.ScmRepositoryException;
 import org.apache.maven.settings.Server;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
@@ -47,6 +56,11 @@ public class DefaultScmRepositoryConfigurator
     extends AbstractLogEnabled
     implements ScmRepositoryConfigurator
 {
+    /**
+     * The number of configured repositories kept, a release uses one or two.
+     */
+    private static final int MAX_CACHED_REPOSITORIES = 16;
+
     /**
      * The SCM manager.
      */
@@ -60,6 +74,37 @@ public class DefaultScmRepositoryConfigurator
     @Requirement( hint = "mng-4384" )
     private SecDispatcher secDispatcher;
 
+    /**
+     * Collects the latency of the SCM commands issued during a release phase.
+     */
+    @Requirement
+    private ReleaseMetrics releaseMetrics;
+
+    /**
+     * The configurations of the repositories during the release, by URL and the SCM configuration of the release
+     * descriptor. Configuring a repository looks up the server in the settings and decrypts its credentials, which the
+     * phases would otherwise repeat, some of them for every module. Every caller still gets a repository of its own,
+     * as the phases change it, e.g. whether to push changes. Access is synchronized on the map, as phases may run
+     * concurrently.
+     */
+    private final Map<String, ConfiguredRepository> repositories =
+        new LinkedHashMap<String, ConfiguredRepository>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, ConfiguredRepository> eldest )
+            {
+                return size() > MAX_CACHED_REPOSITORIES;
+            }
+        };
+
+    /**
+     * The configuration of the repositories handed out, to share the provider of their configuration.
+     */
+    private final Map<ScmRepository, ConfiguredRepository> configurations =
+        new WeakHashMap<ScmRepository, ConfiguredRepository>();
+
     public ScmRepository getConfiguredRepository( ReleaseDescriptor releaseDescriptor, Settings settings )
         throws ScmRepositoryException, NoSuchScmProviderException
     {
@@ -69,19 +114,86 @@ public class DefaultScmRepositoryConfigurator
 
     public ScmRepository getConfiguredRepository( String url, ReleaseDescriptor releaseDescriptor, Settings settings )
         throws ScmRepositoryException, NoSuchScmProviderException
+    {
+        ScmRepository repository = scmManager.makeScmRepository( url );
+        if ( settings == null )
+        {
+            // without settings there is no session to scope the configuration to
+            configure( repository, getConfiguration( repository, releaseDescriptor, null ), releaseDescriptor );
+            return repository;
+        }
+
+        String key = getCacheKey( url, releaseDescriptor );
+        ConfiguredRepository configured;
+        synchronized ( repositories )
+        {
+            configured = repositories.get( key );
+        }
+        // settings are only compared by identity, a new session comes with new settings
+        if ( configured == null || configured.settings != settings )
+        {
+            configured = getConfiguration( repository, releaseDescriptor, settings );
+            synchronized ( repositories )
+            {
+                repositories.put( key, configured );
+            }
+        }
+
+        configure( repository, configured, releaseDescriptor );
+        synchronized ( repositories )
+        {
+            configurations.put( repository, configured );
+        }
+        return repository;
+    }
+
+    /**
+     * @return a key for the URL and the SCM configuration of the release descriptor, with a digest instead of the
+     *         credentials
+     */
+    private static String getCacheKey( String url, ReleaseDescriptor releaseDescriptor )
+    {
+        StringBuilder key = new StringBuilder( url );
+        key.append( '\n' ).append( releaseDescriptor.getScmId() );
+        key.append( '\n' ).append( releaseDescriptor.getScmTagBase() );
+        key.append( '\n' ).append( releaseDescriptor.getScmBranchBase() );
+        key.append( '\n' ).append( releaseDescriptor.getScmUsername() );
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            for ( String secret : new String[] { releaseDescriptor.getScmPassword(),
+                releaseDescriptor.getScmPrivateKey(), releaseDescriptor.getScmPrivateKeyPassPhrase() } )
+            {
+                digest.update( String.valueOf( secret ).getBytes( "UTF-8" ) );
+                digest.update( (byte) 0 );
+            }
+            key.append( '\n' ).append( new BigInteger( 1, digest.digest() ).toString( Character.MAX_RADIX ) );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException( e.getMessage(), e );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            // every Java platform is required to support UTF-8
+            throw new IllegalStateException( e.getMessage(), e );
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the credentials of the release descriptor, completed with those of the server in the settings
+     */
+    private ConfiguredRepository getConfiguration( ScmRepository repository, ReleaseDescriptor releaseDescriptor,
+                                                   Settings settings )
     {
         String username = releaseDescriptor.getScmUsername();
         String password = releaseDescriptor.getScmPassword();
         String privateKey = releaseDescriptor.getScmPrivateKey();
         String passphrase = releaseDescriptor.getScmPrivateKeyPassPhrase();
 
-        ScmRepository repository = scmManager.makeScmRepository( url );
-
-        ScmProviderRepository scmRepo = repository.getProviderRepository();
-
-        //MRELEASE-76
-        scmRepo.setPersistCheckout( false );
-
         if ( settings != null )
         {
             Server server = null;
@@ -132,26 +244,37 @@ public class DefaultScmRepositoryConfigurator
             }
         }
 
-        if ( !StringUtils.isEmpty( username ) )
+        return new ConfiguredRepository( settings, username, password, privateKey, passphrase );
+    }
+
+    private static void configure( ScmRepository repository, ConfiguredRepository configured,
+                                   ReleaseDescriptor releaseDescriptor )
+    {
+        ScmProviderRepository scmRepo = repository.getProviderRepository();
+
+        //MRELEASE-76
+        scmRepo.setPersistCheckout( false );
+
+        if ( !StringUtils.isEmpty( configured.username ) )
         {
-            scmRepo.setUser( username );
+            scmRepo.setUser( configured.username );
         }
-        if ( !StringUtils.isEmpty( password ) )
+        if ( !StringUtils.isEmpty( configured.password ) )
         {
-            scmRepo.setPassword( password );
+            scmRepo.setPassword( configured.password );
         }
 
         if ( scmRepo instanceof ScmProviderRepositoryWithHost )
         {
             ScmProviderRepositoryWithHost repositoryWithHost = (ScmProviderRepositoryWithHost) scmRepo;
-            if ( !StringUtils.isEmpty( privateKey ) )
+            if ( !StringUtils.isEmpty( configured.privateKey ) )
             {
-                repositoryWithHost.setPrivateKey( privateKey );
+                repositoryWithHost.setPrivateKey( configured.privateKey );
             }
 
-            if ( !StringUtils.isEmpty( passphrase ) )
+            if ( !StringUtils.isEmpty( configured.passphrase ) )
             {
-                repositoryWithHost.setPassphrase( passphrase );
+                repositoryWithHost.setPassphrase( configured.passphrase );
             }
         }
 
@@ -171,8 +294,6 @@ public class DefaultScmRepositoryConfigurator
                 svnRepo.setBranchBase( branchBase );
             }
         }
-
-        return repository;
     }
 
     private String decrypt( String str, String server )
@@ -201,11 +322,75 @@ public class DefaultScmRepositoryConfigurator
     public ScmProvider getRepositoryProvider( ScmRepository repository )
         throws NoSuchScmProviderException
     {
-        return scmManager.getProviderByRepository( repository );
+        boolean timed = releaseMetrics != null && releaseMetrics.isRecording();
+
+        ConfiguredRepository configured;
+        synchronized ( repositories )
+        {
+            configured = configurations.get( repository );
+            if ( configured != null && configured.provider != null )
+            {
+                return timed ? configured.timedProvider : configured.provider;
+            }
+        }
+
+        ScmProvider provider = scmManager.getProviderByRepository( repository );
+        if ( configured == null )
+        {
+            return timed ? TimedScmProvider.wrap( provider, releaseMetrics ) : provider;
+        }
+
+        synchronized ( repositories )
+        {
+            if ( configured.provider == null )
+            {
+                // shared by the repositories of the configuration, so it is only wrapped once
+                configured.provider = provider;
+                configured.timedProvider =
+                    releaseMetrics != null ? TimedScmProvider.wrap( provider, releaseMetrics ) : null;
+            }
+            return timed ? configured.timedProvider : configured.provider;
+        }
     }
 
     public void setScmManager( ScmManager scmManager )
     {
         this.scmManager = scmManager;
+        synchronized ( repositories )
+        {
+            repositories.clear();
+            configurations.clear();
+        }
+    }
+
+    /**
+     * The configuration of a repository, with the settings it was configured with and its provider, once it was asked
+     * for.
+     */
+    private static class ConfiguredRepository
+    {
+        private final Settings settings;
+
+        private final String username;
+
+        private final String password;
+
+        private final String privateKey;
+
+        private final String passphrase;
+
+        private ScmProvider provider;
+
+        private ScmProvider timedProvider;
+
+        ConfiguredRepository( Settings settings, String username, String password, String privateKey,
+                              String passphrase )
+        {
+            this.settings = settings;
+            this.username = username;
+            this.password = password;
+            this.privateKey = privateKey;
+            this.passphrase = passphrase;
+        }
     }
 }
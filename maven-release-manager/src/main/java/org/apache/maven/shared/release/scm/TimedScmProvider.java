@@ -0,0 +1,85 @@
+package org.apache.maven.shared.release.scm;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
+
+/**
+ * Records the latency of every SCM command issued through a provider. Only the methods returning a
+ * {@link ScmResult} are commands, everything else is passed on untimed.
+ *
+ * @since 3.0.0
+ */
+final class TimedScmProvider
+    implements InvocationHandler
+{
+    private final ScmProvider provider;
+
+    private final ReleaseMetrics releaseMetrics;
+
+    private TimedScmProvider( ScmProvider provider, ReleaseMetrics releaseMetrics )
+    {
+        this.provider = provider;
+        this.releaseMetrics = releaseMetrics;
+    }
+
+    /**
+     * @param provider the provider to time
+     * @param releaseMetrics the metrics to record the commands in
+     * @return a provider which records its commands
+     */
+    static ScmProvider wrap( ScmProvider provider, ReleaseMetrics releaseMetrics )
+    {
+        return (ScmProvider) Proxy.newProxyInstance( ScmProvider.class.getClassLoader(),
+                                                     new Class<?>[] { ScmProvider.class },
+                                                     new TimedScmProvider( provider, releaseMetrics ) );
+    }
+
+    @Override
+    public Object invoke( Object proxy, Method method, Object[] args )
+        throws Throwable
+    {
+        boolean command = ScmResult.class.isAssignableFrom( method.getReturnType() );
+        long start = System.currentTimeMillis();
+        try
+        {
+            return method.invoke( provider, args );
+        }
+        catch ( InvocationTargetException e )
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            if ( command )
+            {
+                releaseMetrics.recordScmCommand( provider.getScmType() + " " + method.getName(),
+                                                 System.currentTimeMillis() - start );
+            }
+        }
+    }
+}
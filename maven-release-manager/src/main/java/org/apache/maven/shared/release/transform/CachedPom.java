@@ -0,0 +1,66 @@
+package org.apache.maven.shared.release.transform;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The content of a POM as held by the {@link PomCache}, together with the documents parsed from it.
+ *
+ * @since 3.0.0
+ */
+public final class CachedPom
+{
+    private final String content;
+
+    private final Map<String, Object> documents = new ConcurrentHashMap<String, Object>();
+
+    public CachedPom( String content )
+    {
+        this.content = content;
+    }
+
+    /**
+     * @return the content of the POM, with normalized line separators
+     */
+    public String getContent()
+    {
+        return content;
+    }
+
+    /**
+     * @param parser the role hint of the parser, e.g. of the {@link ModelETLFactory}
+     * @return the document parsed from the content, which must not be modified, or <code>null</code>
+     */
+    public Object getDocument( String parser )
+    {
+        return documents.get( parser );
+    }
+
+    /**
+     * @param parser the role hint of the parser, e.g. of the {@link ModelETLFactory}
+     * @param document the document parsed from the content, which won't be modified anymore
+     */
+    public void setDocument( String parser, Object document )
+    {
+        documents.put( parser, document );
+    }
+}
@@ -0,0 +1,55 @@
+package org.apache.maven.shared.release.transform;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.shared.release.ReleaseExecutionException;
+
+/**
+ * A {@link ModelETL} which can tell whether the transformed model changes a file, so a file which already has this
+ * content is neither opened for editing nor written again.
+ *
+ * @since 3.0.0
+ */
+public interface ChangeAwareModelETL
+    extends ModelETL
+{
+    /**
+     * Renders the transformed model and compares it with a file, e.g. to prepare the file before
+     * {@link #loadChanged(File)} writes it. The model must not be changed afterwards.
+     *
+     * @param pomFile the file the model is going to be written to
+     * @return <code>true</code> if the file doesn't have this content yet
+     * @throws ReleaseExecutionException if the file could not be read
+     */
+    boolean isChanged( File pomFile )
+        throws ReleaseExecutionException;
+
+    /**
+     * Writes the model, like {@link #load(File)}, unless the file already has this content.
+     *
+     * @param pomFile the file to write the model to
+     * @return <code>true</code> if the file was written, <code>false</code> if it already had this content
+     * @throws ReleaseExecutionException if the file could not be written
+     */
+    boolean loadChanged( File pomFile )
+        throws ReleaseExecutionException;
+}
@@ -0,0 +1,186 @@
+package org.apache.maven.shared.release.transform;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.shared.release.metrics.ReleaseMetrics;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+
+/**
+ * Default implementation of the POM cache. POMs are keyed by canonical path and only reused if the size, modification
+ * time and SHA-1 hash of the file are unchanged. The hash guards against changes within the resolution of the
+ * modification time; reading the bytes is still much cheaper than decoding and parsing them.
+ *
+ * @since 3.0.0
+ */
+@Component( role = PomCache.class )
+public class DefaultPomCache
+    implements PomCache
+{
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Counts the bytes of the POMs read and written, may be <code>null</code>.
+     */
+    @Requirement
+    private ReleaseMetrics releaseMetrics;
+
+    @Override
+    public CachedPom read( File pomFile, String ls, String parser )
+        throws IOException
+    {
+        String path = pomFile.getCanonicalPath();
+        long lastModified = pomFile.lastModified();
+        byte[] bytes = Files.readAllBytes( pomFile.toPath() );
+        byte[] hash = hash( bytes );
+        if ( releaseMetrics != null )
+        {
+            releaseMetrics.recordBytesRead( bytes.length );
+        }
+
+        Entry entry = entries.get( path );
+        if ( entry != null && entry.matches( bytes.length, lastModified, hash, ls ) )
+        {
+            // only skipping the decoding is not worth mentioning, parsing is what takes the time
+            if ( entry.pom.getDocument( parser ) != null )
+            {
+                hits.incrementAndGet();
+            }
+            else
+            {
+                misses.incrementAndGet();
+            }
+            return entry.pom;
+        }
+        misses.incrementAndGet();
+
+        Reader reader = null;
+        String content;
+        try
+        {
+            reader = ReaderFactory.newXmlReader( new ByteArrayInputStream( bytes ) );
+            content = ReleaseUtil.normalizeLineEndings( IOUtil.toString( reader ), ls );
+        }
+        finally
+        {
+            IOUtil.close( reader );
+        }
+
+        CachedPom pom = new CachedPom( content );
+        entries.put( path, new Entry( pom, bytes.length, lastModified, hash, ls ) );
+        return pom;
+    }
+
+    @Override
+    public boolean write( File pomFile, CachedPom pom, String ls )
+        throws IOException
+    {
+        byte[] bytes = ReleaseUtil.encodeXml( pom.getContent() );
+        boolean written = ReleaseUtil.writeFile( pomFile, bytes );
+        if ( written && releaseMetrics != null )
+        {
+            releaseMetrics.recordBytesWritten( bytes.length );
+        }
+
+        entries.put( pomFile.getCanonicalPath(),
+                     new Entry( pom, bytes.length, pomFile.lastModified(), hash( bytes ), ls ) );
+        return written;
+    }
+
+    @Override
+    public int getHits()
+    {
+        return hits.get();
+    }
+
+    @Override
+    public int getMisses()
+    {
+        return misses.get();
+    }
+
+    @Override
+    public void clear()
+    {
+        entries.clear();
+        hits.set( 0 );
+        misses.set( 0 );
+    }
+
+    private static byte[] hash( byte[] bytes )
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-1" ).digest( bytes );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            // every Java platform is required to support SHA-1
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private static final class Entry
+    {
+        private final CachedPom pom;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final byte[] hash;
+
+        private final String ls;
+
+        Entry( CachedPom pom, long size, long lastModified, byte[] hash, String ls )
+        {
+            this.pom = pom;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.ls = ls;
+        }
+
+        boolean matches( long otherSize, long otherLastModified, byte[] otherHash, String otherLs )
+        {
+            return size == otherSize && lastModified == otherLastModified && Arrays.equals( hash, otherHash )
+                && ls.equals( otherLs );
+        }
+    }
+}
@@ -35,6 +35,8 @@ public class ModelETLRequest
     
     private ReleaseDescriptor releaseDescriptor;
 
+    private PomCache pomCache;
+
     public String getLineSeparator()
     {
         return lineSeparator;
@@ -64,4 +66,18 @@ public class ModelETLRequest
     {
         this.releaseDescriptor = releaseDescriptor;
     }
+
+    /**
+     * @return the cache to read and write the POM through, or <code>null</code> to always go to disk
+     * @since 3.0.0
+     */
+    public PomCache getPomCache()
+    {
+        return pomCache;
+    }
+
+    public void setPomCache( PomCache pomCache )
+    {
+        this.pomCache = pomCache;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.apache.maven.shared.release.transform;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Cache for the POMs read and written while running the phases of a release goal, so a POM which has not changed
+ * since it was last seen doesn't have to be decoded and parsed again. The cache is cleared by the release manager when
+ * a goal starts and ends.
+ *
+ * @since 3.0.0
+ */
+public interface PomCache
+{
+    /**
+     * Reads a POM. If it has the same path, size, modification time and content as when it was last read or written,
+     * the earlier result is returned, including any parsed documents stored with it.
+     *
+     * @param pomFile the POM to read
+     * @param ls the line separator to normalize the content to
+     * @param parser the role hint of the parser which is going to use the POM, e.g. of the {@link ModelETLFactory}
+     * @return the POM
+     * @throws IOException if the POM could not be read
+     */
+    CachedPom read( File pomFile, String ls, String parser )
+        throws IOException;
+
+    /**
+     * Writes a POM, unless it already has this content, and remembers it for a subsequent read. The documents stored
+     * with it must be the ones a parser would get from its content.
+     *
+     * @param pomFile the POM to write
+     * @param pom the POM, with line separators normalized to <code>ls</code>
+     * @param ls the line separator used by the content
+     * @return <code>true</code> if the POM was written, <code>false</code> if it already had this content
+     * @throws IOException if the POM could not be written
+     */
+    boolean write( File pomFile, CachedPom pom, String ls )
+        throws IOException;
+
+    /**
+     * @return the number of reads which could reuse the document parsed for the parser
+     */
+    int getHits();
+
+    /**
+     * @return the number of reads which had to parse the POM
+     */
+    int getMisses();
+
+    /**
+     * Forgets all POMs and resets the statistics.
+     */
+    void clear();
+}
@@ -23,19 +23,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.io.Writer;
 import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
-import org.apache.maven.shared.release.transform.ModelETL;
+import org.apache.maven.shared.release.transform.CachedPom;
+import org.apache.maven.shared.release.transform.ChangeAwareModelETL;
+import org.apache.maven.shared.release.transform.PomCache;
 import org.apache.maven.shared.release.util.ReleaseUtil;
-import org.codehaus.plexus.util.IOUtil;
-import org.codehaus.plexus.util.WriterFactory;
 import org.jdom.CDATA;
 import org.jdom.Comment;
 import org.jdom.Document;
@@ -54,7 +51,7 @@ import org.jdom.output.XMLOutputter;
  * @author Robert Scholte
  * @since 3.0
  */
-public class JDomModelETL implements ModelETL
+public class JDomModelETL implements ChangeAwareModelETL
 {
     private ReleaseDescriptor releaseDescriptor;
     
@@ -67,6 +64,13 @@ public class JDomModelETL implements ModelETL
     
     private String ls = ReleaseUtil.LS;
 
+    /**
+     * The transformed POM as rendered by {@link #isChanged(File)}, until it is loaded.
+     */
+    private String rendered;
+
+    private PomCache pomCache;
+
     public void setLs( String ls )
     {
         this.ls = ls;
@@ -81,12 +85,35 @@ public class JDomModelETL implements ModelETL
     {
         this.project = project;
     }
+
+    public void setPomCache( PomCache pomCache )
+    {
+        this.pomCache = pomCache;
+    }
     
     public void extract( File pomFile ) throws ReleaseExecutionException
     {
         try
         {
-            String content = ReleaseUtil.readXmlFile( pomFile, ls );
+            String content;
+            if ( pomCache != null )
+            {
+                CachedPom cachedPom = pomCache.read( pomFile, ls, JDomModelETLFactory.ROLE_HINT );
+                ParsedPom parsed = (ParsedPom) cachedPom.getDocument( JDomModelETLFactory.ROLE_HINT );
+                if ( parsed != null )
+                {
+                    // the cached document is shared, so every phase transforms its own copy
+                    document = (Document) parsed.document.clone();
+                    intro = parsed.intro;
+                    outtro = parsed.outtro;
+                    return;
+                }
+                content = cachedPom.getContent();
+            }
+            else
+            {
+                content = ReleaseUtil.readXmlFile( pomFile, ls );
+            }
             // we need to eliminate any extra whitespace inside elements, as JDOM will nuke it
             content = content.replaceAll( "<([^!][^>]*?)\\s{2,}([^>]*?)>", "<$1 $2>" );
             content = content.replaceAll( "(\\s{2,}|[^\\s])/>", "$1 />" );
@@ -94,51 +121,17 @@ public class JDomModelETL implements ModelETL
             SAXBuilder builder = new SAXBuilder();
             document = builder.build( new StringReader( content ) );
 
-            // Normalize line endings to platform's style (XML processors like JDOM normalize line endings to "\n" as
-            // per section 2.11 of the XML spec)
+            // Normalize line endings to platform's style (XML processors like JDOM normalize line endings to "\n"
+            // as per section 2.11 of the XML spec)
             normaliseLineEndings( document );
 
-            // rewrite DOM as a string to find differences, since text outside the root element is not tracked
-            StringWriter w = new StringWriter();
-            Format format = Format.getRawFormat();
-            format.setLineSeparator( ls );
-            XMLOutputter out = new XMLOutputter( format );
-            out.output( document.getRootElement(), w );
-
-            int index = content.indexOf( w.toString() );
-            if ( index >= 0 )
+            // text outside the root element is not tracked by JDOM, so keep it as is
+            int rootStart = getRootElementStart( content );
+            int rootEnd = getRootElementEnd( content );
+            if ( rootStart >= 0 && rootEnd > rootStart )
             {
-                intro = content.substring( 0, index );
-                outtro = content.substring( index + w.toString().length() );
-            }
-            else
-            {
-                /*
-                 * NOTE: Due to whitespace, attribute reordering or entity expansion the above indexOf test can easily
-                 * fail. So let's try harder. Maybe some day, when JDOM offers a StaxBuilder and this builder employes
-                 * XMLInputFactory2.P_REPORT_PROLOG_WHITESPACE, this whole mess can be avoided.
-                 */
-                // CHECKSTYLE_OFF: LocalFinalVariableName
-                final String SPACE = "\\s++";
-                final String XML = "<\\?(?:(?:[^\"'>]++)|(?:\"[^\"]*+\")|(?:'[^\']*+'))*+>";
-                final String INTSUB = "\\[(?:(?:[^\"'\\]]++)|(?:\"[^\"]*+\")|(?:'[^\']*+'))*+\\]";
-                final String DOCTYPE =
-                    "<!DOCTYPE(?:(?:[^\"'\\[>]++)|(?:\"[^\"]*+\")|(?:'[^\']*+')|(?:" + INTSUB + "))*+>";
-                final String PI = XML;
-                final String COMMENT = "<!--(?:[^-]|(?:-[^-]))*+-->";
-
-                final String INTRO =
-                    "(?:(?:" + SPACE + ")|(?:" + XML + ")|(?:" + DOCTYPE + ")|(?:" + COMMENT + ")|(?:" + PI + "))*";
-                final String OUTRO = "(?:(?:" + SPACE + ")|(?:" + COMMENT + ")|(?:" + PI + "))*";
-                final String POM = "(?s)(" + INTRO + ")(.*?)(" + OUTRO + ")";
-                // CHECKSTYLE_ON: LocalFinalVariableName
-
-                Matcher matcher = Pattern.compile( POM ).matcher( content );
-                if ( matcher.matches() )
-                {
-                    intro = matcher.group( 1 );
-                    outtro = matcher.group( matcher.groupCount() );
-                }
+                intro = content.substring( 0, rootStart );
+                outtro = content.substring( rootEnd );
             }
         }
         catch ( JDOMException e )
@@ -156,9 +149,44 @@ public class JDomModelETL implements ModelETL
         
     }
     
+    public boolean isChanged( File pomFile ) throws ReleaseExecutionException
+    {
+        try
+        {
+            rendered = render();
+            return !ReleaseUtil.hasContent( pomFile, ReleaseUtil.encodeXml( rendered ) );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Error reading POM: " + e.getMessage(), e );
+        }
+    }
+
     public void load( File targetFile ) throws ReleaseExecutionException
     {
-        writePom( targetFile, document, releaseDescriptor, project.getModelVersion(), intro, outtro );
+        loadChanged( targetFile );
+    }
+
+    public boolean loadChanged( File targetFile ) throws ReleaseExecutionException
+    {
+        String content = rendered != null ? rendered : render();
+        rendered = null;
+        try
+        {
+            if ( pomCache != null )
+            {
+                // the next phase can carry on with the transformed document instead of parsing what was written;
+                // it is only stored here, as the document read is transformed, and isn't changed after loading
+                CachedPom cachedPom = new CachedPom( content );
+                cachedPom.setDocument( JDomModelETLFactory.ROLE_HINT, new ParsedPom( document, intro, outtro ) );
+                return pomCache.write( targetFile, cachedPom, ls );
+            }
+            return ReleaseUtil.writeXmlFile( targetFile, content );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Error writing POM: " + e.getMessage(), e );
+        }
     }
     
     @Override
@@ -167,6 +195,128 @@ public class JDomModelETL implements ModelETL
         return new JDomModel( document );
     }
     
+    /**
+     * Scans the prolog of the POM, i.e. whitespace, the XML declaration, the document type declaration, comments and
+     * processing instructions.
+     *
+     * @param content the POM
+     * @return the offset of the start tag of the root element, or <code>-1</code> if it could not be determined
+     * @since 3.0.0
+     */
+    public static int getRootElementStart( String content )
+    {
+        int pos = 0;
+        while ( pos >= 0 && pos < content.length() )
+        {
+            char c = content.charAt( pos );
+            if ( Character.isWhitespace( c ) || c == '\uFEFF' )
+            {
+                pos++;
+            }
+            else if ( content.startsWith( "<!--", pos ) )
+            {
+                pos = skip( content, pos + 4, "-->" );
+            }
+            else if ( content.startsWith( "<?", pos ) )
+            {
+                pos = skip( content, pos + 2, "?>" );
+            }
+            else if ( content.startsWith( "<!DOCTYPE", pos ) )
+            {
+                pos = skipDoctype( content, pos + 9 );
+            }
+            else
+            {
+                return c == '<' ? pos : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scans the epilog of the POM backwards, i.e. whitespace, comments and processing instructions.
+     *
+     * @param content the POM
+     * @return the offset directly after the end tag of the root element, or <code>-1</code> if it could not be
+     *         determined
+     * @since 3.0.0
+     */
+    public static int getRootElementEnd( String content )
+    {
+        int pos = content.length();
+        while ( pos > 0 )
+        {
+            char c = content.charAt( pos - 1 );
+            if ( Character.isWhitespace( c ) )
+            {
+                pos--;
+            }
+            else if ( content.startsWith( "-->", pos - 3 ) )
+            {
+                // comments can't contain "--", so the last start of a comment belongs to this end
+                pos = content.lastIndexOf( "<!--", pos - 3 );
+            }
+            else if ( content.startsWith( "?>", pos - 2 ) )
+            {
+                pos = content.lastIndexOf( "<?", pos - 2 );
+            }
+            else
+            {
+                return c == '>' ? pos : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skip( String content, int pos, String terminator )
+    {
+        int index = content.indexOf( terminator, pos );
+        return index < 0 ? -1 : index + terminator.length();
+    }
+
+    private static int skipDoctype( String content, int pos )
+    {
+        char quote = 0;
+        boolean internalSubset = false;
+        for ( int i = pos; i < content.length(); i++ )
+        {
+            char c = content.charAt( i );
+            if ( quote != 0 )
+            {
+                if ( c == quote )
+                {
+                    quote = 0;
+                }
+            }
+            else if ( c == '"' || c == '\'' )
+            {
+                quote = c;
+            }
+            else if ( internalSubset && content.startsWith( "<!--", i ) )
+            {
+                i = content.indexOf( "-->", i + 4 );
+                if ( i < 0 )
+                {
+                    return -1;
+                }
+                i += 2;
+            }
+            else if ( c == '[' )
+            {
+                internalSubset = true;
+            }
+            else if ( c == ']' )
+            {
+                internalSubset = false;
+            }
+            else if ( c == '>' && !internalSubset )
+            {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
     private void normaliseLineEndings( Document document )
     {
         for ( Iterator<?> i = document.getDescendants( new ContentFilter( ContentFilter.COMMENT ) ); i.hasNext(); )
@@ -181,14 +331,14 @@ public class JDomModelETL implements ModelETL
         }
     }
     
-    private void writePom( File pomFile, Document document, ReleaseDescriptor releaseDescriptor, String modelVersion,
-                           String intro, String outtro )
+    private String render()
         throws ReleaseExecutionException
     {
         Element rootElement = document.getRootElement();
 
         if ( releaseDescriptor.isAddSchema() )
         {
+            String modelVersion = project.getModelVersion();
             Namespace pomNamespace = Namespace.getNamespace( "", "http://maven.apache.org/POM/" + modelVersion );
             rootElement.setNamespace( pomNamespace );
             Namespace xsiNamespace = Namespace.getNamespace( "xsi", "http://www.w3.org/2001/XMLSchema-instance" );
@@ -209,11 +359,10 @@ public class JDomModelETL implements ModelETL
             }
         }
 
-        Writer writer = null;
+        // render into memory first, so an unchanged POM doesn't have to be written at all
+        StringWriter writer = new StringWriter();
         try
         {
-            writer = WriterFactory.newXmlWriter( pomFile );
-
             if ( intro != null )
             {
                 writer.write( intro );
@@ -222,7 +371,7 @@ public class JDomModelETL implements ModelETL
             Format format = Format.getRawFormat();
             format.setLineSeparator( ls );
             XMLOutputter out = new XMLOutputter( format );
-            out.output( document.getRootElement(), writer );
+            out.output( rootElement, writer );
 
             if ( outtro != null )
             {
@@ -233,10 +382,25 @@ public class JDomModelETL implements ModelETL
         {
             throw new ReleaseExecutionException( "Error writing POM: " + e.getMessage(), e );
         }
-        finally
+        return writer.toString();
+    }
+
+    /**
+     * The document parsed from a cached POM, with the text outside the root element.
+     */
+    private static final class ParsedPom
+    {
+        private final Document document;
+
+        private final String intro;
+
+        private final String outtro;
+
+        ParsedPom( Document document, String intro, String outtro )
         {
-            IOUtil.close( writer );
+            this.document = document;
+            this.intro = intro;
+            this.outtro = outtro;
         }
     }
-
 }
@@ -40,6 +40,7 @@ public class JDomModelETLFactory implements ModelETLFactory
         result.setLs( request.getLineSeparator() );
         result.setProject( request.getProject() );
         result.setReleaseDescriptor( request.getReleaseDescriptor() );
+        result.setPomCache( request.getPomCache() );
         
         return result;
     }
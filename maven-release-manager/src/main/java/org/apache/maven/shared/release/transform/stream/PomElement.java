@@ -0,0 +1,641 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An element of a POM, located by its offsets in the original text. Changes are only recorded on the element; when
+ * the POM is written the original text is copied and just the changed spans are replaced.
+ *
+ * @since 3.0.0
+ */
+final class PomElement
+{
+    private static final int TEXT = 0, CDATA = 1, OTHER = 2;
+
+    /** The complete POM, <code>null</code> for added elements. */
+    private final String text;
+
+    private final String ls;
+
+    private final PomElement parent;
+
+    private final String qualifiedName;
+
+    private final String name;
+
+    private final int start;
+
+    private int contentStart;
+
+    private int contentEnd;
+
+    private int end;
+
+    private boolean empty;
+
+    private List<PomElement> children;
+
+    // changes
+
+    private String value;
+
+    private int valueStart;
+
+    private int valueEnd;
+
+    private String valueText;
+
+    private boolean removed;
+
+    private String attributes;
+
+    /** Elements added to the end of the content. */
+    private List<PomElement> appended;
+
+    /** Elements added directly after this element. */
+    private List<PomElement> following;
+
+    /** Text written before and after an added element. */
+    private String before, after;
+
+    PomElement( String text, String ls, PomElement parent, String qualifiedName, int start )
+    {
+        this.text = text;
+        this.ls = ls;
+        this.parent = parent;
+        this.qualifiedName = qualifiedName;
+        this.name = qualifiedName.substring( qualifiedName.indexOf( ':' ) + 1 );
+        this.start = start;
+    }
+
+    void setEmpty( int end )
+    {
+        this.contentStart = end;
+        this.contentEnd = end;
+        this.end = end;
+        this.empty = true;
+    }
+
+    void setContentStart( int contentStart )
+    {
+        this.contentStart = contentStart;
+    }
+
+    void setContentEnd( int contentEnd, int end )
+    {
+        this.contentEnd = contentEnd;
+        this.end = end;
+    }
+
+    void addChild( PomElement child )
+    {
+        if ( children == null )
+        {
+            children = new ArrayList<PomElement>();
+        }
+        children.add( child );
+    }
+
+    String getName()
+    {
+        return name;
+    }
+
+    String getQualifiedName()
+    {
+        return qualifiedName;
+    }
+
+    String getLineSeparator()
+    {
+        return ls;
+    }
+
+    /**
+     * @return the start tag as written in the POM
+     */
+    String getStartTag()
+    {
+        return text.substring( start, empty ? end : contentStart );
+    }
+
+    PomElement getChild( String childName )
+    {
+        for ( PomElement child : getChildren() )
+        {
+            if ( child.name.equals( childName ) )
+            {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    List<PomElement> getChildren( String childName )
+    {
+        List<PomElement> result = new ArrayList<PomElement>();
+        for ( PomElement child : getChildren() )
+        {
+            if ( child.name.equals( childName ) )
+            {
+                result.add( child );
+            }
+        }
+        return result;
+    }
+
+    private List<PomElement> getChildren()
+    {
+        if ( children == null && appended == null )
+        {
+            return Collections.emptyList();
+        }
+
+        List<PomElement> result = new ArrayList<PomElement>();
+        if ( children != null )
+        {
+            for ( PomElement child : children )
+            {
+                if ( !child.removed )
+                {
+                    result.add( child );
+                }
+                if ( child.following != null )
+                {
+                    result.addAll( child.following );
+                }
+            }
+        }
+        if ( appended != null )
+        {
+            result.addAll( appended );
+        }
+        return result;
+    }
+
+    String getChildTextTrim( String childName )
+    {
+        PomElement child = getChild( childName );
+        return child != null ? child.getTextTrim() : null;
+    }
+
+    /**
+     * @return the text of this element without its child elements, comments and surrounding whitespace
+     */
+    String getTextTrim()
+    {
+        if ( value != null )
+        {
+            return value.trim();
+        }
+        if ( text == null )
+        {
+            return "";
+        }
+
+        StringBuilder buffer = new StringBuilder();
+        for ( int pos = contentStart; pos < contentEnd; pos = chunkEnd( pos ) )
+        {
+            int kind = chunkKind( pos );
+            if ( kind != OTHER )
+            {
+                buffer.append( chunkText( pos, kind ) );
+            }
+        }
+        return buffer.toString().trim();
+    }
+
+    /**
+     * Updates the text value of this element, preserving any whitespace and comments around the original text value.
+     *
+     * @param newValue the text to set, must not be <code>null</code>
+     */
+    void rewriteValue( String newValue )
+    {
+        value = newValue;
+        if ( text == null )
+        {
+            return;
+        }
+
+        if ( empty )
+        {
+            // <name/> becomes <name>value</name>
+            valueStart = end - 2;
+            valueEnd = end;
+            valueText = ">" + escape( newValue ) + "</" + qualifiedName + ">";
+            return;
+        }
+
+        // as JDom: the first non-blank text and its adjacent text nodes are replaced, keeping the outer whitespace
+        int first = -1;
+        int last = -1;
+        boolean cdata = false;
+        StringBuilder chars = new StringBuilder();
+        for ( int pos = contentStart; pos < contentEnd; pos = chunkEnd( pos ) )
+        {
+            int kind = chunkKind( pos );
+            if ( kind == OTHER )
+            {
+                if ( first >= 0 )
+                {
+                    break;
+                }
+                continue;
+            }
+
+            String chunk = chunkText( pos, kind );
+            if ( first < 0 )
+            {
+                if ( chunk.trim().length() == 0 )
+                {
+                    continue;
+                }
+                first = pos;
+                cdata = kind == CDATA;
+            }
+            chars.append( chunk );
+            last = chunkEnd( pos );
+        }
+
+        if ( first < 0 )
+        {
+            valueStart = contentEnd;
+            valueEnd = contentEnd;
+            valueText = escape( newValue );
+        }
+        else
+        {
+            String trimmed = chars.toString().trim();
+            int idx = chars.indexOf( trimmed );
+            String replacement = chars.substring( 0, idx ) + newValue + chars.substring( idx + trimmed.length() );
+
+            valueStart = first;
+            valueEnd = last;
+            valueText = cdata ? "<![CDATA[" + replacement + "]]>" : escape( replacement );
+        }
+    }
+
+    /**
+     * Updates, removes or adds the child element with the given name.
+     *
+     * @param childName the name of the child element
+     * @param newValue the text to set, or <code>null</code> to remove the child element
+     * @return the child element, or <code>null</code> if it does not exist (anymore)
+     */
+    PomElement rewriteElement( String childName, String newValue )
+    {
+        PomElement child = getChild( childName );
+        if ( child != null )
+        {
+            if ( newValue != null )
+            {
+                child.rewriteValue( newValue );
+            }
+            else
+            {
+                child.remove();
+                child = null;
+            }
+        }
+        else if ( newValue != null )
+        {
+            child = append( childName, "  ", ls + "  " );
+            child.rewriteValue( newValue );
+        }
+        return child;
+    }
+
+    /**
+     * Removes this element together with the whitespace in front of it.
+     */
+    void remove()
+    {
+        if ( text != null )
+        {
+            removed = true;
+        }
+        else if ( parent.appended != null )
+        {
+            parent.appended.remove( this );
+        }
+    }
+
+    /**
+     * Adds an element to the end of the content of this element.
+     *
+     * @param childName the name of the new element
+     * @param textBefore the text to write in front of the new element
+     * @param textAfter the text to write after the new element
+     * @return the new element
+     */
+    PomElement append( String childName, String textBefore, String textAfter )
+    {
+        PomElement child = newElement( this, childName, textBefore, textAfter );
+        if ( appended == null )
+        {
+            appended = new ArrayList<PomElement>();
+        }
+        appended.add( child );
+        return child;
+    }
+
+    /**
+     * Adds an element directly after this element.
+     *
+     * @param siblingName the name of the new element
+     * @param textBefore the text to write in front of the new element
+     * @return the new element
+     */
+    PomElement insertAfter( String siblingName, String textBefore )
+    {
+        PomElement sibling = newElement( parent, siblingName, textBefore, "" );
+        if ( following == null )
+        {
+            following = new ArrayList<PomElement>();
+        }
+        following.add( sibling );
+        return sibling;
+    }
+
+    private PomElement newElement( PomElement elementParent, String elementName, String textBefore, String textAfter )
+    {
+        PomElement element = new PomElement( null, ls, elementParent, elementName, -1 );
+        element.before = textBefore;
+        element.after = textAfter;
+        return element;
+    }
+
+    /**
+     * Sets the attributes to add to the start tag of this element.
+     *
+     * @param newAttributes the attributes, starting with a space
+     */
+    void setAddedAttributes( String newAttributes )
+    {
+        attributes = newAttributes;
+    }
+
+    /**
+     * Writes the part of the POM up to the end of this element, with all changes applied.
+     *
+     * @param out the buffer to write to
+     * @param pos the position in the POM up to which the text has been written
+     * @return the position in the POM up to which the text has been written now
+     */
+    int write( StringBuilder out, int pos )
+    {
+        if ( removed )
+        {
+            int from = start;
+            while ( from > pos && Character.isWhitespace( text.charAt( from - 1 ) ) )
+            {
+                from--;
+            }
+            out.append( text, pos, from );
+            return end;
+        }
+
+        if ( attributes != null )
+        {
+            int nameEnd = start + 1 + qualifiedName.length();
+            out.append( text, pos, nameEnd ).append( attributes );
+            pos = nameEnd;
+        }
+
+        if ( valueText != null )
+        {
+            out.append( text, pos, valueStart ).append( valueText );
+            pos = valueEnd;
+        }
+        else if ( children != null )
+        {
+            for ( PomElement child : children )
+            {
+                pos = child.write( out, pos );
+            }
+        }
+
+        if ( appended != null && !appended.isEmpty() )
+        {
+            if ( empty )
+            {
+                out.append( text, pos, end - 2 ).append( '>' );
+                appendAll( out, appended );
+                out.append( "</" ).append( qualifiedName ).append( '>' );
+            }
+            else
+            {
+                out.append( text, pos, contentEnd );
+                appendAll( out, appended );
+            }
+            pos = empty ? end : contentEnd;
+        }
+
+        if ( following != null )
+        {
+            out.append( text, pos, end );
+            appendAll( out, following );
+            pos = end;
+        }
+        return pos;
+    }
+
+    private static void appendAll( StringBuilder out, List<PomElement> elements )
+    {
+        for ( PomElement element : elements )
+        {
+            out.append( element.before );
+            element.serialize( out );
+            out.append( element.after );
+        }
+    }
+
+    private void serialize( StringBuilder out )
+    {
+        out.append( '<' ).append( qualifiedName ).append( '>' );
+        if ( value != null )
+        {
+            out.append( escape( value ) );
+        }
+        if ( appended != null )
+        {
+            // as JDomModel.setScm()
+            out.append( ls ).append( "  " );
+            appendAll( out, appended );
+        }
+        out.append( "</" ).append( qualifiedName ).append( '>' );
+    }
+
+    private int chunkKind( int pos )
+    {
+        if ( text.charAt( pos ) != '<' )
+        {
+            return TEXT;
+        }
+        return text.startsWith( "<![CDATA[", pos ) ? CDATA : OTHER;
+    }
+
+    private int chunkEnd( int pos )
+    {
+        if ( text.charAt( pos ) != '<' )
+        {
+            int next = text.indexOf( '<', pos );
+            return next < 0 || next > contentEnd ? contentEnd : next;
+        }
+        if ( text.startsWith( "<!--", pos ) )
+        {
+            return text.indexOf( "-->", pos + 4 ) + 3;
+        }
+        if ( text.startsWith( "<![CDATA[", pos ) )
+        {
+            return text.indexOf( "]]>", pos + 9 ) + 3;
+        }
+        if ( text.startsWith( "<?", pos ) )
+        {
+            return text.indexOf( "?>", pos + 2 ) + 2;
+        }
+        if ( children != null )
+        {
+            for ( PomElement child : children )
+            {
+                if ( child.start == pos )
+                {
+                    return child.end;
+                }
+            }
+        }
+        throw new IllegalStateException( "No element at offset " + pos );
+    }
+
+    private String chunkText( int pos, int kind )
+    {
+        if ( kind == CDATA )
+        {
+            return text.substring( pos + 9, chunkEnd( pos ) - 3 );
+        }
+        return unescape( text.substring( pos, chunkEnd( pos ) ) );
+    }
+
+    static String escape( String value )
+    {
+        StringBuilder buffer = null;
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            String entity;
+            switch ( c )
+            {
+                case '&':
+                    entity = "&amp;";
+                    break;
+                case '<':
+                    entity = "&lt;";
+                    break;
+                case '>':
+                    entity = "&gt;";
+                    break;
+                default:
+                    entity = null;
+            }
+
+            if ( entity != null && buffer == null )
+            {
+                buffer = new StringBuilder( value.length() + 8 ).append( value, 0, i );
+            }
+            if ( buffer != null )
+            {
+                if ( entity != null )
+                {
+                    buffer.append( entity );
+                }
+                else
+                {
+                    buffer.append( c );
+                }
+            }
+        }
+        return buffer != null ? buffer.toString() : value;
+    }
+
+    static String unescape( String value )
+    {
+        int amp = value.indexOf( '&' );
+        if ( amp < 0 )
+        {
+            return value;
+        }
+
+        StringBuilder buffer = new StringBuilder( value.length() );
+        int pos = 0;
+        while ( amp >= 0 )
+        {
+            int semicolon = value.indexOf( ';', amp );
+            if ( semicolon < 0 )
+            {
+                break;
+            }
+            buffer.append( value, pos, amp );
+
+            String entity = value.substring( amp + 1, semicolon );
+            if ( "amp".equals( entity ) )
+            {
+                buffer.append( '&' );
+            }
+            else if ( "lt".equals( entity ) )
+            {
+                buffer.append( '<' );
+            }
+            else if ( "gt".equals( entity ) )
+            {
+                buffer.append( '>' );
+            }
+            else if ( "quot".equals( entity ) )
+            {
+                buffer.append( '"' );
+            }
+            else if ( "apos".equals( entity ) )
+            {
+                buffer.append( '\'' );
+            }
+            else if ( entity.startsWith( "#x" ) )
+            {
+                buffer.appendCodePoint( Integer.parseInt( entity.substring( 2 ), 16 ) );
+            }
+            else if ( entity.startsWith( "#" ) )
+            {
+                buffer.appendCodePoint( Integer.parseInt( entity.substring( 1 ) ) );
+            }
+            else
+            {
+                // entity declared in the DTD, left as is
+                buffer.append( value, amp, semicolon + 1 );
+            }
+            pos = semicolon + 1;
+            amp = value.indexOf( '&', pos );
+        }
+        buffer.append( value, pos, value.length() );
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,233 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Single pass scanner which locates the elements of a POM, without building any other structure. It works on the
+ * character offsets of the decoded POM rather than on the events of an XML parser, so the text between the elements
+ * can be written back exactly as it was read. Comments, CDATA sections, processing instructions and the document type
+ * declaration, including its internal subset, are skipped.
+ *
+ * @since 3.0.0
+ */
+final class PomParser
+{
+    private PomParser()
+    {
+        // noop
+    }
+
+    /**
+     * @param text the POM
+     * @param ls the line separator to use for added content
+     * @return the root element
+     * @throws IOException if the POM is not well-formed
+     */
+    static PomElement parse( String text, String ls )
+        throws IOException
+    {
+        Deque<PomElement> open = new ArrayDeque<PomElement>();
+        PomElement root = null;
+
+        int pos = text.indexOf( '<' );
+        while ( pos >= 0 )
+        {
+            if ( text.startsWith( "<!--", pos ) )
+            {
+                pos = skip( text, pos, "-->" );
+            }
+            else if ( text.startsWith( "<![CDATA[", pos ) )
+            {
+                pos = skip( text, pos, "]]>" );
+            }
+            else if ( text.startsWith( "<?", pos ) )
+            {
+                pos = skip( text, pos, "?>" );
+            }
+            else if ( text.startsWith( "<!", pos ) )
+            {
+                if ( root != null )
+                {
+                    throw new IOException( "Unexpected declaration after the root element start at offset " + pos );
+                }
+                pos = skipDoctype( text, pos );
+            }
+            else if ( text.startsWith( "</", pos ) )
+            {
+                int tagEnd = skip( text, pos, ">" );
+                String name = text.substring( pos + 2, tagEnd - 1 ).trim();
+                PomElement element = open.poll();
+                if ( element == null || !name.equals( element.getQualifiedName() ) )
+                {
+                    throw new IOException( "Unexpected end tag </" + name + "> at offset " + pos );
+                }
+                element.setContentEnd( pos, tagEnd );
+                pos = tagEnd;
+            }
+            else
+            {
+                int tagEnd = skipTag( text, pos );
+                int nameEnd = pos + 1;
+                while ( nameEnd < tagEnd - 1 && !isTagDelimiter( text.charAt( nameEnd ) ) )
+                {
+                    nameEnd++;
+                }
+
+                PomElement parent = open.peek();
+                if ( parent == null && root != null )
+                {
+                    throw new IOException( "Unexpected element after the root element at offset " + pos );
+                }
+
+                PomElement element = new PomElement( text, ls, parent, text.substring( pos + 1, nameEnd ), pos );
+                if ( parent == null )
+                {
+                    root = element;
+                }
+                else
+                {
+                    parent.addChild( element );
+                }
+
+                if ( text.charAt( tagEnd - 2 ) == '/' )
+                {
+                    element.setEmpty( tagEnd );
+                }
+                else
+                {
+                    // the end of the content is only known once the end tag has been found
+                    element.setContentStart( tagEnd );
+                    open.push( element );
+                }
+                pos = tagEnd;
+            }
+            pos = text.indexOf( '<', pos );
+        }
+
+        if ( root == null )
+        {
+            throw new IOException( "No root element" );
+        }
+        if ( !open.isEmpty() )
+        {
+            throw new IOException( "Missing end tag for <" + open.peek().getName() + ">" );
+        }
+        return root;
+    }
+
+    private static boolean isTagDelimiter( char c )
+    {
+        return Character.isWhitespace( c ) || c == '/' || c == '>';
+    }
+
+    /**
+     * @return the offset directly after <code>terminator</code>
+     */
+    private static int skip( String text, int pos, String terminator )
+        throws IOException
+    {
+        int index = text.indexOf( terminator, pos + 1 );
+        if ( index < 0 )
+        {
+            throw new IOException( "Missing '" + terminator + "' for markup at offset " + pos );
+        }
+        return index + terminator.length();
+    }
+
+    /**
+     * @return the offset directly after the start tag, where <code>&gt;</code> in attribute values is skipped
+     */
+    private static int skipTag( String text, int pos )
+        throws IOException
+    {
+        char quote = 0;
+        for ( int i = pos + 1; i < text.length(); i++ )
+        {
+            char c = text.charAt( i );
+            if ( quote != 0 )
+            {
+                if ( c == quote )
+                {
+                    quote = 0;
+                }
+            }
+            else if ( c == '"' || c == '\'' )
+            {
+                quote = c;
+            }
+            else if ( c == '>' )
+            {
+                return i + 1;
+            }
+        }
+        throw new IOException( "Unterminated start tag at offset " + pos );
+    }
+
+    /**
+     * @return the offset directly after the document type declaration, including any internal subset, where quoted
+     *         literals, comments and processing instructions are skipped
+     */
+    private static int skipDoctype( String text, int pos )
+        throws IOException
+    {
+        char quote = 0;
+        int depth = 0;
+        for ( int i = pos + 2; i < text.length(); i++ )
+        {
+            char c = text.charAt( i );
+            if ( quote != 0 )
+            {
+                if ( c == quote )
+                {
+                    quote = 0;
+                }
+            }
+            else if ( c == '"' || c == '\'' )
+            {
+                quote = c;
+            }
+            else if ( depth > 0 && text.startsWith( "<!--", i ) )
+            {
+                i = skip( text, i, "-->" ) - 1;
+            }
+            else if ( depth > 0 && text.startsWith( "<?", i ) )
+            {
+                i = skip( text, i, "?>" ) - 1;
+            }
+            else if ( c == '[' )
+            {
+                depth++;
+            }
+            else if ( c == ']' )
+            {
+                depth--;
+            }
+            else if ( c == '>' && depth == 0 )
+            {
+                return i + 1;
+            }
+        }
+        throw new IOException( "Unterminated declaration at offset " + pos );
+    }
+}
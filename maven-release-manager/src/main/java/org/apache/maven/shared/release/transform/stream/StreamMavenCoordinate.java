@@ -0,0 +1,80 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.shared.release.transform.MavenCoordinate;
+
+/**
+ * 
+ * @since 3.0.0
+ */
+public class StreamMavenCoordinate implements MavenCoordinate
+{
+    private final PomElement element;
+    
+    public StreamMavenCoordinate( PomElement elm )
+    {
+        this.element = elm;
+    }
+
+    @Override
+    public String getGroupId()
+    {
+        return element.getChildTextTrim( "groupId" );
+    }
+
+    @Override
+    public String getArtifactId()
+    {
+        return element.getChildTextTrim( "artifactId" );
+    }
+
+    @Override
+    public String getVersion()
+    {
+        PomElement version = getVersionElement();
+        if ( version == null )
+        {
+            return null;
+        }
+        else
+        {
+            return version.getTextTrim();
+        }
+        
+    }
+    
+    private PomElement getVersionElement()
+    {
+        return element.getChild( "version" );
+    }
+    
+    @Override
+    public void setVersion( String version )
+    {
+        getVersionElement().rewriteValue( version );
+    }
+    
+    @Override
+    public String getName()
+    {
+        return element.getName();
+    }
+}
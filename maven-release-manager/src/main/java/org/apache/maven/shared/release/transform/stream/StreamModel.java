@@ -0,0 +1,220 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.model.Scm;
+
+/**
+ * Streaming implementation of poms PROJECT element
+ * 
+ * @since 3.0.0
+ */
+public class StreamModel extends Model
+{
+    private final PomElement project;
+    
+    private final StreamModelBase modelBase;
+    
+    public StreamModel( PomElement project )
+    {
+        this.project = project;
+        this.modelBase = new StreamModelBase( project );
+    }
+
+    @Override
+    public Build getBuild()
+    {
+        return modelBase.getBuild();
+    }
+    
+    @Override
+    public List<Dependency> getDependencies()
+    {
+        return modelBase.getDependencies();
+    }
+    
+    @Override
+    public DependencyManagement getDependencyManagement()
+    {
+        return modelBase.getDependencyManagement();
+    }
+    
+    @Override
+    public Parent getParent()
+    {
+        PomElement elm = getParentElement();
+        if ( elm == null )
+        {
+            return null;
+        }
+        else
+        {
+            // this way scm setters record their changes immediately
+            return new StreamParent( elm );
+        }
+    }
+
+    private PomElement getParentElement()
+    {
+        return project.getChild( "parent" );
+    }
+    
+    @Override
+    public List<Profile> getProfiles()
+    {
+        PomElement profilesElm = project.getChild( "profiles" );
+        if ( profilesElm == null )
+        {
+            return Collections.emptyList();
+        }
+        else
+        {
+            List<PomElement> profileElms = profilesElm.getChildren( "profile" );
+
+            List<Profile> profiles = new ArrayList<Profile>( profileElms.size() );
+
+            for ( PomElement profileElm : profileElms )
+            {
+                profiles.add( new StreamProfile( profileElm ) );
+            }
+
+            return profiles;
+        }
+    }
+    
+    
+    @Override
+    public Properties getProperties()
+    {
+        PomElement properties = project.getChild( "properties" );
+        
+        if ( properties == null )
+        {
+            return null;
+        }
+        else
+        {
+            return new StreamProperties( properties );
+        }
+    }
+    
+    @Override
+    public Reporting getReporting()
+    {
+        PomElement reporting = project.getChild( "reporting" );
+        
+        if ( reporting == null )
+        {
+            return null;
+        }
+        else
+        {
+            return new StreamReporting( reporting );
+        }
+    }
+    
+    @Override
+    public void setScm( Scm scm )
+    {
+        if ( scm == null )
+        {
+            project.rewriteElement( "scm", null );
+        }
+        else
+        {
+            String ls = project.getLineSeparator();
+            PomElement scmRoot = project.append( "scm", ls + "  ", ls );
+
+            // Record current values as additions to the POM
+            Scm streamScm = new StreamScm( scmRoot );
+            streamScm.setConnection( scm.getConnection() );
+            streamScm.setDeveloperConnection( scm.getDeveloperConnection() );
+            streamScm.setTag( scm.getTag() );
+            streamScm.setUrl( scm.getUrl() );
+        }
+    }
+    
+    @Override
+    public Scm getScm()
+    {
+        PomElement elm = project.getChild( "scm" );
+        if ( elm == null )
+        {
+            return null;
+        }
+        else
+        {
+            // this way scm setters record their changes immediately
+            return new StreamScm( elm );
+        }
+    }
+    
+    @Override
+    public void setVersion( String version )
+    {
+        PomElement versionElement = project.getChild( "version" );
+        
+        String parentVersion;
+        PomElement parent = getParentElement();
+        if ( parent != null )
+        {
+            parentVersion = parent.getChildTextTrim( "version" );
+        }
+        else
+        {
+            parentVersion = null;
+        }
+        
+        if ( versionElement == null )
+        {
+            if ( !version.equals( parentVersion ) )
+            {
+                // we will add this after artifactId, since it was missing but different from the inherited version
+                PomElement artifactIdElement = project.getChild( "artifactId" );
+                String indent = project.getLineSeparator() + "  ";
+                if ( artifactIdElement != null )
+                {
+                    versionElement = artifactIdElement.insertAfter( "version", indent );
+                }
+                else
+                {
+                    versionElement = project.append( "version", indent, "" );
+                }
+                versionElement.rewriteValue( version );
+            }
+        }
+        else
+        {
+            versionElement.rewriteValue( version );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+
+/**
+ * 
+ * @since 3.0.0
+ */
+public class StreamModelBase
+{
+    private final PomElement modelBase;
+    
+    public StreamModelBase( PomElement modelBase )
+    {
+        this.modelBase = modelBase;
+    }
+    
+    public Build getBuild()
+    {
+        PomElement elm = modelBase.getChild( "build" );
+        if ( elm == null )
+        {
+            return null;
+        }
+        else
+        {
+            // this way build setters record their changes immediately
+            return new StreamBuild( elm );
+        }
+    }
+    
+    public List<Dependency> getDependencies()
+    {
+        PomElement dependenciesElm = modelBase.getChild( "dependencies" );
+        if ( dependenciesElm == null )
+        {
+            return Collections.emptyList();
+        }
+        else
+        {
+            List<PomElement> dependencyElms = dependenciesElm.getChildren( "dependency" );
+
+            List<Dependency> dependencies = new ArrayList<Dependency>( dependencyElms.size() );
+
+            for ( PomElement dependencyElm : dependencyElms )
+            {
+                dependencies.add( new StreamDependency( dependencyElm ) );
+            }
+
+            return dependencies;
+        }
+    }
+    
+    public DependencyManagement getDependencyManagement()
+    {
+        PomElement elm = modelBase.getChild( "dependencyManagement" );
+        if ( elm == null )
+        {
+            return null;
+        }
+        else
+        {
+            // this way build setters record their changes immediately
+            return new StreamDependencyManagement( elm );
+        }
+    }
+}
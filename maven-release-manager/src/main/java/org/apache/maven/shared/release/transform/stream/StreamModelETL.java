@@ -0,0 +1,197 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.transform.CachedPom;
+import org.apache.maven.shared.release.transform.ChangeAwareModelETL;
+import org.apache.maven.shared.release.transform.PomCache;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+
+/**
+ * Streaming implementation for extracting, transform, loading the Model (pom.xml). Only the location of the elements
+ * is read; when loading, the original POM is copied and just the changed values are replaced, so all formatting,
+ * comments and entities outside of these values are preserved as is.
+ *
+ * @since 3.0.0
+ */
+public class StreamModelETL implements ChangeAwareModelETL
+{
+    private static final Pattern DEFAULT_NAMESPACE = Pattern.compile( "\\sxmlns\\s*=" );
+
+    private static final Pattern XSI_NAMESPACE = Pattern.compile( "\\sxmlns:xsi\\s*=" );
+
+    private static final Pattern SCHEMA_LOCATION = Pattern.compile( "\\s\\w+:schemaLocation\\s*=" );
+
+    private ReleaseDescriptor releaseDescriptor;
+
+    private MavenProject project;
+
+    private String content;
+
+    private PomElement root;
+
+    private String ls = ReleaseUtil.LS;
+
+    private PomCache pomCache;
+
+    /**
+     * The transformed POM as rendered by {@link #isChanged(File)}, until it is loaded.
+     */
+    private String rendered;
+
+    public void setLs( String ls )
+    {
+        this.ls = ls;
+    }
+
+    public void setReleaseDescriptor( ReleaseDescriptor releaseDescriptor )
+    {
+        this.releaseDescriptor = releaseDescriptor;
+    }
+
+    public void setProject( MavenProject project )
+    {
+        this.project = project;
+    }
+
+    public void setPomCache( PomCache pomCache )
+    {
+        this.pomCache = pomCache;
+    }
+
+    @Override
+    public void extract( File pomFile )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            // the changes are recorded on the elements, so only the content can be shared with other phases
+            if ( pomCache != null )
+            {
+                content = pomCache.read( pomFile, ls, StreamModelETLFactory.ROLE_HINT ).getContent();
+            }
+            else
+            {
+                content = ReleaseUtil.readXmlFile( pomFile, ls );
+            }
+            root = PomParser.parse( content, ls );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Error reading POM: " + e.getMessage(), e );
+        }
+    }
+
+    @Override
+    public void transform()
+    {
+
+    }
+
+    @Override
+    public boolean isChanged( File pomFile )
+        throws ReleaseExecutionException
+    {
+        try
+        {
+            rendered = render();
+            return !ReleaseUtil.hasContent( pomFile, ReleaseUtil.encodeXml( rendered ) );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Error reading POM: " + e.getMessage(), e );
+        }
+    }
+
+    @Override
+    public void load( File targetFile )
+        throws ReleaseExecutionException
+    {
+        loadChanged( targetFile );
+    }
+
+    @Override
+    public boolean loadChanged( File targetFile )
+        throws ReleaseExecutionException
+    {
+        String out = rendered != null ? rendered : render();
+        rendered = null;
+        try
+        {
+            if ( pomCache != null )
+            {
+                return pomCache.write( targetFile, new CachedPom( out ), ls );
+            }
+            return ReleaseUtil.writeXmlFile( targetFile, out );
+        }
+        catch ( IOException e )
+        {
+            throw new ReleaseExecutionException( "Error writing POM: " + e.getMessage(), e );
+        }
+    }
+
+    @Override
+    public Model getModel()
+    {
+        return new StreamModel( root );
+    }
+
+    private String render()
+    {
+        if ( releaseDescriptor.isAddSchema() )
+        {
+            addSchema( project.getModelVersion() );
+        }
+
+        StringBuilder out = new StringBuilder( content.length() + 256 );
+        int pos = root.write( out, 0 );
+        out.append( content, pos, content.length() );
+        return out.toString();
+    }
+
+    private void addSchema( String modelVersion )
+    {
+        String startTag = root.getStartTag();
+        StringBuilder attributes = new StringBuilder();
+        if ( !DEFAULT_NAMESPACE.matcher( startTag ).find() )
+        {
+            attributes.append( " xmlns=\"http://maven.apache.org/POM/" ).append( modelVersion ).append( '"' );
+        }
+        if ( !XSI_NAMESPACE.matcher( startTag ).find() )
+        {
+            attributes.append( " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" );
+        }
+        if ( !SCHEMA_LOCATION.matcher( startTag ).find() )
+        {
+            attributes.append( " xsi:schemaLocation=\"http://maven.apache.org/POM/" ).append( modelVersion );
+            attributes.append( " http://maven.apache.org/maven-v" ).append( modelVersion.replace( '.', '_' ) );
+            attributes.append( ".xsd\"" );
+        }
+        root.setAddedAttributes( attributes.length() > 0 ? attributes.toString() : null );
+    }
+}
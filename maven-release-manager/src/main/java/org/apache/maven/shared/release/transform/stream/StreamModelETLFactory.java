@@ -0,0 +1,46 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.shared.release.transform.ModelETLFactory;
+import org.apache.maven.shared.release.transform.ModelETLRequest;
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Factory for the {@link StreamModelETL}, which rewrites the POM in place instead of re-serializing a JDom tree.
+ *
+ * @since 3.0.0
+ */
+@Component( role = ModelETLFactory.class, hint = StreamModelETLFactory.ROLE_HINT )
+public class StreamModelETLFactory implements ModelETLFactory
+{
+    public static final String ROLE_HINT = "stream";
+
+    @Override
+    public StreamModelETL newInstance( ModelETLRequest request )
+    {
+        StreamModelETL result = new StreamModelETL();
+        result.setLs( request.getLineSeparator() );
+        result.setProject( request.getProject() );
+        result.setReleaseDescriptor( request.getReleaseDescriptor() );
+        result.setPomCache( request.getPomCache() );
+        return result;
+    }
+}
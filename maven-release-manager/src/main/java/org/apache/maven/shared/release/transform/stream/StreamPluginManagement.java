@@ -0,0 +1,96 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+
+/**
+ * Streaming implementation of poms PLUGINMANAGEMENT element
+ * 
+ * @since 3.0.0
+ */
+public class StreamPluginManagement extends PluginManagement
+{
+    private final PomElement pluginManagement;
+    
+    public StreamPluginManagement( PomElement pluginManagement )
+    {
+        this.pluginManagement = pluginManagement; 
+    }
+
+    @Override
+    public void addPlugin( Plugin plugin )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Plugin> getPlugins()
+    {
+        PomElement pluginsElm = pluginManagement.getChild( "plugins" );
+        if ( pluginsElm == null )
+        {
+            return Collections.emptyList();
+        }
+        else
+        {
+            List<PomElement> pluginElms = pluginsElm.getChildren( "plugin" );
+
+            List<Plugin> plugins = new ArrayList<Plugin>( pluginElms.size() );
+
+            for ( PomElement pluginElm : pluginElms )
+            {
+                plugins.add( new StreamPlugin( pluginElm ) );
+            }
+
+            return plugins;
+        }
+    }
+
+    @Override
+    public void removePlugin( Plugin plugin )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setPlugins( List<Plugin> plugins )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void flushPluginMap()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map getPluginsAsMap()
+    {
+        throw new UnsupportedOperationException();
+    }
+}
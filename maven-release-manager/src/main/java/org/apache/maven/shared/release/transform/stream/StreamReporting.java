@@ -0,0 +1,139 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.Reporting;
+
+/**
+ * Streaming implementation of poms REPORTING element
+ * 
+ * @since 3.0.0
+ */
+public class StreamReporting extends Reporting
+{
+
+    private final PomElement reporting;
+    
+    public StreamReporting( PomElement reporting )
+    {
+        this.reporting = reporting;
+    }
+
+    @Override
+    public void addPlugin( ReportPlugin reportPlugin )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getOutputDirectory()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ReportPlugin> getPlugins()
+    {
+        PomElement pluginsElm = reporting.getChild( "plugins" );
+        if ( pluginsElm == null )
+        {
+            return Collections.emptyList();
+        }
+        else
+        {
+            List<PomElement> pluginElms = pluginsElm.getChildren( "plugin" );
+
+            List<ReportPlugin> plugins = new ArrayList<ReportPlugin>( pluginElms.size() );
+
+            for ( PomElement pluginElm : pluginElms )
+            {
+                plugins.add( new StreamReportPlugin( pluginElm ) );
+            }
+
+            return plugins;
+        }
+    }
+
+    @Override
+    public Boolean isExcludeDefaultsValue()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removePlugin( ReportPlugin reportPlugin )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExcludeDefaultsValue( Boolean excludeDefaultsValue )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setOutputDirectory( String outputDirectory )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setPlugins( List<ReportPlugin> plugins )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void flushReportPluginMap()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map getReportPluginsAsMap()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isExcludeDefaults()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExcludeDefaults( boolean excludeDefaults )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExcludeDefaultsValue( String excludeDefaults )
+    {
+        throw new UnsupportedOperationException();
+    }
+}
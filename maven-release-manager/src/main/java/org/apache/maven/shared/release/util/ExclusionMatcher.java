@@ -0,0 +1,330 @@
+package org.apache.maven.shared.release.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Matches paths against a set of exclusion patterns, with the semantics of
+ * {@link SelectorUtils#matchPath(String, String)}, where both <code>/</code> and <code>\</code> separate the segments
+ * of paths and patterns.
+ * <p>
+ * The patterns are compiled once: their leading literal segments are stored in a prefix trie, patterns ending with
+ * <code>**</code> followed by a literal name are looked up by the name of the path, and only the remaining glob
+ * segments are matched segment by segment. Checking a path costs one walk down the trie, instead of one match per
+ * pattern.
+ *
+ * @since 3.0.0
+ */
+public final class ExclusionMatcher
+{
+    private static final String ANY_DIRECTORIES = "**";
+
+    /**
+     * The patterns of relative paths.
+     */
+    private final Node relative = new Node();
+
+    /**
+     * The patterns of absolute paths.
+     */
+    private final Node absolute = new Node();
+
+    /**
+     * Patterns with a regular expression, which are left to {@link SelectorUtils}.
+     */
+    private final List<String> regexPatterns = new ArrayList<String>();
+
+    /**
+     * @param patterns the exclusion patterns
+     */
+    public ExclusionMatcher( Collection<String> patterns )
+    {
+        for ( String pattern : patterns )
+        {
+            add( pattern );
+        }
+    }
+
+    private void add( String pattern )
+    {
+        if ( pattern.length() > SelectorUtils.REGEX_HANDLER_PREFIX.length()
+            + SelectorUtils.PATTERN_HANDLER_SUFFIX.length() && pattern.startsWith( SelectorUtils.REGEX_HANDLER_PREFIX )
+            && pattern.endsWith( SelectorUtils.PATTERN_HANDLER_SUFFIX ) )
+        {
+            regexPatterns.add( pattern );
+            return;
+        }
+
+        String antPattern = pattern;
+        if ( pattern.length() > SelectorUtils.ANT_HANDLER_PREFIX.length()
+            + SelectorUtils.PATTERN_HANDLER_SUFFIX.length() && pattern.startsWith( SelectorUtils.ANT_HANDLER_PREFIX )
+            && pattern.endsWith( SelectorUtils.PATTERN_HANDLER_SUFFIX ) )
+        {
+            antPattern = pattern.substring( SelectorUtils.ANT_HANDLER_PREFIX.length(),
+                                            pattern.length() - SelectorUtils.PATTERN_HANDLER_SUFFIX.length() );
+        }
+
+        Node node = isAbsolute( antPattern ) ? absolute : relative;
+        String[] segments = tokenize( antPattern );
+
+        int i = 0;
+        while ( i < segments.length && !isGlob( segments[i] ) )
+        {
+            node = node.getChild( segments[i] );
+            i++;
+        }
+
+        if ( i == segments.length )
+        {
+            node.terminal = true;
+        }
+        else if ( i == segments.length - 2 && ANY_DIRECTORIES.equals( segments[i] ) && !isGlob( segments[i + 1] ) )
+        {
+            node.names.add( segments[i + 1] );
+        }
+        else
+        {
+            Segment[] tail = new Segment[segments.length - i];
+            for ( int j = 0; j < tail.length; j++ )
+            {
+                tail[j] = new Segment( segments[i + j] );
+            }
+            node.tails.add( tail );
+        }
+    }
+
+    /**
+     * @param path the path to check
+     * @return <code>true</code> if any of the patterns matches the path
+     */
+    public boolean matches( String path )
+    {
+        String[] segments = tokenize( path );
+
+        Node node = isAbsolute( path ) ? absolute : relative;
+        for ( int i = 0; node != null; i++ )
+        {
+            if ( node.matches( segments, i ) )
+            {
+                return true;
+            }
+            node = i < segments.length ? node.children.get( segments[i] ) : null;
+        }
+
+        if ( !regexPatterns.isEmpty() )
+        {
+            String fileName = path.replace( '\\', File.separatorChar ).replace( '/', File.separatorChar );
+            for ( String regexPattern : regexPatterns )
+            {
+                if ( SelectorUtils.matchPath( regexPattern, fileName ) )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSeparator( char c )
+    {
+        return c == '/' || c == '\\';
+    }
+
+    private static boolean isAbsolute( String path )
+    {
+        return path.length() > 0 && isSeparator( path.charAt( 0 ) );
+    }
+
+    private static boolean isGlob( String segment )
+    {
+        return segment.indexOf( '*' ) >= 0 || segment.indexOf( '?' ) >= 0;
+    }
+
+    /**
+     * @return the segments of the path, where empty segments are dropped like {@link SelectorUtils} does
+     */
+    private static String[] tokenize( String path )
+    {
+        List<String> segments = new ArrayList<String>();
+        int start = 0;
+        for ( int i = 0; i <= path.length(); i++ )
+        {
+            if ( i == path.length() || isSeparator( path.charAt( i ) ) )
+            {
+                if ( i > start )
+                {
+                    segments.add( path.substring( start, i ) );
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray( new String[segments.size()] );
+    }
+
+    /**
+     * A node of the prefix trie, reached by the literal leading segments of its patterns.
+     */
+    private static class Node
+    {
+        private final Map<String, Node> children = new HashMap<String, Node>();
+
+        /**
+         * Whether a pattern ends at this node.
+         */
+        private boolean terminal;
+
+        /**
+         * The names of the patterns which continue with <code>**</code> and a literal name.
+         */
+        private final Set<String> names = new HashSet<String>();
+
+        /**
+         * The remaining segments of the patterns which continue with a glob.
+         */
+        private final List<Segment[]> tails = new ArrayList<Segment[]>();
+
+        Node getChild( String segment )
+        {
+            Node child = children.get( segment );
+            if ( child == null )
+            {
+                child = new Node();
+                children.put( segment, child );
+            }
+            return child;
+        }
+
+        /**
+         * @return <code>true</code> if a pattern of this node matches the segments of the path from
+         *         <code>offset</code>
+         */
+        boolean matches( String[] segments, int offset )
+        {
+            if ( offset == segments.length )
+            {
+                if ( terminal )
+                {
+                    return true;
+                }
+            }
+            else if ( names.contains( segments[segments.length - 1] ) )
+            {
+                return true;
+            }
+
+            for ( Segment[] tail : tails )
+            {
+                if ( matches( tail, 0, segments, offset ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean matches( Segment[] tail, int t, String[] segments, int s )
+        {
+            if ( t == tail.length )
+            {
+                return s == segments.length;
+            }
+            if ( tail[t].anyDirectories )
+            {
+                // collapse consecutive ** and try every number of directories
+                int next = t + 1;
+                while ( next < tail.length && tail[next].anyDirectories )
+                {
+                    next++;
+                }
+                for ( int i = s; i <= segments.length; i++ )
+                {
+                    if ( matches( tail, next, segments, i ) )
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return s < segments.length && tail[t].matches( segments[s] ) && matches( tail, t + 1, segments, s + 1 );
+        }
+    }
+
+    /**
+     * A segment of a pattern, with <code>*</code> for any characters and <code>?</code> for a single one.
+     */
+    private static class Segment
+    {
+        private final String pattern;
+
+        private final boolean anyDirectories;
+
+        Segment( String pattern )
+        {
+            this.pattern = pattern;
+            this.anyDirectories = ANY_DIRECTORIES.equals( pattern );
+        }
+
+        boolean matches( String name )
+        {
+            int p = 0;
+            int n = 0;
+            int star = -1;
+            int mark = 0;
+            while ( n < name.length() )
+            {
+                if ( p < pattern.length() && ( pattern.charAt( p ) == '?' || pattern.charAt( p ) == name.charAt( n ) ) )
+                {
+                    p++;
+                    n++;
+                }
+                else if ( p < pattern.length() && pattern.charAt( p ) == '*' )
+                {
+                    star = p++;
+                    mark = n;
+                }
+                else if ( star >= 0 )
+                {
+                    // let the last * consume one more character
+                    p = star + 1;
+                    n = ++mark;
+                }
+                else
+                {
+                    return false;
+                }
+            }
+            while ( p < pattern.length() && pattern.charAt( p ) == '*' )
+            {
+                p++;
+            }
+            return p == pattern.length();
+        }
+    }
+}
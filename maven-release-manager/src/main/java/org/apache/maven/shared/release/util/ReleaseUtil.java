@@ -19,11 +19,20 @@ package org.apache.maven.shared.release.util;
  * under the License.
  */
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.FileOwnerAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -43,6 +52,7 @@ import org.codehaus.plexus.interpolation.StringSearchInterpolator;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.WriterFactory;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -153,6 +163,144 @@ public class ReleaseUtil
         }
     }
 
+    /**
+     * Writes the string contents of an XML file, in the encoding given by its XML declaration. The file is left
+     * untouched if it already has this content, otherwise it is written to a temporary file first which then replaces
+     * the file, so readers never see a partially written file.
+     *
+     * @param file The path to the XML file to write, must not be <code>null</code>.
+     * @param content The string contents of the XML file, must not be <code>null</code>.
+     * @return <code>true</code> if the file was written, <code>false</code> if it already had this content.
+     * @throws IOException If the file could not be written.
+     * @since 3.0.0
+     */
+    public static boolean writeXmlFile( File file, String content )
+        throws IOException
+    {
+        return writeFile( file, encodeXml( content ) );
+    }
+
+    /**
+     * @param content The string contents of an XML file, must not be <code>null</code>.
+     * @return The contents encoded as given by the XML declaration, UTF-8 by default.
+     * @throws IOException If the contents could not be encoded.
+     * @since 3.0.0
+     */
+    public static byte[] encodeXml( String content )
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream( content.length() + 64 );
+        Writer writer = WriterFactory.newXmlWriter( buffer );
+        writer.write( content );
+        writer.close();
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes a file unless it already has the given content, using a temporary file which is atomically moved over
+     * the file if the file system supports it. A symbolic link is kept, the file it points to is replaced. The
+     * temporary file takes over the permissions, the group and the ACL of the file; if it can't take over its owner
+     * or its group the file is written in place instead.
+     *
+     * @param file The path to the file to write, must not be <code>null</code>.
+     * @param bytes The contents of the file, must not be <code>null</code>.
+     * @return <code>true</code> if the file was written, <code>false</code> if it already had this content.
+     * @throws IOException If the file could not be written.
+     * @since 3.0.0
+     */
+    public static boolean writeFile( File file, byte[] bytes )
+        throws IOException
+    {
+        if ( hasContent( file, bytes ) )
+        {
+            return false;
+        }
+        Path target = file.toPath().toAbsolutePath();
+        boolean exists = Files.isRegularFile( target );
+        if ( exists )
+        {
+            target = target.toRealPath();
+        }
+
+        Path temp = target.resolveSibling( "." + target.getFileName() + ".tmp" );
+        try
+        {
+            Files.write( temp, bytes );
+            if ( exists && !copyAttributes( target, temp ) )
+            {
+                Files.write( target, bytes );
+                return true;
+            }
+            try
+            {
+                Files.move( temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( temp );
+        }
+        return true;
+    }
+
+    /**
+     * @param file The path to the file, must not be <code>null</code>.
+     * @param bytes The contents to compare with, must not be <code>null</code>.
+     * @return <code>true</code> if the file exists and has exactly these contents.
+     * @throws IOException If the file could not be read.
+     * @since 3.0.0
+     */
+    public static boolean hasContent( File file, byte[] bytes )
+        throws IOException
+    {
+        Path path = file.toPath();
+        return Files.isRegularFile( path ) && Files.size( path ) == bytes.length
+            && Arrays.equals( Files.readAllBytes( path ), bytes );
+    }
+
+    /**
+     * @return <code>false</code> if the target can't take over the owner or the group of the source
+     */
+    private static boolean copyAttributes( Path source, Path target )
+        throws IOException
+    {
+        FileOwnerAttributeView owner = Files.getFileAttributeView( target, FileOwnerAttributeView.class );
+        if ( owner != null && !owner.getOwner().equals( Files.getOwner( source ) ) )
+        {
+            return false;
+        }
+
+        PosixFileAttributeView posix = Files.getFileAttributeView( target, PosixFileAttributeView.class );
+        if ( posix != null )
+        {
+            PosixFileAttributes attributes = Files.readAttributes( source, PosixFileAttributes.class );
+            posix.setPermissions( attributes.permissions() );
+            if ( !attributes.group().equals( posix.readAttributes().group() ) )
+            {
+                try
+                {
+                    posix.setGroup( attributes.group() );
+                }
+                catch ( IOException e )
+                {
+                    // not a member of the group
+                    return false;
+                }
+            }
+        }
+
+        AclFileAttributeView acl = Files.getFileAttributeView( target, AclFileAttributeView.class );
+        if ( acl != null )
+        {
+            acl.setAcl( Files.getFileAttributeView( source, AclFileAttributeView.class ).getAcl() );
+        }
+        return true;
+    }
+
     /**
      * Normalizes the line separators in the specified string.
      * 
@@ -25,7 +25,6 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.regex.Matcher;
@@ -76,24 +75,12 @@ public class DefaultVersionInfo
 
     private final String buildSeparator;
 
-    private static final int DIGITS_INDEX = 1;
-
-    private static final int ANNOTATION_SEPARATOR_INDEX = 2;
-
-    private static final int ANNOTATION_INDEX = 3;
-
-    private static final int ANNOTATION_REV_SEPARATOR_INDEX = 4;
-
-    private static final int ANNOTATION_REVISION_INDEX = 5;
-
-    private static final int BUILD_SEPARATOR_INDEX = 6;
-
-    private static final int BUILD_SPECIFIER_INDEX = 7;
-
-    private static final String SNAPSHOT_IDENTIFIER = "SNAPSHOT";
-
-    private static final String DIGIT_SEPARATOR_STRING = ".";
+    private static final char DIGIT_SEPARATOR = '.';
 
+    /**
+     * The pattern of the version strings with digits. {@link VersionTokens} parses versions the same way, without
+     * running this pattern or {@link #ALTERNATE_PATTERN}.
+     */
     public static final Pattern STANDARD_PATTERN = Pattern.compile(
         "^((?:\\d+\\.)*\\d+)"      // digit(s) and '.' repeated - followed by digit (version digits 1.22.0, etc)
         + "([-_])?"                // optional - or _  (annotation separator)
@@ -114,7 +101,9 @@ public class DefaultVersionInfo
     public static final Pattern ALTERNATE_PATTERN = Pattern.compile( "^(SNAPSHOT|[a-zA-Z]+[_-]SNAPSHOT)" );
 
     /**
-     * Constructs this object and parses the supplied version string.
+     * Constructs this object and parses the supplied version string. The same versions are looked up for every project
+     * of a release, so the parts are taken from the versions shared by {@link Version#parse(String)}, including the
+     * unmodifiable digits.
      *
      * @param version
      */
@@ -123,54 +112,14 @@ public class DefaultVersionInfo
     {
         strVersion = version;
 
-        // FIX for non-digit release numbers, e.g. trunk-SNAPSHOT or just SNAPSHOT
-        Matcher matcher = ALTERNATE_PATTERN.matcher( strVersion );
-        // TODO: hack because it didn't support "SNAPSHOT"
-        if ( matcher.matches() )
-        {
-            annotation = null;
-            digits = null;
-            buildSpecifier = version;
-            buildSeparator = null;
-            return;
-        }
-
-        Matcher m = STANDARD_PATTERN.matcher( strVersion );
-        if ( m.matches() )
-        {
-            digits = parseDigits( m.group( DIGITS_INDEX ) );
-            if ( !SNAPSHOT_IDENTIFIER.equals( m.group( ANNOTATION_INDEX ) ) )
-            {
-                annotationSeparator = m.group( ANNOTATION_SEPARATOR_INDEX );
-                annotation = nullIfEmpty( m.group( ANNOTATION_INDEX ) );
-
-                if ( StringUtils.isNotEmpty( m.group( ANNOTATION_REV_SEPARATOR_INDEX ) )
-                    && StringUtils.isEmpty( m.group( ANNOTATION_REVISION_INDEX ) ) )
-                {
-                    // The build separator was picked up as the annotation revision separator
-                    buildSeparator = m.group( ANNOTATION_REV_SEPARATOR_INDEX );
-                    buildSpecifier = nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) );
-                }
-                else
-                {
-                    annotationRevSeparator = m.group( ANNOTATION_REV_SEPARATOR_INDEX );
-                    annotationRevision = nullIfEmpty( m.group( ANNOTATION_REVISION_INDEX ) );
-
-                    buildSeparator = m.group( BUILD_SEPARATOR_INDEX );
-                    buildSpecifier = nullIfEmpty( m.group( BUILD_SPECIFIER_INDEX ) );
-                }
-            }
-            else
-            {
-                // Annotation was "SNAPSHOT" so populate the build specifier with that data
-                buildSeparator = m.group( ANNOTATION_SEPARATOR_INDEX );
-                buildSpecifier = nullIfEmpty( m.group( ANNOTATION_INDEX ) );
-            }
-        }
-        else
-        {
-            throw new VersionParseException( "Unable to parse the version string: \"" + version + "\"" );
-        }
+        Version parsed = Version.parse( version );
+        digits = parsed.getDigits();
+        annotationSeparator = parsed.getAnnotationSeparator();
+        annotation = parsed.getAnnotation();
+        annotationRevSeparator = parsed.getAnnotationRevSeparator();
+        annotationRevision = parsed.getAnnotationRevision();
+        buildSeparator = parsed.getBuildSeparator();
+        buildSpecifier = parsed.getBuildSpecifier();
     }
 
     public DefaultVersionInfo( List<String> digits, String annotation, String annotationRevision, String buildSpecifier,
@@ -370,29 +319,29 @@ public class DefaultVersionInfo
      */
     protected static String joinDigitString( List<String> digits )
     {
-        return digits != null ? StringUtils.join( digits.iterator(), DIGIT_SEPARATOR_STRING ) : null;
-    }
-
-    /**
-     * Splits the string on "." and returns a list
-     * containing each digit.
-     *
-     * @param strDigits
-     */
-    private List<String> parseDigits( String strDigits )
-    {
-        return Arrays.asList( StringUtils.split( strDigits, DIGIT_SEPARATOR_STRING ) );
+        if ( digits == null )
+        {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for ( int i = 0; i < digits.size(); i++ )
+        {
+            if ( i > 0 )
+            {
+                sb.append( DIGIT_SEPARATOR );
+            }
+            if ( digits.get( i ) != null )
+            {
+                sb.append( digits.get( i ) );
+            }
+        }
+        return sb.toString();
     }
 
     //--------------------------------------------------
     // Getters & Setters
     //--------------------------------------------------
 
-    private static String nullIfEmpty( String s )
-    {
-        return StringUtils.isEmpty( s ) ? null : s;
-    }
-
     public List<String> getDigits()
     {
         return digits;
@@ -21,6 +21,7 @@ package org.apache.maven.shared.release;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -30,6 +31,8 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -50,11 +53,15 @@ import org.apache.maven.shared.release.config.ReleaseDescriptorStoreException;
 import org.apache.maven.shared.release.config.ReleaseDescriptorStoreStub;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.apache.maven.shared.release.metrics.PhaseMetrics;
+import org.apache.maven.shared.release.phase.ConcurrentReleasePhaseStub;
 import org.apache.maven.shared.release.phase.ReleasePhase;
 import org.apache.maven.shared.release.phase.ReleasePhaseStub;
 import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.codehaus.plexus.PlexusTestCase;
 import org.codehaus.plexus.util.FileUtils;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  * Test the default release manager.
@@ -264,6 +271,175 @@ public class DefaultReleaseManagerTest
         assertFalse( "step3 not executed", phase.isExecuted() );
     }
 
+    public void testPrepareConcurrentPhases()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( null );
+        releaseDescriptor.setInteractive( false );
+        ConcurrentReleasePhaseStub.reset( 2 );
+
+        releaseManager.prepare( createBatchReleaseDescriptor(), new DefaultReleaseEnvironment(), null );
+
+        for ( String name : new String[] { "step1", "concurrent1", "concurrent2", "step3" } )
+        {
+            ReleasePhaseStub phase = (ReleasePhaseStub) lookup( ReleasePhase.ROLE, name );
+            assertTrue( name + " executed", phase.isExecuted() );
+        }
+        assertEquals( "step3", configStore.getReleaseConfiguration().getCompletedPhase() );
+    }
+
+    public void testPrepareConcurrentPhasesResumed()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( "step1" );
+        releaseDescriptor.setInteractive( false );
+        ConcurrentReleasePhaseStub.reset( 2 );
+
+        releaseManager.prepare( createBatchReleaseDescriptor(), new DefaultReleaseEnvironment(), null );
+
+        ReleasePhaseStub phase = (ReleasePhaseStub) lookup( ReleasePhase.ROLE, "step1" );
+        assertFalse( "step1 not executed", phase.isExecuted() );
+        for ( String name : new String[] { "concurrent1", "concurrent2", "step3" } )
+        {
+            phase = (ReleasePhaseStub) lookup( ReleasePhase.ROLE, name );
+            assertTrue( name + " executed", phase.isExecuted() );
+        }
+        assertEquals( "step3", configStore.getReleaseConfiguration().getCompletedPhase() );
+    }
+
+    public void testPrepareConcurrentPhasesMetrics()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( null );
+        releaseDescriptor.setInteractive( false );
+        ConcurrentReleasePhaseStub.reset( 2 );
+
+        final List<String> reported = Collections.synchronizedList( new ArrayList<String>() );
+        ReleaseMetricsListener listener = mock( ReleaseMetricsListener.class );
+        doAnswer( new Answer<Void>()
+        {
+            public Void answer( InvocationOnMock invocation )
+            {
+                reported.add( ( (PhaseMetrics) invocation.getArguments()[0] ).getName() );
+                return null;
+            }
+        } ).when( listener ).phaseMetrics( any( PhaseMetrics.class ) );
+
+        ReleaseResult result =
+            releaseManager.prepareWithResult( createBatchReleaseDescriptor(), new DefaultReleaseEnvironment(), null,
+                                              true, false, listener );
+
+        List<String> names = new ArrayList<String>();
+        for ( PhaseMetrics metrics : result.getPhaseMetrics() )
+        {
+            names.add( metrics.getName() );
+            assertTrue( metrics.getName() + " ended", metrics.getDurationMillis() >= 0 );
+        }
+        assertEquals( 4, names.size() );
+        assertEquals( "step1", names.get( 0 ) );
+        assertEquals( "step3", names.get( 3 ) );
+        assertTrue( names.containsAll( Arrays.asList( "concurrent1", "concurrent2" ) ) );
+        assertEquals( 4, reported.size() );
+        assertEquals( "step3", reported.get( 3 ) );
+    }
+
+    public void testPrepareConcurrentPhasesResumedAfterFailure()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( null );
+        releaseDescriptor.setInteractive( false );
+        ConcurrentReleasePhaseStub.reset( 2, true );
+
+        try
+        {
+            releaseManager.prepare( createBatchReleaseDescriptor(), new DefaultReleaseEnvironment(), null );
+            fail( "concurrent1 should have failed" );
+        }
+        catch ( IllegalStateException e )
+        {
+            assertEquals( "Failing phase", e.getMessage() );
+        }
+
+        assertFalse( "concurrent1 not executed",
+                     ( (ReleasePhaseStub) lookup( ReleasePhase.ROLE, "concurrent1" ) ).isExecuted() );
+        assertTrue( "concurrent2 executed",
+                    ( (ReleasePhaseStub) lookup( ReleasePhase.ROLE, "concurrent2" ) ).isExecuted() );
+        assertFalse( "step3 not executed", ( (ReleasePhaseStub) lookup( ReleasePhase.ROLE, "step3" ) ).isExecuted() );
+        // concurrent2 completed, but concurrent1 before it in order didn't
+        assertEquals( "step1", configStore.getReleaseConfiguration().getCompletedPhase() );
+        assertEquals( "compacted after the failure", 1, configStore.getCompactions() );
+
+        // resuming runs both concurrent phases again
+        ConcurrentReleasePhaseStub.reset( 2 );
+        releaseManager.prepare( createBatchReleaseDescriptor(), new DefaultReleaseEnvironment(), null );
+
+        for ( String name : new String[] { "concurrent1", "concurrent2", "step3" } )
+        {
+            ReleasePhaseStub phase = (ReleasePhaseStub) lookup( ReleasePhase.ROLE, name );
+            assertTrue( name + " executed", phase.isExecuted() );
+        }
+        assertEquals( 2, ConcurrentReleasePhaseStub.getMaxActive() );
+        assertEquals( "step3", configStore.getReleaseConfiguration().getCompletedPhase() );
+    }
+
+    public void testPrepareInteractiveRunsPhasesSequentially()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( null );
+        releaseDescriptor.setInteractive( true );
+        // the phases don't wait for each other
+        ConcurrentReleasePhaseStub.reset( 1 );
+
+        ReleaseDescriptor interactive = new ReleaseDescriptor();
+        interactive.setConcurrentPhases( true );
+        releaseManager.prepare( interactive, new DefaultReleaseEnvironment(), null );
+
+        assertEquals( 1, ConcurrentReleasePhaseStub.getMaxActive() );
+        assertEquals( "step3", configStore.getReleaseConfiguration().getCompletedPhase() );
+    }
+
+    public void testPrepareRunsPhasesSequentiallyByDefault()
+        throws Exception
+    {
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "concurrent" );
+
+        ReleaseDescriptor releaseDescriptor = configStore.getReleaseConfiguration();
+        releaseDescriptor.setCompletedPhase( null );
+        releaseDescriptor.setInteractive( false );
+        // the phases don't wait for each other
+        ConcurrentReleasePhaseStub.reset( 1 );
+
+        ReleaseDescriptor batch = new ReleaseDescriptor();
+        batch.setInteractive( false );
+        releaseManager.prepare( batch, new DefaultReleaseEnvironment(), null );
+
+        assertEquals( 1, ConcurrentReleasePhaseStub.getMaxActive() );
+        assertEquals( "step3", configStore.getReleaseConfiguration().getCompletedPhase() );
+    }
+
+    private static ReleaseDescriptor createBatchReleaseDescriptor()
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setConcurrentPhases( true );
+        return releaseDescriptor;
+    }
+
     public void testPrepareUnknownPhaseConfigured()
         throws Exception
     {
@@ -0,0 +1,102 @@
+package org.apache.maven.shared.release;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ReleasePhaseGraphTest
+{
+    private final List<String> phases = Arrays.asList( "check", "scm", "snapshots", "rewrite" );
+
+    private static BitSet completed( int... indices )
+    {
+        BitSet completed = new BitSet();
+        for ( int index : indices )
+        {
+            completed.set( index );
+        }
+        return completed;
+    }
+
+    @Test
+    public void testSequentialByDefault()
+        throws Exception
+    {
+        ReleasePhaseGraph graph = new ReleasePhaseGraph( phases, null );
+
+        assertTrue( graph.isReady( 0, completed() ) );
+        assertFalse( graph.isReady( 1, completed() ) );
+        assertTrue( graph.isReady( 1, completed( 0 ) ) );
+        assertFalse( graph.isReady( 2, completed( 0 ) ) );
+        assertTrue( graph.isReady( 2, completed( 0, 1 ) ) );
+    }
+
+    @Test
+    public void testDeclaredDependencies()
+        throws Exception
+    {
+        Map<String, String> dependencies = new HashMap<String, String>();
+        dependencies.put( "scm", "check" );
+        dependencies.put( "snapshots", "check, unknown" );
+        ReleasePhaseGraph graph = new ReleasePhaseGraph( phases, dependencies );
+
+        assertTrue( graph.isReady( 1, completed( 0 ) ) );
+        assertTrue( graph.isReady( 2, completed( 0 ) ) );
+        assertFalse( graph.isReady( 3, completed( 0, 2 ) ) );
+        assertTrue( graph.isReady( 3, completed( 0, 1, 2 ) ) );
+    }
+
+    @Test
+    public void testNoDependencies()
+        throws Exception
+    {
+        Map<String, String> dependencies = new HashMap<String, String>();
+        dependencies.put( "snapshots", null );
+        ReleasePhaseGraph graph = new ReleasePhaseGraph( phases, dependencies );
+
+        assertTrue( graph.isReady( 2, completed() ) );
+    }
+
+    @Test
+    public void testDependencyOnLaterPhase()
+    {
+        Map<String, String> dependencies = new HashMap<String, String>();
+        dependencies.put( "scm", "rewrite" );
+        try
+        {
+            new ReleasePhaseGraph( phases, dependencies );
+            fail( "Should have failed" );
+        }
+        catch ( ReleaseExecutionException e )
+        {
+            // expected
+        }
+    }
+}
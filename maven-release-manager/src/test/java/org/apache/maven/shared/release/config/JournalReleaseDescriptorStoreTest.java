@@ -0,0 +1,238 @@
+package org.apache.maven.shared.release.config;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Test the journal store.
+ */
+public class JournalReleaseDescriptorStoreTest
+    extends PlexusTestCase
+{
+    private JournalReleaseDescriptorStore store;
+
+    private PropertiesReleaseDescriptorStore propertiesStore;
+
+    private File workingDirectory;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        store = (JournalReleaseDescriptorStore) lookup( ReleaseDescriptorStore.ROLE, "journal" );
+        propertiesStore = (PropertiesReleaseDescriptorStore) lookup( ReleaseDescriptorStore.ROLE, "properties" );
+
+        workingDirectory = getTestFile( "target/journal-store/" + getName() );
+        FileUtils.deleteDirectory( workingDirectory );
+        workingDirectory.mkdirs();
+    }
+
+    private ReleaseDescriptor createReleaseDescriptor( String completedPhase )
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setWorkingDirectory( workingDirectory.getAbsolutePath() );
+        releaseDescriptor.setScmSourceUrl( "scm-url" );
+        releaseDescriptor.setCompletedPhase( completedPhase );
+        return releaseDescriptor;
+    }
+
+    private File getSnapshot()
+    {
+        return new File( workingDirectory, "release.properties" );
+    }
+
+    private File getJournal()
+    {
+        return new File( workingDirectory, "release.properties" + JournalReleaseDescriptorStore.JOURNAL_SUFFIX );
+    }
+
+    public void testWriteAppendsChangesToJournal()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        assertTrue( getSnapshot().exists() );
+        assertFalse( getJournal().exists() );
+
+        config.setCompletedPhase( "step2" );
+        config.mapReleaseVersion( "groupId:artifactId", "1.0" );
+        store.write( config );
+        assertTrue( getJournal().exists() );
+        assertEquals( "step1", propertiesStore.read( getSnapshot() ).getCompletedPhase() );
+
+        ReleaseDescriptor read = store.read( createReleaseDescriptor( null ) );
+        assertEquals( "step2", read.getCompletedPhase() );
+        assertEquals( "1.0", read.getReleaseVersions().get( "groupId:artifactId" ) );
+        assertEquals( "scm-url", read.getScmSourceUrl() );
+    }
+
+    public void testWriteWithoutChanges()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+        long length = getJournal().length();
+
+        store.write( config );
+        assertEquals( length, getJournal().length() );
+    }
+
+    public void testRemovedProperty()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        config.setScmId( "id" );
+        store.write( config );
+        config.setScmId( null );
+        store.write( config );
+
+        assertEquals( "id", propertiesStore.read( getSnapshot() ).getScmId() );
+        assertNull( store.read( createReleaseDescriptor( null ) ).getScmId() );
+    }
+
+    public void testCompact()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+
+        store.compact( config );
+        assertFalse( getJournal().exists() );
+        assertEquals( "step2", propertiesStore.read( getSnapshot() ).getCompletedPhase() );
+    }
+
+    public void testCompactOnlyWrittenChanges()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+        // a failed phase changed the configuration without storing it
+        config.setCompletedPhase( "step3" );
+        config.setScmId( "partial" );
+
+        store.compact( config );
+        assertFalse( getJournal().exists() );
+        ReleaseDescriptor snapshot = propertiesStore.read( getSnapshot() );
+        assertEquals( "step2", snapshot.getCompletedPhase() );
+        assertNull( snapshot.getScmId() );
+    }
+
+    public void testCompactWithoutWrite()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+
+        // another store instance, e.g. of the next goal, only knows the files
+        new JournalReleaseDescriptorStore().compact( createReleaseDescriptor( "step3" ) );
+        assertFalse( getJournal().exists() );
+        assertEquals( "step2", propertiesStore.read( getSnapshot() ).getCompletedPhase() );
+    }
+
+    public void testJournalIsCompactedOnceItOutgrowsTheSnapshot()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        for ( int i = 0; i < 100 && getSnapshot().length() >= getJournal().length(); i++ )
+        {
+            config.mapReleaseVersion( "groupId:artifactId" + i, "1.0" );
+            store.write( config );
+        }
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+
+        assertFalse( getJournal().exists() );
+        assertEquals( "step2", propertiesStore.read( getSnapshot() ).getCompletedPhase() );
+    }
+
+    public void testUncommittedChangesAreIgnored()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+        append( getJournal(), "+completedPhase=step3\n" );
+
+        assertEquals( "step2", store.read( createReleaseDescriptor( null ) ).getCompletedPhase() );
+
+        // the journal can't be continued, so the next write starts a new snapshot
+        config.setCompletedPhase( "step3" );
+        store.write( config );
+        assertFalse( getJournal().exists() );
+        assertEquals( "step3", store.read( createReleaseDescriptor( null ) ).getCompletedPhase() );
+    }
+
+    public void testJournalOfOtherSnapshotIsIgnored()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+
+        propertiesStore.write( createReleaseDescriptor( "other" ) );
+
+        assertEquals( "other", store.read( createReleaseDescriptor( null ) ).getCompletedPhase() );
+    }
+
+    public void testDelete()
+        throws Exception
+    {
+        ReleaseDescriptor config = createReleaseDescriptor( "step1" );
+        store.write( config );
+        config.setCompletedPhase( "step2" );
+        store.write( config );
+
+        store.delete( config );
+        assertFalse( getSnapshot().exists() );
+        assertFalse( getJournal().exists() );
+    }
+
+    private static void append( File file, String text )
+        throws IOException
+    {
+        OutputStream out = new FileOutputStream( file, true );
+        try
+        {
+            out.write( text.getBytes( "ISO-8859-1" ) );
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+}
@@ -131,6 +131,7 @@ public class PropertiesReleaseDescriptorStoreTest
         assertAndAdjustScmPrivateKeyPassPhrase( config, rereadDescriptor );
 
         assertEquals( "compare configuration", config, rereadDescriptor );
+        assertTrue( "check deferPush", rereadDescriptor.isDeferPush() );
     }
 
     public void testWriteToWorkingDirectory()
@@ -283,6 +284,7 @@ public class PropertiesReleaseDescriptorStoreTest
         ReleaseDescriptor config = new ReleaseDescriptor();
         config.setCompletedPhase( "completed-phase-write" );
         config.setCommitByProject( true );
+        config.setDeferPush( true );
         config.setScmSourceUrl( "url-write" );
         config.setScmId( "id-write" );
         config.setScmUsername( "username-write" );
@@ -320,6 +322,7 @@ public class PropertiesReleaseDescriptorStoreTest
     {
         assertNull( "Expected no completedPhase", config.getCompletedPhase() );
         assertFalse( "Expected no commitPerProject", config.isCommitByProject() );
+        assertFalse( "Expected no deferPush", config.isDeferPush() );
         assertNull( "Expected no id", config.getScmId() );
         assertNull( "Expected no url", config.getScmSourceUrl() );
         assertNull( "Expected no username", config.getScmUsername() );
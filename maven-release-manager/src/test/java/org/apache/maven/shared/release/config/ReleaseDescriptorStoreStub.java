@@ -25,13 +25,15 @@ package org.apache.maven.shared.release.config;
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
 public class ReleaseDescriptorStoreStub
-    implements ReleaseDescriptorStore
+    implements CompactableReleaseDescriptorStore
 {
     /**
      * The release configuration to use.
      */
     private ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
 
+    private int compactions;
+
     public ReleaseDescriptor read( ReleaseDescriptor mergeDescriptor )
     {
         ReleaseUtils.merge( releaseDescriptor, mergeDescriptor );
@@ -43,6 +45,11 @@ public class ReleaseDescriptorStoreStub
         this.releaseDescriptor = config;
     }
 
+    public void compact( ReleaseDescriptor config )
+    {
+        compactions++;
+    }
+
     public void delete( ReleaseDescriptor config )
     {
     }
@@ -51,4 +58,9 @@ public class ReleaseDescriptorStoreStub
     {
         return releaseDescriptor;
     }
+
+    public int getCompactions()
+    {
+        return compactions;
+    }
 }
@@ -0,0 +1,94 @@
+package org.apache.maven.shared.release.config;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import junit.framework.TestCase;
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Test the file with the versions of resolved snapshot dependencies.
+ */
+public class SnapshotResolutionFileTest
+    extends TestCase
+{
+    public void testReadReleaseProperties()
+        throws IOException
+    {
+        File file = PlexusTestCase.getTestFile( "target/test-classes/release.properties" );
+
+        Map<String, Map<String, String>> resolutions = SnapshotResolutionFile.read( file );
+
+        assertEquals( Collections.singleton( "external:artifactId" ), resolutions.keySet() );
+        assertEquals( "1.0", resolutions.get( "external:artifactId" ).get( ReleaseDescriptor.RELEASE_KEY ) );
+        assertEquals( "1.1-SNAPSHOT",
+                      resolutions.get( "external:artifactId" ).get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+    }
+
+    public void testReadMissingFile()
+        throws IOException
+    {
+        File file = PlexusTestCase.getTestFile( "target/snapshot-resolutions/missing.properties" );
+
+        assertTrue( SnapshotResolutionFile.read( file ).isEmpty() );
+    }
+
+    public void testWriteKeepsOtherProperties()
+        throws IOException
+    {
+        File file = PlexusTestCase.getTestFile( "target/snapshot-resolutions/release.properties" );
+        file.getParentFile().mkdirs();
+        FileUtils.copyFile( PlexusTestCase.getTestFile( "target/test-classes/release.properties" ), file );
+
+        Map<String, String> versions = new HashMap<String, String>();
+        versions.put( ReleaseDescriptor.RELEASE_KEY, "2.0" );
+        versions.put( ReleaseDescriptor.DEVELOPMENT_KEY, "2.1-SNAPSHOT" );
+        SnapshotResolutionFile.write( file, Collections.singletonMap( "external:other", versions ) );
+
+        Map<String, Map<String, String>> resolutions = SnapshotResolutionFile.read( file );
+        assertEquals( 2, resolutions.size() );
+        assertEquals( "1.0", resolutions.get( "external:artifactId" ).get( ReleaseDescriptor.RELEASE_KEY ) );
+        assertEquals( "2.0", resolutions.get( "external:other" ).get( ReleaseDescriptor.RELEASE_KEY ) );
+        assertEquals( "2.1-SNAPSHOT", resolutions.get( "external:other" ).get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+
+        Properties properties = new Properties();
+        InputStream inStream = new FileInputStream( file );
+        try
+        {
+            properties.load( inStream );
+        }
+        finally
+        {
+            IOUtil.close( inStream );
+        }
+        assertEquals( "step1", properties.getProperty( "completedPhase" ) );
+    }
+}
@@ -0,0 +1,139 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BufferedStreamPumperTest
+{
+    @Test
+    public void testPumpWholeStream()
+        throws Exception
+    {
+        byte[] data = new byte[1024 * 1024 + 17];
+        new Random( 0 ).nextBytes( data );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BufferedStreamPumper pumper = BufferedStreamPumper.output( new ByteArrayInputStream( data ), out, 1000 );
+        pumper.start();
+
+        assertTrue( pumper.awaitDone( 0 ) );
+        assertTrue( pumper.isDone() );
+        assertNull( pumper.getException() );
+        assertArrayEquals( data, out.toByteArray() );
+    }
+
+    @Test
+    public void testFlushOnlyWhenInputIsIdle()
+        throws Exception
+    {
+        CountingOutputStream out = new CountingOutputStream();
+
+        BufferedStreamPumper pumper =
+            BufferedStreamPumper.output( new ByteArrayInputStream( new byte[10000] ), out, 100 );
+        pumper.start();
+        pumper.awaitDone( 0 );
+
+        assertEquals( 10000, out.written );
+        // once when the input is drained, once at the end
+        assertEquals( 2, out.flushes );
+    }
+
+    @Test
+    public void testReportException()
+        throws Exception
+    {
+        InputStream in = new InputStream()
+        {
+            @Override
+            public int read()
+                throws IOException
+            {
+                throw new IOException( "broken pipe" );
+            }
+        };
+
+        BufferedStreamPumper pumper = BufferedStreamPumper.output( in, new ByteArrayOutputStream() );
+        pumper.start();
+        pumper.awaitDone( 0 );
+
+        assertEquals( "broken pipe", pumper.getException().getMessage() );
+    }
+
+    @Test
+    public void testFeederOnlyReadsAvailableInput()
+        throws Exception
+    {
+        ByteArrayInputStream in = new ByteArrayInputStream( "yes\n".getBytes( "UTF-8" ) );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BufferedStreamPumper feeder = BufferedStreamPumper.feeder( in, out );
+        feeder.start();
+        while ( out.size() < 4 )
+        {
+            Thread.sleep( 1 );
+        }
+        assertTrue( feeder.isAlive() );
+
+        feeder.setDone();
+        assertTrue( feeder.awaitDone( 0 ) );
+        assertEquals( "yes\n", out.toString( "UTF-8" ) );
+        assertFalse( feeder.isAlive() );
+    }
+
+    private static class CountingOutputStream
+        extends OutputStream
+    {
+        private int written;
+
+        private int flushes;
+
+        @Override
+        public void write( int b )
+        {
+            written++;
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len )
+        {
+            written += len;
+        }
+
+        @Override
+        public void flush()
+        {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.Test;
+
+public class CaptureBufferTest
+{
+    @Test
+    public void testKeepShortOutput()
+        throws Exception
+    {
+        CaptureBuffer buffer = new CaptureBuffer( 16 );
+        buffer.write( "line 1\nline 2\n".getBytes() );
+
+        assertFalse( buffer.isTruncated() );
+        assertEquals( 14, buffer.getSize() );
+        assertEquals( "line 1\nline 2\n", buffer.getTail() );
+        assertEquals( "line 1\nline 2\n", read( buffer ) );
+    }
+
+    @Test
+    public void testKeepTailOfLongOutput()
+        throws Exception
+    {
+        CaptureBuffer buffer = new CaptureBuffer( 16 );
+        StringBuilder expected = new StringBuilder();
+        for ( int i = 1; i <= 5; i++ )
+        {
+            String line = "line " + i + "\n";
+            buffer.write( line.getBytes() );
+            expected.append( line );
+        }
+
+        assertTrue( buffer.isTruncated() );
+        assertEquals( 35, buffer.getSize() );
+        // the partial line at the start of the tail is dropped
+        assertEquals( "line 4\nline 5\n", buffer.getTail() );
+        assertEquals( expected.toString(), read( buffer ) );
+    }
+
+    @Test
+    public void testWriteLargerThanTail()
+        throws Exception
+    {
+        byte[] data = new byte[100];
+        for ( int i = 0; i < data.length; i++ )
+        {
+            data[i] = (byte) ( i % 10 == 9 ? '\n' : '0' + i % 10 );
+        }
+
+        CaptureBuffer buffer = new CaptureBuffer( 25 );
+        buffer.write( 'x' );
+        buffer.write( data, 0, data.length );
+        buffer.write( 'y' );
+
+        assertEquals( 102, buffer.getSize() );
+        assertEquals( "012345678\n012345678\ny", buffer.getTail() );
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write( 'x' );
+        expected.write( data );
+        expected.write( 'y' );
+        InputStream in = buffer.openStream();
+        try
+        {
+            assertArrayEquals( expected.toByteArray(), IOUtil.toByteArray( in ) );
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testCloseDiscardsOutput()
+        throws Exception
+    {
+        CaptureBuffer buffer = new CaptureBuffer( 4 );
+        buffer.write( "line 1\nline 2\n".getBytes() );
+        buffer.close();
+        buffer.write( "line 3\n".getBytes() );
+
+        assertEquals( "e 2\n", buffer.getTail() );
+        try
+        {
+            buffer.openStream();
+            fail( "output has been discarded" );
+        }
+        catch ( IOException e )
+        {
+            assertEquals( "The output has been discarded", e.getMessage() );
+        }
+    }
+
+    private static String read( CaptureBuffer buffer )
+        throws IOException
+    {
+        InputStream in = buffer.openStream();
+        try
+        {
+            return IOUtil.toString( in );
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Test the daemon Maven executor.
+ */
+public class DaemonMavenExecutorTest
+    extends PlexusTestCase
+{
+    private DaemonMavenExecutor executor;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        executor = (DaemonMavenExecutor) lookup( MavenExecutor.ROLE, "daemon" );
+    }
+
+    public void testNoMavenHome()
+        throws Exception
+    {
+        ReleaseEnvironment releaseEnvironment = new DefaultReleaseEnvironment();
+        releaseEnvironment.setMavenHome( getTestFile( "target/no-maven-home" ) );
+
+        try
+        {
+            executor.executeGoals( getTestFile( "target" ), "clean", releaseEnvironment, false, null,
+                                   new ReleaseResult() );
+            fail( "not a Maven home" );
+        }
+        catch ( MavenExecutorException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().contains( "Cannot start a Maven daemon" ) );
+            assertTrue( e.getMessage(), e.getMessage().contains( "is not a Maven 3 home" ) );
+        }
+    }
+
+    public void testPomFingerprint()
+        throws Exception
+    {
+        File directory = getTestFile( "target/test-classes/daemon-fingerprint" );
+        FileUtils.deleteDirectory( directory );
+        new File( directory, "module" ).mkdirs();
+        new File( directory, "target" ).mkdirs();
+        write( new File( directory, "pom.xml" ), "<project/>" );
+        write( new File( directory, "module/pom.xml" ), "<project/>" );
+        write( new File( directory, "target/pom.xml" ), "<project/>" );
+
+        long fingerprint = DaemonMavenExecutor.getPomFingerprint( directory );
+        assertEquals( fingerprint, DaemonMavenExecutor.getPomFingerprint( directory ) );
+
+        write( new File( directory, "target/pom.xml" ), "<project><version>1.0</version></project>" );
+        write( new File( directory, "module/Foo.java" ), "class Foo {}" );
+        assertEquals( fingerprint, DaemonMavenExecutor.getPomFingerprint( directory ) );
+
+        write( new File( directory, "module/pom.xml" ), "<project><version>1.0</version></project>" );
+        assertFalse( fingerprint == DaemonMavenExecutor.getPomFingerprint( directory ) );
+    }
+
+    private static void write( File file, String content )
+        throws Exception
+    {
+        FileUtils.fileWrite( file, "UTF-8", content );
+    }
+
+    public void testStaleDaemon()
+    {
+        File directory = new File( "project" );
+        MavenDaemonClient daemon = new MavenDaemonClient( null, 0, "token" );
+        assertFalse( daemon.isStale( directory, 1 ) );
+
+        daemon.setBuilt( directory, 1 );
+        assertTrue( daemon.hasBuilt( directory ) );
+        assertFalse( daemon.isStale( directory, 1 ) );
+        assertTrue( daemon.isStale( directory, 2 ) );
+        assertFalse( daemon.isStale( new File( "other" ), 2 ) );
+    }
+}
@@ -0,0 +1,218 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Test the embedded Maven executor.
+ */
+public class EmbeddedMavenExecutorTest
+    extends PlexusTestCase
+{
+    private EmbeddedMavenExecutor executor;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        executor = (EmbeddedMavenExecutor) lookup( MavenExecutor.ROLE, "embedded" );
+    }
+
+    public void testArguments()
+        throws Exception
+    {
+        File settingsFile = new File( "release-settings.xml" );
+        String[] args = executor.getArguments( Arrays.asList( "clean", "verify" ), false, "-Dfoo=\"bar baz\" -P qux",
+                                               "my-pom.xml", settingsFile );
+
+        assertEquals( Arrays.asList( "-s", settingsFile.getAbsolutePath(), "-f", "my-pom.xml", "clean", "verify",
+                                     "--no-plugin-updates", "--batch-mode", "-Dfoo=bar baz", "-P", "qux" ),
+                      Arrays.asList( args ) );
+    }
+
+    public void testInteractiveArguments()
+        throws Exception
+    {
+        String[] args = executor.getArguments( Collections.singletonList( "deploy" ), true, null, null, null );
+
+        assertEquals( Arrays.asList( "deploy", "--no-plugin-updates" ), Arrays.asList( args ) );
+    }
+
+    public void testNoMavenHome()
+        throws Exception
+    {
+        ReleaseEnvironment releaseEnvironment = new DefaultReleaseEnvironment();
+        releaseEnvironment.setMavenHome( getTestFile( "target/no-maven-home" ) );
+
+        try
+        {
+            executor.executeGoals( getTestFile( "target" ), "clean", releaseEnvironment, false, null,
+                                   new ReleaseResult() );
+            fail( "not a Maven home" );
+        }
+        catch ( MavenExecutorException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().contains( "is not a Maven 3 home" ) );
+        }
+    }
+
+    public void testRun()
+        throws Exception
+    {
+        File home = createDistribution();
+        File workingDirectory = getTestFile( "target" );
+        ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        System.setProperty( "maven.home", "previous" );
+        System.clearProperty( "maven.conf" );
+        try
+        {
+            EmbeddedMaven maven = EmbeddedMaven.load( home );
+            int exitCode = maven.run( workingDirectory, new String[] { "clean", "verify" },
+                                      new PrintStream( stdOut, true ), System.err );
+
+            assertEquals( 2, exitCode );
+            String ls = System.getProperty( "line.separator" );
+            assertEquals( "maven.home=" + home.getAbsolutePath() + ls + "maven.multiModuleProjectDirectory="
+                + workingDirectory.getAbsolutePath() + ls + "console=true" + ls + "realm=true" + ls,
+                          stdOut.toString() );
+            assertRestored( out, err, contextClassLoader );
+        }
+        finally
+        {
+            System.clearProperty( "maven.home" );
+        }
+    }
+
+    public void testRunFailure()
+        throws Exception
+    {
+        EmbeddedMaven maven = EmbeddedMaven.load( createDistribution() );
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        System.setProperty( "maven.home", "previous" );
+        System.clearProperty( "maven.conf" );
+        try
+        {
+            maven.run( getTestFile( "target" ), new String[] { "fail" }, new PrintStream( new ByteArrayOutputStream() ),
+                       new PrintStream( new ByteArrayOutputStream() ) );
+            fail( "build failed" );
+        }
+        catch ( InvocationTargetException e )
+        {
+            assertEquals( "build failed", e.getCause().getMessage() );
+            assertRestored( out, err, contextClassLoader );
+        }
+        finally
+        {
+            System.clearProperty( "maven.home" );
+        }
+    }
+
+    private static void assertRestored( PrintStream out, PrintStream err, ClassLoader contextClassLoader )
+    {
+        assertSame( out, System.out );
+        assertSame( err, System.err );
+        assertSame( contextClassLoader, Thread.currentThread().getContextClassLoader() );
+        assertEquals( "previous", System.getProperty( "maven.home" ) );
+        assertNull( System.getProperty( "maven.conf" ) );
+        assertNull( System.getProperty( "maven.multiModuleProjectDirectory" ) );
+    }
+
+    /**
+     * Creates a Maven home with the stubs of the class world and of the CLI in <code>boot</code> and <code>lib</code>.
+     * The stubs are compiled from <code>src/test/resources/embedded-maven</code>, so they never shadow the real classes
+     * on the class path of the tests.
+     */
+    private File createDistribution()
+        throws Exception
+    {
+        File sources = getTestFile( "src/test/resources/embedded-maven" );
+        File classes = getTestFile( "target/embedded-maven-classes" );
+        FileUtils.deleteDirectory( classes );
+        classes.mkdirs();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull( "the fake Maven distribution is compiled with the compiler of the JDK", compiler );
+        assertEquals( 0, compiler.run( null, null, null, "-d", classes.getPath(),
+                                       new File( sources, "org/codehaus/plexus/classworlds/ClassWorld.java" ).getPath(),
+                                       new File( sources, "org/apache/maven/cli/MavenCli.java" ).getPath() ) );
+
+        File home = getTestFile( "target/embedded-maven-home" );
+        FileUtils.deleteDirectory( home );
+        writeJar( new File( home, "boot/plexus-classworlds.jar" ), classes,
+                  "org/codehaus/plexus/classworlds/ClassWorld.class",
+                  "org/codehaus/plexus/classworlds/ClassWorld$Realm.class" );
+        writeJar( new File( home, "lib/maven-embedder.jar" ), classes, "org/apache/maven/cli/MavenCli.class" );
+        return home;
+    }
+
+    private static void writeJar( File jarFile, File classes, String... entries )
+        throws Exception
+    {
+        jarFile.getParentFile().mkdirs();
+        JarOutputStream jar = new JarOutputStream( new FileOutputStream( jarFile ) );
+        try
+        {
+            for ( String entry : entries )
+            {
+                jar.putNextEntry( new JarEntry( entry ) );
+                InputStream in = new FileInputStream( new File( classes, entry ) );
+                try
+                {
+                    IOUtil.copy( in, jar );
+                }
+                finally
+                {
+                    IOUtil.close( in );
+                }
+                jar.closeEntry();
+            }
+        }
+        finally
+        {
+            IOUtil.close( jar );
+        }
+    }
+}
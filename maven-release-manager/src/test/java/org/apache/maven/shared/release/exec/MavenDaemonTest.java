@@ -0,0 +1,163 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Test the Maven daemon protocol, with a daemon running in the test JVM.
+ */
+public class MavenDaemonTest
+    extends TestCase
+{
+    private MavenDaemon daemon;
+
+    private Thread server;
+
+    protected void tearDown()
+        throws Exception
+    {
+        if ( daemon != null )
+        {
+            daemon.close();
+            server.join();
+        }
+        super.tearDown();
+    }
+
+    private void startDaemon( MavenDaemon.Build build )
+        throws IOException
+    {
+        daemon = new MavenDaemon( build );
+        server = new Thread( "maven-daemon" )
+        {
+            @Override
+            public void run()
+            {
+                daemon.serve();
+            }
+        };
+        server.start();
+    }
+
+    public void testExecute()
+        throws Exception
+    {
+        startDaemon( new MavenDaemon.Build()
+        {
+            public int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+            {
+                stdOut.println( "[INFO] building " + workingDirectory.getName() + " " + Arrays.asList( args ) );
+                stdErr.println( "[WARNING] careful" );
+                return args.length;
+            }
+        } );
+        MavenDaemonClient client = new MavenDaemonClient( null, daemon.getPort(), daemon.getToken() );
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            int result = client.execute( new File( "project" ), new String[] { "clean", "-Dfoo=bar baz" }, out, err );
+
+            assertEquals( 2, result );
+            assertEquals( "[INFO] building project [clean, -Dfoo=bar baz]", out.toString().trim() );
+            assertEquals( "[WARNING] careful", err.toString().trim() );
+        }
+    }
+
+    public void testLargeOutput()
+        throws Exception
+    {
+        final byte[] data = new byte[1024 * 1024];
+        for ( int i = 0; i < data.length; i++ )
+        {
+            data[i] = (byte) i;
+        }
+        startDaemon( new MavenDaemon.Build()
+        {
+            public int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+            {
+                stdOut.write( data, 0, data.length );
+                return 0;
+            }
+        } );
+        MavenDaemonClient client = new MavenDaemonClient( null, daemon.getPort(), daemon.getToken() );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals( 0, client.execute( new File( "project" ), new String[0], out, new ByteArrayOutputStream() ) );
+        assertTrue( Arrays.equals( data, out.toByteArray() ) );
+    }
+
+    public void testFailure()
+        throws Exception
+    {
+        startDaemon( new MavenDaemon.Build()
+        {
+            public int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+            {
+                throw new IllegalStateException( "no container" );
+            }
+        } );
+        MavenDaemonClient client = new MavenDaemonClient( null, daemon.getPort(), daemon.getToken() );
+
+        try
+        {
+            client.execute( new File( "project" ), new String[0], new ByteArrayOutputStream(),
+                            new ByteArrayOutputStream() );
+            fail( "build failed" );
+        }
+        catch ( MavenExecutorException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().contains( "no container" ) );
+        }
+    }
+
+    public void testWrongToken()
+        throws Exception
+    {
+        startDaemon( new MavenDaemon.Build()
+        {
+            public int run( File workingDirectory, String[] args, PrintStream stdOut, PrintStream stdErr )
+            {
+                fail( "build must not run" );
+                return 0;
+            }
+        } );
+        MavenDaemonClient client = new MavenDaemonClient( null, daemon.getPort(), "wrong" );
+
+        try
+        {
+            client.execute( new File( "project" ), new String[0], new ByteArrayOutputStream(),
+                            new ByteArrayOutputStream() );
+            fail( "wrong token" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.apache.maven.shared.release.exec;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.metrics.MojoTiming;
+import org.apache.maven.shared.release.metrics.TimedOperation;
+
+/**
+ * Test the timing of mojos from the build output.
+ */
+public class MojoTimingParserTest
+    extends TestCase
+{
+    private static final long MILLIS = 1000000L;
+
+    private static final String[] BUILD = {
+        "[INFO] Scanning for projects...",
+        "[INFO] ------------------------------------------------------------------------",
+        "[INFO] Reactor Build Order:",
+        "[INFO] ",
+        "[INFO] Parent                                                             [pom]",
+        "[INFO] Module                                                             [jar]",
+        "[INFO] ",
+        "[INFO] --------------------------< example:parent >---------------------------",
+        "[INFO] Building Parent 1.0                                                [1/2]",
+        "[INFO] --------------------------------[ pom ]---------------------------------",
+        "[INFO] ",
+        "[INFO] --- install:3.1.2:install (default-install) @ parent ---",
+        "[INFO] Installing /work/pom.xml to /repo/example/parent/1.0/parent-1.0.pom",
+        "[INFO] ",
+        "[INFO] --------------------------< example:module >---------------------------",
+        "[INFO] Building Module 1.0                                                [2/2]",
+        "[INFO] --------------------------------[ jar ]---------------------------------",
+        "[INFO] ",
+        "[INFO] --- compiler:3.13.0:compile (default-compile) @ module ---",
+        "[INFO] Compiling 12 source files to /work/module/target/classes",
+        "[INFO] ",
+        "[INFO] --- surefire:3.2.5:test (default-test) @ module ---",
+        "[INFO] -------------------------------------------------------",
+        "[INFO]  T E S T S",
+        "[INFO] -------------------------------------------------------",
+        "[INFO] Building a test fixture",
+        "[INFO] Tests run: 3, Failures: 0, Errors: 0, Skipped: 0",
+        "[INFO] ",
+        "[INFO] --- jar:3.4.1:jar (default-jar) @ module ---",
+        "[INFO] Building jar: /work/module/target/module-1.0.jar",
+        "[INFO] ------------------------------------------------------------------------",
+        "[INFO] Reactor Summary for Parent 1.0:",
+        "[INFO] ",
+        "[INFO] Parent ............................................. SUCCESS [  0.250 s]",
+        "[INFO] Module ............................................. SUCCESS [01:02 min]",
+        "[INFO] ------------------------------------------------------------------------",
+        "[INFO] BUILD SUCCESS",
+        "[INFO] ------------------------------------------------------------------------",
+    };
+
+    private static final String[] PARALLEL_BUILD = {
+        "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 2",
+        "[INFO] -----------------------------< example:a >-----------------------------",
+        "[INFO] -----------------------------< example:b >-----------------------------",
+        "[INFO] --- compiler:3.13.0:compile (default-compile) @ a ---",
+        "[INFO] --- compiler:3.13.0:compile (default-compile) @ b ---",
+        "[INFO] -----------------------------< example:c >-----------------------------",
+        "[INFO] --- surefire:3.2.5:test (default-test) @ a ---",
+        "[INFO] --- jar:3.4.1:jar (default-jar) @ b ---",
+        "[INFO] --- jar:3.4.1:jar (default-jar) @ a ---",
+        "[INFO] ------------------------------------------------------------------------",
+        "[INFO] Reactor Summary for Parent 1.0:",
+    };
+
+    public void testBuild()
+    {
+        MojoTimingParser parser = new MojoTimingParser( null );
+        for ( int i = 0; i < BUILD.length; i++ )
+        {
+            parser.consumeLine( BUILD[i], i * 10 * MILLIS );
+        }
+        parser.finish();
+
+        List<MojoTiming> mojos = parser.getMojoTimings();
+        assertEquals( 4, mojos.size() );
+        assertMojo( "parent", "install:3.1.2:install", "default-install", 30, mojos.get( 0 ) );
+        assertMojo( "module", "compiler:3.13.0:compile", "default-compile", 30, mojos.get( 1 ) );
+        assertMojo( "module", "surefire:3.2.5:test", "default-test", 70, mojos.get( 2 ) );
+        assertMojo( "module", "jar:3.4.1:jar", "default-jar", 30, mojos.get( 3 ) );
+
+        List<TimedOperation> modules = parser.getModuleTimings();
+        assertEquals( 2, modules.size() );
+        assertEquals( "Parent", modules.get( 0 ).getName() );
+        assertEquals( 250, modules.get( 0 ).getDurationMillis() );
+        assertEquals( "Module", modules.get( 1 ).getName() );
+        assertEquals( 62000, modules.get( 1 ).getDurationMillis() );
+    }
+
+    public void testParallelBuild()
+    {
+        assertParallelBuild( 0 );
+    }
+
+    public void testInterleavedLines()
+    {
+        // without the line telling about the parallel build
+        assertParallelBuild( 1 );
+    }
+
+    private static void assertParallelBuild( int first )
+    {
+        MojoTimingParser parser = new MojoTimingParser( null );
+        for ( int i = first; i < PARALLEL_BUILD.length; i++ )
+        {
+            parser.consumeLine( PARALLEL_BUILD[i], i * 10 * MILLIS );
+        }
+        parser.finish();
+
+        // the mojos only end with the next mojo of their module, when the last ones ended isn't logged
+        List<MojoTiming> mojos = parser.getMojoTimings();
+        assertEquals( 3, mojos.size() );
+        assertMojo( "a", "compiler:3.13.0:compile", "default-compile", 30, mojos.get( 0 ) );
+        assertMojo( "b", "compiler:3.13.0:compile", "default-compile", 30, mojos.get( 1 ) );
+        assertMojo( "a", "surefire:3.2.5:test", "default-test", 20, mojos.get( 2 ) );
+    }
+
+    public void testMavenTwoLayout()
+    {
+        MojoTimingParser parser = new MojoTimingParser( null );
+        parser.consumeLine( "[INFO] ------------------------------------------------------------------------", 0 );
+        parser.consumeLine( "[INFO] Building Module", 0 );
+        parser.consumeLine( "[INFO]    task-segment: [install]", 0 );
+        parser.consumeLine( "[INFO] ------------------------------------------------------------------------", 0 );
+        parser.consumeLine( "[INFO] --- maven-compiler-plugin:2.0.2:compile @ module ---", 5 * MILLIS );
+        parser.consumeLine( "[INFO] ------------------------------------------------------------------------", 0 );
+        parser.consumeLine( "[INFO] Building Other", 20 * MILLIS );
+        parser.consumeLine( "[INFO] ------------------------------------------------------------------------", 30 * MILLIS );
+        parser.consumeLine( "[INFO] Reactor Summary:", 40 * MILLIS );
+        parser.consumeLine( "[INFO] Module ........................................ SUCCESS [1,5s]", 0 );
+        parser.consumeLine( "[INFO] Other ......................................... SKIPPED", 0 );
+
+        List<MojoTiming> mojos = parser.getMojoTimings();
+        assertEquals( 1, mojos.size() );
+        assertMojo( "module", "maven-compiler-plugin:2.0.2:compile", null, 15, mojos.get( 0 ) );
+
+        List<TimedOperation> modules = parser.getModuleTimings();
+        assertEquals( 1, modules.size() );
+        assertEquals( 1500, modules.get( 0 ).getDurationMillis() );
+    }
+
+    public void testStream()
+        throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MojoTimingParser parser = new MojoTimingParser( out );
+
+        StringBuilder log = new StringBuilder();
+        log.append( "\u001B[1;34mINFO\u001B[m ignored\r\n" );
+        log.append( "[\u001B[1;34mINFO\u001B[m] --- \u001B[0;32mresources:3.3.1:resources\u001B[m "
+            + "\u001B[1m(default-resources)\u001B[m @ \u001B[36mmodule\u001B[0;1m ---\u001B[m\r\n" );
+        char[] longLine = new char[MojoTimingParser.MAX_LINE_LENGTH * 2];
+        Arrays.fill( longLine, 'x' );
+        log.append( "[INFO] --- a:1:b @ " ).append( longLine ).append( " ---\n" );
+        log.append( "[INFO] --- deploy:3.1.1:deploy (default-deploy) @ module ---" );
+        byte[] bytes = log.toString().getBytes( "UTF-8" );
+
+        // in chunks splitting lines, and byte by byte
+        parser.write( bytes, 0, 7 );
+        parser.write( bytes, 7, 100 );
+        for ( int i = 107; i < bytes.length; i++ )
+        {
+            parser.write( bytes[i] );
+        }
+        ReleaseResult result = new ReleaseResult();
+        parser.finish( result );
+
+        assertEquals( log.toString(), out.toString( "UTF-8" ) );
+        List<MojoTiming> mojos = result.getMojoTimings();
+        assertEquals( 2, mojos.size() );
+        assertEquals( "resources:3.3.1:resources", mojos.get( 0 ).getMojo() );
+        assertEquals( "default-resources", mojos.get( 0 ).getExecutionId() );
+        assertEquals( "module", mojos.get( 0 ).getModule() );
+        assertEquals( "deploy:3.1.1:deploy", mojos.get( 1 ).getMojo() );
+    }
+
+    public void testParseDuration()
+    {
+        assertEquals( 1234, MojoTimingParser.parseDuration( "1.234", "s" ) );
+        assertEquals( 1234, MojoTimingParser.parseDuration( "1.234", null ) );
+        assertEquals( 62000, MojoTimingParser.parseDuration( "01:02", "min" ) );
+        assertEquals( 3720000, MojoTimingParser.parseDuration( "01:02", "h" ) );
+        assertEquals( -1, MojoTimingParser.parseDuration( "1:x", "min" ) );
+    }
+
+    private static void assertMojo( String module, String mojo, String executionId, long durationMillis,
+                                    MojoTiming timing )
+    {
+        assertEquals( module, timing.getModule() );
+        assertEquals( mojo, timing.getMojo() );
+        assertEquals( executionId, timing.getExecutionId() );
+        assertEquals( durationMillis, timing.getDurationMillis() );
+    }
+}
@@ -0,0 +1,101 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DefaultReleaseMetricsTest
+{
+    private DefaultReleaseMetrics metrics = new DefaultReleaseMetrics();
+
+    @Test
+    public void testNothingRecordedOutsideOfPhase()
+    {
+        metrics.recordModule( "groupId:artifactId", 10 );
+        metrics.recordScmCommand( "git checkIn", 10 );
+
+        assertFalse( metrics.isRecording() );
+        assertTrue( metrics.getPhases().isEmpty() );
+    }
+
+    @Test
+    public void testRecordPhase()
+    {
+        PhaseMetrics phase = metrics.startPhase( "rewrite-poms-for-release" );
+        assertTrue( metrics.isRecording() );
+        assertEquals( -1, phase.getDurationMillis() );
+
+        metrics.recordModule( "groupId:parent", 5 );
+        metrics.recordModule( "groupId:child", 3 );
+        metrics.recordModule( "groupId:parent", 2 );
+        metrics.recordBytesRead( 100 );
+        metrics.recordBytesWritten( 40 );
+        metrics.recordScmCommand( "git checkIn", 7 );
+        metrics.recordMavenInvocation( "clean verify", 1000 );
+        metrics.endPhase( phase );
+
+        assertFalse( metrics.isRecording() );
+        assertTrue( phase.getDurationMillis() >= 0 );
+        assertEquals( Collections.singletonList( phase ), metrics.getPhases() );
+        assertEquals( "[groupId:parent, groupId:child]", phase.getModules().keySet().toString() );
+        assertEquals( Long.valueOf( 7 ), phase.getModules().get( "groupId:parent" ) );
+        assertEquals( 100, phase.getBytesRead() );
+        assertEquals( 40, phase.getBytesWritten() );
+        assertEquals( "git checkIn", phase.getScmCommands().get( 0 ).getName() );
+        assertEquals( 7, phase.getScmCommands().get( 0 ).getDurationMillis() );
+        assertEquals( "clean verify", phase.getMavenInvocations().get( 0 ).getName() );
+    }
+
+    @Test
+    public void testRecordFromThreadOfPhase()
+        throws Exception
+    {
+        final PhaseMetrics phase = metrics.startPhase( "run-preparation-goals" );
+        Thread worker = new Thread()
+        {
+            public void run()
+            {
+                metrics.recordMavenInvocation( "clean verify", 1 );
+            }
+        };
+        worker.start();
+        worker.join();
+        metrics.endPhase( phase );
+
+        assertEquals( 1, phase.getMavenInvocations().size() );
+    }
+
+    @Test
+    public void testReset()
+    {
+        metrics.endPhase( metrics.startPhase( "check-poms" ) );
+        metrics.reset();
+
+        List<PhaseMetrics> phases = metrics.getPhases();
+        assertTrue( phases.isEmpty() );
+    }
+}
@@ -0,0 +1,100 @@
+package org.apache.maven.shared.release.metrics;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReleaseMetricsReportTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEmpty()
+    {
+        assertEquals( "{\n  \"goal\": \"prepare\",\n  \"phases\": []\n}\n",
+                      ReleaseMetricsReport.toJson( "prepare", Collections.<PhaseMetrics>emptyList() ) );
+    }
+
+    @Test
+    public void testWrite()
+        throws Exception
+    {
+        PhaseMetrics checkPoms = new PhaseMetrics( "check-poms", 1000 );
+        checkPoms.setDurationMillis( 5 );
+        PhaseMetrics rewrite = new PhaseMetrics( "rewrite-poms-for-release", 1005 );
+        rewrite.setDurationMillis( 20 );
+        rewrite.addModule( "groupId:artifactId", 12 );
+        rewrite.addBytesRead( 300 );
+        rewrite.addBytesWritten( 200 );
+        rewrite.addScmCommand( new TimedOperation( "git edit", 3 ) );
+
+        File report = ReleaseMetricsReport.write( "prepare", Arrays.asList( checkPoms, rewrite ), folder.getRoot() );
+
+        assertEquals( "release-prepare-metrics.json", report.getName() );
+        String expected = "{\n"
+            + "  \"goal\": \"prepare\",\n"
+            + "  \"phases\": [\n"
+            + "    {\n"
+            + "      \"name\": \"check-poms\",\n"
+            + "      \"startTime\": 1000,\n"
+            + "      \"durationMillis\": 5,\n"
+            + "      \"bytesRead\": 0,\n"
+            + "      \"bytesWritten\": 0,\n"
+            + "      \"modules\": {},\n"
+            + "      \"scmCommands\": [],\n"
+            + "      \"mavenInvocations\": []\n"
+            + "    },\n"
+            + "    {\n"
+            + "      \"name\": \"rewrite-poms-for-release\",\n"
+            + "      \"startTime\": 1005,\n"
+            + "      \"durationMillis\": 20,\n"
+            + "      \"bytesRead\": 300,\n"
+            + "      \"bytesWritten\": 200,\n"
+            + "      \"modules\": {\n"
+            + "        \"groupId:artifactId\": 12\n"
+            + "      },\n"
+            + "      \"scmCommands\": [\n"
+            + "        { \"name\": \"git edit\", \"durationMillis\": 3 }\n"
+            + "      ],\n"
+            + "      \"mavenInvocations\": []\n"
+            + "    }\n"
+            + "  ]\n"
+            + "}\n";
+        assertEquals( expected, FileUtils.fileRead( report, "UTF-8" ) );
+    }
+
+    @Test
+    public void testQuote()
+    {
+        assertEquals( "\"a\\\"b\\\\c\\n\\u0001\"", ReleaseMetricsReport.quote( "a\"b\\c\n\u0001" ) );
+        assertTrue( ReleaseMetricsReport.quote( null ).equals( "null" ) );
+    }
+}
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -82,6 +83,8 @@ public abstract class AbstractEditModeRewritingReleasePhaseTestCase
         List<MavenProject> reactorProjects = createReactorProjectsFromBasicPom();
         ReleaseDescriptor config = createDescriptorFromBasicPom( reactorProjects );
         config.setScmUseEditMode( true );
+        // the stub provider has no SCM translator, so make sure the POM changes for every phase
+        config.setAddSchema( true );
         mapNextVersion( config, "groupId:artifactId" );
 
         ScmManagerStub scmManager = new ScmManagerStub();
@@ -112,6 +115,8 @@ public abstract class AbstractEditModeRewritingReleasePhaseTestCase
         List<MavenProject> reactorProjects = createReactorProjectsFromBasicPom();
         ReleaseDescriptor config = createDescriptorFromBasicPom( reactorProjects );
         config.setScmUseEditMode( true );
+        // the stub provider has no SCM translator, so make sure the POM changes for every phase
+        config.setAddSchema( true );
         mapNextVersion( config, "groupId:artifactId" );
 
         ScmProvider scmProviderMock = mock( ScmProvider.class );
@@ -140,6 +145,40 @@ public abstract class AbstractEditModeRewritingReleasePhaseTestCase
         verifyNoMoreInteractions( scmProviderMock );
     }
 
+    @Test
+    public void testRewriteUnchangedPomWithEditMode()
+        throws Exception
+    {
+        // prepare
+        List<MavenProject> reactorProjects = createReactorProjectsFromBasicPom();
+
+        ScmProvider scmProviderMock = mock( ScmProvider.class );
+        when( scmProviderMock.edit( isA( ScmRepository.class ),
+                                    isA( ScmFileSet.class ) ) ).thenReturn( new EditScmResult( "", "", "", true ) );
+
+        ScmManagerStub scmManager = new ScmManagerStub();
+        DefaultScmRepositoryConfigurator configurator =
+            (DefaultScmRepositoryConfigurator) lookup( ScmRepositoryConfigurator.ROLE, "default" );
+        configurator.setScmManager( scmManager );
+        scmManager.setScmProvider( scmProviderMock );
+
+        // execute
+        for ( int i = 0; i < 2; i++ )
+        {
+            ReleaseDescriptor config = createDescriptorFromBasicPom( reactorProjects );
+            config.setScmUseEditMode( true );
+            // the stub provider has no SCM translator, so make sure the POM changes for every phase
+            config.setAddSchema( true );
+            mapNextVersion( config, "groupId:artifactId" );
+
+            phase.execute( config, new DefaultReleaseEnvironment(), reactorProjects );
+        }
+
+        // verify
+        // the second time the POM already has its new content, so it isn't opened for editing again
+        verify( scmProviderMock, times( 1 ) ).edit( isA( ScmRepository.class ), isA( ScmFileSet.class ) );
+    }
+
     @Test
     public void testRewritePomPluginDependencies()
         throws Exception
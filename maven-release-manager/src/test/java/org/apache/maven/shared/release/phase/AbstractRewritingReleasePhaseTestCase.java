@@ -47,6 +47,7 @@ import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.scm.ScmRepositoryConfigurator;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
 import org.apache.maven.shared.release.transform.jdom.JDomModelETLFactory;
+import org.apache.maven.shared.release.transform.stream.StreamModelETLFactory;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -67,7 +68,8 @@ public abstract class AbstractRewritingReleasePhaseTestCase
     @Parameters
     public static Collection<Object[]> data()
     {
-        return Arrays.asList( new Object[][] { { JDomModelETLFactory.ROLE_HINT } } );
+        return Arrays.asList( new Object[][] { { JDomModelETLFactory.ROLE_HINT },
+            { StreamModelETLFactory.ROLE_HINT } } );
     }
     
     public AbstractRewritingReleasePhaseTestCase( String modelETL )
@@ -259,6 +261,40 @@ public abstract class AbstractRewritingReleasePhaseTestCase
         }
     }
 
+    @Test
+    public void testRewritePomDependenciesInParallel()
+        throws Exception
+    {
+        List<MavenProject> reactorProjects = createReactorProjects( "internal-snapshot-dependencies" );
+        ReleaseDescriptor config = createDefaultConfiguration( reactorProjects );
+        mapNextVersion( config, "groupId:subsubproject" );
+        config.setPomTransformThreads( 4 );
+
+        phase.execute( config, new DefaultReleaseEnvironment(), reactorProjects );
+
+        assertTrue( comparePomFiles( reactorProjects ) );
+    }
+
+    @Test
+    public void testRewritePomUnmappedDependenciesInParallel()
+        throws Exception
+    {
+        List<MavenProject> reactorProjects = createReactorProjects( "internal-snapshot-dependencies" );
+        ReleaseDescriptor config = createUnmappedConfiguration( reactorProjects );
+        config.setPomTransformThreads( 4 );
+
+        try
+        {
+            phase.execute( config, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have thrown an exception" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            assertTrue( true );
+        }
+    }
+
     @Test
     public void testRewritePomDependenciesDifferentVersion()
         throws Exception
@@ -20,14 +20,17 @@ package org.apache.maven.shared.release.phase;
  */
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -36,7 +39,9 @@ import java.util.Map;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.release.ReleaseExecutionException;
 import org.apache.maven.shared.release.ReleaseFailureException;
+import org.apache.maven.shared.release.ReleaseResult;
 import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.config.SnapshotResolutionFile;
 import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
 import org.codehaus.plexus.components.interactivity.Prompter;
 import org.codehaus.plexus.components.interactivity.PrompterException;
@@ -700,6 +705,138 @@ public class CheckDependencySnapshotsPhaseTest
         assertEquals( "1.0", versionsMap.get( ReleaseDescriptor.RELEASE_KEY ) );
     }
 
+    @Test
+    public void testSharedSnapshotDependencyResolvedOnce()
+        throws Exception
+    {
+        CheckDependencySnapshotsPhase phase =
+            (CheckDependencySnapshotsPhase) lookup( ReleasePhase.ROLE, "check-dependency-snapshots" );
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        List<MavenProject> reactorProjects =
+            createDescriptorFromProjects( "multimodule-shared-external-snapshot-dependency" );
+
+        Prompter mockPrompter =
+            createMockPrompter( YES, DEFAULT_CHOICE, new VersionPair( "1.0", "1.1-SNAPSHOT" ),
+                                new VersionPair( "1.0", "1.0" ) );
+        phase.setPrompter( mockPrompter );
+
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        verify( mockPrompter ).prompt( eq( CheckDependencySnapshotsPhase.RESOLVE_SNAPSHOT_PROMPT ),
+                                       eq( YES_NO_ARRAY ), eq( NO ) );
+        verify( mockPrompter ).prompt( "Which release version should it be set to?", "1.0" );
+
+        assertEquals( 1, releaseDescriptor.getResolvedSnapshotDependencies().size() );
+    }
+
+    @Test
+    public void testSnapshotDependenciesResolvedFromFile()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setSnapshotResolutionFile( getTestPath( "target/test-classes/release.properties" ) );
+        List<MavenProject> reactorProjects =
+            createDescriptorFromProjects( "multimodule-shared-external-snapshot-dependency" );
+
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        @SuppressWarnings( "rawtypes" )
+        Map versionsMap = (Map) releaseDescriptor.getResolvedSnapshotDependencies().get( "external:artifactId" );
+        assertNotNull( versionsMap );
+        assertEquals( "1.0", versionsMap.get( ReleaseDescriptor.RELEASE_KEY ) );
+        assertEquals( "1.1-SNAPSHOT", versionsMap.get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+        assertEquals( "1.0-SNAPSHOT", versionsMap.get( ReleaseDescriptor.ORIGINAL_VERSION ) );
+    }
+
+    @Test
+    public void testSnapshotDependenciesResolvedFromFilePartially()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setSnapshotResolutionFile( getTestPath( "target/test-classes/release.properties" ) );
+        List<MavenProject> reactorProjects =
+            createDescriptorFromProjects( "multimodule-external-snapshot-dependencies" );
+
+        try
+        {
+            phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have failed execution" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            assertTrue( e.getMessage().contains( "external:artifactId2:jar:1.0-SNAPSHOT" ) );
+            assertFalse( e.getMessage().contains( "external:artifactId:jar:1.0-SNAPSHOT" ) );
+        }
+    }
+
+    @Test
+    public void testInteractiveSnapshotResolutionsWrittenToFile()
+        throws Exception
+    {
+        CheckDependencySnapshotsPhase phase =
+            (CheckDependencySnapshotsPhase) lookup( ReleasePhase.ROLE, "check-dependency-snapshots" );
+
+        File resolutionFile = getTestFile( "target/snapshot-resolutions/answers.properties" );
+        resolutionFile.getParentFile().mkdirs();
+        resolutionFile.delete();
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setSnapshotResolutionFile( resolutionFile.getPath() );
+        List<MavenProject> reactorProjects =
+            createDescriptorFromProjects( "multimodule-shared-external-snapshot-dependency" );
+
+        phase.setPrompter( createMockPrompter( YES, DEFAULT_CHOICE, new VersionPair( "1.0", "1.1-SNAPSHOT" ),
+                                               new VersionPair( "1.0", "1.0" ) ) );
+
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        Map<String, Map<String, String>> resolutions = SnapshotResolutionFile.read( resolutionFile );
+        assertEquals( "1.0", resolutions.get( "external:artifactId" ).get( ReleaseDescriptor.RELEASE_KEY ) );
+        assertEquals( "1.1-SNAPSHOT",
+                      resolutions.get( "external:artifactId" ).get( ReleaseDescriptor.DEVELOPMENT_KEY ) );
+
+        // the next release doesn't ask anymore
+        releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setSnapshotResolutionFile( resolutionFile.getPath() );
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+    }
+
+    @Test
+    public void testSharedSnapshotDependencyReportedWithModules()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        List<MavenProject> reactorProjects =
+            createDescriptorFromProjects( "multimodule-shared-external-snapshot-dependency" );
+
+        try
+        {
+            phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have failed execution" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            String message = e.getMessage();
+            assertEquals( "reported once", message.indexOf( "external:artifactId:jar:1.0-SNAPSHOT" ),
+                          message.lastIndexOf( "external:artifactId:jar:1.0-SNAPSHOT" ) );
+            assertTrue( message.contains( "(groupId:subproject1:jar:1.0-SNAPSHOT)" ) );
+            assertTrue( message.contains( "(groupId:subproject2:jar:1.0-SNAPSHOT)" ) );
+        }
+
+        // nothing is kept from a failed check
+        releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(),
+                       createDescriptorFromProjects( "no-snapshot-dependencies" ) );
+    }
+
     @Test
     public void testSnapshotDependenciesInsideAndOutsideProject()
         throws Exception
@@ -918,6 +1055,68 @@ public class CheckDependencySnapshotsPhaseTest
         assertTrue( true );
     }
 
+    @Test
+    public void testDeclaredSnapshotsReported()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        List<MavenProject> reactorProjects = createDescriptorFromProjects( "declared-snapshots" );
+
+        ReleaseResult result = phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        String output = result.getOutput();
+        assertTrue( output.contains( "external:managed-artifactId:1.0-SNAPSHOT in the dependency management" ) );
+        assertTrue( output.contains( "external:managed-plugin-artifactId:1.1-SNAPSHOT in the plugin management" ) );
+        assertTrue( output.contains( "external:plugin-dependency-artifactId:1.2-SNAPSHOT in the plugin management" ) );
+        assertTrue( output.contains( "external:profile-artifactId:1.3-SNAPSHOT in the profile 'inactive'" ) );
+    }
+
+    @Test
+    public void testDeclaredSnapshotsChecked()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setCheckDeclaredSnapshots( true );
+        List<MavenProject> reactorProjects = createDescriptorFromProjects( "declared-snapshots" );
+
+        try
+        {
+            phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have failed execution" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            String message = e.getMessage();
+            assertTrue( message.contains( "external:managed-artifactId:jar:1.0-SNAPSHOT" ) );
+            assertTrue( message.contains( "external:managed-plugin-artifactId:maven-plugin:1.1-SNAPSHOT" ) );
+            assertTrue( message.contains( "external:plugin-dependency-artifactId:jar:1.2-SNAPSHOT" ) );
+            assertTrue( message.contains( "external:profile-artifactId:jar:1.3-SNAPSHOT" ) );
+        }
+    }
+
+    @Test
+    public void testSnapshotExternalPluginDependency()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        List<MavenProject> reactorProjects = createDescriptorFromProjects( "external-snapshot-plugin-dependency" );
+
+        try
+        {
+            phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have failed execution" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            assertTrue( e.getMessage().contains( "external:artifactId:jar:1.0-SNAPSHOT" ) );
+        }
+    }
+
     @Test
     public void testSnapshotExternalManagedPlugin()
         throws Exception
@@ -0,0 +1,116 @@
+package org.apache.maven.shared.release.phase;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseResult;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.ReleaseEnvironment;
+
+/**
+ * Test stub for phases which must run concurrently: every phase waits until all of them are running. Phases configured
+ * as failing fail after that, when failures are enabled.
+ */
+public class ConcurrentReleasePhaseStub
+    extends ReleasePhaseStub
+{
+    private static CountDownLatch running;
+
+    private static boolean fail;
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private static final AtomicInteger MAX_ACTIVE = new AtomicInteger();
+
+    /**
+     * Whether this phase fails when failures are enabled.
+     */
+    private boolean failing;
+
+    /**
+     * @param phases the number of phases which must run at the same time
+     */
+    public static void reset( int phases )
+    {
+        reset( phases, false );
+    }
+
+    /**
+     * @param phases the number of phases which must run at the same time
+     * @param fail whether the phases configured as failing fail
+     */
+    public static void reset( int phases, boolean fail )
+    {
+        running = new CountDownLatch( phases );
+        ConcurrentReleasePhaseStub.fail = fail;
+        MAX_ACTIVE.set( 0 );
+    }
+
+    /**
+     * @return the largest number of phases which ran at the same time since the last reset
+     */
+    public static int getMaxActive()
+    {
+        return MAX_ACTIVE.get();
+    }
+
+    public ReleaseResult execute( ReleaseDescriptor releaseDescriptor, ReleaseEnvironment releaseEnvironment,
+                                  List<MavenProject> reactorProjects )
+    {
+        int now = ACTIVE.incrementAndGet();
+        try
+        {
+            int max = MAX_ACTIVE.get();
+            while ( now > max && !MAX_ACTIVE.compareAndSet( max, now ) )
+            {
+                max = MAX_ACTIVE.get();
+            }
+
+            running.countDown();
+            try
+            {
+                if ( !running.await( 10, TimeUnit.SECONDS ) )
+                {
+                    throw new IllegalStateException( "Phases did not run concurrently" );
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException( e );
+            }
+
+            if ( failing && fail )
+            {
+                throw new IllegalStateException( "Failing phase" );
+            }
+            return super.execute( releaseDescriptor, releaseEnvironment, reactorProjects );
+        }
+        finally
+        {
+            ACTIVE.decrementAndGet();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -2142,6 +2143,73 @@ public class MapVersionsPhaseTest
         phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
     }
 
+    @Test
+    public void testExecuteBatchPolicy_MapReleaseVersions()
+        throws Exception
+    {
+        // prepare
+        MapVersionsPhase phase = (MapVersionsPhase) lookup( ReleasePhase.ROLE, TEST_MAP_RELEASE_VERSIONS );
+        RecordingBatchVersionPolicy policy =
+            (RecordingBatchVersionPolicy) lookup( "org.apache.maven.shared.release.policy.version.VersionPolicy",
+                                                  "recording-batch" );
+        policy.reset();
+
+        List<MavenProject> reactorProjects =
+            Arrays.asList( createProject( "artifactId", "1.0-SNAPSHOT" ), createProject( "module1", "1.0-SNAPSHOT" ),
+                           createProject( "module2", "2.0-SNAPSHOT" ), createProject( "module3", "1.0-SNAPSHOT" ) );
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setProjectVersionPolicyId( "recording-batch" );
+
+        // test
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        // verify
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put( "groupId:artifactId", "1.0" );
+        expected.put( "groupId:module1", "1.0" );
+        expected.put( "groupId:module2", "2.0" );
+        expected.put( "groupId:module3", "1.0" );
+        assertEquals( expected, releaseDescriptor.getReleaseVersions() );
+        assertEquals( Collections.singletonList( Arrays.asList( "1.0-SNAPSHOT", "2.0-SNAPSHOT" ) ),
+                      policy.getBatches() );
+        assertEquals( Collections.<String>emptyList(), policy.getSingles() );
+    }
+
+    @Test
+    public void testExecuteBatchPolicy_MapDevelopmentVersionsSkipsDefaults()
+        throws Exception
+    {
+        // prepare
+        MapVersionsPhase phase = (MapVersionsPhase) lookup( ReleasePhase.ROLE, TEST_MAP_DEVELOPMENT_VERSIONS );
+        RecordingBatchVersionPolicy policy =
+            (RecordingBatchVersionPolicy) lookup( "org.apache.maven.shared.release.policy.version.VersionPolicy",
+                                                  "recording-batch" );
+        policy.reset();
+
+        List<MavenProject> reactorProjects =
+            Arrays.asList( createProject( "artifactId", "1.0" ), createProject( "module1", "1.0" ),
+                           createProject( "module2", "3.0" ) );
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setProjectVersionPolicyId( "recording-batch" );
+        releaseDescriptor.mapDevelopmentVersion( "groupId:module2", "4.0-SNAPSHOT" );
+
+        // test
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        // verify
+        Map<String, String> expected = new HashMap<String, String>();
+        expected.put( "groupId:artifactId", "1.1-SNAPSHOT" );
+        expected.put( "groupId:module1", "1.1-SNAPSHOT" );
+        expected.put( "groupId:module2", "4.0-SNAPSHOT" );
+        assertEquals( expected, releaseDescriptor.getDevelopmentVersions() );
+        assertEquals( Collections.singletonList( Collections.singletonList( "1.0" ) ), policy.getBatches() );
+        assertEquals( Collections.<String>emptyList(), policy.getSingles() );
+    }
+
     private static MavenProject createProject( String artifactId, String version )
     {
         Model model = new Model();
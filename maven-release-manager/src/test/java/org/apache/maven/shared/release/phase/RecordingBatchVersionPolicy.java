@@ -0,0 +1,108 @@
+package org.apache.maven.shared.release.phase;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.shared.release.policies.DefaultVersionPolicy;
+import org.apache.maven.shared.release.policy.PolicyException;
+import org.apache.maven.shared.release.policy.version.BatchVersionPolicy;
+import org.apache.maven.shared.release.policy.version.VersionPolicyRequest;
+import org.apache.maven.shared.release.policy.version.VersionPolicyResult;
+import org.apache.maven.shared.release.versions.VersionParseException;
+
+/**
+ * Batch version policy which records the versions it was asked for.
+ */
+public class RecordingBatchVersionPolicy
+    extends DefaultVersionPolicy
+    implements BatchVersionPolicy
+{
+    private final List<List<String>> batches = new ArrayList<List<String>>();
+
+    private final List<String> singles = new ArrayList<String>();
+
+    public List<List<String>> getBatches()
+    {
+        return batches;
+    }
+
+    public List<String> getSingles()
+    {
+        return singles;
+    }
+
+    public void reset()
+    {
+        batches.clear();
+        singles.clear();
+    }
+
+    @Override
+    public VersionPolicyResult getReleaseVersion( VersionPolicyRequest request )
+        throws PolicyException, VersionParseException
+    {
+        singles.add( request.getVersion() );
+        return super.getReleaseVersion( request );
+    }
+
+    @Override
+    public VersionPolicyResult getDevelopmentVersion( VersionPolicyRequest request )
+        throws PolicyException, VersionParseException
+    {
+        singles.add( request.getVersion() );
+        return super.getDevelopmentVersion( request );
+    }
+
+    public List<VersionPolicyResult> getReleaseVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException
+    {
+        List<VersionPolicyResult> results = new ArrayList<VersionPolicyResult>();
+        batches.add( record( requests ) );
+        for ( VersionPolicyRequest request : requests )
+        {
+            results.add( super.getReleaseVersion( request ) );
+        }
+        return results;
+    }
+
+    public List<VersionPolicyResult> getDevelopmentVersions( List<VersionPolicyRequest> requests )
+        throws PolicyException, VersionParseException
+    {
+        List<VersionPolicyResult> results = new ArrayList<VersionPolicyResult>();
+        batches.add( record( requests ) );
+        for ( VersionPolicyRequest request : requests )
+        {
+            results.add( super.getDevelopmentVersion( request ) );
+        }
+        return results;
+    }
+
+    private static List<String> record( List<VersionPolicyRequest> requests )
+    {
+        List<String> versions = new ArrayList<String>();
+        for ( VersionPolicyRequest request : requests )
+        {
+            versions.add( request.getVersion() );
+        }
+        return versions;
+    }
+}
@@ -30,12 +30,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
@@ -57,6 +59,7 @@ import org.apache.maven.shared.release.scm.ReleaseScmCommandException;
 import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  * Test the SCM modification check phase.
@@ -409,6 +412,75 @@ public class ScmCheckModificationsPhaseTest
                       phase.simulate( releaseDescriptor, new DefaultReleaseEnvironment(), null ).getResultCode() );
     }
 
+    @Test
+    public void testAdditionalExcludesOnlyApplyToTheirRelease()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = createReleaseDescriptor();
+        releaseDescriptor.setCheckModificationExcludes( Collections.singletonList( "something.*" ) );
+
+        setChangedFiles( releaseDescriptor, Collections.singletonList( "something.txt" ) );
+
+        assertEquals( ReleaseResult.SUCCESS,
+                      phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), null ).getResultCode() );
+
+        // the phase removes the excluded files from the status result
+        setChangedFiles( releaseDescriptor, Collections.singletonList( "something.txt" ) );
+
+        try
+        {
+            phase.execute( createReleaseDescriptor(), new DefaultReleaseEnvironment(), null );
+
+            fail( "Status check should have failed" );
+        }
+        catch ( ReleaseFailureException e )
+        {
+            assertTrue( true );
+        }
+    }
+
+    @Test
+    public void testStatusOfReactorDirectories()
+        throws Exception
+    {
+        ReleaseDescriptor releaseDescriptor = createReleaseDescriptor();
+        File workingDirectory = new File( releaseDescriptor.getWorkingDirectory() );
+
+        ScmProvider scmProviderMock = mock( ScmProvider.class );
+        when( scmProviderMock.status( isA( ScmRepository.class ), isA( ScmFileSet.class ) ) )
+            .thenReturn( new StatusScmResult( "", Collections.<ScmFile>emptyList() ) );
+
+        ScmManagerStub stub = (ScmManagerStub) lookup( ScmManager.ROLE );
+        stub.setScmProvider( scmProviderMock );
+
+        List<MavenProject> reactorProjects =
+            Arrays.asList( createProject( new File( workingDirectory, "parent" ) ),
+                           createProject( new File( workingDirectory, "parent/module" ) ),
+                           createProject( new File( workingDirectory, "other" ) ) );
+
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        ArgumentCaptor<ScmFileSet> fileSet = ArgumentCaptor.forClass( ScmFileSet.class );
+        verify( scmProviderMock ).status( isA( ScmRepository.class ), fileSet.capture() );
+        assertEquals( workingDirectory, fileSet.getValue().getBasedir() );
+        assertEquals( Arrays.asList( new File( "other" ), new File( "parent" ) ),
+                      fileSet.getValue().getFileList() );
+
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(),
+                       Collections.singletonList( createProject( workingDirectory ) ) );
+
+        verify( scmProviderMock, times( 2 ) ).status( isA( ScmRepository.class ), fileSet.capture() );
+        assertEquals( workingDirectory, fileSet.getValue().getBasedir() );
+        assertTrue( fileSet.getValue().getFileList().isEmpty() );
+    }
+
+    private static MavenProject createProject( File basedir )
+    {
+        MavenProject project = new MavenProject();
+        project.setFile( new File( basedir, "pom.xml" ) );
+        return project;
+    }
+
     private void setChangedFiles( ReleaseDescriptor releaseDescriptor, List<String> changedFiles )
         throws Exception
     {
@@ -34,6 +34,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.manager.NoSuchScmProviderException;
 import org.apache.maven.scm.manager.ScmManager;
 import org.apache.maven.scm.provider.ScmProvider;
@@ -60,6 +62,8 @@ import org.apache.maven.shared.release.scm.ReleaseScmRepositoryException;
 import org.apache.maven.shared.release.stubs.ScmManagerStub;
 import org.apache.maven.shared.release.util.ReleaseUtil;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  * Test the release or branch preparation SCM commit phase.
@@ -165,6 +169,145 @@ public class ScmCommitPreparationPhaseTest
         verifyNoMoreInteractions( scmProviderMock );
     }
 
+    @Test
+    public void testCommitByProjectDeferPush()
+        throws Exception
+    {
+        // prepare
+        ReleaseDescriptor descriptor = createDeferPushDescriptor();
+        List<MavenProject> reactorProjects = createReactorProjects( "scm-commit/", "multiple-poms" );
+        descriptor.setWorkingDirectory( ReleaseUtil.getRootProject( reactorProjects ).getFile().getParentFile()
+            .getAbsolutePath() );
+
+        List<Boolean> pushes = new ArrayList<Boolean>();
+        ScmProvider scmProviderMock = mockDeferPushProvider( pushes, null );
+        when( scmProviderMock.status( isA( ScmRepository.class ), isA( ScmFileSet.class ) ) ).thenAnswer(
+            changedUnless( null ) );
+        ScmManagerStub stub = (ScmManagerStub) lookup( ScmManager.ROLE );
+        stub.setScmProvider( scmProviderMock );
+
+        // execute
+        phase.execute( descriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        // verify
+        for ( MavenProject project : reactorProjects )
+        {
+            ScmFileSet fileSet = new ScmFileSet( project.getFile().getParentFile(), project.getFile() );
+            verify( scmProviderMock ).checkIn( isA( ScmRepository.class ), argThat( new IsScmFileSetEquals( fileSet ) ),
+                                               isNull( ScmVersion.class ), eq( PREFIX + "release-label" ) );
+        }
+        MavenProject lastProject = reactorProjects.get( reactorProjects.size() - 1 );
+        verify( scmProviderMock ).status( isA( ScmRepository.class ), argThat( new IsScmFileSetEquals(
+            new ScmFileSet( lastProject.getFile().getParentFile(), lastProject.getFile() ) ) ) );
+        verifyNoMoreInteractions( scmProviderMock );
+        assertEquals( "only the last commit pushes", Arrays.asList( false, false, true ), pushes );
+    }
+
+    @Test
+    public void testCommitByProjectDeferPushWithoutLastCommit()
+        throws Exception
+    {
+        // prepare
+        ReleaseDescriptor descriptor = createDeferPushDescriptor();
+        List<MavenProject> reactorProjects = createReactorProjects( "scm-commit/", "multiple-poms" );
+        descriptor.setWorkingDirectory( ReleaseUtil.getRootProject( reactorProjects ).getFile().getParentFile()
+            .getAbsolutePath() );
+        File unchanged = reactorProjects.get( reactorProjects.size() - 1 ).getFile().getParentFile();
+
+        List<Boolean> pushes = new ArrayList<Boolean>();
+        ScmProvider scmProviderMock = mockDeferPushProvider( pushes, unchanged );
+        when( scmProviderMock.status( isA( ScmRepository.class ), isA( ScmFileSet.class ) ) ).thenAnswer(
+            changedUnless( unchanged ) );
+        ScmManagerStub stub = (ScmManagerStub) lookup( ScmManager.ROLE );
+        stub.setScmProvider( scmProviderMock );
+
+        // execute
+        phase.execute( descriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+        // verify
+        assertEquals( "the last commit pushes", Arrays.asList( false, true, false ), pushes );
+    }
+
+    @Test
+    public void testCommitByProjectDeferPushWithoutLastCommitOrStatus()
+        throws Exception
+    {
+        // prepare
+        ReleaseDescriptor descriptor = createDeferPushDescriptor();
+        List<MavenProject> reactorProjects = createReactorProjects( "scm-commit/", "multiple-poms" );
+        descriptor.setWorkingDirectory( ReleaseUtil.getRootProject( reactorProjects ).getFile().getParentFile()
+            .getAbsolutePath() );
+        File unchanged = reactorProjects.get( reactorProjects.size() - 1 ).getFile().getParentFile();
+
+        // without a status the provider can't tell which project has changes, so the last one has to push them
+        ScmProvider scmProviderMock = mockDeferPushProvider( new ArrayList<Boolean>(), unchanged );
+        ScmManagerStub stub = (ScmManagerStub) lookup( ScmManager.ROLE );
+        stub.setScmProvider( scmProviderMock );
+
+        // execute
+        try
+        {
+            phase.execute( descriptor, new DefaultReleaseEnvironment(), reactorProjects );
+
+            fail( "Should have thrown an exception" );
+        }
+        catch ( ReleaseScmCommandException e )
+        {
+            assertNull( "check no other cause", e.getCause() );
+            assertTrue( "recovery step", e.getMessage().contains( "git push" ) );
+        }
+    }
+
+    private static ReleaseDescriptor createDeferPushDescriptor()
+    {
+        ReleaseDescriptor descriptor = new ReleaseDescriptor();
+        descriptor.setScmSourceUrl( "scm-url" );
+        descriptor.setScmReleaseLabel( "release-label" );
+        descriptor.setCommitByProject( true );
+        descriptor.setDeferPush( true );
+        return descriptor;
+    }
+
+    private static ScmProvider mockDeferPushProvider( final List<Boolean> pushes, final File unchanged )
+        throws ScmException
+    {
+        ScmProvider scmProviderMock = mock( ScmProvider.class );
+        when( scmProviderMock.checkIn( isA( ScmRepository.class ), isA( ScmFileSet.class ), isNull( ScmVersion.class ),
+                                       eq( PREFIX + "release-label" ) ) ).thenAnswer( new Answer<CheckInScmResult>()
+        {
+            public CheckInScmResult answer( InvocationOnMock invocation )
+            {
+                ScmRepository repository = (ScmRepository) invocation.getArguments()[0];
+                ScmFileSet fileSet = (ScmFileSet) invocation.getArguments()[1];
+                pushes.add( repository.getProviderRepository().isPushChanges() );
+                if ( fileSet.getBasedir().equals( unchanged ) )
+                {
+                    return new CheckInScmResult( "...", Collections.<ScmFile>emptyList() );
+                }
+                return new CheckInScmResult( "...", Collections.singletonList(
+                    new ScmFile( fileSet.getFileList().get( 0 ).getPath(), ScmFileStatus.CHECKED_IN ) ) );
+            }
+        } );
+        return scmProviderMock;
+    }
+
+    private static Answer<StatusScmResult> changedUnless( final File unchanged )
+    {
+        return new Answer<StatusScmResult>()
+        {
+            public StatusScmResult answer( InvocationOnMock invocation )
+            {
+                ScmFileSet fileSet = (ScmFileSet) invocation.getArguments()[1];
+                if ( fileSet.getBasedir().equals( unchanged ) )
+                {
+                    return new StatusScmResult( "...", Collections.<ScmFile>emptyList() );
+                }
+                return new StatusScmResult( "...", Collections.singletonList(
+                    new ScmFile( fileSet.getFileList().get( 0 ).getPath(), ScmFileStatus.MODIFIED ) ) );
+            }
+        };
+    }
+
     @Test
     public void testCommitDevelopment()
         throws Exception
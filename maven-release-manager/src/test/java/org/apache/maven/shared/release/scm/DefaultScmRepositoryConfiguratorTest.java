@@ -202,6 +202,58 @@ public class DefaultScmRepositoryConfiguratorTest
         assertEquals( "Check SCM provider", "cvs", provider.getScmType() );
     }
 
+    public void testGetConfiguredRepositoryCached()
+        throws ScmRepositoryException, NoSuchScmProviderException
+    {
+        Settings settings = new Settings();
+
+        ScmRepository repository =
+            scmRepositoryConfigurator.getConfiguredRepository( createReleaseDescriptor( "username", "password" ),
+                                                               settings );
+
+        // a phase changes the repository it got
+        repository.getProviderRepository().setPushChanges( false );
+        repository.getProviderRepository().setUser( "other" );
+
+        ScmRepository cached =
+            scmRepositoryConfigurator.getConfiguredRepository( createReleaseDescriptor( "username", "password" ),
+                                                               settings );
+        assertNotSame( "check own repository", repository, cached );
+        assertTrue( "check push changes", cached.getProviderRepository().isPushChanges() );
+        assertEquals( "check username", "username", cached.getProviderRepository().getUser() );
+        assertEquals( "check password", "password", cached.getProviderRepository().getPassword() );
+        assertFalse( "check persist checkout", cached.getProviderRepository().isPersistCheckout() );
+
+        assertSame( "check same provider", scmRepositoryConfigurator.getRepositoryProvider( repository ),
+                    scmRepositoryConfigurator.getRepositoryProvider( cached ) );
+    }
+
+    public void testGetConfiguredRepositoryNotCachedWhenScmSettingsChange()
+        throws ScmRepositoryException, NoSuchScmProviderException
+    {
+        Settings settings = new Settings();
+
+        ScmRepository repository =
+            scmRepositoryConfigurator.getConfiguredRepository( createReleaseDescriptor( "username", "password" ),
+                                                               settings );
+
+        ScmRepository otherPassword =
+            scmRepositoryConfigurator.getConfiguredRepository( createReleaseDescriptor( "username", "other" ),
+                                                               settings );
+        assertNotSame( "check other password", repository, otherPassword );
+        assertEquals( "check password", "other", otherPassword.getProviderRepository().getPassword() );
+
+        ReleaseDescriptor releaseDescriptor = createReleaseDescriptor( "username", "password" );
+        releaseDescriptor.setScmTagBase( "http://localhost/home/svn/module/tags" );
+        assertNotSame( "check other tag base", repository,
+                       scmRepositoryConfigurator.getConfiguredRepository( releaseDescriptor, settings ) );
+
+        assertNotSame( "check other settings", repository,
+                       scmRepositoryConfigurator.getConfiguredRepository( createReleaseDescriptor( "username",
+                                                                                                   "password" ),
+                                                                          new Settings() ) );
+    }
+
     private static ReleaseDescriptor createReleaseDescriptor()
     {
         ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
@@ -0,0 +1,187 @@
+package org.apache.maven.shared.release.stress;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.PlexusJUnit4TestCase;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.phase.ReleasePhase;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.Test;
+
+/**
+ * Commits the POMs of flat reactors by project with the git provider, into a clone of a local bare repository, once
+ * pushing every commit and once deferring the push to the last commit, and reports how the time grows with the number
+ * of modules. The pushes are counted with a <code>post-receive</code> hook of the bare repository. Only runs when the
+ * module counts are given, e.g. with <code>-Dtest=CommitByProjectStressTest -Dstress.modules=10,100,200</code>, and
+ * needs a <code>git</code> executable.
+ */
+public class CommitByProjectStressTest
+    extends PlexusJUnit4TestCase
+{
+    @Test
+    public void testCommitByProject()
+        throws Exception
+    {
+        String moduleCounts = System.getProperty( "stress.modules" );
+        assumeTrue( moduleCounts != null && isGitAvailable() );
+
+        ReleasePhase phase = (ReleasePhase) lookup( ReleasePhase.ROLE, "scm-commit-release" );
+
+        StringBuilder report = new StringBuilder( "Commit by project into a local bare repository:\n" );
+        for ( String modules : moduleCounts.split( "," ) )
+        {
+            int moduleCount = Integer.parseInt( modules.trim() );
+            long pushEach = runCommit( phase, moduleCount, false );
+            long pushOnce = runCommit( phase, moduleCount, true );
+            report.append( String.format( "  %5d modules: %8d ms pushing every commit, %8d ms deferring the push%n",
+                                          moduleCount, pushEach, pushOnce ) );
+        }
+        System.out.print( report );
+    }
+
+    /**
+     * @return the duration of the commit phase in milliseconds
+     */
+    private long runCommit( ReleasePhase phase, int moduleCount, boolean deferPush )
+        throws Exception
+    {
+        File basedir =
+            getTestFile( "target/stress/commit-by-project/" + moduleCount + ( deferPush ? "-deferred" : "" ) );
+        FileUtils.deleteDirectory( basedir );
+        File remote = new File( basedir, "remote.git" );
+        File checkout = new File( basedir, "checkout" );
+        remote.mkdirs();
+        git( remote, "init", "--bare" );
+        git( basedir, "clone", remote.getAbsolutePath(), checkout.getAbsolutePath() );
+        git( checkout, "config", "user.name", "Release Manager" );
+        git( checkout, "config", "user.email", "release@localhost" );
+
+        List<MavenProject> reactorProjects = new ArrayList<MavenProject>();
+        for ( int i = 0; i < moduleCount; i++ )
+        {
+            File pomFile = new File( checkout, "module-" + i + "/pom.xml" );
+            pomFile.getParentFile().mkdirs();
+            FileUtils.fileWrite( pomFile, "UTF-8", createPom( i, "1.0-SNAPSHOT" ) );
+
+            MavenProject project = new MavenProject();
+            project.setFile( pomFile );
+            reactorProjects.add( project );
+        }
+        git( checkout, "add", "." );
+        git( checkout, "commit", "-q", "-m", "initial" );
+        git( checkout, "push", "-q", "origin", "HEAD" );
+        File pushes = new File( basedir, "pushes" );
+        File hook = new File( remote, "hooks/post-receive" );
+        FileUtils.fileWrite( hook, "UTF-8", "#!/bin/sh\necho push >> '" + pushes.getAbsolutePath() + "'\n" );
+        hook.setExecutable( true );
+
+        for ( int i = 0; i < moduleCount; i++ )
+        {
+            FileUtils.fileWrite( reactorProjects.get( i ).getFile(), "UTF-8", createPom( i, "1.0" ) );
+        }
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setScmSourceUrl( "scm:git:file://" + remote.getAbsolutePath() );
+        releaseDescriptor.setWorkingDirectory( checkout.getAbsolutePath() );
+        releaseDescriptor.setScmReleaseLabel( "release-1.0" );
+        releaseDescriptor.setCommitByProject( true );
+        releaseDescriptor.setPushChanges( true );
+        releaseDescriptor.setDeferPush( deferPush );
+
+        long start = System.nanoTime();
+        phase.execute( releaseDescriptor, new DefaultReleaseEnvironment(), reactorProjects );
+        long millis = ( System.nanoTime() - start ) / 1000000;
+
+        // the remote has one commit per module, and nothing is left to push
+        assertEquals( String.valueOf( moduleCount + 1 ), git( remote, "rev-list", "--count", "HEAD" ) );
+        assertEquals( git( checkout, "rev-parse", "HEAD" ), git( remote, "rev-parse", "HEAD" ) );
+        assertEquals( "pushes", deferPush ? 1 : moduleCount, FileUtils.fileRead( pushes ).split( "\n" ).length );
+        return millis;
+    }
+
+    private static String createPom( int module, String version )
+    {
+        return "<project>\n  <modelVersion>4.0.0</modelVersion>\n  <groupId>groupId</groupId>\n  <artifactId>module-"
+            + module + "</artifactId>\n  <version>" + version + "</version>\n</project>\n";
+    }
+
+    private static boolean isGitAvailable()
+    {
+        try
+        {
+            git( new File( "." ), "--version" );
+            return true;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @return the trimmed output of the command
+     */
+    private static String git( File directory, String... args )
+        throws IOException
+    {
+        List<String> command = new ArrayList<String>();
+        command.add( "git" );
+        command.addAll( Arrays.asList( args ) );
+        Process process = new ProcessBuilder( command ).directory( directory ).redirectErrorStream( true ).start();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        InputStream in = process.getInputStream();
+        try
+        {
+            IOUtil.copy( in, output );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+
+        try
+        {
+            if ( process.waitFor() != 0 )
+            {
+                throw new IOException( "git " + args[0] + " failed: " + output );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            throw new IOException( e.getMessage(), e );
+        }
+        return output.toString( "UTF-8" ).trim();
+    }
+}
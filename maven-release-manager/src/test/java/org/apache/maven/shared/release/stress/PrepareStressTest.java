@@ -0,0 +1,348 @@
+package org.apache.maven.shared.release.stress;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.profiles.DefaultProfileManager;
+import org.apache.maven.profiles.ProfileManager;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectSorter;
+import org.apache.maven.scm.manager.ScmManager;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.shared.release.ReleaseManager;
+import org.apache.maven.shared.release.ReleaseMetricsListener;
+import org.apache.maven.shared.release.ReleasePrepareRequest;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.env.DefaultReleaseEnvironment;
+import org.apache.maven.shared.release.metrics.PhaseMetrics;
+import org.apache.maven.shared.release.phase.AbstractReleaseTestCase;
+import org.apache.maven.shared.release.stubs.ScmManagerStub;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.junit.Test;
+
+/**
+ * Runs a simulated <code>release:prepare</code> with all phases of the release manager over generated reactors, against
+ * an SCM stub, and reports the time and the allocations of every phase. By default the reactors are small, so this
+ * checks that the phases cope with the shapes of large reactors. To look for super-linear behavior run it with a large
+ * reactor and compare the numbers, e.g. with
+ * <code>-Dtest=PrepareStressTest -Dstress.depth=2 -Dstress.fanOut=37</code> for about 1,400 modules. The report of
+ * the phases is only printed when the size of the reactor is set.
+ */
+public class PrepareStressTest
+    extends AbstractReleaseTestCase
+{
+    private static final int DEFAULT_DEPTH = 2;
+
+    private static final int DEFAULT_FAN_OUT = 4;
+
+    @Test
+    public void testPrepareNestedReactor()
+        throws Exception
+    {
+        runPrepare( false, false );
+    }
+
+    @Test
+    public void testPrepareFlatReactor()
+        throws Exception
+    {
+        runPrepare( true, false );
+    }
+
+    /**
+     * Runs the phases which only depend on <code>check-poms</code> concurrently, with the phase dependencies of the
+     * release manager components.
+     */
+    @Test
+    public void testPrepareConcurrentPhases()
+        throws Exception
+    {
+        runPrepare( false, true );
+    }
+
+    private void runPrepare( boolean flat, boolean concurrentPhases )
+        throws Exception
+    {
+        ReactorGenerator generator =
+            new ReactorGenerator().setDepth( Integer.getInteger( "stress.depth", DEFAULT_DEPTH ) )
+                .setFanOut( Integer.getInteger( "stress.fanOut", DEFAULT_FAN_OUT ) ).setFlat( flat );
+        File basedir =
+            getTestFile( "target/stress/" + ( flat ? "flat" : "nested" ) + ( concurrentPhases ? "-concurrent" : "" ) );
+        File rootPom = generator.generate( basedir );
+
+        long start = System.nanoTime();
+        List<MavenProject> reactorProjects = buildReactor( rootPom );
+        long buildMillis = ( System.nanoTime() - start ) / 1000000;
+        assertEquals( generator.getProjectCount(), reactorProjects.size() );
+
+        MavenProject rootProject = reactorProjects.get( 0 );
+        ScmManagerStub scmManager = (ScmManagerStub) lookup( ScmManager.ROLE );
+        String scmUrl = rootProject.getScm().getConnection();
+        scmManager.setScmRepository(
+            new ScmRepository( "svn", new SvnScmProviderRepository( scmUrl.substring( "scm:svn:".length() ) ) ) );
+
+        ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+        releaseDescriptor.setInteractive( false );
+        releaseDescriptor.setAutoVersionSubmodules( true );
+        releaseDescriptor.setWorkingDirectory( rootPom.getParentFile().getAbsolutePath() );
+        releaseDescriptor.setScmSourceUrl( scmUrl );
+        releaseDescriptor.setPreparationGoals( "" );
+        releaseDescriptor.setCompletionGoals( "" );
+        releaseDescriptor.setConcurrentPhases( concurrentPhases );
+
+        PhaseReport report = new PhaseReport();
+        ReleasePrepareRequest prepareRequest = new ReleasePrepareRequest();
+        prepareRequest.setReleaseDescriptor( releaseDescriptor );
+        prepareRequest.setReleaseEnvironment( new DefaultReleaseEnvironment() );
+        prepareRequest.setReactorProjects( reactorProjects );
+        prepareRequest.setReleaseManagerListener( report );
+        prepareRequest.setDryRun( true );
+        prepareRequest.setResume( false );
+
+        ReleaseManager releaseManager = (ReleaseManager) lookup( ReleaseManager.ROLE, "default" );
+        releaseManager.prepare( prepareRequest );
+
+        if ( System.getProperty( "stress.depth" ) != null || System.getProperty( "stress.fanOut" ) != null )
+        {
+            System.out.println( "Simulated prepare of a " + ( flat ? "flat" : "nested" ) + " reactor with "
+                + reactorProjects.size() + " projects, built in " + buildMillis + " ms:" );
+            System.out.print( report );
+        }
+
+        // every POM got its release version and its next development version
+        for ( MavenProject project : reactorProjects )
+        {
+            File pomFile = project.getFile();
+            assertEquals( "1.0", readVersion( new File( pomFile.getParentFile(), "pom.xml.tag" ), project ) );
+            assertEquals( "1.1-SNAPSHOT", readVersion( new File( pomFile.getParentFile(), "pom.xml.next" ), project ) );
+        }
+        assertTrue( "all phases ran", report.phases.containsKey( "end-release" ) );
+        if ( concurrentPhases )
+        {
+            assertEquals( "phases which only depend on check-poms",
+                          new HashSet<String>( Arrays.asList( "scm-check-modifications",
+                                                              "check-dependency-snapshots" ) ),
+                          report.concurrent );
+        }
+        else
+        {
+            assertTrue( "no phases ran concurrently", report.concurrent.isEmpty() );
+        }
+    }
+
+    private static String readVersion( File pomFile, MavenProject project )
+        throws Exception
+    {
+        Model model = new MavenXpp3Reader().read( ReaderFactory.newXmlReader( pomFile ) );
+        return project.hasParent() ? model.getParent().getVersion() : model.getVersion();
+    }
+
+    /**
+     * Builds the projects of the reactor with the project builder of Maven, with the direct dependencies as the
+     * artifacts of a project. Resolving the transitive dependencies doesn't add anything for the release, as the
+     * dependencies within the reactor are direct ones.
+     */
+    private List<MavenProject> buildReactor( File rootPom )
+        throws Exception
+    {
+        ProfileManager profileManager = new DefaultProfileManager( getContainer() );
+        ArtifactFactory artifactFactory = (ArtifactFactory) lookup( ArtifactFactory.ROLE );
+
+        List<MavenProject> projects = new ArrayList<MavenProject>();
+        List<File> pomFiles = new ArrayList<File>();
+        pomFiles.add( rootPom );
+        for ( int i = 0; i < pomFiles.size(); i++ )
+        {
+            File pomFile = pomFiles.get( i );
+            MavenProject project = projectBuilder.build( pomFile, localRepository, profileManager );
+            for ( Object module : project.getModules() )
+            {
+                pomFiles.add( new File( new File( pomFile.getParentFile(), (String) module ), "pom.xml" )
+                    .getCanonicalFile() );
+            }
+            project.setDependencyArtifacts( project.createArtifacts( artifactFactory, null, null ) );
+            project.setArtifacts( project.getDependencyArtifacts() );
+            projects.add( project );
+        }
+
+        @SuppressWarnings( "unchecked" )
+        List<MavenProject> sortedProjects = new ProjectSorter( projects ).getSortedProjects();
+        return sortedProjects;
+    }
+
+    /**
+     * Times the phases and counts the bytes allocated while they run, by all live threads. Threads which end during a
+     * phase aren't counted and the phases which run concurrently count each other's allocations, so the numbers are
+     * only an approximation. On a JVM which can't count the allocations of a thread only the time is reported.
+     */
+    private static class PhaseReport
+        implements ReleaseMetricsListener
+    {
+        private final com.sun.management.ThreadMXBean threads = getAllocationCounter();
+
+        private final Map<String, Map<Long, Long>> allocatedAtStart = new HashMap<String, Map<Long, Long>>();
+
+        private final Map<String, long[]> phases = new LinkedHashMap<String, long[]>();
+
+        private final Set<String> running = new HashSet<String>();
+
+        /**
+         * The phases which started while another phase was running.
+         */
+        private final Set<String> concurrent = new HashSet<String>();
+
+        private static com.sun.management.ThreadMXBean getAllocationCounter()
+        {
+            try
+            {
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                if ( threads instanceof com.sun.management.ThreadMXBean )
+                {
+                    com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+                    if ( counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled() )
+                    {
+                        return counter;
+                    }
+                }
+            }
+            catch ( LinkageError e )
+            {
+                // not a HotSpot based JVM
+            }
+            return null;
+        }
+
+        private Map<Long, Long> getAllocatedBytes()
+        {
+            if ( threads == null )
+            {
+                return Collections.emptyMap();
+            }
+            long[] ids = threads.getAllThreadIds();
+            long[] allocated = threads.getThreadAllocatedBytes( ids );
+            Map<Long, Long> allocatedBytes = new HashMap<Long, Long>();
+            for ( int i = 0; i < ids.length; i++ )
+            {
+                if ( allocated[i] > 0 )
+                {
+                    allocatedBytes.put( ids[i], allocated[i] );
+                }
+            }
+            return allocatedBytes;
+        }
+
+        public void goalStart( String goal, List<String> phases )
+        {
+        }
+
+        public void phaseStart( String name )
+        {
+            allocatedAtStart.put( name, getAllocatedBytes() );
+            if ( !running.isEmpty() )
+            {
+                concurrent.addAll( running );
+                concurrent.add( name );
+            }
+            running.add( name );
+        }
+
+        public void phaseEnd()
+        {
+        }
+
+        public void phaseSkip( String name )
+        {
+        }
+
+        public void goalEnd()
+        {
+        }
+
+        public void error( String reason )
+        {
+        }
+
+        public void phaseMetrics( PhaseMetrics metrics )
+        {
+            Map<Long, Long> start = allocatedAtStart.get( metrics.getName() );
+            long allocated = 0;
+            for ( Map.Entry<Long, Long> thread : getAllocatedBytes().entrySet() )
+            {
+                Long atStart = start.get( thread.getKey() );
+                long delta = thread.getValue() - ( atStart != null ? atStart : 0 );
+                // the counter of a thread which is just starting up can be garbage
+                if ( delta > 0 )
+                {
+                    allocated += delta;
+                }
+            }
+            phases.put( metrics.getName(), new long[] { metrics.getDurationMillis(), allocated } );
+            running.remove( metrics.getName() );
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder report = new StringBuilder();
+            long totalMillis = 0;
+            long totalBytes = 0;
+            for ( Map.Entry<String, long[]> phase : phases.entrySet() )
+            {
+                long[] values = phase.getValue();
+                append( report, phase.getKey(), values[0], values[1] );
+                totalMillis += values[0];
+                totalBytes += values[1];
+            }
+            append( report, "total", totalMillis, totalBytes );
+            return report.toString();
+        }
+
+        private void append( StringBuilder report, String name, long millis, long bytes )
+        {
+            if ( threads != null )
+            {
+                report.append( String.format( "  %-32s %8d ms %10d KB%n", name, millis, bytes / 1024 ) );
+            }
+            else
+            {
+                report.append( String.format( "  %-32s %8d ms%n", name, millis ) );
+            }
+        }
+    }
+}
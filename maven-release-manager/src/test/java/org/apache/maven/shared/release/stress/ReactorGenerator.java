@@ -0,0 +1,309 @@
+package org.apache.maven.shared.release.stress;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Scm;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
+
+/**
+ * Generates multi-module reactors of any size, shaped like the large reactors the release manager has to cope with.
+ * The reactor is a tree of aggregating parents with the given depth and fan-out, either nested or in a flat layout
+ * where every module is a sibling of the root. Besides the modules of the tree there is a <code>build-tools</code>
+ * module, which the leaves use as a plugin dependency.
+ * <p>
+ * The root manages the versions of all modules and of an external library, with the versions of the external library
+ * and the plugins in properties. Every leaf depends on the leaf generated before it, with the managed version, and on
+ * the leaf in the middle of the ones before it, with an explicit <code>${project.version}</code>. It also has an
+ * inactive profile depending on the first leaf.
+ */
+public class ReactorGenerator
+{
+    public static final String GROUP_ID = "org.example.stress";
+
+    public static final String VERSION = "1.0-SNAPSHOT";
+
+    public static final String ROOT_ARTIFACT_ID = "root";
+
+    public static final String BUILD_TOOLS_ARTIFACT_ID = "build-tools";
+
+    private int depth = 2;
+
+    private int fanOut = 4;
+
+    private boolean flat;
+
+    private final List<String> leaves = new ArrayList<String>();
+
+    private int modules;
+
+    /**
+     * @param depth the number of levels below the root, at least 1
+     * @return this generator
+     */
+    public ReactorGenerator setDepth( int depth )
+    {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * @param fanOut the number of modules of every aggregator, at least 1
+     * @return this generator
+     */
+    public ReactorGenerator setFanOut( int fanOut )
+    {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * @param flat <code>true</code> to put all modules next to the root, instead of in the directory of their parent
+     * @return this generator
+     */
+    public ReactorGenerator setFlat( boolean flat )
+    {
+        this.flat = flat;
+        return this;
+    }
+
+    /**
+     * @return the number of projects of the generated reactor, including the root
+     */
+    public int getProjectCount()
+    {
+        return modules + 1;
+    }
+
+    /**
+     * Writes the reactor.
+     *
+     * @param basedir the directory to write the reactor to, which is emptied first
+     * @return the POM of the root project
+     * @throws IOException if a POM could not be written
+     */
+    public File generate( File basedir )
+        throws IOException
+    {
+        FileUtils.deleteDirectory( basedir );
+        leaves.clear();
+        modules = 0;
+
+        File rootDirectory = flat ? new File( basedir, ROOT_ARTIFACT_ID ) : basedir;
+        Model root = createRootModel( "file://" + basedir.getAbsolutePath().replace( '\\', '/' ) + "/svn/trunk" );
+
+        File buildToolsDirectory = getModuleDirectory( basedir, rootDirectory, BUILD_TOOLS_ARTIFACT_ID );
+        root.addModule( getModulePath( buildToolsDirectory ) );
+        Model buildTools = createModuleModel( BUILD_TOOLS_ARTIFACT_ID, root, rootDirectory );
+        write( buildTools, buildToolsDirectory );
+
+        generateModules( basedir, root, rootDirectory, "", 1 );
+
+        // manage every leaf in the root, as most large reactors do
+        DependencyManagement dependencyManagement = root.getDependencyManagement();
+        for ( String leaf : leaves )
+        {
+            dependencyManagement.addDependency( createDependency( GROUP_ID, leaf, "${project.version}", null ) );
+        }
+        write( root, rootDirectory );
+
+        return new File( rootDirectory, "pom.xml" );
+    }
+
+    private void generateModules( File basedir, Model parent, File parentDirectory, String prefix, int level )
+        throws IOException
+    {
+        for ( int i = 1; i <= fanOut; i++ )
+        {
+            String artifactId = prefix.length() == 0 ? "m" + i : prefix + "-" + i;
+            File directory = getModuleDirectory( basedir, parentDirectory, artifactId );
+            parent.addModule( getModulePath( directory ) );
+
+            Model model = createModuleModel( artifactId, parent, parentDirectory );
+            if ( level < depth )
+            {
+                model.setPackaging( "pom" );
+                generateModules( basedir, model, directory, artifactId, level + 1 );
+            }
+            else
+            {
+                addLeafContent( model );
+                leaves.add( artifactId );
+            }
+            write( model, directory );
+        }
+    }
+
+    private File getModuleDirectory( File basedir, File parentDirectory, String artifactId )
+    {
+        return new File( flat ? basedir : parentDirectory, artifactId );
+    }
+
+    private String getModulePath( File directory )
+    {
+        return flat ? "../" + directory.getName() : directory.getName();
+    }
+
+    private Model createRootModel( String scmUrl )
+    {
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setGroupId( GROUP_ID );
+        model.setArtifactId( ROOT_ARTIFACT_ID );
+        model.setVersion( VERSION );
+        model.setPackaging( "pom" );
+        model.getProperties().setProperty( "external.version", "2.1" );
+        model.getProperties().setProperty( "compiler.version", "3.7.0" );
+
+        Scm scm = new Scm();
+        scm.setConnection( "scm:svn:" + scmUrl );
+        scm.setDeveloperConnection( "scm:svn:" + scmUrl );
+        scm.setUrl( scmUrl );
+        model.setScm( scm );
+
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.addDependency( createDependency( "org.example.external", "external-lib",
+                                                              "${external.version}", null ) );
+        model.setDependencyManagement( dependencyManagement );
+
+        Plugin compiler = new Plugin();
+        compiler.setArtifactId( "maven-compiler-plugin" );
+        compiler.setVersion( "${compiler.version}" );
+        PluginManagement pluginManagement = new PluginManagement();
+        pluginManagement.addPlugin( compiler );
+        Build build = new Build();
+        build.setPluginManagement( pluginManagement );
+        model.setBuild( build );
+
+        Profile profile = new Profile();
+        profile.setId( "external-next" );
+        profile.setActivation( createPropertyActivation( "external.next" ) );
+        profile.getProperties().setProperty( "external.version", "2.2-SNAPSHOT" );
+        model.addProfile( profile );
+        return model;
+    }
+
+    private Model createModuleModel( String artifactId, Model parent, File parentDirectory )
+    {
+        modules++;
+
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setArtifactId( artifactId );
+
+        Parent parentReference = new Parent();
+        parentReference.setGroupId( GROUP_ID );
+        parentReference.setArtifactId( parent.getArtifactId() );
+        parentReference.setVersion( VERSION );
+        if ( flat )
+        {
+            parentReference.setRelativePath( "../" + parentDirectory.getName() + "/pom.xml" );
+        }
+        model.setParent( parentReference );
+        return model;
+    }
+
+    private void addLeafContent( Model model )
+    {
+        if ( !leaves.isEmpty() )
+        {
+            model.addDependency( createDependency( GROUP_ID, leaves.get( leaves.size() - 1 ), null, null ) );
+        }
+        if ( leaves.size() > 1 )
+        {
+            model.addDependency( createDependency( GROUP_ID, leaves.get( leaves.size() / 2 - 1 ),
+                                                   "${project.version}", null ) );
+        }
+        model.addDependency( createDependency( "org.example.external", "external-lib", null, null ) );
+        model.addDependency( createDependency( "junit", "junit", "4.12", "test" ) );
+
+        Plugin compiler = new Plugin();
+        compiler.setArtifactId( "maven-compiler-plugin" );
+        Plugin checkstyle = new Plugin();
+        checkstyle.setArtifactId( "maven-checkstyle-plugin" );
+        checkstyle.setVersion( "2.17" );
+        checkstyle.addDependency( createDependency( GROUP_ID, BUILD_TOOLS_ARTIFACT_ID, "${project.version}", null ) );
+        Build build = new Build();
+        build.addPlugin( compiler );
+        build.addPlugin( checkstyle );
+        model.setBuild( build );
+
+        if ( !leaves.isEmpty() )
+        {
+            Profile profile = new Profile();
+            profile.setId( "integration" );
+            profile.setActivation( createPropertyActivation( "integration" ) );
+            profile.addDependency( createDependency( GROUP_ID, leaves.get( 0 ), "${project.version}", "test" ) );
+            model.addProfile( profile );
+        }
+    }
+
+    private static Activation createPropertyActivation( String name )
+    {
+        ActivationProperty property = new ActivationProperty();
+        property.setName( name );
+        Activation activation = new Activation();
+        activation.setProperty( property );
+        return activation;
+    }
+
+    private static Dependency createDependency( String groupId, String artifactId, String version, String scope )
+    {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId( groupId );
+        dependency.setArtifactId( artifactId );
+        dependency.setVersion( version );
+        dependency.setScope( scope );
+        return dependency;
+    }
+
+    private static void write( Model model, File directory )
+        throws IOException
+    {
+        directory.mkdirs();
+        Writer writer = WriterFactory.newXmlWriter( new File( directory, "pom.xml" ) );
+        try
+        {
+            new MavenXpp3Writer().write( writer, model );
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.apache.maven.shared.release.transform;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DefaultPomCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DefaultPomCache cache = new DefaultPomCache();
+
+    @Test
+    public void testReadUnchangedPom()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project>\r\n</project>\r\n" );
+
+        CachedPom pom = cache.read( pomFile, "\n", "parser" );
+        assertEquals( "<project>\n</project>\n", pom.getContent() );
+        pom.setDocument( "parser", new Object() );
+        assertSame( pom, cache.read( pomFile, "\n", "parser" ) );
+        assertEquals( 1, cache.getHits() );
+        assertEquals( 1, cache.getMisses() );
+    }
+
+    @Test
+    public void testReadUnchangedPomWithoutDocument()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project/>" );
+
+        CachedPom pom = cache.read( pomFile, "\n", "parser" );
+        pom.setDocument( "other", new Object() );
+
+        // the content is reused, but the POM still has to be parsed
+        assertSame( pom, cache.read( pomFile, "\n", "parser" ) );
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 2, cache.getMisses() );
+    }
+
+    @Test
+    public void testReadWithOtherLineSeparator()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project>\n</project>\n" );
+
+        cache.read( pomFile, "\n", "parser" ).setDocument( "parser", new Object() );
+        assertEquals( "<project>\r\n</project>\r\n", cache.read( pomFile, "\r\n", "parser" ).getContent() );
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 2, cache.getMisses() );
+    }
+
+    @Test
+    public void testReadChangedPom()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project><version>1.0</version></project>" );
+        long lastModified = pomFile.lastModified();
+
+        CachedPom pom = cache.read( pomFile, "\n", "parser" );
+        pom.setDocument( "parser", new Object() );
+
+        // same size and modification time, only the content hash tells the difference
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project><version>2.0</version></project>" );
+        pomFile.setLastModified( lastModified );
+
+        CachedPom changed = cache.read( pomFile, "\n", "parser" );
+        assertNotSame( pom, changed );
+        assertEquals( "<project><version>2.0</version></project>", changed.getContent() );
+        assertEquals( null, changed.getDocument( "parser" ) );
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 2, cache.getMisses() );
+    }
+
+    @Test
+    public void testReadWrittenPom()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+
+        CachedPom written = new CachedPom( "<project>\n  <name>é</name>\n</project>\n" );
+        Object document = new Object();
+        written.setDocument( "parser", document );
+        cache.write( pomFile, written, "\n" );
+        assertEquals( "<project>\n  <name>é</name>\n</project>\n", FileUtils.fileRead( pomFile, "UTF-8" ) );
+
+        CachedPom pom = cache.read( new File( pomFile.getParentFile(), "./" + pomFile.getName() ), "\n", "parser" );
+        assertEquals( "<project>\n  <name>é</name>\n</project>\n", pom.getContent() );
+        assertSame( document, pom.getDocument( "parser" ) );
+        assertEquals( 1, cache.getHits() );
+        assertEquals( 0, cache.getMisses() );
+    }
+
+    @Test
+    public void testClear()
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project/>" );
+
+        cache.read( pomFile, "\n", "parser" ).setDocument( "parser", new Object() );
+        cache.read( pomFile, "\n", "parser" );
+        cache.clear();
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 0, cache.getMisses() );
+
+        cache.read( pomFile, "\n", "parser" );
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 1, cache.getMisses() );
+    }
+}
@@ -0,0 +1,159 @@
+package org.apache.maven.shared.release.transform.jdom;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.apache.maven.shared.release.transform.DefaultPomCache;
+import org.apache.maven.shared.release.util.ReleaseUtil;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JDomModelETLTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // the expressions which were used to find the prolog and epilog before
+    // CHECKSTYLE_OFF: LineLength
+    private static final String XML = "<\\?(?:(?:[^\"'>]++)|(?:\"[^\"]*+\")|(?:'[^\']*+'))*+>";
+    private static final String INTSUB = "\\[(?:(?:[^\"'\\]]++)|(?:\"[^\"]*+\")|(?:'[^\']*+'))*+\\]";
+    private static final String DOCTYPE = "<!DOCTYPE(?:(?:[^\"'\\[>]++)|(?:\"[^\"]*+\")|(?:'[^\']*+')|(?:" + INTSUB + "))*+>";
+    private static final String COMMENT = "<!--(?:[^-]|(?:-[^-]))*+-->";
+    private static final String INTRO = "(?:(?:\\s++)|(?:" + XML + ")|(?:" + DOCTYPE + ")|(?:" + COMMENT + "))*";
+    private static final String OUTRO = "(?:(?:\\s++)|(?:" + COMMENT + ")|(?:" + XML + "))*";
+    private static final Pattern POM = Pattern.compile( "(?s)(" + INTRO + ")(.*?)(" + OUTRO + ")" );
+    // CHECKSTYLE_ON: LineLength
+
+    @Test
+    public void testCorpus()
+        throws Exception
+    {
+        List<File> poms = FileUtils.getFiles( new File( "src/test/resources/projects" ), "**/*.xml", null );
+        assertTrue( poms.size() > 100 );
+
+        for ( File pom : poms )
+        {
+            String content = ReleaseUtil.readXmlFile( pom );
+            if ( !content.contains( "<project" ) )
+            {
+                continue;
+            }
+            Matcher matcher = POM.matcher( content );
+            assertTrue( pom.getPath(), matcher.matches() );
+
+            assertEquals( pom.getPath(), matcher.end( 1 ), JDomModelETL.getRootElementStart( content ) );
+            assertEquals( pom.getPath(), matcher.start( 3 ), JDomModelETL.getRootElementEnd( content ) );
+        }
+    }
+
+    @Test
+    public void testProlog()
+    {
+        assertRoot( "", "<project/>", "" );
+        assertRoot( "\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n", "<project></project>", "\n" );
+        assertRoot( "<!-- <project> -->\n<?pi <project> ?>\n", "<project>\n</project>", "" );
+        assertRoot( "<!DOCTYPE project [\n  <!ENTITY a \"]>\">\n  <!-- ' ]> -->\n  <!ENTITY b '\"'>\n]>\n",
+                    "<project>&a;&b;</project>", "" );
+    }
+
+    @Test
+    public void testEpilog()
+    {
+        assertRoot( "", "<project><!-- c --></project>", "\n<!-- <project> -->\n<?pi ?>\n\n" );
+        assertRoot( "", "<project>-->?></project>", "<!---->" );
+    }
+
+    @Test
+    public void testReuseWrittenDocument()
+        throws Exception
+    {
+        File pomFile = folder.newFile( "pom.xml" );
+        FileUtils.fileWrite( pomFile, "UTF-8", "<?xml  version=\"1.0\"?>\n<project>\n  <version>1.0</version>\n</project>\n" );
+        DefaultPomCache pomCache = new DefaultPomCache();
+
+        JDomModelETL etl = createETL( pomCache );
+        etl.extract( pomFile );
+        etl.getModel().setVersion( "2.0" );
+        assertTrue( etl.loadChanged( pomFile ) );
+
+        // the next phase continues with the document it was written from
+        etl = createETL( pomCache );
+        etl.extract( pomFile );
+        assertEquals( 1, pomCache.getHits() );
+        assertEquals( 1, pomCache.getMisses() );
+
+        etl.getModel().setVersion( "3.0" );
+        assertTrue( etl.loadChanged( pomFile ) );
+        assertEquals( "<?xml version=\"1.0\"?>\n<project>\n  <version>3.0</version>\n</project>\n",
+                      FileUtils.fileRead( pomFile, "UTF-8" ) );
+    }
+
+    @Test
+    public void testMissingRootElement()
+    {
+        assertEquals( -1, JDomModelETL.getRootElementStart( "<!-- unterminated" ) );
+        assertEquals( -1, JDomModelETL.getRootElementStart( " text" ) );
+        assertEquals( -1, JDomModelETL.getRootElementEnd( "unterminated -->" ) );
+        assertEquals( -1, JDomModelETL.getRootElementEnd( "<project> text" ) );
+    }
+
+    @Test
+    public void testOnlyStoreWrittenDocument()
+        throws Exception
+    {
+        File pomFile = folder.newFile( "pom.xml" );
+        FileUtils.fileWrite( pomFile, "UTF-8", "<project>\n  <version>1.0</version>\n</project>\n" );
+        DefaultPomCache pomCache = new DefaultPomCache();
+
+        // the document read is transformed, so it is only stored once it is written
+        createETL( pomCache ).extract( pomFile );
+        createETL( pomCache ).extract( pomFile );
+        assertEquals( 0, pomCache.getHits() );
+        assertEquals( 2, pomCache.getMisses() );
+    }
+
+    private static JDomModelETL createETL( DefaultPomCache pomCache )
+    {
+        JDomModelETL etl = new JDomModelETL();
+        etl.setLs( "\n" );
+        etl.setReleaseDescriptor( new ReleaseDescriptor() );
+        etl.setProject( new MavenProject() );
+        etl.setPomCache( pomCache );
+        return etl;
+    }
+
+    private static void assertRoot( String prolog, String root, String epilog )
+    {
+        String content = prolog + root + epilog;
+        assertEquals( prolog.length(), JDomModelETL.getRootElementStart( content ) );
+        assertEquals( prolog.length() + root.length(), JDomModelETL.getRootElementEnd( content ) );
+    }
+}
@@ -0,0 +1,114 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.jdom.Element;
+import org.jdom.input.SAXBuilder;
+import org.junit.Test;
+
+public class PomParserTest
+{
+    private static final String[] CORPUS = { "cdata.xml", "processing-instructions.xml",
+        "doctype-internal-subset.xml" };
+
+    @Test
+    public void testCorpus()
+        throws Exception
+    {
+        for ( String name : CORPUS )
+        {
+            String content = FileUtils.fileRead( PlexusTestCase.getTestFile( "src/test/resources/stream-poms/" + name ),
+                                                 "UTF-8" );
+            PomElement root = PomParser.parse( content, "\n" );
+
+            // the same elements and texts as an XML parser finds
+            Element expected = new SAXBuilder().build( new StringReader( content ) ).getRootElement();
+            assertElement( name, expected, root );
+
+            assertEquals( name, content, write( content, root ) );
+        }
+    }
+
+    @Test
+    public void testRewriteLeafElement()
+        throws Exception
+    {
+        String content = "<project>\n  <version><!-- a --> 1.0 <?tool b?></version>\n</project>\n";
+        PomElement root = PomParser.parse( content, "\n" );
+
+        PomElement version = root.getChild( "version" );
+        assertEquals( "1.0", version.getTextTrim() );
+        version.rewriteValue( "2.0" );
+
+        assertEquals( "<project>\n  <version><!-- a --> 2.0 <?tool b?></version>\n</project>\n", write( content, root ) );
+    }
+
+    @Test
+    public void testDeclarationInElement()
+        throws Exception
+    {
+        try
+        {
+            PomParser.parse( "<project>\n  <version><!ENTITY x \"y\">1.0</version>\n</project>\n", "\n" );
+            fail( "Should have thrown an exception" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+
+    private static String write( String content, PomElement root )
+    {
+        StringBuilder out = new StringBuilder();
+        int pos = root.write( out, 0 );
+        return out.append( content, pos, content.length() ).toString();
+    }
+
+    private static void assertElement( String pom, Element expected, PomElement actual )
+    {
+        String path = pom + ": " + expected.getName();
+        assertEquals( path, expected.getName(), actual.getName() );
+
+        @SuppressWarnings( "unchecked" )
+        List<Element> children = expected.getChildren();
+        if ( children.isEmpty() )
+        {
+            assertEquals( path, expected.getTextTrim(), actual.getTextTrim() );
+        }
+        for ( Element child : children )
+        {
+            List<PomElement> actualChildren = actual.getChildren( child.getName() );
+            @SuppressWarnings( "unchecked" )
+            List<Element> expectedChildren = expected.getChildren( child.getName(), child.getNamespace() );
+            assertEquals( path, expectedChildren.size(), actualChildren.size() );
+            assertElement( pom, child, actualChildren.get( expectedChildren.indexOf( child ) ) );
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.apache.maven.shared.release.transform.stream;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Scm;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.release.ReleaseExecutionException;
+import org.apache.maven.shared.release.config.ReleaseDescriptor;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamModelETLTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReleaseDescriptor releaseDescriptor = new ReleaseDescriptor();
+
+    private StreamModelETL extract( String content )
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        FileUtils.fileWrite( pomFile, "UTF-8", content );
+
+        StreamModelETL etl = new StreamModelETL();
+        etl.setLs( "\n" );
+        MavenProject project = new MavenProject();
+        project.setModelVersion( "4.0.0" );
+        etl.setProject( project );
+        etl.setReleaseDescriptor( releaseDescriptor );
+        etl.extract( pomFile );
+        return etl;
+    }
+
+    private String load( StreamModelETL etl )
+        throws Exception
+    {
+        File pomFile = folder.newFile();
+        etl.load( pomFile );
+        return FileUtils.fileRead( pomFile, "UTF-8" );
+    }
+
+    @Test
+    public void testUnchangedPomIsCopied()
+        throws Exception
+    {
+        String content = "<?xml version=\"1.0\"?>\n<!DOCTYPE project [ <!ENTITY x \"y\"> ]>\n<!-- intro -->\n"
+            + "<project   a='>' >\n  <version  >1.0-SNAPSHOT</version >\n  <name>&x; &amp; &#65;</name>\n"
+            + "  <empty   />\n</project>\n<!-- outro -->\n";
+
+        assertEquals( content, load( extract( content ) ) );
+    }
+
+    @Test
+    public void testRewriteValues()
+        throws Exception
+    {
+        String content = "<project>\n  <parent>\n    <version> 1.0-SNAPSHOT <!-- parent --></version>\n  </parent>\n"
+            + "  <artifactId>a</artifactId>\n  <version><![CDATA[1.0-SNAPSHOT]]></version>\n"
+            + "  <properties>\n    <dep.version>1.0-SNAPSHOT</dep.version>\n  </properties>\n  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>b</artifactId><version/></dependency>\n"
+            + "  </dependencies>\n</project>\n";
+        StreamModelETL etl = extract( content );
+
+        Model model = etl.getModel();
+        model.getParent().setVersion( "1.0" );
+        model.setVersion( "1.0" );
+        assertEquals( "1.0-SNAPSHOT", model.getProperties().getProperty( "dep.version" ) );
+        model.getProperties().setProperty( "dep.version", "1.0 & more" );
+        assertEquals( "1.0 & more", model.getProperties().getProperty( "dep.version" ) );
+        Dependency dependency = model.getDependencies().get( 0 );
+        assertEquals( "", dependency.getVersion() );
+        dependency.setVersion( "2.0" );
+
+        String expected = "<project>\n  <parent>\n    <version> 1.0 <!-- parent --></version>\n  </parent>\n"
+            + "  <artifactId>a</artifactId>\n  <version><![CDATA[1.0]]></version>\n"
+            + "  <properties>\n    <dep.version>1.0 &amp; more</dep.version>\n  </properties>\n  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>b</artifactId><version>2.0</version></dependency>\n"
+            + "  </dependencies>\n</project>\n";
+        assertEquals( expected, load( etl ) );
+    }
+
+    @Test
+    public void testAddVersion()
+        throws Exception
+    {
+        String content = "<project>\n  <parent>\n    <version>1.0</version>\n  </parent>\n"
+            + "  <artifactId>a</artifactId>\n</project>\n";
+        StreamModelETL etl = extract( content );
+
+        etl.getModel().setVersion( "1.0" );
+        assertEquals( content, load( etl ) );
+
+        etl.getModel().setVersion( "2.0" );
+        String expected = "<project>\n  <parent>\n    <version>1.0</version>\n  </parent>\n"
+            + "  <artifactId>a</artifactId>\n  <version>2.0</version>\n</project>\n";
+        assertEquals( expected, load( etl ) );
+    }
+
+    @Test
+    public void testRewriteScm()
+        throws Exception
+    {
+        String content = "<project>\n  <scm>\n    <connection>scm:a</connection>\n    <tag>HEAD</tag>\n  </scm>\n"
+            + "</project>\n";
+        StreamModelETL etl = extract( content );
+
+        Scm scm = etl.getModel().getScm();
+        scm.setConnection( "scm:b" );
+        scm.setTag( null );
+        scm.setUrl( "http://b" );
+
+        String expected = "<project>\n  <scm>\n    <connection>scm:b</connection>\n    <url>http://b</url>\n  </scm>\n"
+            + "</project>\n";
+        assertEquals( expected, load( etl ) );
+    }
+
+    @Test
+    public void testReplaceScm()
+        throws Exception
+    {
+        String content = "<project>\n  <scm>\n    <connection>scm:a</connection>\n  </scm>\n</project>\n";
+        StreamModelETL etl = extract( content );
+
+        Model model = etl.getModel();
+        model.setScm( null );
+        assertNull( model.getScm() );
+        assertEquals( "<project>\n</project>\n", load( etl ) );
+
+        Scm scm = new Scm();
+        scm.setConnection( "scm:b" );
+        scm.setUrl( "http://b" );
+        model.setScm( scm );
+
+        String expected = "<project>\n\n  <scm>\n    <connection>scm:b</connection>\n    <tag>HEAD</tag>\n"
+            + "    <url>http://b</url>\n  </scm>\n</project>\n";
+        assertEquals( expected, load( etl ) );
+    }
+
+    @Test
+    public void testAddSchema()
+        throws Exception
+    {
+        releaseDescriptor.setAddSchema( true );
+        String content = "<project xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n</project>\n";
+
+        String expected = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+            + "xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/maven-v4_0_0.xsd\" "
+            + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n</project>\n";
+        assertEquals( expected, load( extract( content ) ) );
+    }
+
+    @Test
+    public void testMalformedPom()
+        throws Exception
+    {
+        try
+        {
+            extract( "<project>\n  <version>1.0</project>\n" );
+            fail( "Should have thrown an exception" );
+        }
+        catch ( ReleaseExecutionException e )
+        {
+            assertEquals( IOException.class, e.getCause().getClass() );
+        }
+    }
+}
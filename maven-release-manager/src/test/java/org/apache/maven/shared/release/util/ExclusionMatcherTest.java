@@ -0,0 +1,110 @@
+package org.apache.maven.shared.release.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.plexus.util.SelectorUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the ExclusionMatcher, which must agree with SelectorUtils
+ */
+public class ExclusionMatcherTest
+{
+    private static final List<String> PATTERNS = Arrays.asList( "**/pom.xml.tag", "**/release-*-metrics.json",
+                                                                "target/**", "module/src/main/java/Generated.java",
+                                                                "module/**/generated/*.java", "*.log",
+                                                                "/absolute/file", "docs/**/*.md", "a/b?/c",
+                                                                "x/**/**/y/**", "%ant[**/*.orig]" );
+
+    private static final List<String> PATHS = Arrays.asList( "pom.xml.tag", "module/pom.xml.tag", "module/pom.xml",
+                                                             "a/b/c/pom.xml.tag", "release-prepare-metrics.json",
+                                                             "sub/release-metrics.json", "target", "target/classes/A",
+                                                             "module/target/A", "module/src/main/java/Generated.java",
+                                                             "module/src/main/java/Other.java",
+                                                             "module/generated/A.java", "module/x/y/generated/B.java",
+                                                             "module/x/y/generated/B.txt", "build.log", "sub/build.log",
+                                                             "/absolute/file", "absolute/file", "docs/index.md",
+                                                             "docs/a/b/index.md", "docs/index.txt", "a/bc/c",
+                                                             "a/b/c", "a/bcd/c", "x/y", "x/1/2/y/z", "x/z",
+                                                             "src/A.java.orig", "", "module//pom.xml.tag",
+                                                             "module\\pom.xml.tag" );
+
+    @Test
+    public void testAgreesWithSelectorUtils()
+    {
+        ExclusionMatcher matcher = new ExclusionMatcher( PATTERNS );
+
+        for ( String path : PATHS )
+        {
+            boolean expected = false;
+            for ( String pattern : PATTERNS )
+            {
+                expected |= SelectorUtils.matchPath( toFileSeparator( pattern ), toFileSeparator( path ) );
+            }
+            assertEquals( path, expected, matcher.matches( path ) );
+        }
+    }
+
+    @Test
+    public void testEachPatternAgreesWithSelectorUtils()
+    {
+        for ( String pattern : PATTERNS )
+        {
+            ExclusionMatcher matcher = new ExclusionMatcher( Collections.singleton( pattern ) );
+            for ( String path : PATHS )
+            {
+                assertEquals( pattern + " on " + path,
+                              SelectorUtils.matchPath( toFileSeparator( pattern ), toFileSeparator( path ) ),
+                              matcher.matches( path ) );
+            }
+        }
+    }
+
+    @Test
+    public void testRegexPattern()
+    {
+        ExclusionMatcher matcher = new ExclusionMatcher( Collections.singleton( "%regex[.*\\.bak]" ) );
+
+        assertTrue( matcher.matches( "module/pom.xml.bak" ) );
+        assertFalse( matcher.matches( "module/pom.xml" ) );
+    }
+
+    @Test
+    public void testNoPatterns()
+    {
+        ExclusionMatcher matcher = new ExclusionMatcher( Collections.<String>emptySet() );
+
+        assertFalse( matcher.matches( "pom.xml" ) );
+    }
+
+    private static String toFileSeparator( String path )
+    {
+        return path.replace( "\\", File.separator ).replace( "/", File.separator );
+    }
+}
@@ -19,24 +19,33 @@ package org.apache.maven.shared.release.util;
  * under the License.
  */
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.*;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.Os;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Tests for ReleaseUtil methods
  */
 public class ReleaseUtilTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     /**
      * MRELEASE-273 : Tests if there no pom passed as parameter
      */
@@ -333,6 +342,49 @@ public class ReleaseUtilTest
         assertEquals( 2, ReleaseUtil.getBaseWorkingDirectoryParentCount( "C:\\", "C:\\working\\directory\\" ) );
     }
 
+    @Test
+    public void testWriteXmlFile()
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), "pom.xml" );
+
+        String content = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<a>\u00e9</a>\n";
+        assertTrue( ReleaseUtil.writeXmlFile( file, content ) );
+        assertArrayEquals( content.getBytes( "ISO-8859-1" ), Files.readAllBytes( file.toPath() ) );
+
+        assertTrue( ReleaseUtil.writeXmlFile( file, "<a>\u00e8</a>\n" ) );
+        assertEquals( "<a>\u00e8</a>\n", FileUtils.fileRead( file, "UTF-8" ) );
+        assertEquals( 1, folder.getRoot().list().length );
+    }
+
+    @Test
+    public void testWriteXmlFileUnchanged()
+        throws Exception
+    {
+        File file = folder.newFile( "pom.xml" );
+        FileUtils.fileWrite( file, "UTF-8", "<a>\u00e9</a>\n" );
+        file.setLastModified( 1000000000000L );
+
+        assertFalse( ReleaseUtil.writeXmlFile( file, "<a>\u00e9</a>\n" ) );
+        assertEquals( 1000000000000L, file.lastModified() );
+    }
+
+    @Test
+    public void testWriteXmlFileThroughSymbolicLink()
+        throws Exception
+    {
+        assumeFalse( Os.isFamily( Os.FAMILY_WINDOWS ) );
+        File target = new File( folder.newFolder( "shared" ), "pom.xml" );
+        FileUtils.fileWrite( target, "UTF-8", "<a>1</a>\n" );
+        File link = new File( folder.getRoot(), "pom.xml" );
+        Files.createSymbolicLink( link.toPath(), target.toPath() );
+
+        assertTrue( ReleaseUtil.writeXmlFile( link, "<a>2</a>\n" ) );
+        assertTrue( Files.isSymbolicLink( link.toPath() ) );
+        assertEquals( "<a>2</a>\n", FileUtils.fileRead( target, "UTF-8" ) );
+        assertEquals( 1, target.getParentFile().list().length );
+    }
+
     private static MavenProject createProject( String basedir )
     {
     	return createProject( basedir, basedir );
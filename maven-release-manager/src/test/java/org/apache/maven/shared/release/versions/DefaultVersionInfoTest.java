@@ -43,6 +43,22 @@ public class DefaultVersionInfoTest
         }
     }
 
+    public void testParseSharesVersion()
+        throws Exception
+    {
+        DefaultVersionInfo v = new DefaultVersionInfo( "5.1-beta-2-SNAPSHOT" );
+        assertSame( v.getDigits(), new DefaultVersionInfo( "5.1-beta-2-SNAPSHOT" ).getDigits() );
+        try
+        {
+            v.getDigits().set( 0, "6" );
+            fail( "digits are shared, so must not be modifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            assertEquals( "5.1-beta-3-SNAPSHOT", v.getNextVersion().getSnapshotVersionString() );
+        }
+    }
+
     public void testParseMultiDigit()
         throws Exception
     {
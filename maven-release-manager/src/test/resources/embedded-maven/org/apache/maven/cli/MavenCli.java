@@ -0,0 +1,51 @@
+package org.apache.maven.cli;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.PrintStream;
+
+import org.codehaus.plexus.classworlds.ClassWorld;
+
+/**
+ * A Maven CLI for the fake distribution of <code>EmbeddedMavenExecutorTest</code>, which prints what the build sees
+ * of the JVM, or fails for the goal <code>fail</code>.
+ */
+public class MavenCli
+{
+    public MavenCli( ClassWorld classWorld )
+    {
+    }
+
+    public int doMain( String[] args, String workingDirectory, PrintStream stdout, PrintStream stderr )
+    {
+        if ( args.length > 0 && "fail".equals( args[0] ) )
+        {
+            throw new IllegalStateException( "build failed" );
+        }
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        stdout.println( "maven.home=" + System.getProperty( "maven.home" ) );
+        stdout.println( "maven.multiModuleProjectDirectory="
+            + System.getProperty( "maven.multiModuleProjectDirectory" ) );
+        stdout.println( "console=" + ( System.out == stdout && System.err == stderr ) );
+        stdout.println( "realm=" + ( contextClassLoader == getClass().getClassLoader() ) );
+        return args.length;
+    }
+}
@@ -0,0 +1,57 @@
+package org.codehaus.plexus.classworlds;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * The part of the class world of plexus-classworlds which the embedded Maven executor uses, for the fake distribution
+ * of <code>EmbeddedMavenExecutorTest</code>.
+ */
+public class ClassWorld
+{
+    private final Realm realm;
+
+    public ClassWorld( String realmId, ClassLoader classLoader )
+    {
+        realm = new Realm( classLoader );
+    }
+
+    public ClassLoader getRealm( String id )
+    {
+        return realm;
+    }
+
+    public static class Realm
+        extends URLClassLoader
+    {
+        Realm( ClassLoader parent )
+        {
+            super( new URL[0], parent );
+        }
+
+        @Override
+        public void addURL( URL url )
+        {
+            super.addURL( url );
+        }
+    }
+}
@@ -111,7 +111,9 @@ public abstract class AbstractReleaseMojo
     private File localRepoDirectory;
 
     /**
-     * Role hint of the {@link org.apache.maven.shared.release.exec.MavenExecutor} implementation to use.
+     * Role hint of the {@link org.apache.maven.shared.release.exec.MavenExecutor} implementation to use:
+     * <code>invoker</code>, <code>forked-path</code>, <code>embedded</code> to run the builds inside the running
+     * JVM, or <code>daemon</code> to run them in build JVMs kept warm across the release.
      *
      * @since 2.0-beta-8
      */
@@ -19,6 +19,7 @@ package org.apache.maven.plugins.release;
  * under the License.
  */
 
+import java.io.File;
 import java.util.Arrays;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -122,6 +123,24 @@ public class PrepareReleaseMojo
     @Parameter( defaultValue = "false", property = "commitByProject" )
     private boolean commitByProject;
 
+    /**
+     * When committing by project, whether the commits are pushed once, with the commit of the last project with
+     * changes, instead of with the commit of every project.
+     *
+     * @since 3.0.0
+     */
+    @Parameter( defaultValue = "false", property = "deferPush" )
+    private boolean deferPush;
+
+    /**
+     * Whether the prepare phases which don't depend on each other run concurrently, e.g. checking for local
+     * modifications while the dependencies are checked for snapshots. Ignored in interactive mode.
+     *
+     * @since 3.0.0
+     */
+    @Parameter( defaultValue = "false", property = "concurrentPhases" )
+    private boolean concurrentPhases;
+
     /**
      * Whether to allow timestamped SNAPSHOT dependencies. Default is to fail when finding any SNAPSHOT.
      *
@@ -130,6 +149,26 @@ public class PrepareReleaseMojo
     @Parameter( defaultValue = "false", property = "ignoreSnapshots" )
     private boolean allowTimestampedSnapshots;
 
+    /**
+     * Whether snapshots which are only declared, i.e. in the dependency or plugin management, as dependencies of
+     * managed plugins or in profiles which aren't active, fail the release too. By default they are only reported.
+     *
+     * @since 3.0.0
+     */
+    @Parameter( defaultValue = "false", property = "checkDeclaredSnapshots" )
+    private boolean checkDeclaredSnapshots;
+
+    /**
+     * A properties file with the versions to use for snapshot dependencies, so they are resolved without prompting.
+     * It uses the <code>dependency.<i>groupId:artifactId</i>.release</code> and <code>.development</code> properties,
+     * so the <code>release.properties</code> of a previous release can be used as well. The versions which are
+     * resolved interactively are added to the file.
+     *
+     * @since 3.0.0
+     */
+    @Parameter( property = "snapshotResolutionFile" )
+    private File snapshotResolutionFile;
+
     /**
      * Whether to allow usage of a SNAPSHOT version of the Release Plugin. This in an internal property used to support
      * testing of the plugin itself in batch mode.
@@ -217,6 +256,15 @@ public class PrepareReleaseMojo
     @Parameter( defaultValue = "0", property = "waitBeforeTagging" )
     private int waitBeforeTagging;
 
+    /**
+     * The number of threads used to rewrite the POMs of the reactor projects. The default of <code>1</code> transforms
+     * the modules one after the other, higher values are useful for reactors with many modules.
+     *
+     * @since 3.0.0
+     */
+    @Parameter( defaultValue = "1", property = "pomTransformThreads" )
+    private int pomTransformThreads;
+
     /**
      * The role-hint for the {@link org.apache.maven.shared.release.policy.version.VersionPolicy} 
      * implementation used to calculate the project versions.
@@ -266,9 +314,16 @@ public class PrepareReleaseMojo
         config.setPreparationGoals( preparationGoals );
         config.setCompletionGoals( completionGoals );
         config.setCommitByProject( commitByProject );
+        config.setDeferPush( deferPush );
+        config.setConcurrentPhases( concurrentPhases );
         config.setUpdateDependencies( updateDependencies );
         config.setAutoVersionSubmodules( autoVersionSubmodules );
         config.setAllowTimestampedSnapshots( allowTimestampedSnapshots );
+        config.setCheckDeclaredSnapshots( checkDeclaredSnapshots );
+        if ( snapshotResolutionFile != null )
+        {
+            config.setSnapshotResolutionFile( snapshotResolutionFile.getAbsolutePath() );
+        }
         config.setSnapshotReleasePluginAllowed( allowReleasePluginSnapshot );
         config.setDefaultReleaseVersion( releaseVersion );
         config.setDefaultDevelopmentVersion( developmentVersion );
@@ -276,6 +331,7 @@ public class PrepareReleaseMojo
         config.setUpdateWorkingCopyVersions( updateWorkingCopyVersions );
         config.setSuppressCommitBeforeTagOrBranch( suppressCommitBeforeTag );
         config.setWaitBeforeTagging( waitBeforeTagging );
+        config.setPomTransformThreads( pomTransformThreads );
         config.setProjectVersionPolicyId( projectVersionPolicyId );
         config.setProjectNamingPolicyId( projectTagNamingPolicyId );
 